@@ -21,7 +21,13 @@ public final class Config {
     static final int DEFAULT_STREAM_DEADLINE_MS = 10 * 60 * 1000;
     static final int DEFAULT_STREAM_RETRY_GRACE_PERIOD = 5;
     static final int DEFAULT_MAX_CACHE_SIZE = 1000;
+    static final int DEFAULT_CONTEXT_CACHE_SIZE = 0;
+    static final long DEFAULT_CONTEXT_CACHE_TTL_MS = 5000;
+    static final int DEFAULT_PREFETCH_CACHE_SIZE = 0;
+    static final long DEFAULT_PREFETCH_CACHE_TTL_MS = 5000;
+    static final String DEFAULT_COALESCE_REQUESTS = "false";
     static final int DEFAULT_OFFLINE_POLL_MS = 5000;
+    static final String DEFAULT_OFFLINE_FILE_WATCH = "true";
     static final long DEFAULT_KEEP_ALIVE = 0;
     static final String DEFAULT_REINITIALIZE_ON_ERROR = "false";
 
@@ -35,6 +41,11 @@ public final class Config {
     static final String SERVER_CERT_PATH_ENV_VAR_NAME = "FLAGD_SERVER_CERT_PATH";
     static final String CACHE_ENV_VAR_NAME = "FLAGD_CACHE";
     static final String MAX_CACHE_SIZE_ENV_VAR_NAME = "FLAGD_MAX_CACHE_SIZE";
+    static final String CONTEXT_CACHE_SIZE_ENV_VAR_NAME = "FLAGD_CONTEXT_CACHE_SIZE";
+    static final String CONTEXT_CACHE_TTL_MS_ENV_VAR_NAME = "FLAGD_CONTEXT_CACHE_TTL_MS";
+    static final String PREFETCH_CACHE_SIZE_ENV_VAR_NAME = "FLAGD_PREFETCH_CACHE_SIZE";
+    static final String PREFETCH_CACHE_TTL_MS_ENV_VAR_NAME = "FLAGD_PREFETCH_CACHE_TTL_MS";
+    static final String COALESCE_REQUESTS_ENV_VAR_NAME = "FLAGD_COALESCE_REQUESTS";
     static final String BASE_EVENT_STREAM_RETRY_BACKOFF_MS_ENV_VAR_NAME = "FLAGD_RETRY_BACKOFF_MS";
     static final String DEADLINE_MS_ENV_VAR_NAME = "FLAGD_DEADLINE_MS";
     static final String FLAGD_RETRY_BACKOFF_MAX_MS_VAR_NAME = "FLAGD_RETRY_BACKOFF_MAX_MS";
@@ -52,6 +63,8 @@ public final class Config {
     static final String PROVIDER_ID_ENV_VAR_NAME = "FLAGD_PROVIDER_ID";
     static final String OFFLINE_SOURCE_PATH = "FLAGD_OFFLINE_FLAG_SOURCE_PATH";
     static final String OFFLINE_POLL_MS = "FLAGD_OFFLINE_POLL_MS";
+    static final String OFFLINE_FILE_WATCH = "FLAGD_OFFLINE_FILE_WATCH";
+    static final String SNAPSHOT_PATH_ENV_VAR_NAME = "FLAGD_SNAPSHOT_PATH";
     static final String KEEP_ALIVE_MS_ENV_VAR_NAME_OLD = "FLAGD_KEEP_ALIVE_TIME";
     static final String KEEP_ALIVE_MS_ENV_VAR_NAME = "FLAGD_KEEP_ALIVE_TIME_MS";
     static final String TARGET_URI_ENV_VAR_NAME = "FLAGD_TARGET_URI";
@@ -65,6 +78,8 @@ public final class Config {
     static final String RESOLVER_FILE = "file";
 
     public static final String STATIC_REASON = "STATIC";
+    public static final String TARGETING_MATCH_REASON = "TARGETING_MATCH";
+    public static final String SPLIT_REASON = "SPLIT";
     public static final String CACHED_REASON = "CACHED";
 
     public static final String FLAG_KEY_FIELD = "flag_key";
@@ -75,6 +90,7 @@ public final class Config {
     public static final String METADATA_FIELD = "metadata";
 
     public static final String LRU_CACHE = CacheType.LRU.getValue();
+    public static final String STRIPED_CACHE = CacheType.STRIPED.getValue();
     static final String DEFAULT_CACHE = LRU_CACHE;
 
     static final int BASE_EVENT_STREAM_RETRY_BACKOFF_MS = 1000;
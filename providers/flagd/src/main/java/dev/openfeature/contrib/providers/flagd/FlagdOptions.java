@@ -75,7 +75,7 @@ public class FlagdOptions {
     private String socketPath = fallBackToEnvOrDefault(Config.SOCKET_PATH_ENV_VAR_NAME, null);
 
     /**
-     * Cache type to use. Supports - lru, disabled.
+     * Cache type to use. Supports - lru, striped, disabled.
      */
     @Builder.Default
     private String cacheType = fallBackToEnvOrDefault(Config.CACHE_ENV_VAR_NAME, Config.DEFAULT_CACHE);
@@ -87,6 +87,47 @@ public class FlagdOptions {
     private int maxCacheSize =
             fallBackToEnvOrDefault(Config.MAX_CACHE_SIZE_ENV_VAR_NAME, Config.DEFAULT_MAX_CACHE_SIZE);
 
+    /**
+     * Max amount of context dependent evaluations, such as targeting matches, to cache per flag key and evaluation
+     * context. Set to 0 to disable the context cache.
+     */
+    @Builder.Default
+    private int contextCacheSize =
+            fallBackToEnvOrDefault(Config.CONTEXT_CACHE_SIZE_ENV_VAR_NAME, Config.DEFAULT_CONTEXT_CACHE_SIZE);
+
+    /**
+     * Time in milliseconds a context dependent evaluation is kept in the context cache.
+     */
+    @Builder.Default
+    private long contextCacheTtlMs =
+            fallBackToEnvOrDefault(Config.CONTEXT_CACHE_TTL_MS_ENV_VAR_NAME, Config.DEFAULT_CONTEXT_CACHE_TTL_MS);
+
+    /**
+     * Max amount of evaluation contexts to prefetch all flags for with a single bulk evaluation, the first time the
+     * context is seen. Further evaluations with an equal context are served from the prefetched flags.
+     * Set to 0 to evaluate every flag with its own remote call.
+     */
+    @Builder.Default
+    private int prefetchCacheSize =
+            fallBackToEnvOrDefault(Config.PREFETCH_CACHE_SIZE_ENV_VAR_NAME, Config.DEFAULT_PREFETCH_CACHE_SIZE);
+
+    /**
+     * Time in milliseconds the flags prefetched for an evaluation context are kept in the prefetch cache.
+     */
+    @Builder.Default
+    private long prefetchCacheTtlMs =
+            fallBackToEnvOrDefault(Config.PREFETCH_CACHE_TTL_MS_ENV_VAR_NAME, Config.DEFAULT_PREFETCH_CACHE_TTL_MS);
+
+    /**
+     * Share one remote call between concurrent evaluations of the same flag, type and evaluation context.
+     * Evaluations waiting for the call in flight get its outcome, including its failure: the call runs with the
+     * deadline and within the tracing span of the evaluation which started it, the deadline and span of the waiting
+     * evaluations are not applied. Disabled by default.
+     */
+    @Builder.Default
+    private boolean coalesceRequests = Boolean.parseBoolean(
+            fallBackToEnvOrDefault(Config.COALESCE_REQUESTS_ENV_VAR_NAME, Config.DEFAULT_COALESCE_REQUESTS));
+
     /**
      * Backoff interval in milliseconds.
      */
@@ -181,6 +222,23 @@ public class FlagdOptions {
     @Builder.Default
     private int offlinePollIntervalMs = fallBackToEnvOrDefault(Config.OFFLINE_POLL_MS, Config.DEFAULT_OFFLINE_POLL_MS);
 
+    /**
+     * Watch the offline flag source file for changes, instead of only polling it.
+     * Changes are picked up as they happen, the file is still checked every {@code offlinePollIntervalMs}.
+     * Defaults to true.
+     **/
+    @Builder.Default
+    private boolean offlineFileWatch =
+            Boolean.parseBoolean(fallBackToEnvOrDefault(Config.OFFLINE_FILE_WATCH, Config.DEFAULT_OFFLINE_FILE_WATCH));
+
+    /**
+     * File to persist the last applied flag configuration to, for the in-process resolver.
+     * At startup, the persisted configuration is served until the first sync arrives, or the flag source can be
+     * reached. Defaults to null (disabled).
+     */
+    @Builder.Default
+    private String snapshotPath = fallBackToEnvOrDefault(Config.SNAPSHOT_PATH_ENV_VAR_NAME, null);
+
     /**
      * gRPC custom target string.
      *
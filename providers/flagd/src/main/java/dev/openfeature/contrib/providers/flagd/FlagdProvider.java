@@ -5,19 +5,26 @@ import dev.openfeature.contrib.providers.flagd.resolver.common.ShutdownUtils;
 import dev.openfeature.contrib.providers.flagd.resolver.process.InProcessResolver;
 import dev.openfeature.contrib.providers.flagd.resolver.rpc.RpcResolver;
 import dev.openfeature.contrib.providers.flagd.resolver.rpc.cache.Cache;
+import dev.openfeature.contrib.providers.flagd.resolver.rpc.cache.CacheStats;
+import dev.openfeature.contrib.providers.flagd.resolver.rpc.cache.ContextCache;
 import dev.openfeature.sdk.ErrorCode;
 import dev.openfeature.sdk.EvaluationContext;
 import dev.openfeature.sdk.EventProvider;
 import dev.openfeature.sdk.Hook;
+import dev.openfeature.sdk.ImmutableContext;
 import dev.openfeature.sdk.Metadata;
 import dev.openfeature.sdk.ProviderEvaluation;
 import dev.openfeature.sdk.ProviderEvent;
 import dev.openfeature.sdk.ProviderEventDetails;
 import dev.openfeature.sdk.Structure;
 import dev.openfeature.sdk.Value;
+import dev.openfeature.sdk.exceptions.GeneralError;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -34,6 +41,7 @@ public class FlagdProvider extends EventProvider {
     private Function<Structure, EvaluationContext> contextEnricher;
     private static final String FLAGD_PROVIDER = "flagd";
     private final Resolver flagResolver;
+    private final ContextCache contextCache;
     private final List<Hook> hooks = new ArrayList<>();
     private final FlagdProviderSyncResources syncResources = new FlagdProviderSyncResources();
 
@@ -81,10 +89,15 @@ public class FlagdProvider extends EventProvider {
             case Config.RESOLVER_FILE:
             case Config.RESOLVER_IN_PROCESS:
                 this.flagResolver = new InProcessResolver(options, this::onProviderEvent);
+                this.contextCache = new ContextCache(0, 0);
                 break;
             case Config.RESOLVER_RPC:
+                this.contextCache = new ContextCache(options.getContextCacheSize(), options.getContextCacheTtlMs());
                 this.flagResolver = new RpcResolver(
-                        options, new Cache(options.getCacheType(), options.getMaxCacheSize()), this::onProviderEvent);
+                        options,
+                        new Cache(options.getCacheType(), options.getMaxCacheSize()),
+                        contextCache,
+                        this::onProviderEvent);
                 break;
             default:
                 throw new IllegalStateException(
@@ -103,6 +116,7 @@ public class FlagdProvider extends EventProvider {
      */
     FlagdProvider(Resolver resolver, boolean initialized) {
         this.flagResolver = resolver;
+        this.contextCache = new ContextCache(0, 0);
         deadline = Config.DEFAULT_DEADLINE;
         gracePeriod = Config.DEFAULT_STREAM_RETRY_GRACE_PERIOD;
         hooks.add(new SyncMetadataHook(this::getEnrichedContext));
@@ -184,6 +198,139 @@ public class FlagdProvider extends EventProvider {
         return flagResolver.objectEvaluation(key, defaultValue, ctx);
     }
 
+    /**
+     * Boolean evaluation which does not block the calling thread on I/O, for callers such as event loops.
+     *
+     * <p>The SDK is bypassed: no hooks run and API and client contexts are not applied, the given context must be
+     * complete. The context derived from the sync metadata is merged as for any other evaluation. The RPC resolver
+     * uses the async gRPC stub, with the same deadline and error mapping as blocking evaluations; other resolvers
+     * evaluate locally and complete the future before returning. Errors complete the future exceptionally with an
+     * {@link dev.openfeature.sdk.exceptions.OpenFeatureError}.
+     *
+     * @param key          the flag key
+     * @param defaultValue the value to use if the flag resolves to its default
+     * @param ctx          the evaluation context
+     * @return a future completed with the resolution result
+     */
+    public CompletableFuture<ProviderEvaluation<Boolean>> getBooleanEvaluationAsync(
+            String key, Boolean defaultValue, EvaluationContext ctx) {
+        return flagResolver.booleanEvaluationAsync(key, defaultValue, withEnrichedContext(ctx));
+    }
+
+    /**
+     * String evaluation which does not block the calling thread on I/O,
+     * see {@link #getBooleanEvaluationAsync(String, Boolean, EvaluationContext)}.
+     *
+     * @param key          the flag key
+     * @param defaultValue the value to use if the flag resolves to its default
+     * @param ctx          the evaluation context
+     * @return a future completed with the resolution result
+     */
+    public CompletableFuture<ProviderEvaluation<String>> getStringEvaluationAsync(
+            String key, String defaultValue, EvaluationContext ctx) {
+        return flagResolver.stringEvaluationAsync(key, defaultValue, withEnrichedContext(ctx));
+    }
+
+    /**
+     * Double evaluation which does not block the calling thread on I/O,
+     * see {@link #getBooleanEvaluationAsync(String, Boolean, EvaluationContext)}.
+     *
+     * @param key          the flag key
+     * @param defaultValue the value to use if the flag resolves to its default
+     * @param ctx          the evaluation context
+     * @return a future completed with the resolution result
+     */
+    public CompletableFuture<ProviderEvaluation<Double>> getDoubleEvaluationAsync(
+            String key, Double defaultValue, EvaluationContext ctx) {
+        return flagResolver.doubleEvaluationAsync(key, defaultValue, withEnrichedContext(ctx));
+    }
+
+    /**
+     * Integer evaluation which does not block the calling thread on I/O,
+     * see {@link #getBooleanEvaluationAsync(String, Boolean, EvaluationContext)}.
+     *
+     * @param key          the flag key
+     * @param defaultValue the value to use if the flag resolves to its default
+     * @param ctx          the evaluation context
+     * @return a future completed with the resolution result
+     */
+    public CompletableFuture<ProviderEvaluation<Integer>> getIntegerEvaluationAsync(
+            String key, Integer defaultValue, EvaluationContext ctx) {
+        return flagResolver.integerEvaluationAsync(key, defaultValue, withEnrichedContext(ctx));
+    }
+
+    /**
+     * Object evaluation which does not block the calling thread on I/O,
+     * see {@link #getBooleanEvaluationAsync(String, Boolean, EvaluationContext)}.
+     *
+     * @param key          the flag key
+     * @param defaultValue the value to use if the flag resolves to its default
+     * @param ctx          the evaluation context
+     * @return a future completed with the resolution result
+     */
+    public CompletableFuture<ProviderEvaluation<Value>> getObjectEvaluationAsync(
+            String key, Value defaultValue, EvaluationContext ctx) {
+        return flagResolver.objectEvaluationAsync(key, defaultValue, withEnrichedContext(ctx));
+    }
+
+    /**
+     * Resolve all flags against the same evaluation context, in one pass over one flag configuration.
+     * Supported by the in-process, file and RPC resolvers.
+     *
+     * <p>The evaluation is not run through the OpenFeature client: hooks are not called and the API and
+     * client contexts are not applied, the given context must be complete. The context derived from the sync
+     * metadata is merged as for any other evaluation.
+     *
+     * @param ctx the evaluation context
+     * @return the resolution results by flag key, values of all types are returned as {@link Value}
+     * @throws GeneralError if a custom evaluator set with {@link FlagdOptions#getEvaluator()} does not support
+     *                      bulk evaluation
+     */
+    public Map<String, ProviderEvaluation<Value>> resolveAll(EvaluationContext ctx) {
+        return flagResolver.resolveAll(withEnrichedContext(ctx));
+    }
+
+    /**
+     * Resolve the given flags against the same evaluation context, see {@link #resolveAll(EvaluationContext)}.
+     *
+     * @param flagKeys the keys of the flags to resolve
+     * @param ctx      the evaluation context
+     * @return the resolution results by flag key, values of all types are returned as {@link Value}
+     * @throws GeneralError if a custom evaluator set with {@link FlagdOptions#getEvaluator()} does not support
+     *                      bulk evaluation
+     */
+    public Map<String, ProviderEvaluation<Value>> resolveAll(Collection<String> flagKeys, EvaluationContext ctx) {
+        return flagResolver.resolveAll(flagKeys, withEnrichedContext(ctx));
+    }
+
+    /**
+     * Statistics of the cache for context dependent RPC evaluations, see the {@code contextCacheSize} option.
+     *
+     * @return the hit, miss and eviction counts, all zero if the context cache is disabled
+     */
+    public CacheStats getContextCacheStats() {
+        return contextCache.getStats();
+    }
+
+    /**
+     * Number of RPC evaluations which shared the remote call of an identical evaluation in flight, see the
+     * {@code coalesceRequests} option.
+     *
+     * @return the count of coalesced calls, zero if flags are not evaluated remotely
+     */
+    public long getCoalescedCalls() {
+        return flagResolver instanceof RpcResolver ? ((RpcResolver) flagResolver).getCoalescedCalls() : 0;
+    }
+
+    private EvaluationContext withEnrichedContext(EvaluationContext ctx) {
+        // the sync metadata hook context takes precedence over the invocation context
+        final EvaluationContext enriched = getEnrichedContext();
+        if (enriched == null || enriched.isEmpty()) {
+            return ctx == null ? new ImmutableContext() : ctx;
+        }
+        return ctx == null ? enriched : ctx.merge(enriched);
+    }
+
     /**
      * The updated context mixed into all evaluations based on the sync-metadata.
      *
@@ -3,6 +3,10 @@ package dev.openfeature.contrib.providers.flagd.resolver;
 import dev.openfeature.sdk.EvaluationContext;
 import dev.openfeature.sdk.ProviderEvaluation;
 import dev.openfeature.sdk.Value;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 /** Abstraction that resolves flag values in from some source. */
 public interface Resolver {
@@ -21,4 +25,69 @@ public interface Resolver {
     ProviderEvaluation<Integer> integerEvaluation(String key, Integer defaultValue, EvaluationContext ctx);
 
     ProviderEvaluation<Value> objectEvaluation(String key, Value defaultValue, EvaluationContext ctx);
+
+    /**
+     * Resolve all flags against the same evaluation context.
+     * Values of all types are returned as {@link Value}, errors are reported per flag.
+     */
+    Map<String, ProviderEvaluation<Value>> resolveAll(EvaluationContext ctx);
+
+    /**
+     * Resolve the given flags against the same evaluation context.
+     * Values of all types are returned as {@link Value}, errors are reported per flag.
+     */
+    Map<String, ProviderEvaluation<Value>> resolveAll(Collection<String> flagKeys, EvaluationContext ctx);
+
+    /**
+     * Boolean evaluation which does not block the calling thread on I/O.
+     * Resolvers evaluating locally complete the returned future before returning.
+     */
+    default CompletableFuture<ProviderEvaluation<Boolean>> booleanEvaluationAsync(
+            String key, Boolean defaultValue, EvaluationContext ctx) {
+        return completed(() -> booleanEvaluation(key, defaultValue, ctx));
+    }
+
+    /**
+     * String evaluation which does not block the calling thread on I/O.
+     * Resolvers evaluating locally complete the returned future before returning.
+     */
+    default CompletableFuture<ProviderEvaluation<String>> stringEvaluationAsync(
+            String key, String defaultValue, EvaluationContext ctx) {
+        return completed(() -> stringEvaluation(key, defaultValue, ctx));
+    }
+
+    /**
+     * Double evaluation which does not block the calling thread on I/O.
+     * Resolvers evaluating locally complete the returned future before returning.
+     */
+    default CompletableFuture<ProviderEvaluation<Double>> doubleEvaluationAsync(
+            String key, Double defaultValue, EvaluationContext ctx) {
+        return completed(() -> doubleEvaluation(key, defaultValue, ctx));
+    }
+
+    /**
+     * Integer evaluation which does not block the calling thread on I/O.
+     * Resolvers evaluating locally complete the returned future before returning.
+     */
+    default CompletableFuture<ProviderEvaluation<Integer>> integerEvaluationAsync(
+            String key, Integer defaultValue, EvaluationContext ctx) {
+        return completed(() -> integerEvaluation(key, defaultValue, ctx));
+    }
+
+    /**
+     * Object evaluation which does not block the calling thread on I/O.
+     * Resolvers evaluating locally complete the returned future before returning.
+     */
+    default CompletableFuture<ProviderEvaluation<Value>> objectEvaluationAsync(
+            String key, Value defaultValue, EvaluationContext ctx) {
+        return completed(() -> objectEvaluation(key, defaultValue, ctx));
+    }
+
+    private static <T> CompletableFuture<T> completed(Supplier<T> evaluation) {
+        try {
+            return CompletableFuture.completedFuture(evaluation.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 }
@@ -17,6 +17,7 @@ import java.util.stream.Collectors;
 
 /** gRPC type conversion utils. */
 public class Convert {
+    private static final IdentityWeakCache<EvaluationContext, Struct> IMMUTABLE_CONTEXTS = new IdentityWeakCache<>();
 
     /**
      * Converts a protobuf struct to EvaluationContext.
@@ -35,15 +36,28 @@ public class Convert {
         return convertProtobufMap(protobuf.getFieldsMap());
     }
 
-    /** Recursively convert the Evaluation context to a protobuf structure. */
+    /**
+     * Recursively convert the Evaluation context to a protobuf structure.
+     *
+     * <p>The context is encoded in a single pass, without copying it first. As an {@link ImmutableContext} cannot
+     * change, its structure is kept as long as the context is reachable and reused when the same context instance
+     * is converted again, e.g. by the evaluations of several flags with one context.
+     */
     public static Struct convertContext(EvaluationContext ctx) {
-        Map<String, Value> ctxMap = ctx.asMap();
+        if (ctx instanceof ImmutableContext) {
+            return IMMUTABLE_CONTEXTS.computeIfAbsent(ctx, Convert::encodeContext);
+        }
+        return encodeContext(ctx);
+    }
+
+    private static Struct encodeContext(EvaluationContext ctx) {
+        final Struct.Builder builder = Struct.newBuilder();
+        putAllFields(builder, ctx.asUnmodifiableMap());
         // asMap() does not provide explicitly set targeting key (ex:- new
         // ImmutableContext("TargetingKey") ).
         // Hence, we add this explicitly here for targeting rule processing.
-        ctxMap.put("targetingKey", new Value(ctx.getTargetingKey()));
-
-        return convertMap(ctxMap).getStructValue();
+        builder.putFields("targetingKey", convertPrimitive(new Value(ctx.getTargetingKey())));
+        return builder.build();
     }
 
     /** Convert any openfeature value to a protobuf value. */
@@ -51,7 +65,7 @@ public class Convert {
         if (value.isList()) {
             return convertList(value.asList());
         } else if (value.isStructure()) {
-            return convertMap(value.asStructure().asMap());
+            return convertMap(value.asStructure().asUnmodifiableMap());
         } else {
             return convertPrimitive(value);
         }
@@ -70,16 +84,17 @@ public class Convert {
 
     /** Convert OpenFeature map to protobuf {@link com.google.protobuf.Value}. */
     public static com.google.protobuf.Value convertMap(Map<String, Value> map) {
-        Map<String, com.google.protobuf.Value> values = new HashMap<>();
-
-        map.keySet().forEach((String key) -> {
-            Value value = map.get(key);
-            values.put(key, convertAny(value));
-        });
-        Struct struct = Struct.newBuilder().putAllFields(values).build();
+        Struct.Builder struct = Struct.newBuilder();
+        putAllFields(struct, map);
         return com.google.protobuf.Value.newBuilder().setStructValue(struct).build();
     }
 
+    private static void putAllFields(Struct.Builder builder, Map<String, Value> map) {
+        for (Map.Entry<String, Value> entry : map.entrySet()) {
+            builder.putFields(entry.getKey(), convertAny(entry.getValue()));
+        }
+    }
+
     /** Convert protobuf map with {@link com.google.protobuf.Value} to OpenFeature map. */
     public static Value convertProtobufMap(Map<String, com.google.protobuf.Value> map) {
         return new Value(convertProtobufMapToStructure(map));
@@ -98,9 +113,10 @@ public class Convert {
 
     /** Convert OpenFeature list to protobuf {@link com.google.protobuf.Value}. */
     public static com.google.protobuf.Value convertList(List<Value> values) {
-        ListValue list = ListValue.newBuilder()
-                .addAllValues(values.stream().map(v -> convertAny(v)).collect(Collectors.toList()))
-                .build();
+        ListValue.Builder list = ListValue.newBuilder();
+        for (Value value : values) {
+            list.addValues(convertAny(value));
+        }
         return com.google.protobuf.Value.newBuilder().setListValue(list).build();
     }
 
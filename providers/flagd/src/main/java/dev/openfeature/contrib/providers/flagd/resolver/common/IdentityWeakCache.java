@@ -0,0 +1,77 @@
+package dev.openfeature.contrib.providers.flagd.resolver.common;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Values computed from objects, kept as long as the object they were computed from is reachable.
+ *
+ * <p>Keys are compared by identity, so looking up a value never traverses the key, and must not change once a value
+ * was computed from them. Entries of collected keys are dropped when further values are added.
+ */
+final class IdentityWeakCache<K, V> {
+    private final Map<IdentityKey<K>, V> store = new ConcurrentHashMap<>();
+    private final ReferenceQueue<K> collected = new ReferenceQueue<>();
+
+    /**
+     * Returns the value computed from the key, computing it if absent. Concurrent callers may compute the value
+     * more than once, the first value stored is kept.
+     *
+     * @param key     the object to compute the value from
+     * @param compute the function computing the value
+     * @return the value computed from the key
+     */
+    V computeIfAbsent(K key, Function<K, V> compute) {
+        final V cached = store.get(new IdentityKey<>(key, null));
+        if (cached != null) {
+            return cached;
+        }
+
+        expungeCollected();
+        final V value = compute.apply(key);
+        final V existing = store.putIfAbsent(new IdentityKey<>(key, collected), value);
+        return existing == null ? value : existing;
+    }
+
+    int size() {
+        expungeCollected();
+        return store.size();
+    }
+
+    private void expungeCollected() {
+        Reference<? extends K> reference;
+        while ((reference = collected.poll()) != null) {
+            store.remove(reference);
+        }
+    }
+
+    private static final class IdentityKey<K> extends WeakReference<K> {
+        private final int hash;
+
+        IdentityKey(K referent, ReferenceQueue<K> queue) {
+            super(referent, queue);
+            this.hash = System.identityHashCode(referent);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof IdentityKey)) {
+                return false;
+            }
+            final Object referent = get();
+            return referent != null && referent == ((IdentityKey<?>) obj).get();
+        }
+    }
+}
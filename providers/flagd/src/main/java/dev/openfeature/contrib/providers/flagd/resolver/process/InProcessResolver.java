@@ -18,7 +18,10 @@ import dev.openfeature.sdk.ProviderEvent;
 import dev.openfeature.sdk.ProviderEventDetails;
 import dev.openfeature.sdk.Structure;
 import dev.openfeature.sdk.Value;
+import dev.openfeature.sdk.exceptions.GeneralError;
 import dev.openfeature.sdk.internal.TriConsumer;
+import java.util.Collection;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import javax.tools.ToolProvider;
@@ -58,7 +61,7 @@ public class InProcessResolver implements Resolver {
         }
         this.queueSource = getQueueSource(options);
         this.evaluator = evaluator;
-        this.flagStore = new FlagStore(queueSource, evaluator);
+        this.flagStore = new FlagStore(queueSource, evaluator, options.getSnapshotPath());
         this.onConnectionEvent = onConnectionEvent;
     }
 
@@ -184,13 +187,44 @@ public class InProcessResolver implements Resolver {
         return evaluator.resolveObjectValue(key, defaultValue, ctx);
     }
 
+    /**
+     * Resolve all flags against the same evaluation context.
+     *
+     * @throws GeneralError if the evaluator does not support bulk evaluation
+     */
+    @Override
+    public Map<String, ProviderEvaluation<Value>> resolveAll(EvaluationContext ctx) {
+        try {
+            return evaluator.resolveAll(ctx);
+        } catch (UnsupportedOperationException e) {
+            throw new GeneralError("Bulk evaluation is not supported by the evaluator", e);
+        }
+    }
+
+    /**
+     * Resolve the given flags against the same evaluation context.
+     *
+     * @throws GeneralError if the evaluator does not support bulk evaluation
+     */
+    @Override
+    public Map<String, ProviderEvaluation<Value>> resolveAll(Collection<String> flagKeys, EvaluationContext ctx) {
+        try {
+            return evaluator.resolveAll(flagKeys, ctx);
+        } catch (UnsupportedOperationException e) {
+            throw new GeneralError("Bulk evaluation is not supported by the evaluator", e);
+        }
+    }
+
     static QueueSource getQueueSource(final FlagdOptions options) {
         if (options.getCustomConnector() != null) {
             return options.getCustomConnector();
         }
         return options.getOfflineFlagSourcePath() != null
                         && !options.getOfflineFlagSourcePath().isEmpty()
-                ? new FileQueueSource(options.getOfflineFlagSourcePath(), options.getOfflinePollIntervalMs())
+                ? new FileQueueSource(
+                        options.getOfflineFlagSourcePath(),
+                        options.getOfflinePollIntervalMs(),
+                        options.isOfflineFileWatch())
                 : new SyncStreamQueueSource(options);
     }
 
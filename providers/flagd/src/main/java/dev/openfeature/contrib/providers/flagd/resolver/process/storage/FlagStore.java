@@ -3,16 +3,30 @@ package dev.openfeature.contrib.providers.flagd.resolver.process.storage;
 import static dev.openfeature.contrib.providers.flagd.resolver.common.Convert.convertProtobufMapToStructure;
 
 import com.google.protobuf.Struct;
+import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.CoalescingQueue;
 import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.QueuePayload;
+import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.QueuePayloadType;
 import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.QueueSource;
 import dev.openfeature.contrib.tools.flagd.api.Evaluator;
+import dev.openfeature.contrib.tools.flagd.api.FlagStoreException;
 import dev.openfeature.sdk.ImmutableStructure;
 import dev.openfeature.sdk.Structure;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import lombok.extern.slf4j.Slf4j;
 
 /** Feature flag storage. */
@@ -22,19 +36,53 @@ import lombok.extern.slf4j.Slf4j;
         justification = "Feature flag comes as a Json configuration, hence they must be exposed")
 public class FlagStore implements Storage {
     private final AtomicBoolean shutdown = new AtomicBoolean(false);
-    private final BlockingQueue<StorageStateChange> stateBlockingQueue = new LinkedBlockingQueue<>(4);
+    // consecutive flag changes not yet consumed are reported as one change
+    private final BlockingQueue<StorageStateChange> stateBlockingQueue =
+            new CoalescingQueue<>(4, StorageStateChange::merge);
 
     private final QueueSource connector;
     private final Evaluator evaluator;
+    // null if the applied configurations are not persisted
+    private final Path snapshotPath;
+    // updated by the streamer thread, written and compacted by the snapshot writer
+    private final AtomicReference<PersistedConfiguration> persisted = new AtomicReference<>();
+    private final AtomicBoolean snapshotScheduled = new AtomicBoolean(false);
+    // writes the latest persisted configuration off the streamer thread, null if configurations are not persisted
+    private final ExecutorService snapshotWriter;
 
     public FlagStore(final QueueSource connector, final Evaluator evaluator) {
+        this(connector, evaluator, null);
+    }
+
+    /**
+     * Create a flag store persisting the applied flag configurations.
+     *
+     * @param connector    the source of the flag configurations
+     * @param evaluator    the evaluator to apply the flag configurations to
+     * @param snapshotPath the file to persist the last applied flag configuration to, which is applied at startup,
+     *                     or null to not persist flag configurations
+     */
+    @SuppressFBWarnings(
+            value = {"PATH_TRAVERSAL_IN"},
+            justification = "The snapshot path is configured by the user.")
+    public FlagStore(final QueueSource connector, final Evaluator evaluator, final String snapshotPath) {
         this.connector = connector;
         this.evaluator = evaluator;
+        this.snapshotPath = snapshotPath == null || snapshotPath.isEmpty() ? null : Paths.get(snapshotPath);
+        this.snapshotWriter = this.snapshotPath == null
+                ? null
+                : Executors.newSingleThreadExecutor(runnable -> {
+                    final Thread writer = new Thread(runnable, "flagd-snapshot-writer");
+                    writer.setDaemon(true);
+                    return writer;
+                });
     }
 
     /** Initialize storage layer. */
     @Override
     public void init() throws Exception {
+        // serve the persisted flags until the connector provides the current ones
+        loadSnapshot();
         connector.init();
         Thread streamer = new Thread(() -> {
             try {
@@ -58,6 +106,10 @@ public class FlagStore implements Storage {
         }
 
         connector.shutdown();
+        if (snapshotWriter != null) {
+            // a pending snapshot is still written
+            snapshotWriter.shutdown();
+        }
     }
 
     /** Retrieve blocking queue to check storage status. */
@@ -70,18 +122,25 @@ public class FlagStore implements Storage {
         final BlockingQueue<QueuePayload> streamPayloads = connector.getStreamQueue();
 
         while (!shutdown.get()) {
-            final QueuePayload payload = streamPayloads.take();
+            final QueuePayload payload = latestPayload(streamPayloads, streamPayloads.take());
             switch (payload.getType()) {
                 case DATA:
+                case DELTA:
                     try {
-                        // Delegate flag parsing to the evaluator
-                        List<String> changedFlagsKeys = evaluator.setFlagsAndGetChangedKeys(payload.getFlagData());
+                        // Delegate flag parsing to the evaluator, bytes are parsed in place
+                        List<String> changedFlagsKeys = applyFlagData(payload);
                         Structure syncContext = parseSyncContext(payload.getSyncContext());
 
                         if (!stateBlockingQueue.offer(
                                 new StorageStateChange(StorageState.OK, changedFlagsKeys, syncContext))) {
                             log.warn("Failed to convey OK status, queue is full");
                         }
+                        persist(payload);
+                    } catch (InternalError e) {
+                        // memory mapped bytes fault if the file is truncated while they are parsed, the file
+                        // connector offers the file again once it is rewritten
+                        log.warn(
+                                "Flag source file changed while it was parsed, keeping the last flag configuration", e);
                     } catch (Throwable e) {
                         // catch all exceptions and avoid stream listener interruptions
                         log.warn("Invalid flag sync payload from connector", e);
@@ -109,6 +168,133 @@ public class FlagStore implements Storage {
         log.info("Shutting down store stream listener");
     }
 
+    private List<String> applyFlagData(QueuePayload payload) throws FlagStoreException {
+        if (payload.getType() == QueuePayloadType.DELTA) {
+            // only the changed flags are parsed, the others are kept
+            return evaluator.updateFlagsAndGetChangedKeys(payload.getFlagData());
+        }
+
+        final InputStream flagBytes = payload.openFlagBytes();
+        return flagBytes != null
+                ? evaluator.setFlagsAndGetChangedKeys(flagBytes)
+                : evaluator.setFlagsAndGetChangedKeys(payload.getFlagData());
+    }
+
+    private void loadSnapshot() {
+        if (snapshotPath == null) {
+            return;
+        }
+
+        try {
+            final PersistedConfiguration snapshot = PersistedConfiguration.read(snapshotPath);
+            if (snapshot == null) {
+                log.debug("No flag configuration snapshot found at {}", snapshotPath);
+                return;
+            }
+
+            final Set<String> changedFlagsKeys =
+                    new LinkedHashSet<>(evaluator.setFlagsAndGetChangedKeys(snapshot.openConfiguration()));
+            for (String changes : snapshot.getChanges()) {
+                changedFlagsKeys.addAll(evaluator.updateFlagsAndGetChangedKeys(changes));
+            }
+            persisted.set(snapshot);
+
+            log.info("Serving flag configuration snapshot from {} until the first sync", snapshotPath);
+            if (!stateBlockingQueue.offer(new StorageStateChange(
+                    StorageState.OK, new ArrayList<>(changedFlagsKeys), parseSyncContext(snapshot.getSyncContext())))) {
+                log.warn("Failed to convey OK status, queue is full");
+            }
+        } catch (Exception e) {
+            // the snapshot is replaced by the first configuration applied
+            log.warn("Ignoring invalid flag configuration snapshot {}", snapshotPath, e);
+        }
+    }
+
+    /**
+     * Persist the applied configuration, or the changes applied to the persisted configuration. The snapshot is
+     * written by the snapshot writer, which only writes the latest state if several are applied in the meantime.
+     */
+    private void persist(QueuePayload payload) {
+        if (snapshotPath == null) {
+            return;
+        }
+
+        if (payload.getType() == QueuePayloadType.DELTA) {
+            final PersistedConfiguration updated = persisted.updateAndGet(current ->
+                    current == null ? null : current.withChanges(payload.getFlagData(), payload.getSyncContext()));
+            if (updated == null) {
+                // the configuration the changes apply to is unknown
+                return;
+            }
+        } else {
+            // bytes are persisted as they are, without decoding them
+            final ByteBuffer flagBytes = payload.getFlagBytes();
+            persisted.set(
+                    flagBytes != null
+                            ? new PersistedConfiguration(flagBytes, new ArrayList<>(), payload.getSyncContext())
+                            : new PersistedConfiguration(
+                                    payload.getFlagData(), new ArrayList<>(), payload.getSyncContext()));
+        }
+
+        if (snapshotScheduled.compareAndSet(false, true)) {
+            try {
+                snapshotWriter.execute(this::writeSnapshot);
+            } catch (RejectedExecutionException e) {
+                log.debug("Not persisting the flag configuration, the store is shut down");
+            }
+        }
+    }
+
+    /**
+     * Write the latest persisted configuration, compacting its changes first if they add up. Failures are logged
+     * only, as they do not affect the applied flags.
+     */
+    private void writeSnapshot() {
+        // states persisted from now on schedule another write
+        snapshotScheduled.set(false);
+        PersistedConfiguration latest = persisted.get();
+        try {
+            if (latest.needsCompaction()) {
+                final PersistedConfiguration base = latest;
+                final PersistedConfiguration compacted = base.compact();
+                // keep the changes persisted while compacting
+                latest = persisted.updateAndGet(current -> current.rebase(base, compacted));
+            }
+            latest.write(snapshotPath);
+        } catch (IOException | RuntimeException | InternalError e) {
+            // memory mapped configurations fault if their file is truncated in the meantime
+            log.warn("Failed to persist the flag configuration snapshot {}", snapshotPath, e);
+        }
+    }
+
+    /**
+     * Skip flag configurations and flag changes superseded by newer configurations already queued, only the latest
+     * configuration is parsed. The flags changed by skipped payloads are still reported, as they are changed
+     * compared to the parsed flags. Flag changes queued after a configuration are applied to it, in order.
+     */
+    private static QueuePayload latestPayload(BlockingQueue<QueuePayload> streamPayloads, QueuePayload payload) {
+        QueuePayload latest = payload;
+        int skipped = 0;
+        // this is the only consumer, and producers only replace queued payloads by newer configurations, so the
+        // polled payload is the peeked one or a newer configuration
+        while (latest.isFlagData() && isData(streamPayloads.peek())) {
+            final QueuePayload next = streamPayloads.poll();
+            if (next == null) {
+                break;
+            }
+            latest = next;
+            skipped++;
+        }
+        if (skipped > 0) {
+            log.debug("Skipped {} superseded flag payloads", skipped);
+        }
+        return latest;
+    }
+
+    private static boolean isData(QueuePayload payload) {
+        return payload != null && payload.getType() == QueuePayloadType.DATA;
+    }
+
     private Structure parseSyncContext(Struct syncContext) {
         if (syncContext != null) {
             try {
@@ -0,0 +1,366 @@
+package dev.openfeature.contrib.providers.flagd.resolver.process.storage;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Struct;
+import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.ByteBufferInputStream;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+
+/**
+ * The last flag configuration applied by a {@link FlagStore}, with the incremental flag changes applied to it since,
+ * persisted to a file so that flags can be served at startup before the first sync arrives.
+ *
+ * <p>The file starts with a JSON header line holding the flag changes, the sync context and a SHA-256 checksum of the
+ * content, followed by the configuration bytes as they were received: configurations read from memory mapped files
+ * are written without being decoded. Files which were truncated or altered are rejected. Files are replaced
+ * atomically, by writing a temporary file in the same directory and moving it over the previous one.
+ *
+ * <p>Flag changes add up until they are folded into the configuration by {@link #compact()}, which keeps the file
+ * size bounded by the size of the merged configuration.
+ */
+@SuppressFBWarnings(
+        value = {"PATH_TRAVERSAL_IN"},
+        justification = "The snapshot path is configured by the user.")
+final class PersistedConfiguration {
+    private static final int VERSION = 2;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String FLAGS_KEY = "flags";
+    private static final String EVALUATORS_KEY = "$evaluators";
+    private static final String REF_KEY = "$ref";
+    private static final String UPSERTS_KEY = "upserts";
+    private static final String DELETES_KEY = "deletes";
+
+    // the number of changes above which they are compacted, whatever their size
+    static final int MAX_CHANGES = 32;
+
+    // UTF-8 encoded, read only
+    private final ByteBuffer configuration;
+
+    @Getter
+    private final List<String> changes;
+    // the summed length of the changes
+    private final long changesLength;
+    // null if the sync did not provide a sync context
+    @Getter
+    private final Struct syncContext;
+
+    PersistedConfiguration(String configuration, List<String> changes, Struct syncContext) {
+        this(ByteBuffer.wrap(configuration.getBytes(StandardCharsets.UTF_8)), changes, syncContext);
+    }
+
+    /**
+     * Create a persisted configuration of UTF-8 encoded bytes. The bytes are not copied, the buffer must not be
+     * changed afterwards.
+     */
+    PersistedConfiguration(ByteBuffer configuration, List<String> changes, Struct syncContext) {
+        this(configuration.slice().asReadOnlyBuffer(), changes, length(changes), syncContext);
+    }
+
+    private PersistedConfiguration(
+            ByteBuffer configuration, List<String> changes, long changesLength, Struct syncContext) {
+        this.configuration = configuration;
+        this.changes = Collections.unmodifiableList(changes);
+        this.changesLength = changesLength;
+        this.syncContext = syncContext;
+    }
+
+    /**
+     * Returns the configuration as a string.
+     */
+    String getConfiguration() {
+        return StandardCharsets.UTF_8.decode(configuration.duplicate()).toString();
+    }
+
+    /**
+     * Returns a stream of the configuration bytes, reading them in place.
+     */
+    InputStream openConfiguration() {
+        return new ByteBufferInputStream(configuration.duplicate());
+    }
+
+    /**
+     * Returns the persisted configuration with the given flag changes applied.
+     *
+     * @param flagChanges the incremental flag changes
+     * @param syncContext the sync context of the changes, null to keep the current one
+     * @return the new persisted configuration
+     */
+    PersistedConfiguration withChanges(String flagChanges, Struct syncContext) {
+        final List<String> allChanges = new ArrayList<>(changes.size() + 1);
+        allChanges.addAll(changes);
+        allChanges.add(flagChanges);
+        return new PersistedConfiguration(
+                configuration,
+                allChanges,
+                changesLength + flagChanges.length(),
+                syncContext != null ? syncContext : this.syncContext);
+    }
+
+    /**
+     * Returns whether the changes should be folded into the configuration, as there are many of them or they are
+     * larger than the configuration.
+     */
+    boolean needsCompaction() {
+        return changes.size() > MAX_CHANGES || changesLength > configuration.remaining();
+    }
+
+    /**
+     * Returns the persisted configuration with the changes folded into the configuration: deleted flags are removed
+     * from it, and upserted flags added or replaced, along with their evaluators. Folding stops at the first change
+     * whose flags reference evaluators it does not define, or which redefines evaluators of the configuration, as
+     * these are resolved differently in a configuration than in a change. The changes from there on are kept.
+     *
+     * @return the compacted configuration, this configuration if no change can be folded
+     * @throws IOException if the configuration or a change is not a valid JSON object
+     */
+    PersistedConfiguration compact() throws IOException {
+        final JsonNode root;
+        try (InputStream in = openConfiguration()) {
+            root = MAPPER.readTree(in);
+        }
+        if (!(root instanceof ObjectNode)) {
+            throw new IOException("The persisted flag configuration is not a JSON object");
+        }
+        final ObjectNode merged = (ObjectNode) root;
+
+        int folded = 0;
+        for (String change : changes) {
+            final JsonNode changeRoot = MAPPER.readTree(change);
+            if (!isFoldable(changeRoot, merged.get(EVALUATORS_KEY))) {
+                break;
+            }
+
+            final ObjectNode flags = objectField(merged, FLAGS_KEY);
+            for (JsonNode key : changeRoot.path(DELETES_KEY)) {
+                flags.remove(key.asText());
+            }
+            final Iterator<Map.Entry<String, JsonNode>> upserts =
+                    changeRoot.path(UPSERTS_KEY).fields();
+            while (upserts.hasNext()) {
+                final Map.Entry<String, JsonNode> upsert = upserts.next();
+                flags.set(upsert.getKey(), upsert.getValue());
+            }
+            final Iterator<Map.Entry<String, JsonNode>> evaluators =
+                    changeRoot.path(EVALUATORS_KEY).fields();
+            while (evaluators.hasNext()) {
+                final Map.Entry<String, JsonNode> evaluator = evaluators.next();
+                objectField(merged, EVALUATORS_KEY).set(evaluator.getKey(), evaluator.getValue());
+            }
+            folded++;
+        }
+
+        if (folded == 0) {
+            return this;
+        }
+        return new PersistedConfiguration(
+                ByteBuffer.wrap(MAPPER.writeValueAsBytes(merged)),
+                new ArrayList<>(changes.subList(folded, changes.size())),
+                syncContext);
+    }
+
+    /**
+     * Returns this configuration with the part derived from {@code base} replaced by its compacted form, keeping the
+     * changes added since. Returns this configuration if it was not derived from {@code base}, as a newer
+     * configuration replaced it.
+     *
+     * @param base      a previous state of this configuration
+     * @param compacted the compacted form of {@code base}
+     * @return the rebased configuration
+     */
+    PersistedConfiguration rebase(PersistedConfiguration base, PersistedConfiguration compacted) {
+        // changes are only ever appended to the configuration instance they were applied to
+        if (configuration != base.configuration || changes.size() < base.changes.size()) {
+            return this;
+        }
+
+        final List<String> rebased = new ArrayList<>(compacted.changes);
+        rebased.addAll(changes.subList(base.changes.size(), changes.size()));
+        return new PersistedConfiguration(
+                compacted.configuration,
+                rebased,
+                compacted.changesLength + changesLength - base.changesLength,
+                syncContext);
+    }
+
+    /**
+     * Read a persisted configuration.
+     *
+     * @param path the file to read
+     * @return the persisted configuration, or null if the file does not exist
+     * @throws IOException if the file can not be read, or its content does not match its checksum
+     */
+    static PersistedConfiguration read(Path path) throws IOException {
+        final byte[] content;
+        try {
+            content = Files.readAllBytes(path);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+
+        int headerLength = 0;
+        while (headerLength < content.length && content[headerLength] != '\n') {
+            headerLength++;
+        }
+        if (headerLength == content.length) {
+            throw new IOException("Unsupported flag configuration snapshot " + path);
+        }
+
+        final JsonNode header = MAPPER.readTree(content, 0, headerLength);
+        if (header == null || header.path("version").asInt() != VERSION) {
+            throw new IOException("Unsupported flag configuration snapshot " + path);
+        }
+
+        final List<String> changes = new ArrayList<>();
+        for (JsonNode change : header.path("changes")) {
+            changes.add(change.asText());
+        }
+        final JsonNode syncContext = header.get("syncContext");
+        final PersistedConfiguration persisted = new PersistedConfiguration(
+                ByteBuffer.wrap(content, headerLength + 1, content.length - headerLength - 1),
+                changes,
+                syncContext == null ? null : parseSyncContext(syncContext.asText()));
+
+        final byte[] checksum =
+                Base64.getDecoder().decode(header.path("checksum").asText());
+        if (!MessageDigest.isEqual(checksum, persisted.checksum())) {
+            throw new IOException("Checksum mismatch of flag configuration snapshot " + path);
+        }
+        return persisted;
+    }
+
+    /**
+     * Write the persisted configuration, atomically replacing the file if it exists.
+     *
+     * @param path the file to write
+     * @throws IOException if the file can not be written
+     */
+    void write(Path path) throws IOException {
+        final ObjectNode header = MAPPER.createObjectNode();
+        header.put("version", VERSION);
+        header.put("checksum", Base64.getEncoder().encodeToString(checksum()));
+        changes.forEach(header.putArray("changes")::add);
+        if (syncContext != null) {
+            header.put("syncContext", Base64.getEncoder().encodeToString(syncContext.toByteArray()));
+        }
+        // serialized JSON holds no line break, it ends the header
+        final byte[] headerBytes = MAPPER.writeValueAsBytes(header);
+
+        final Path target = path.toAbsolutePath();
+        final Path directory = target.getParent();
+        if (directory == null) {
+            throw new IOException("No directory to write flag configuration snapshot " + path);
+        }
+        Files.createDirectories(directory);
+
+        final Path temporary = Files.createTempFile(directory, target.getFileName() + ".", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                writeFully(channel, ByteBuffer.wrap(headerBytes));
+                writeFully(channel, ByteBuffer.wrap(new byte[] {'\n'}));
+                writeFully(channel, configuration.duplicate());
+                // the content must be on disk before the file is replaced, so that a crash leaves either file
+                channel.force(true);
+            }
+            try {
+                Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private byte[] checksum() {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+
+        // every part is prefixed by its length, so that moving bytes between parts changes the checksum
+        update(digest, configuration.duplicate());
+        for (String change : changes) {
+            update(digest, ByteBuffer.wrap(change.getBytes(StandardCharsets.UTF_8)));
+        }
+        update(digest, ByteBuffer.wrap(syncContext == null ? new byte[0] : syncContext.toByteArray()));
+        return digest.digest();
+    }
+
+    private static void update(MessageDigest digest, ByteBuffer part) {
+        digest.update(
+                ByteBuffer.allocate(Integer.BYTES).putInt(part.remaining()).array());
+        digest.update(part);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static boolean isFoldable(JsonNode change, JsonNode evaluators) {
+        final JsonNode changeEvaluators = change.path(EVALUATORS_KEY);
+        for (JsonNode ref : change.path(UPSERTS_KEY).findValues(REF_KEY)) {
+            if (!changeEvaluators.has(ref.asText())) {
+                return false;
+            }
+        }
+
+        final Iterator<Map.Entry<String, JsonNode>> it = changeEvaluators.fields();
+        while (it.hasNext()) {
+            final Map.Entry<String, JsonNode> evaluator = it.next();
+            final JsonNode existing = evaluators == null ? null : evaluators.get(evaluator.getKey());
+            if (existing != null && !existing.equals(evaluator.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static ObjectNode objectField(ObjectNode parent, String name) throws IOException {
+        final JsonNode node = parent.get(name);
+        if (node == null) {
+            return parent.putObject(name);
+        }
+        if (!(node instanceof ObjectNode)) {
+            throw new IOException("The persisted flag configuration has no valid " + name);
+        }
+        return (ObjectNode) node;
+    }
+
+    private static long length(List<String> changes) {
+        long length = 0;
+        for (String change : changes) {
+            length += change.length();
+        }
+        return length;
+    }
+
+    private static Struct parseSyncContext(String encoded) throws InvalidProtocolBufferException {
+        return Struct.parseFrom(Base64.getDecoder().decode(encoded));
+    }
+}
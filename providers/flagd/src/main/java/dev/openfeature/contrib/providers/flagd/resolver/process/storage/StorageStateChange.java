@@ -1,9 +1,13 @@
 package dev.openfeature.contrib.providers.flagd.resolver.process.storage;
 
+import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.CoalescingQueue;
 import dev.openfeature.sdk.ImmutableStructure;
 import dev.openfeature.sdk.Structure;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
@@ -52,4 +56,22 @@ public class StorageStateChange {
         this.changedFlagsKeys = Collections.emptyList();
         this.syncMetadata = new ImmutableStructure();
     }
+
+    /**
+     * Merge function for a {@link CoalescingQueue}: two consecutive changes of the flags are reported as one change
+     * of all flags changed by either, with the newer sync metadata.
+     *
+     * @param queued the change queued last
+     * @param added  the change added
+     * @return the merged change if both are {@link StorageState#OK} changes, otherwise null
+     */
+    public static StorageStateChange merge(StorageStateChange queued, StorageStateChange added) {
+        if (queued.getStorageState() != StorageState.OK || added.getStorageState() != StorageState.OK) {
+            return null;
+        }
+
+        final Set<String> changedFlagsKeys = new LinkedHashSet<>(queued.getChangedFlagsKeys());
+        changedFlagsKeys.addAll(added.getChangedFlagsKeys());
+        return new StorageStateChange(StorageState.OK, new ArrayList<>(changedFlagsKeys), added.getSyncMetadata());
+    }
 }
@@ -0,0 +1,77 @@
+package dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector;
+
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BinaryOperator;
+
+/**
+ * A bounded queue which merges an added element into the last queued one, if they can be merged.
+ *
+ * <p>Used between producers and a consumer interested in the latest state only, e.g. so that a flag configuration
+ * which was superseded before it was consumed is replaced instead of being processed, or producers finding the queue
+ * full drop the newest configuration. Elements which can not be merged are queued in order. Only elements added with
+ * {@link #offer}, {@link #add} and {@link #put} are merged.
+ *
+ * @param <E> the type of the elements
+ */
+public class CoalescingQueue<E> extends LinkedBlockingDeque<E> {
+    private static final long serialVersionUID = 1L;
+
+    private final transient BinaryOperator<E> merge;
+    private final transient Object producerLock = new Object();
+
+    /**
+     * Create the queue.
+     *
+     * @param capacity max amount of elements queued
+     * @param merge    merges the last queued element and the added one, in that order, returning null if they can
+     *                 not be merged
+     */
+    public CoalescingQueue(int capacity, BinaryOperator<E> merge) {
+        super(capacity);
+        this.merge = merge;
+    }
+
+    @Override
+    public boolean offer(E element) {
+        synchronized (producerLock) {
+            return mergeIntoLast(element) || offerLast(element);
+        }
+    }
+
+    @Override
+    public boolean offer(E element, long timeout, TimeUnit unit) throws InterruptedException {
+        synchronized (producerLock) {
+            return mergeIntoLast(element) || offerLast(element, timeout, unit);
+        }
+    }
+
+    @Override
+    public void put(E element) throws InterruptedException {
+        synchronized (producerLock) {
+            if (!mergeIntoLast(element)) {
+                putLast(element);
+            }
+        }
+    }
+
+    @Override
+    public boolean add(E element) {
+        if (!offer(element)) {
+            throw new IllegalStateException("Deque full");
+        }
+        return true;
+    }
+
+    private boolean mergeIntoLast(E element) {
+        final E last = pollLast();
+        if (last == null) {
+            return false;
+        }
+
+        final E merged = merge.apply(last, element);
+        // the slot of the removed element is still free, as producers are serialized
+        offerLast(merged != null ? merged : last);
+        return merged != null;
+    }
+}
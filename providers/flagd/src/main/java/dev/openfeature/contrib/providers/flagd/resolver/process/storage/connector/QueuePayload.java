@@ -1,11 +1,17 @@
 package dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector;
 
 import com.google.protobuf.Struct;
-import lombok.AllArgsConstructor;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import lombok.Getter;
 
-/** Payload emitted by a {@link QueueSource}. */
-@AllArgsConstructor
+/**
+ * Payload emitted by a {@link QueueSource}.
+ *
+ * <p>Flag data is either a string, or UTF-8 encoded bytes such as a memory mapped file, which are parsed while they
+ * are read instead of being decoded into a string first.
+ */
 @Getter
 public class QueuePayload {
     public static final QueuePayload ERROR = new QueuePayload(QueuePayloadType.ERROR);
@@ -13,13 +19,77 @@ public class QueuePayload {
 
     private final QueuePayloadType type;
     private final String flagData;
+    private final ByteBuffer flagBytes;
     private final Struct syncContext;
 
+    public QueuePayload(QueuePayloadType type, String flagData, Struct syncContext) {
+        this(type, flagData, null, syncContext);
+    }
+
     public QueuePayload(QueuePayloadType type, String flagData) {
-        this(type, flagData, null);
+        this(type, flagData, null, null);
     }
 
     public QueuePayload(QueuePayloadType type) {
-        this(type, null, null);
+        this(type, null, null, null);
+    }
+
+    private QueuePayload(QueuePayloadType type, String flagData, ByteBuffer flagBytes, Struct syncContext) {
+        this.type = type;
+        this.flagData = flagData;
+        this.flagBytes = flagBytes == null ? null : flagBytes.asReadOnlyBuffer();
+        this.syncContext = syncContext;
+    }
+
+    /**
+     * Create a data payload of UTF-8 encoded flag data. The bytes are not copied, the buffer must not be changed
+     * afterwards.
+     *
+     * @param flagBytes the flag data
+     * @return the payload
+     */
+    public static QueuePayload fromBytes(ByteBuffer flagBytes) {
+        return new QueuePayload(QueuePayloadType.DATA, null, flagBytes, null);
+    }
+
+    /**
+     * Merge function for a {@link CoalescingQueue}: a queued flag configuration or flag changes are replaced by a
+     * newer flag configuration, as only the latest configuration needs to be parsed. A queued error is replaced as
+     * well, the newer configuration recovering from it, so that a full queue does not drop the configuration. Other
+     * payloads, including flag changes which apply on top of the queued payload, are kept in order.
+     *
+     * @param queued the payload queued last
+     * @param added  the payload added
+     * @return the added payload if it is a flag configuration superseding the queued payload, otherwise null
+     */
+    public static QueuePayload supersede(QueuePayload queued, QueuePayload added) {
+        return added.getType() == QueuePayloadType.DATA
+                        && (queued.isFlagData() || queued.getType() == QueuePayloadType.ERROR)
+                ? added
+                : null;
+    }
+
+    /**
+     * Returns whether the payload holds a flag configuration or flag changes.
+     */
+    public boolean isFlagData() {
+        return type == QueuePayloadType.DATA || type == QueuePayloadType.DELTA;
+    }
+
+    /**
+     * Returns the flag data as a string, decoding it if the payload holds bytes.
+     */
+    public String getFlagData() {
+        if (flagData == null && flagBytes != null) {
+            return StandardCharsets.UTF_8.decode(flagBytes.duplicate()).toString();
+        }
+        return flagData;
+    }
+
+    /**
+     * Returns a stream of the flag bytes, reading them in place, or null if the payload holds a string.
+     */
+    public InputStream openFlagBytes() {
+        return flagBytes == null ? null : new ByteBufferInputStream(flagBytes.duplicate());
     }
 }
@@ -3,6 +3,8 @@ package dev.openfeature.contrib.providers.flagd.resolver.process.storage.connect
 /** Payload type emitted by {@link QueueSource}. */
 public enum QueuePayloadType {
     DATA,
+    // incremental flag changes applied to the current flag configuration
+    DELTA,
     ERROR,
     SHUTDOWN
 }
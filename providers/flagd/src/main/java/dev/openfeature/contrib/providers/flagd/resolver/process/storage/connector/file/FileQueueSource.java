@@ -1,22 +1,50 @@
 package dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.file;
 
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.CoalescingQueue;
 import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.QueuePayload;
 import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.QueuePayloadType;
 import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.QueueSource;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.ClosedWatchServiceException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * File connector reads flag configurations from a given file, polls for changes and expose the
+ * File connector reads flag configurations from a given file, watches for changes and expose the
  * content through {@code Connector} contract. The implementation is kept minimal and suites
  * testing, local development needs.
+ *
+ * <p>By default, the parent directory of the file is observed with a {@link WatchService}, which also catches files
+ * replaced by an atomic rename, such as Kubernetes ConfigMap updates. Bursts of events are debounced. Events for the
+ * file, or for a symbolic link it is resolved through, have the file read again, other events only if its modification
+ * time or size changed. The file is only offered again if its content hash changed. The file is additionally checked
+ * every poll interval, in case the file system does not report changes. If the directory can not be watched, or
+ * watching is disabled, changes are detected by polling the modification time and size of the file.
+ *
+ * <p>Files of a megabyte or more are memory mapped and offered as bytes, which are parsed in place.
  */
 @SuppressFBWarnings(
         value = {"EI_EXPOSE_REP", "PATH_TRAVERSAL_IN"},
@@ -25,19 +53,43 @@ import lombok.extern.slf4j.Slf4j;
 public class FileQueueSource implements QueueSource {
 
     private static final String OFFER_WARN = "Unable to offer file content to queue: queue is full";
+    private static final long DEBOUNCE_MS = 100;
+    private static final int MAX_SYMBOLIC_LINKS = 8;
+    // smaller files are cheaper to read than to map
+    private static final long MAP_THRESHOLD_BYTES = 1024 * 1024;
 
     private final String flagSourcePath;
     private final int pollInterval;
-    private final BlockingQueue<QueuePayload> queue = new LinkedBlockingQueue<>(1);
-    private boolean shutdown = false;
+    private final boolean watch;
+    private final BlockingQueue<QueuePayload> queue = new CoalescingQueue<>(1, QueuePayload::supersede);
+    private volatile boolean shutdown = false;
+    private volatile WatchService watchService;
+
+    // only accessed by the watcher thread
+    private byte[] lastDigest;
+    private FileTime lastModified;
+    private long lastSize;
 
     public FileQueueSource(final String flagSourcePath, int pollInterval) {
+        this(flagSourcePath, pollInterval, true);
+    }
+
+    /**
+     * Create a file connector.
+     *
+     * @param flagSourcePath the file to read the flag configurations from
+     * @param pollInterval   interval in milliseconds to check the file for changes, when watching the file only
+     *                       missed changes are checked for and a value of 0 or less disables these checks
+     * @param watch          whether to watch the file for changes, instead of only polling it
+     */
+    public FileQueueSource(final String flagSourcePath, int pollInterval, boolean watch) {
         this.flagSourcePath = flagSourcePath;
         this.pollInterval = pollInterval;
+        this.watch = watch;
     }
 
     /**
-     * Initialize FileQueueSource. Reads file content, poll for changes and offer content through the
+     * Initialize FileQueueSource. Reads file content, watch for changes and offer content through the
      * queue.
      */
     public void init() throws IOException {
@@ -45,29 +97,28 @@ public class FileQueueSource implements QueueSource {
             try {
                 final Path filePath = Paths.get(flagSourcePath);
 
-                // initial read
-                String flagData = new String(Files.readAllBytes(filePath), StandardCharsets.UTF_8);
-                if (!queue.offer(new QueuePayload(QueuePayloadType.DATA, flagData))) {
-                    log.warn(OFFER_WARN);
-                }
-
-                long lastTS = Files.getLastModifiedTime(filePath).toMillis();
-
-                // start polling for changes
-                while (!shutdown) {
-                    long currentTS = Files.getLastModifiedTime(filePath).toMillis();
-
-                    if (currentTS > lastTS) {
-                        lastTS = currentTS;
-                        flagData = new String(Files.readAllBytes(filePath), StandardCharsets.UTF_8);
-                        if (!queue.offer(new QueuePayload(QueuePayloadType.DATA, flagData))) {
-                            log.warn(OFFER_WARN);
-                        }
+                // watch before the initial read, so that no change is missed in between
+                final WatchService service = watch ? startWatching(filePath) : null;
+                try {
+                    // initial read
+                    final BasicFileAttributes attributes = Files.readAttributes(filePath, BasicFileAttributes.class);
+                    if (reloadIfChanged(filePath)) {
+                        lastModified = attributes.lastModifiedTime();
+                        lastSize = attributes.size();
                     }
 
-                    Thread.sleep(pollInterval);
+                    if (service == null || !watchForChanges(filePath, service)) {
+                        pollForChanges(filePath);
+                    }
+                } finally {
+                    if (service != null) {
+                        watchService = null;
+                        service.close();
+                    }
                 }
 
+                log.info("Shutting down file connector.");
+            } catch (ClosedWatchServiceException ex) {
                 log.info("Shutting down file connector.");
             } catch (InterruptedException ex) {
                 log.error("Interrupted while waiting for polling", ex);
@@ -93,5 +144,202 @@ public class FileQueueSource implements QueueSource {
     /** Shutdown file connector. */
     public void shutdown() {
         shutdown = true;
+        final WatchService service = watchService;
+        if (service != null) {
+            try {
+                // wakes up the watcher thread
+                service.close();
+            } catch (IOException e) {
+                log.debug("Failed to close the file watch service", e);
+            }
+        }
+    }
+
+    /**
+     * Register a watch service for the parent directory of the file.
+     *
+     * @return the watch service, or null if the directory can not be watched and the file has to be polled instead
+     */
+    private WatchService startWatching(final Path filePath) throws IOException {
+        final Path directory = filePath.toAbsolutePath().getParent();
+        if (directory == null) {
+            return null;
+        }
+
+        final WatchService service;
+        try {
+            service = directory.getFileSystem().newWatchService();
+        } catch (IOException | UnsupportedOperationException e) {
+            log.warn("Unable to watch {}, polling it for changes instead", directory, e);
+            return null;
+        }
+        try {
+            directory.register(service, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+        } catch (IOException | UnsupportedOperationException e) {
+            log.warn("Unable to watch {}, polling it for changes instead", directory, e);
+            service.close();
+            return null;
+        }
+
+        watchService = service;
+        if (shutdown) {
+            // shut down before the service could be closed by shutdown()
+            service.close();
+        }
+        return service;
+    }
+
+    /**
+     * Wait for events of the watched directory until shutdown.
+     *
+     * @return false if the directory is no longer watched, and the file has to be polled instead
+     */
+    private boolean watchForChanges(final Path filePath, final WatchService service)
+            throws IOException, InterruptedException {
+        while (!shutdown) {
+            WatchKey key = pollInterval > 0 ? service.poll(pollInterval, TimeUnit.MILLISECONDS) : service.take();
+            if (key == null) {
+                // no events, check for changes the file system may not have reported
+                checkForChanges(filePath);
+                continue;
+            }
+
+            // debounce the events, and read the file again if any of them concerns it, e.g. the Kubernetes ..data
+            // symbolic link being swapped, otherwise only if its modification time or size changed
+            final Set<Path> names = resolvedNames(filePath);
+            boolean concernsFile = false;
+            do {
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    concernsFile |= event.kind() == OVERFLOW || names.contains(event.context());
+                }
+                if (!key.reset()) {
+                    log.warn(
+                            "{} is no longer watched, polling it for changes instead",
+                            filePath.toAbsolutePath().getParent());
+                    return false;
+                }
+                key = service.poll(DEBOUNCE_MS, TimeUnit.MILLISECONDS);
+            } while (key != null);
+
+            checkForChanges(filePath, concernsFile);
+        }
+        return true;
+    }
+
+    /**
+     * Collect the names in the watched directory the file is resolved through: its own name, and the first name of
+     * each symbolic link target within the directory.
+     */
+    private static Set<Path> resolvedNames(final Path filePath) {
+        final Path directory = filePath.toAbsolutePath().getParent();
+        final Set<Path> names = new HashSet<>();
+        names.add(filePath.getFileName());
+
+        Path current = filePath.toAbsolutePath();
+        for (int i = 0; i < MAX_SYMBOLIC_LINKS && Files.isSymbolicLink(current); i++) {
+            try {
+                current =
+                        current.resolveSibling(Files.readSymbolicLink(current)).normalize();
+            } catch (IOException e) {
+                // the link was removed in the meantime
+                break;
+            }
+            if (current.startsWith(directory) && !current.equals(directory)) {
+                // for a target such as ..data/flags.json, swapping the ..data link changes the file
+                names.add(directory.relativize(current).getName(0));
+            }
+        }
+        return names;
+    }
+
+    private void pollForChanges(final Path filePath) throws IOException, InterruptedException {
+        while (!shutdown) {
+            checkForChanges(filePath);
+            Thread.sleep(pollInterval);
+        }
+    }
+
+    private void checkForChanges(final Path filePath) throws IOException {
+        checkForChanges(filePath, false);
+    }
+
+    /**
+     * Reload the file if it changed since it was last read. Unless forced, the file is only read if its modification
+     * time or size changed.
+     */
+    private void checkForChanges(final Path filePath, boolean force) throws IOException {
+        try {
+            final BasicFileAttributes attributes = Files.readAttributes(filePath, BasicFileAttributes.class);
+            if (!force && attributes.lastModifiedTime().equals(lastModified) && attributes.size() == lastSize) {
+                return;
+            }
+            if (reloadIfChanged(filePath)) {
+                lastModified = attributes.lastModifiedTime();
+                lastSize = attributes.size();
+            }
+        } catch (NoSuchFileException e) {
+            // the file may be replaced, keep the current flags until it is available again
+            log.warn("Flag source file {} not found, keeping the last flag configuration", filePath);
+        }
+    }
+
+    /**
+     * Offer the content of the file, unless it is the same as the content offered last.
+     *
+     * @return false if the changed content could not be offered, and has to be offered again on the next check
+     */
+    private boolean reloadIfChanged(final Path filePath) throws IOException {
+        final ByteBuffer content = read(filePath);
+        final byte[] digest;
+        try {
+            digest = digest(content.duplicate());
+        } catch (InternalError e) {
+            // the mapped file was truncated while it was read, it is read again on the next check
+            log.warn("Flag source file {} changed while it was read, keeping the last flag configuration", filePath);
+            return false;
+        }
+        if (MessageDigest.isEqual(digest, lastDigest)) {
+            return true;
+        }
+
+        if (!queue.offer(QueuePayload.fromBytes(content))) {
+            log.warn(OFFER_WARN);
+            return false;
+        }
+        lastDigest = digest;
+        return true;
+    }
+
+    /**
+     * Read the file, large files are memory mapped instead of being copied to the heap. Replacing the file, e.g. by
+     * a rename, keeps the mapped content intact, whereas truncating it while it is read faults the mapped bytes with
+     * an {@link InternalError}: the update is then skipped, and the last flag configuration kept.
+     */
+    private static ByteBuffer read(final Path filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size >= MAP_THRESHOLD_BYTES) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+
+            // read through the open channel, up to the size the file had or its end if it was truncated since
+            final ByteBuffer content = ByteBuffer.allocate((int) size);
+            int read = 0;
+            while (read >= 0 && content.hasRemaining()) {
+                read = channel.read(content);
+            }
+            content.flip();
+            return content;
+        }
+    }
+
+    private static byte[] digest(ByteBuffer content) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(content);
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
     }
 }
@@ -1,10 +1,14 @@
 package dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.sync;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.google.protobuf.Struct;
 import dev.openfeature.contrib.providers.flagd.FlagdOptions;
 import dev.openfeature.contrib.providers.flagd.resolver.common.ChannelBuilder;
 import dev.openfeature.contrib.providers.flagd.resolver.common.ChannelConnector;
 import dev.openfeature.contrib.providers.flagd.resolver.common.ShutdownUtils;
+import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.CoalescingQueue;
 import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.QueuePayload;
 import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.QueuePayloadType;
 import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.QueueSource;
@@ -19,11 +23,12 @@ import dev.openfeature.sdk.Awaitable;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
-import io.grpc.stub.StreamObserver;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import java.io.IOException;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -33,6 +38,14 @@ import lombok.extern.slf4j.Slf4j;
 /**
  * Implements the {@link QueueSource} contract and emit flags obtained from
  * flagd sync gRPC contract.
+ *
+ * <p>Besides full flag configurations, the stream may carry incremental flag changes, a JSON object with the flags
+ * to add or replace in {@code upserts} and the keys of the flags to remove in {@code deletes}. These are emitted as
+ * {@link QueuePayloadType#DELTA} payloads, and only the changed flags are parsed. Flag changes apply to the
+ * configuration of the current stream, so those received before the first full configuration of a stream, e.g.
+ * after a reconnect, are ignored instead of being applied to the flags of a previous stream or snapshot. If a payload
+ * can not be queued because the store falls behind, the stream is restarted, so that the flag changes following it
+ * are applied to the full configuration sent at the start of the new stream rather than to an outdated one.
  */
 @Slf4j
 @SuppressFBWarnings(
@@ -40,6 +53,7 @@ import lombok.extern.slf4j.Slf4j;
         justification = "We need to expose the BlockingQueue to allow consumers to read from it")
 public class SyncStreamQueueSource implements QueueSource {
     private static final int QUEUE_SIZE = 5;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
     private final AtomicBoolean shutdown = new AtomicBoolean(false);
     private final AtomicBoolean shouldThrottle = new AtomicBoolean(false);
     private final int streamDeadline;
@@ -50,7 +64,9 @@ public class SyncStreamQueueSource implements QueueSource {
     private final boolean syncMetadataDisabled;
     private final boolean reinitializeOnError;
     private final FlagdOptions options;
-    private final BlockingQueue<QueuePayload> outgoingQueue = new LinkedBlockingQueue<>(QUEUE_SIZE);
+    // configurations not yet parsed are replaced by newer ones
+    private final BlockingQueue<QueuePayload> outgoingQueue =
+            new CoalescingQueue<>(QUEUE_SIZE, QueuePayload::supersede);
     private final List<String> fatalStatusCodes;
     private final ScheduledExecutorService retryScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
         Thread t = new Thread(r, "flagd-sync-retry-scheduler");
@@ -327,33 +343,98 @@ public class SyncStreamQueueSource implements QueueSource {
         }
     }
 
-    private static class SyncStreamObserver implements StreamObserver<SyncFlagsResponse> {
+    /**
+     * Whether the flag data of a response holds incremental flag changes rather than a full flag configuration. Only
+     * the top level fields are read, up to the first field telling them apart, which usually is the first one.
+     */
+    static boolean isFlagChanges(String data) {
+        try (JsonParser parser = JSON_FACTORY.createParser(data)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return false;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String field = parser.getCurrentName();
+                if ("flags".equals(field)) {
+                    return false;
+                }
+                if ("upserts".equals(field) || "deletes".equals(field)) {
+                    return true;
+                }
+                parser.nextToken();
+                parser.skipChildren();
+            }
+            return false;
+        } catch (IOException e) {
+            // invalid flag data is reported when it is parsed as a configuration
+            return false;
+        }
+    }
+
+    private static class SyncStreamObserver implements ClientResponseObserver<SyncFlagsRequest, SyncFlagsResponse> {
         private final BlockingQueue<QueuePayload> outgoingQueue;
         private final Awaitable done = new Awaitable();
 
         private Struct metadata;
-        private Throwable throwable;
+        private volatile Throwable throwable;
+        private ClientCallStreamObserver<SyncFlagsRequest> requestStream;
+        // only accessed by the gRPC thread calling onNext
+        private boolean receivedConfiguration;
+        private boolean abandoned;
 
         public SyncStreamObserver(BlockingQueue<QueuePayload> outgoingQueue) {
             this.outgoingQueue = outgoingQueue;
         }
 
+        @Override
+        public void beforeStart(ClientCallStreamObserver<SyncFlagsRequest> requestStream) {
+            this.requestStream = requestStream;
+        }
+
         @Override
         public void onNext(SyncFlagsResponse syncFlagsResponse) {
+            if (abandoned) {
+                return;
+            }
             final String data = syncFlagsResponse.getFlagConfiguration();
             log.debug("Got stream response: {}", data);
 
             Struct syncContext = syncFlagsResponse.hasSyncContext() ? syncFlagsResponse.getSyncContext() : metadata;
 
-            if (!outgoingQueue.offer(new QueuePayload(QueuePayloadType.DATA, data, syncContext))) {
-                log.error("Stream writing failed");
+            final QueuePayloadType type = isFlagChanges(data) ? QueuePayloadType.DELTA : QueuePayloadType.DATA;
+            if (type == QueuePayloadType.DELTA && !receivedConfiguration) {
+                log.warn("Ignoring flag changes received before a flag configuration on the sync stream");
+                return;
+            }
+            receivedConfiguration = true;
+            if (!outgoingQueue.offer(new QueuePayload(type, data, syncContext))) {
+                abandon();
             }
         }
 
+        /**
+         * Abandon the stream after a payload could not be queued: the flag changes following it would apply to
+         * flags missing it, so the stream is restarted to receive a full configuration again.
+         */
+        private void abandon() {
+            log.error("Stream writing failed, restarting the sync stream to receive the full flag configuration");
+            abandoned = true;
+            receivedConfiguration = false;
+            throwable = Status.ABORTED
+                    .withDescription("Flag payload could not be queued")
+                    .asRuntimeException();
+            if (requestStream != null) {
+                requestStream.cancel("Flag payload could not be queued", null);
+            }
+            done.wakeup();
+        }
+
         @Override
         public void onError(Throwable throwable) {
             log.debug("Sync stream error received", throwable);
-            this.throwable = throwable;
+            if (this.throwable == null) {
+                // keep the reason the stream was abandoned for, rather than the cancellation it caused
+                this.throwable = throwable;
+            }
             done.wakeup();
         }
 
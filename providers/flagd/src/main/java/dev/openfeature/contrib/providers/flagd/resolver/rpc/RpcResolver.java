@@ -6,6 +6,7 @@ import static dev.openfeature.contrib.providers.flagd.resolver.common.Convert.ge
 import static dev.openfeature.contrib.providers.flagd.resolver.common.Convert.getFieldDescriptor;
 
 import com.google.protobuf.Message;
+import com.google.protobuf.Struct;
 import dev.openfeature.contrib.providers.flagd.Config;
 import dev.openfeature.contrib.providers.flagd.FlagdOptions;
 import dev.openfeature.contrib.providers.flagd.resolver.Resolver;
@@ -15,10 +16,15 @@ import dev.openfeature.contrib.providers.flagd.resolver.common.QueueingStreamObs
 import dev.openfeature.contrib.providers.flagd.resolver.common.ShutdownUtils;
 import dev.openfeature.contrib.providers.flagd.resolver.common.StreamResponseModel;
 import dev.openfeature.contrib.providers.flagd.resolver.rpc.cache.Cache;
+import dev.openfeature.contrib.providers.flagd.resolver.rpc.cache.ContextCache;
+import dev.openfeature.contrib.providers.flagd.resolver.rpc.cache.PrefetchCache;
 import dev.openfeature.contrib.providers.flagd.resolver.rpc.strategy.ResolveFactory;
 import dev.openfeature.contrib.providers.flagd.resolver.rpc.strategy.ResolveStrategy;
+import dev.openfeature.flagd.grpc.evaluation.v2.Evaluation.AnyFlag;
 import dev.openfeature.flagd.grpc.evaluation.v2.Evaluation.EventStreamRequest;
 import dev.openfeature.flagd.grpc.evaluation.v2.Evaluation.EventStreamResponse;
+import dev.openfeature.flagd.grpc.evaluation.v2.Evaluation.ResolveAllRequest;
+import dev.openfeature.flagd.grpc.evaluation.v2.Evaluation.ResolveAllResponse;
 import dev.openfeature.flagd.grpc.evaluation.v2.Evaluation.ResolveBooleanRequest;
 import dev.openfeature.flagd.grpc.evaluation.v2.Evaluation.ResolveFloatRequest;
 import dev.openfeature.flagd.grpc.evaluation.v2.Evaluation.ResolveIntRequest;
@@ -33,6 +39,7 @@ import dev.openfeature.sdk.ImmutableMetadata;
 import dev.openfeature.sdk.ProviderEvaluation;
 import dev.openfeature.sdk.ProviderEvent;
 import dev.openfeature.sdk.ProviderEventDetails;
+import dev.openfeature.sdk.Reason;
 import dev.openfeature.sdk.Structure;
 import dev.openfeature.sdk.Value;
 import dev.openfeature.sdk.exceptions.FlagNotFoundError;
@@ -44,15 +51,22 @@ import dev.openfeature.sdk.internal.TriConsumer;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.grpc.Status.Code;
 import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 import lombok.extern.slf4j.Slf4j;
 
@@ -70,6 +84,9 @@ public final class RpcResolver implements Resolver {
     private final AtomicBoolean successfulConnection = new AtomicBoolean(false);
     private final ChannelConnector connector;
     private final Cache cache;
+    private final ContextCache contextCache;
+    private final PrefetchCache prefetchCache;
+    private final SingleFlight singleFlight;
     private final ResolveStrategy strategy;
     private final FlagdOptions options;
     private final int maxBackoffMs;
@@ -97,7 +114,32 @@ public final class RpcResolver implements Resolver {
             final FlagdOptions options,
             final Cache cache,
             final TriConsumer<ProviderEvent, ProviderEventDetails, Structure> onProviderEvent) {
+        this(
+                options,
+                cache,
+                new ContextCache(options.getContextCacheSize(), options.getContextCacheTtlMs()),
+                onProviderEvent);
+    }
+
+    /**
+     * Resolves flag values using
+     * https://buf.build/open-feature/flagd/docs/main:flagd.evaluation.v1.
+     * Flags are evaluated remotely.
+     *
+     * @param options         flagd options
+     * @param cache           cache to use for static evaluations
+     * @param contextCache    cache to use for evaluations depending on the evaluation context
+     * @param onProviderEvent lambda which handles changes in the connection/stream
+     */
+    public RpcResolver(
+            final FlagdOptions options,
+            final Cache cache,
+            final ContextCache contextCache,
+            final TriConsumer<ProviderEvent, ProviderEventDetails, Structure> onProviderEvent) {
         this.cache = cache;
+        this.contextCache = contextCache;
+        this.prefetchCache = new PrefetchCache(options.getPrefetchCacheSize(), options.getPrefetchCacheTtlMs());
+        this.singleFlight = new SingleFlight(options.isCoalesceRequests());
         this.strategy = ResolveFactory.getStrategy(options);
         this.options = options;
         incomingQueue = new LinkedBlockingQueue<>(QUEUE_SIZE);
@@ -118,7 +160,22 @@ public final class RpcResolver implements Resolver {
             ServiceStub mockStub,
             ServiceBlockingStub mockBlockingStub,
             ChannelConnector connector) {
+        this(options, cache, null, onProviderEvent, mockStub, mockBlockingStub, connector);
+    }
+
+    // testing only
+    protected RpcResolver(
+            final FlagdOptions options,
+            final Cache cache,
+            final ContextCache contextCache,
+            final TriConsumer<ProviderEvent, ProviderEventDetails, Structure> onProviderEvent,
+            ServiceStub mockStub,
+            ServiceBlockingStub mockBlockingStub,
+            ChannelConnector connector) {
         this.cache = cache;
+        this.contextCache = contextCache;
+        this.prefetchCache = new PrefetchCache(options.getPrefetchCacheSize(), options.getPrefetchCacheTtlMs());
+        this.singleFlight = new SingleFlight(options.isCoalesceRequests());
         this.strategy = ResolveFactory.getStrategy(options);
         this.options = options;
         incomingQueue = new LinkedBlockingQueue<>(QUEUE_SIZE);
@@ -155,6 +212,10 @@ public final class RpcResolver implements Resolver {
         if (cache != null) {
             cache.clear();
         }
+        if (contextCache != null) {
+            contextCache.clear();
+        }
+        prefetchCache.clear();
     }
 
     /**
@@ -162,7 +223,14 @@ public final class RpcResolver implements Resolver {
      */
     public ProviderEvaluation<Boolean> booleanEvaluation(String key, Boolean defaultValue, EvaluationContext ctx) {
         ResolveBooleanRequest request = ResolveBooleanRequest.newBuilder().buildPartial();
-        return resolve(key, defaultValue, ctx, request, getBlockingStub()::resolveBoolean, null);
+        return resolve(
+                key,
+                defaultValue,
+                ctx,
+                request,
+                getBlockingStub()::resolveBoolean,
+                null,
+                RpcResolver::prefetchedBoolean);
     }
 
     /**
@@ -170,7 +238,8 @@ public final class RpcResolver implements Resolver {
      */
     public ProviderEvaluation<String> stringEvaluation(String key, String defaultValue, EvaluationContext ctx) {
         ResolveStringRequest request = ResolveStringRequest.newBuilder().buildPartial();
-        return resolve(key, defaultValue, ctx, request, getBlockingStub()::resolveString, null);
+        return resolve(
+                key, defaultValue, ctx, request, getBlockingStub()::resolveString, null, RpcResolver::prefetchedString);
     }
 
     /**
@@ -178,7 +247,8 @@ public final class RpcResolver implements Resolver {
      */
     public ProviderEvaluation<Double> doubleEvaluation(String key, Double defaultValue, EvaluationContext ctx) {
         ResolveFloatRequest request = ResolveFloatRequest.newBuilder().buildPartial();
-        return resolve(key, defaultValue, ctx, request, getBlockingStub()::resolveFloat, null);
+        return resolve(
+                key, defaultValue, ctx, request, getBlockingStub()::resolveFloat, null, RpcResolver::prefetchedDouble);
     }
 
     /**
@@ -186,8 +256,14 @@ public final class RpcResolver implements Resolver {
      */
     public ProviderEvaluation<Integer> integerEvaluation(String key, Integer defaultValue, EvaluationContext ctx) {
         ResolveIntRequest request = ResolveIntRequest.newBuilder().buildPartial();
-        return resolve(key, defaultValue, ctx, request, getBlockingStub()::resolveInt, (Object value) -> ((Long) value)
-                .intValue());
+        return resolve(
+                key,
+                defaultValue,
+                ctx,
+                request,
+                getBlockingStub()::resolveInt,
+                (Object value) -> ((Long) value).intValue(),
+                RpcResolver::prefetchedLong);
     }
 
     /**
@@ -201,7 +277,113 @@ public final class RpcResolver implements Resolver {
                 ctx,
                 request,
                 getBlockingStub()::resolveObject,
-                (Object value) -> convertObjectResponse((com.google.protobuf.Struct) value));
+                (Object value) -> convertObjectResponse((Struct) value),
+                RpcResolver::prefetchedObject);
+    }
+
+    /**
+     * Boolean evaluation from grpc resolver, without blocking the calling thread.
+     */
+    @Override
+    public CompletableFuture<ProviderEvaluation<Boolean>> booleanEvaluationAsync(
+            String key, Boolean defaultValue, EvaluationContext ctx) {
+        ResolveBooleanRequest request = ResolveBooleanRequest.newBuilder().buildPartial();
+        return resolveAsync(
+                key, defaultValue, ctx, request, getAsyncStub()::resolveBoolean, null, RpcResolver::prefetchedBoolean);
+    }
+
+    /**
+     * String evaluation from grpc resolver, without blocking the calling thread.
+     */
+    @Override
+    public CompletableFuture<ProviderEvaluation<String>> stringEvaluationAsync(
+            String key, String defaultValue, EvaluationContext ctx) {
+        ResolveStringRequest request = ResolveStringRequest.newBuilder().buildPartial();
+        return resolveAsync(
+                key, defaultValue, ctx, request, getAsyncStub()::resolveString, null, RpcResolver::prefetchedString);
+    }
+
+    /**
+     * Double evaluation from grpc resolver, without blocking the calling thread.
+     */
+    @Override
+    public CompletableFuture<ProviderEvaluation<Double>> doubleEvaluationAsync(
+            String key, Double defaultValue, EvaluationContext ctx) {
+        ResolveFloatRequest request = ResolveFloatRequest.newBuilder().buildPartial();
+        return resolveAsync(
+                key, defaultValue, ctx, request, getAsyncStub()::resolveFloat, null, RpcResolver::prefetchedDouble);
+    }
+
+    /**
+     * Integer evaluation from grpc resolver, without blocking the calling thread.
+     */
+    @Override
+    public CompletableFuture<ProviderEvaluation<Integer>> integerEvaluationAsync(
+            String key, Integer defaultValue, EvaluationContext ctx) {
+        ResolveIntRequest request = ResolveIntRequest.newBuilder().buildPartial();
+        return resolveAsync(
+                key,
+                defaultValue,
+                ctx,
+                request,
+                getAsyncStub()::resolveInt,
+                (Object value) -> ((Long) value).intValue(),
+                RpcResolver::prefetchedLong);
+    }
+
+    /**
+     * Object evaluation from grpc resolver, without blocking the calling thread.
+     */
+    @Override
+    public CompletableFuture<ProviderEvaluation<Value>> objectEvaluationAsync(
+            String key, Value defaultValue, EvaluationContext ctx) {
+        ResolveObjectRequest request = ResolveObjectRequest.newBuilder().buildPartial();
+        return resolveAsync(
+                key,
+                defaultValue,
+                ctx,
+                request,
+                getAsyncStub()::resolveObject,
+                (Object value) -> convertObjectResponse((Struct) value),
+                RpcResolver::prefetchedObject);
+    }
+
+    /**
+     * Resolve all flags against the given context with a single remote call.
+     */
+    @Override
+    public Map<String, ProviderEvaluation<Value>> resolveAll(EvaluationContext ctx) {
+        final ResolveAllResponse response = fetchAll(convertContext(ctx), "");
+        final Map<String, ProviderEvaluation<Value>> evaluations =
+                new HashMap<>((int) (response.getFlagsCount() / 0.75f) + 1);
+        response.getFlagsMap()
+                .forEach((key, flag) -> evaluations.put(key, anyFlagToEvaluation(flag, response.getMetadata())));
+        return Collections.unmodifiableMap(evaluations);
+    }
+
+    /**
+     * Resolve the given flags against the given context with a single remote call. Flags missing from the bulk
+     * evaluation are reported as not found.
+     */
+    @Override
+    public Map<String, ProviderEvaluation<Value>> resolveAll(Collection<String> flagKeys, EvaluationContext ctx) {
+        final ResolveAllResponse response = fetchAll(convertContext(ctx), "");
+        final Map<String, ProviderEvaluation<Value>> evaluations = new HashMap<>((int) (flagKeys.size() / 0.75f) + 1);
+        for (String key : flagKeys) {
+            final AnyFlag flag = response.getFlagsMap().get(key);
+            if (flag == null) {
+                evaluations.put(
+                        key,
+                        ProviderEvaluation.<Value>builder()
+                                .reason(Reason.ERROR.toString())
+                                .errorCode(ErrorCode.FLAG_NOT_FOUND)
+                                .errorMessage("flag: " + key + " not found")
+                                .build());
+            } else {
+                evaluations.put(key, anyFlagToEvaluation(flag, response.getMetadata()));
+            }
+        }
+        return Collections.unmodifiableMap(evaluations);
     }
 
     /**
@@ -214,32 +396,141 @@ public final class RpcResolver implements Resolver {
             EvaluationContext ctx,
             ReqT request,
             Function<ReqT, ResT> resolverRef,
-            Convert<ValT, Object> converter) {
+            Convert<ValT, Object> converter,
+            Function<AnyFlag, Object> prefetchedValue) {
 
         // return from cache if available and item is present
-        if (this.cacheAvailable()) {
-            ProviderEvaluation<? extends Object> fromCache = this.cache.get(key);
-            if (fromCache != null) {
-                fromCache.setReason(Config.CACHED_REASON);
-                return (ProviderEvaluation<ValT>) fromCache;
+        ProviderEvaluation<ValT> fromCache = fromCache(key);
+        if (fromCache != null) {
+            return fromCache;
+        }
+
+        final Struct context = convertContext(ctx);
+
+        // serve from the flags prefetched for this context if available
+        if (this.prefetchAvailable()) {
+            ProviderEvaluation<ValT> prefetched =
+                    resolvePrefetched(key, defaultValue, context, converter, prefetchedValue, true);
+            if (prefetched != null) {
+                return prefetched;
             }
         }
 
-        // build the gRPC request
-        Message req = request.newBuilderForType()
-                .setField(getFieldDescriptor(request, Config.FLAG_KEY_FIELD), key)
-                .setField(getFieldDescriptor(request, Config.CONTEXT_FIELD), convertContext(ctx))
-                .build();
+        final Message req = buildRequest(request, key, context);
+        final long contextCacheGeneration = contextCacheGeneration();
+        fromCache = fromContextCache(key, req);
+        if (fromCache != null) {
+            return fromCache;
+        }
 
         final Message response;
         try {
-            // run the referenced resolver method
-            response = strategy.resolve(resolverRef, req, key);
+            // run the referenced resolver method, sharing the call with identical evaluations in flight
+            response = singleFlight.execute(req, () -> strategy.resolve(resolverRef, req, key));
         } catch (Exception e) {
             OpenFeatureError openFeatureError = mapError(e);
             throw openFeatureError;
         }
 
+        return toEvaluation(key, defaultValue, req, response, converter, contextCacheGeneration);
+    }
+
+    /**
+     * The non-blocking counterpart of {@link #resolve}, running the referenced async stub method. Flags are only
+     * served from prefetched flags which are already available, as fetching them would block.
+     */
+    private <ValT, ReqT extends Message, ResT extends Message> CompletableFuture<ProviderEvaluation<ValT>> resolveAsync(
+            String key,
+            ValT defaultValue,
+            EvaluationContext ctx,
+            ReqT request,
+            BiConsumer<ReqT, StreamObserver<ResT>> resolverRef,
+            Convert<ValT, Object> converter,
+            Function<AnyFlag, Object> prefetchedValue) {
+        try {
+            ProviderEvaluation<ValT> fromCache = fromCache(key);
+            if (fromCache != null) {
+                return CompletableFuture.completedFuture(fromCache);
+            }
+
+            final Struct context = convertContext(ctx);
+            if (this.prefetchAvailable()) {
+                ProviderEvaluation<ValT> prefetched =
+                        resolvePrefetched(key, defaultValue, context, converter, prefetchedValue, false);
+                if (prefetched != null) {
+                    return CompletableFuture.completedFuture(prefetched);
+                }
+            }
+
+            final Message req = buildRequest(request, key, context);
+            final long contextCacheGeneration = contextCacheGeneration();
+            fromCache = fromContextCache(key, req);
+            if (fromCache != null) {
+                return CompletableFuture.completedFuture(fromCache);
+            }
+
+            final CompletableFuture<ProviderEvaluation<ValT>> result = new CompletableFuture<>();
+            singleFlight
+                    .executeAsync(req, () -> strategy.<ReqT, ResT>resolveAsync(resolverRef, req, key))
+                    .whenComplete((response, error) -> {
+                        if (error != null) {
+                            result.completeExceptionally(mapError(unwrap(error)));
+                            return;
+                        }
+                        try {
+                            result.complete(
+                                    toEvaluation(key, defaultValue, req, response, converter, contextCacheGeneration));
+                        } catch (RuntimeException e) {
+                            result.completeExceptionally(e);
+                        }
+                    });
+            return result;
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e instanceof OpenFeatureError ? e : mapError(e));
+        }
+    }
+
+    private <ValT> ProviderEvaluation<ValT> fromCache(String key) {
+        if (this.cacheAvailable()) {
+            // entries are never handed out, callers get their own copy which they may modify
+            ProviderEvaluation<? extends Object> fromCache = this.cache.get(key);
+            if (fromCache != null) {
+                return cachedView((ProviderEvaluation<ValT>) fromCache);
+            }
+        }
+        return null;
+    }
+
+    private <ValT> ProviderEvaluation<ValT> fromContextCache(String key, Message req) {
+        // the request identifies the flag type and the evaluation context, use it as the context cache key
+        if (this.contextCacheAvailable()) {
+            // entries are never handed out, callers get their own copy which they may modify
+            ProviderEvaluation<? extends Object> fromCache = this.contextCache.get(key, req);
+            if (fromCache != null) {
+                return cachedView((ProviderEvaluation<ValT>) fromCache);
+            }
+        }
+        return null;
+    }
+
+    private static Message buildRequest(Message request, String key, Struct context) {
+        return request.newBuilderForType()
+                .setField(getFieldDescriptor(request, Config.FLAG_KEY_FIELD), key)
+                .setField(getFieldDescriptor(request, Config.CONTEXT_FIELD), context)
+                .build();
+    }
+
+    /**
+     * Parse a resolve response, and cache the result if it is cacheable. Context dependent results are not cached if
+     * a configuration change invalidated the context cache since the given generation, read before the call.
+     */
+    private <ValT> ProviderEvaluation<ValT> toEvaluation(
+            String key,
+            ValT defaultValue,
+            Message req,
+            Message response,
+            Convert<ValT, Object> converter,
+            long contextCacheGeneration) {
         // parse the response
         ValT value = converter == null
                 ? getField(response, Config.VALUE_FIELD)
@@ -263,12 +554,168 @@ public final class RpcResolver implements Resolver {
 
         // cache if cache enabled
         if (this.isEvaluationCacheable(result)) {
-            this.cache.put(key, result);
+            this.cache.put(key, cachedView(result));
+        } else if (this.isEvaluationContextCacheable(result)) {
+            this.contextCache.put(key, req, cachedView(result), contextCacheGeneration);
         }
 
         return result;
     }
 
+    /**
+     * Copy of an evaluation as served from the cache. Cache entries are such copies, and every cache hit returns a
+     * new copy of the entry, so neither the caller which triggered the remote call nor the callers served from the
+     * cache share an instance with the cache.
+     */
+    private static <ValT> ProviderEvaluation<ValT> cachedView(ProviderEvaluation<ValT> evaluation) {
+        return ProviderEvaluation.<ValT>builder()
+                .value(evaluation.getValue())
+                .variant(evaluation.getVariant())
+                .reason(Config.CACHED_REASON)
+                .flagMetadata(evaluation.getFlagMetadata())
+                .build();
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * Resolve a flag from the flags prefetched for the context, fetching them if needed and allowed. Returns null if
+     * the flag has to be resolved on its own, as it is missing from the prefetched flags, is of another type or the
+     * flags are not available.
+     */
+    private <ValT> ProviderEvaluation<ValT> resolvePrefetched(
+            String key,
+            ValT defaultValue,
+            Struct context,
+            Convert<ValT, Object> converter,
+            Function<AnyFlag, Object> prefetchedValue,
+            boolean fetchIfMissing) {
+        ResolveAllResponse response = this.prefetchCache.get(context);
+        if (response == null) {
+            if (!fetchIfMissing) {
+                return null;
+            }
+            final long generation = this.prefetchCache.generation();
+            try {
+                response = fetchAll(context, key);
+            } catch (OpenFeatureError e) {
+                log.debug("Prefetching flags failed, resolving flag {} on its own", key, e);
+                return null;
+            }
+            this.prefetchCache.put(context, response, generation);
+        }
+
+        final AnyFlag flag = response.getFlagsMap().get(key);
+        if (flag == null) {
+            return null;
+        }
+
+        final String reason = flag.getReason();
+        final String variant = flag.getVariant();
+        final ImmutableMetadata metadata = metadataFromStructs(response.getMetadata(), flag.getMetadata());
+        if (variant.isEmpty() && ("DEFAULT".equals(reason) || "DISABLED".equals(reason))) {
+            return ProviderEvaluation.<ValT>builder()
+                    .value(defaultValue)
+                    .reason(reason)
+                    .flagMetadata(metadata)
+                    .build();
+        }
+
+        final Object raw = prefetchedValue.apply(flag);
+        if (raw == null) {
+            return null;
+        }
+        final ValT value = converter == null ? (ValT) raw : converter.convert(raw);
+        return ProviderEvaluation.<ValT>builder()
+                .value(value)
+                .variant(variant)
+                .reason(reason)
+                .flagMetadata(metadata)
+                .build();
+    }
+
+    private ResolveAllResponse fetchAll(Struct context, String key) {
+        final ResolveAllRequest request =
+                ResolveAllRequest.newBuilder().setContext(context).build();
+        try {
+            return singleFlight.execute(request, () -> strategy.resolve(getBlockingStub()::resolveAll, request, key));
+        } catch (Exception e) {
+            throw mapError(e);
+        }
+    }
+
+    private static ProviderEvaluation<Value> anyFlagToEvaluation(AnyFlag flag, Struct flagSetMetadata) {
+        final Value value;
+        switch (flag.getValueCase()) {
+            case BOOL_VALUE:
+                value = new Value(flag.getBoolValue());
+                break;
+            case STRING_VALUE:
+                value = new Value(flag.getStringValue());
+                break;
+            case DOUBLE_VALUE:
+                value = new Value(flag.getDoubleValue());
+                break;
+            case OBJECT_VALUE:
+                value = convertObjectResponse(flag.getObjectValue());
+                break;
+            default:
+                value = null;
+        }
+        return ProviderEvaluation.<Value>builder()
+                .value(value)
+                .variant(flag.getVariant().isEmpty() ? null : flag.getVariant())
+                .reason(flag.getReason())
+                .flagMetadata(metadataFromStructs(flagSetMetadata, flag.getMetadata()))
+                .build();
+    }
+
+    private static Object prefetchedBoolean(AnyFlag flag) {
+        return flag.getValueCase() == AnyFlag.ValueCase.BOOL_VALUE ? flag.getBoolValue() : null;
+    }
+
+    private static Object prefetchedString(AnyFlag flag) {
+        return flag.getValueCase() == AnyFlag.ValueCase.STRING_VALUE ? flag.getStringValue() : null;
+    }
+
+    private static Object prefetchedDouble(AnyFlag flag) {
+        return flag.getValueCase() == AnyFlag.ValueCase.DOUBLE_VALUE ? flag.getDoubleValue() : null;
+    }
+
+    private static Object prefetchedLong(AnyFlag flag) {
+        // bulk evaluations return all numbers as double, only integral ones are valid integer values
+        if (flag.getValueCase() != AnyFlag.ValueCase.DOUBLE_VALUE) {
+            return null;
+        }
+        final double value = flag.getDoubleValue();
+        return value == Math.rint(value) ? (Object) (long) value : null;
+    }
+
+    private static Object prefetchedObject(AnyFlag flag) {
+        return flag.getValueCase() == AnyFlag.ValueCase.OBJECT_VALUE ? flag.getObjectValue() : null;
+    }
+
+    /**
+     * Returns the number of evaluations which shared the remote call of an identical evaluation in flight.
+     *
+     * @return the count of coalesced calls
+     */
+    public long getCoalescedCalls() {
+        return singleFlight.getCoalesced();
+    }
+
+    private ServiceStub getAsyncStub() {
+        ServiceStub localStub = stub;
+
+        if (options.getDeadline() > 0) {
+            localStub = localStub.withDeadlineAfter(options.getDeadline(), TimeUnit.MILLISECONDS);
+        }
+
+        return localStub;
+    }
+
     private ServiceGrpc.ServiceBlockingStub getBlockingStub() {
         ServiceBlockingStub localStub = blockingStub;
 
@@ -285,21 +732,50 @@ public final class RpcResolver implements Resolver {
         return reason != null && reason.equals(Config.STATIC_REASON) && this.cacheAvailable();
     }
 
+    private <T> boolean isEvaluationContextCacheable(ProviderEvaluation<T> evaluation) {
+        String reason = evaluation.getReason();
+
+        return (Config.TARGETING_MATCH_REASON.equals(reason) || Config.SPLIT_REASON.equals(reason))
+                && this.contextCacheAvailable();
+    }
+
     private boolean cacheAvailable() {
         return this.cache.isEnabled();
     }
 
+    private boolean prefetchAvailable() {
+        return this.prefetchCache.isEnabled();
+    }
+
+    private long contextCacheGeneration() {
+        return this.contextCacheAvailable() ? this.contextCache.generation() : 0;
+    }
+
+    private boolean contextCacheAvailable() {
+        return this.contextCache != null && this.contextCache.isEnabled();
+    }
+
+    private static ImmutableMetadata metadataFromStructs(Struct flagSetMetadata, Struct flagMetadata) {
+        ImmutableMetadata.ImmutableMetadataBuilder builder = ImmutableMetadata.builder();
+        addMetadata(builder, flagSetMetadata);
+        // flag metadata takes precedence over flag set metadata
+        addMetadata(builder, flagMetadata);
+        return builder.build();
+    }
+
     private static ImmutableMetadata metadataFromResponse(Message response) {
         final Object metadata = response.getField(getFieldDescriptor(response, Config.METADATA_FIELD));
 
-        if (!(metadata instanceof com.google.protobuf.Struct)) {
+        if (!(metadata instanceof Struct)) {
             return ImmutableMetadata.builder().build();
         }
 
-        final com.google.protobuf.Struct struct = (com.google.protobuf.Struct) metadata;
-
         ImmutableMetadata.ImmutableMetadataBuilder builder = ImmutableMetadata.builder();
+        addMetadata(builder, (Struct) metadata);
+        return builder.build();
+    }
 
+    private static void addMetadata(ImmutableMetadata.ImmutableMetadataBuilder builder, Struct struct) {
         for (Map.Entry<String, com.google.protobuf.Value> entry :
                 struct.getFieldsMap().entrySet()) {
             if (entry.getValue().hasStringValue()) {
@@ -310,11 +786,9 @@ public final class RpcResolver implements Resolver {
                 builder.addDouble(entry.getKey(), entry.getValue().getNumberValue());
             }
         }
-
-        return builder.build();
     }
 
-    private OpenFeatureError mapError(Exception e) {
+    private OpenFeatureError mapError(Throwable e) {
         if (e instanceof StatusRuntimeException) {
             Code code = ((StatusRuntimeException) e).getStatus().getCode();
             switch (code) {
@@ -444,6 +918,16 @@ public final class RpcResolver implements Resolver {
         if (this.cache != null) {
             changedFlags.forEach(this.cache::remove);
         }
+        // prefetched flag sets are fetched again on the next evaluation of their context
+        this.prefetchCache.clear();
+        if (this.contextCache != null) {
+            if (changedFlags.isEmpty()) {
+                // the changed flags are unknown, any cached targeting result may be outdated
+                this.contextCache.clear();
+            } else {
+                this.contextCache.remove(changedFlags);
+            }
+        }
 
         onProviderEvent.accept(
                 ProviderEvent.PROVIDER_CONFIGURATION_CHANGED,
@@ -456,6 +940,11 @@ public final class RpcResolver implements Resolver {
      */
     private void handleProviderReadyEvent() {
         log.debug("Emitting provider ready event");
+        // configuration changes may have been missed while disconnected
+        if (this.contextCache != null) {
+            this.contextCache.clear();
+        }
+        this.prefetchCache.clear();
         onProviderEvent.accept(ProviderEvent.PROVIDER_READY, null, null);
     }
 
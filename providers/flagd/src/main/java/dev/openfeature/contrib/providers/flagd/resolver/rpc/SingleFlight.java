@@ -0,0 +1,116 @@
+package dev.openfeature.contrib.providers.flagd.resolver.rpc;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Shares one remote call between concurrent identical requests.
+ *
+ * <p>The first caller for a request runs the call, callers arriving while it is in flight wait for its outcome
+ * instead of issuing their own. Once the call completed, the next caller for the request runs a new one, nothing is
+ * cached. Requests are compared with {@link Object#equals(Object)}, so they must be immutable.
+ */
+final class SingleFlight {
+    private final Map<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+    private final boolean enabled;
+
+    SingleFlight(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Run a blocking call, or wait for the identical call in flight.
+     *
+     * @param request the request identifying the call
+     * @param call    the call to run
+     * @return the response of the call
+     */
+    @SuppressWarnings("unchecked")
+    <T> T execute(Object request, Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+
+        final CompletableFuture<Object> own = new CompletableFuture<>();
+        final CompletableFuture<Object> existing = inFlight.putIfAbsent(request, own);
+        if (existing != null) {
+            coalesced.increment();
+            try {
+                return (T) existing.join();
+            } catch (CompletionException e) {
+                throw rethrow(e.getCause());
+            }
+        }
+
+        try {
+            final T response = call.get();
+            own.complete(response);
+            return response;
+        } catch (Throwable e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(request, own);
+        }
+    }
+
+    /**
+     * Start a non-blocking call, or share the identical call in flight.
+     *
+     * <p>Every caller gets its own future, so completing or cancelling it does not affect the other callers.
+     *
+     * @param request the request identifying the call
+     * @param call    the call to start
+     * @return a future completed with the response of the call
+     */
+    @SuppressWarnings("unchecked")
+    <T> CompletableFuture<T> executeAsync(Object request, Supplier<CompletableFuture<T>> call) {
+        if (!enabled) {
+            return call.get();
+        }
+
+        final CompletableFuture<Object> own = new CompletableFuture<>();
+        final CompletableFuture<Object> existing = inFlight.putIfAbsent(request, own);
+        if (existing != null) {
+            coalesced.increment();
+            return (CompletableFuture<T>) existing.copy();
+        }
+
+        try {
+            call.get().whenComplete((response, error) -> {
+                inFlight.remove(request, own);
+                if (error != null) {
+                    own.completeExceptionally(error);
+                } else {
+                    own.complete(response);
+                }
+            });
+        } catch (Throwable e) {
+            inFlight.remove(request, own);
+            own.completeExceptionally(e);
+        }
+        return (CompletableFuture<T>) own.copy();
+    }
+
+    /**
+     * Returns the number of calls which were not issued, as they were served by an identical call in flight.
+     */
+    long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new CompletionException(cause);
+    }
+}
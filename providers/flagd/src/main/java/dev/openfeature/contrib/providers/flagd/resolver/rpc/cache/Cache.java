@@ -2,6 +2,7 @@ package dev.openfeature.contrib.providers.flagd.resolver.rpc.cache;
 
 import static dev.openfeature.contrib.providers.flagd.resolver.rpc.cache.CacheType.DISABLED;
 import static dev.openfeature.contrib.providers.flagd.resolver.rpc.cache.CacheType.LRU;
+import static dev.openfeature.contrib.providers.flagd.resolver.rpc.cache.CacheType.STRIPED;
 
 import dev.openfeature.sdk.ProviderEvaluation;
 import java.util.Collections;
@@ -30,6 +31,9 @@ public class Cache {
         } else if (LRU.getValue().equals(forType)) {
             enabled = true;
             this.store = Collections.synchronizedMap(new LRUMap<>(maxCacheSize));
+        } else if (STRIPED.getValue().equals(forType)) {
+            enabled = true;
+            this.store = new StripedLruMap<>(maxCacheSize);
         } else {
             enabled = false;
             log.warn(String.format("Unsupported cache type %s, continuing without cache", forType));
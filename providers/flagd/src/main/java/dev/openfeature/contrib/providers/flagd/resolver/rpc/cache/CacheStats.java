@@ -0,0 +1,31 @@
+package dev.openfeature.contrib.providers.flagd.resolver.rpc.cache;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/** Point in time statistics of a {@link ContextCache}. */
+@Getter
+@ToString
+@EqualsAndHashCode
+public class CacheStats {
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final int size;
+
+    /**
+     * Construct new cache statistics.
+     *
+     * @param hits      lookups which returned a cached evaluation
+     * @param misses    lookups which found no evaluation, or an expired one
+     * @param evictions entries dropped because the cache was full or because they expired
+     * @param size      current number of entries
+     */
+    public CacheStats(long hits, long misses, long evictions, int size) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.size = size;
+    }
+}
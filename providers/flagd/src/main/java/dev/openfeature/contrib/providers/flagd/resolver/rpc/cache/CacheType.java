@@ -2,11 +2,15 @@ package dev.openfeature.contrib.providers.flagd.resolver.rpc.cache;
 
 import lombok.Getter;
 
-/** Defines which type of cache to use. */
+/**
+ * Defines which type of cache to use. {@code lru} guards the cache with a single lock, {@code striped} splits it into
+ * independently locked segments for evaluations from many threads.
+ */
 @Getter
 public enum CacheType {
     DISABLED("disabled"),
-    LRU("lru");
+    LRU("lru"),
+    STRIPED("striped");
 
     private final String value;
 
@@ -0,0 +1,206 @@
+package dev.openfeature.contrib.providers.flagd.resolver.rpc.cache;
+
+import dev.openfeature.sdk.ProviderEvaluation;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.commons.collections4.map.AbstractLinkedMap;
+import org.apache.commons.collections4.map.LRUMap;
+
+/**
+ * Caches flag evaluations which depend on the evaluation context, such as {@code TARGETING_MATCH} results.
+ *
+ * <p>Entries are keyed by the flag key and a value identifying the evaluation context, compared with
+ * {@link Object#equals(Object)}. The cache holds at most {@code maxCacheSize} entries, evicting the least recently
+ * used one when full, and entries expire {@code ttlMs} milliseconds after they were added.
+ *
+ * <p>Every {@link #remove(Collection)} and {@link #clear()} starts a new generation. An evaluation fetched while
+ * entries were removed is not added, as it may have been evaluated against the configuration the removal
+ * invalidated.
+ */
+public class ContextCache {
+    private final Map<Key, CachedEvaluation> store;
+    private final long ttlNanos;
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Initialize the cache. The cache is disabled if the size or the time to live is not positive.
+     *
+     * @param maxCacheSize max amount of element to keep.
+     * @param ttlMs        time to live of an entry in milliseconds.
+     */
+    public ContextCache(int maxCacheSize, long ttlMs) {
+        if (maxCacheSize > 0 && ttlMs > 0) {
+            this.store = Collections.synchronizedMap(new CountingLruMap(maxCacheSize, evictions));
+            this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        } else {
+            this.store = null;
+            this.ttlNanos = 0;
+        }
+    }
+
+    public boolean isEnabled() {
+        return store != null;
+    }
+
+    /**
+     * Retrieves a provider evaluation from the cache, or null if it has not been cached before or has expired.
+     *
+     * @param flagKey the key of the flag
+     * @param context the value identifying the evaluation context
+     */
+    public ProviderEvaluation<?> get(String flagKey, Object context) {
+        if (store == null) {
+            return null;
+        }
+
+        final Key key = new Key(flagKey, context);
+        final CachedEvaluation entry = store.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (System.nanoTime() - entry.expiresAt > 0) {
+            // only count the expiry if no other thread did so already
+            if (store.remove(key, entry)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        return entry.value;
+    }
+
+    /**
+     * Returns the current generation of the cache, to be read before fetching the evaluation passed to
+     * {@link #put(String, Object, ProviderEvaluation, long)}.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Adds a provider evaluation to the cache, unless entries have been removed since the given generation.
+     *
+     * @param flagKey    the key of the flag
+     * @param context    the value identifying the evaluation context
+     * @param value      the provider evaluation
+     * @param generation the generation of the cache read before the evaluation was fetched
+     */
+    public void put(String flagKey, Object context, ProviderEvaluation<?> value, long generation) {
+        if (store == null) {
+            return;
+        }
+        synchronized (store) {
+            if (this.generation.get() == generation) {
+                store.put(new Key(flagKey, context), new CachedEvaluation(value, System.nanoTime() + ttlNanos));
+            }
+        }
+    }
+
+    /**
+     * Removes the provider evaluations of the given flags for all evaluation contexts.
+     *
+     * @param flagKeys the keys of the flags
+     */
+    public void remove(Collection<String> flagKeys) {
+        if (store == null || flagKeys.isEmpty()) {
+            return;
+        }
+
+        final Set<String> keys = new HashSet<>(flagKeys);
+        synchronized (store) {
+            generation.incrementAndGet();
+            store.keySet().removeIf(key -> keys.contains(key.flagKey));
+        }
+    }
+
+    /**
+     * Clears the cache.
+     */
+    public void clear() {
+        if (store == null) {
+            return;
+        }
+        synchronized (store) {
+            generation.incrementAndGet();
+            store.clear();
+        }
+    }
+
+    /**
+     * Returns the hit, miss and eviction counts since the cache was created, and its current size.
+     *
+     * @return the statistics of this cache
+     */
+    public CacheStats getStats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), store == null ? 0 : store.size());
+    }
+
+    private static final class Key {
+        private final String flagKey;
+        private final Object context;
+        private final int hash;
+
+        Key(String flagKey, Object context) {
+            this.flagKey = flagKey;
+            this.context = context;
+            this.hash = 31 * flagKey.hashCode() + Objects.hashCode(context);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return hash == other.hash && flagKey.equals(other.flagKey) && Objects.equals(context, other.context);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class CachedEvaluation {
+        private final ProviderEvaluation<?> value;
+        private final long expiresAt;
+
+        CachedEvaluation(ProviderEvaluation<?> value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static final class CountingLruMap extends LRUMap<Key, CachedEvaluation> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient LongAdder evictions;
+
+        CountingLruMap(int maxSize, LongAdder evictions) {
+            super(maxSize);
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeLRU(AbstractLinkedMap.LinkEntry<Key, CachedEvaluation> entry) {
+            evictions.increment();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package dev.openfeature.contrib.providers.flagd.resolver.rpc.cache;
+
+import dev.openfeature.flagd.grpc.evaluation.v2.Evaluation.ResolveAllResponse;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.collections4.map.LRUMap;
+
+/**
+ * Keeps the flags evaluated in bulk for an evaluation context, so that further evaluations with an equal context are
+ * served without a remote call.
+ *
+ * <p>Flag sets are keyed by a value identifying the evaluation context, compared with {@link Object#equals(Object)}.
+ * The cache holds the flag sets of at most {@code maxContexts} contexts, evicting the least recently used one when
+ * full, and flag sets expire {@code ttlMs} milliseconds after they were fetched.
+ *
+ * <p>Every {@link #clear()} starts a new generation. A flag set fetched while the cache was cleared is not added, as
+ * it may have been evaluated against the configuration the clear invalidated.
+ */
+public class PrefetchCache {
+    private final Map<Object, PrefetchedFlags> store;
+    private final long ttlNanos;
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Initialize the cache. The cache is disabled if the size or the time to live is not positive.
+     *
+     * @param maxContexts max amount of evaluation contexts to keep the flags of.
+     * @param ttlMs       time to live of a flag set in milliseconds.
+     */
+    public PrefetchCache(int maxContexts, long ttlMs) {
+        if (maxContexts > 0 && ttlMs > 0) {
+            this.store = Collections.synchronizedMap(new LRUMap<>(maxContexts));
+            this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        } else {
+            this.store = null;
+            this.ttlNanos = 0;
+        }
+    }
+
+    public boolean isEnabled() {
+        return store != null;
+    }
+
+    /**
+     * Retrieves the flags evaluated for a context, or null if they have not been fetched before or have expired.
+     *
+     * @param context the value identifying the evaluation context
+     */
+    public ResolveAllResponse get(Object context) {
+        if (store == null) {
+            return null;
+        }
+
+        final PrefetchedFlags flags = store.get(context);
+        if (flags == null) {
+            return null;
+        }
+        if (System.nanoTime() - flags.expiresAt > 0) {
+            store.remove(context, flags);
+            return null;
+        }
+        return flags.response;
+    }
+
+    /**
+     * Returns the current generation of the cache, to be read before fetching the flags passed to
+     * {@link #put(Object, ResolveAllResponse, long)}.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Adds the flags evaluated for a context to the cache, unless it has been cleared since the given generation.
+     *
+     * @param context    the value identifying the evaluation context
+     * @param response   the bulk evaluation response
+     * @param generation the generation of the cache read before the flags were fetched
+     */
+    public void put(Object context, ResolveAllResponse response, long generation) {
+        if (store == null) {
+            return;
+        }
+        synchronized (store) {
+            if (this.generation.get() == generation) {
+                store.put(context, new PrefetchedFlags(response, System.nanoTime() + ttlNanos));
+            }
+        }
+    }
+
+    /**
+     * Clears the cache, so that the flags of every context are fetched again on their next evaluation.
+     */
+    public void clear() {
+        if (store == null) {
+            return;
+        }
+        synchronized (store) {
+            generation.incrementAndGet();
+            store.clear();
+        }
+    }
+
+    private static final class PrefetchedFlags {
+        private final ResolveAllResponse response;
+        private final long expiresAt;
+
+        PrefetchedFlags(ResolveAllResponse response, long expiresAt) {
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
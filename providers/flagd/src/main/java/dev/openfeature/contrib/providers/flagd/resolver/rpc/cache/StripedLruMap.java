@@ -0,0 +1,125 @@
+package dev.openfeature.contrib.providers.flagd.resolver.rpc.cache;
+
+import java.util.AbstractMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import org.apache.commons.collections4.map.LRUMap;
+
+/**
+ * A bounded map split into segments, each an {@link LRUMap} guarded by its own lock.
+ *
+ * <p>Keys are spread over the segments by hash, so threads accessing different keys rarely wait for each other,
+ * whereas a synchronized {@link LRUMap} serializes every access. The least recently used entry of a segment is
+ * evicted when the segment is full, which approximates a global LRU order. As the capacity is split evenly, up to
+ * one entry less than the number of segments may be kept beyond {@code maxSize}.
+ */
+final class StripedLruMap<K, V> extends AbstractMap<K, V> {
+    private static final int MAX_SEGMENTS = 64;
+
+    private final LRUMap<K, V>[] segments;
+    private final int mask;
+
+    /**
+     * Create the map with one segment per available processor.
+     *
+     * @param maxSize max amount of entries to keep.
+     */
+    StripedLruMap(int maxSize) {
+        this(maxSize, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Create the map with the given amount of segments, rounded up to a power of two and limited so that every
+     * segment holds at least one entry.
+     *
+     * @param maxSize     max amount of entries to keep.
+     * @param concurrency expected amount of threads accessing the map concurrently.
+     */
+    @SuppressWarnings("unchecked")
+    StripedLruMap(int maxSize, int concurrency) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+
+        int count = 1;
+        while (count < Math.min(concurrency, MAX_SEGMENTS) && count * 2 <= maxSize) {
+            count *= 2;
+        }
+
+        final int segmentSize = (maxSize + count - 1) / count;
+        this.segments = new LRUMap[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new LRUMap<>(segmentSize);
+        }
+        this.mask = count - 1;
+    }
+
+    @Override
+    public V get(Object key) {
+        final LRUMap<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.get(key);
+        }
+    }
+
+    @Override
+    public V put(K key, V value) {
+        final LRUMap<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.put(key, value);
+        }
+    }
+
+    @Override
+    public V remove(Object key) {
+        final LRUMap<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.remove(key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (LRUMap<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (LRUMap<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns a snapshot of the entries, changes to the map are not reflected.
+     */
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        final Map<K, V> snapshot = new HashMap<>();
+        for (LRUMap<K, V> segment : segments) {
+            synchronized (segment) {
+                snapshot.putAll(segment);
+            }
+        }
+        return snapshot.entrySet();
+    }
+
+    int segmentCount() {
+        return segments.length;
+    }
+
+    private LRUMap<K, V> segmentFor(Object key) {
+        final int hash = key.hashCode();
+        // spread the higher bits, as only the lower ones select the segment
+        return segments[(hash ^ (hash >>> 16)) & mask];
+    }
+}
@@ -0,0 +1,42 @@
+package dev.openfeature.contrib.providers.flagd.resolver.rpc.strategy;
+
+import io.grpc.stub.StreamObserver;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+
+/** Completes a future with the single response, or the error, of a unary call on an async stub. */
+final class FutureObserver<T> implements StreamObserver<T> {
+    private final CompletableFuture<T> future = new CompletableFuture<>();
+
+    private FutureObserver() {}
+
+    /**
+     * Start a unary call.
+     *
+     * @param method the async stub method to call
+     * @param req    the request
+     * @return a future completed with the response or the error of the call
+     */
+    static <ReqT, ResT> CompletableFuture<ResT> call(BiConsumer<ReqT, StreamObserver<ResT>> method, ReqT req) {
+        final FutureObserver<ResT> observer = new FutureObserver<>();
+        method.accept(req, observer);
+        return observer.future;
+    }
+
+    @Override
+    public void onNext(T value) {
+        future.complete(value);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        future.completeExceptionally(t);
+    }
+
+    @Override
+    public void onCompleted() {
+        if (!future.isDone()) {
+            future.completeExceptionally(new IllegalStateException("call completed without a response"));
+        }
+    }
+}
@@ -1,10 +1,16 @@
 package dev.openfeature.contrib.providers.flagd.resolver.rpc.strategy;
 
 import com.google.protobuf.Message;
+import io.grpc.stub.StreamObserver;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 /** Request to Response resolving strategy. */
 public interface ResolveStrategy {
     <ReqT extends Message, ResT extends Message> ResT resolve(
             final Function<ReqT, ResT> resolverRef, final Message req, final String key);
+
+    <ReqT extends Message, ResT extends Message> CompletableFuture<ResT> resolveAsync(
+            final BiConsumer<ReqT, StreamObserver<ResT>> resolverRef, final Message req, final String key);
 }
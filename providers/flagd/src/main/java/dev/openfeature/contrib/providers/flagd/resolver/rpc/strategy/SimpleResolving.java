@@ -1,6 +1,9 @@
 package dev.openfeature.contrib.providers.flagd.resolver.rpc.strategy;
 
 import com.google.protobuf.Message;
+import io.grpc.stub.StreamObserver;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 /** {@link SimpleResolving} is a simple request to response resolver. */
@@ -11,4 +14,10 @@ public class SimpleResolving implements ResolveStrategy {
             final Function<ReqT, ResT> resolverRef, final Message req, final String key) {
         return resolverRef.apply((ReqT) req);
     }
+
+    @Override
+    public <ReqT extends Message, ResT extends Message> CompletableFuture<ResT> resolveAsync(
+            final BiConsumer<ReqT, StreamObserver<ResT>> resolverRef, final Message req, final String key) {
+        return FutureObserver.call(resolverRef, (ReqT) req);
+    }
 }
@@ -1,11 +1,14 @@
 package dev.openfeature.contrib.providers.flagd.resolver.rpc.strategy;
 
 import com.google.protobuf.Message;
+import io.grpc.stub.StreamObserver;
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanKind;
 import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.context.Scope;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 import javax.annotation.Nonnull;
 
@@ -23,10 +26,7 @@ public class TracedResolving implements ResolveStrategy {
     public <ReqT extends Message, ResT extends Message> ResT resolve(
             final Function<ReqT, ResT> resolverRef, final Message req, final String key) {
 
-        final Span span =
-                tracer.spanBuilder("resolve").setSpanKind(SpanKind.CLIENT).startSpan();
-        span.setAttribute("feature_flag.key", key);
-        span.setAttribute("feature_flag.provider_name", "flagd");
+        final Span span = startSpan(key);
 
         try (Scope scope = span.makeCurrent()) {
             return resolverRef.apply((ReqT) req);
@@ -34,4 +34,30 @@ public class TracedResolving implements ResolveStrategy {
             span.end();
         }
     }
+
+    @Override
+    public <ReqT extends Message, ResT extends Message> CompletableFuture<ResT> resolveAsync(
+            final BiConsumer<ReqT, StreamObserver<ResT>> resolverRef, final Message req, final String key) {
+
+        final Span span = startSpan(key);
+
+        final CompletableFuture<ResT> future;
+        // the call is started within the span, it ends when the response or the error is received
+        try (Scope scope = span.makeCurrent()) {
+            future = FutureObserver.call(resolverRef, (ReqT) req);
+        } catch (RuntimeException e) {
+            span.end();
+            throw e;
+        }
+        future.whenComplete((response, error) -> span.end());
+        return future;
+    }
+
+    private Span startSpan(final String key) {
+        final Span span =
+                tracer.spanBuilder("resolve").setSpanKind(SpanKind.CLIENT).startSpan();
+        span.setAttribute("feature_flag.key", key);
+        span.setAttribute("feature_flag.provider_name", "flagd");
+        return span;
+    }
 }
@@ -1,9 +1,13 @@
 package dev.openfeature.contrib.providers.flagd;
 
 import static dev.openfeature.contrib.providers.flagd.Config.DEFAULT_CACHE;
+import static dev.openfeature.contrib.providers.flagd.Config.DEFAULT_CONTEXT_CACHE_SIZE;
+import static dev.openfeature.contrib.providers.flagd.Config.DEFAULT_CONTEXT_CACHE_TTL_MS;
 import static dev.openfeature.contrib.providers.flagd.Config.DEFAULT_HOST;
 import static dev.openfeature.contrib.providers.flagd.Config.DEFAULT_IN_PROCESS_PORT;
 import static dev.openfeature.contrib.providers.flagd.Config.DEFAULT_MAX_CACHE_SIZE;
+import static dev.openfeature.contrib.providers.flagd.Config.DEFAULT_PREFETCH_CACHE_SIZE;
+import static dev.openfeature.contrib.providers.flagd.Config.DEFAULT_PREFETCH_CACHE_TTL_MS;
 import static dev.openfeature.contrib.providers.flagd.Config.DEFAULT_RPC_PORT;
 import static dev.openfeature.contrib.providers.flagd.Config.KEEP_ALIVE_MS_ENV_VAR_NAME;
 import static dev.openfeature.contrib.providers.flagd.Config.KEEP_ALIVE_MS_ENV_VAR_NAME_OLD;
@@ -45,6 +49,13 @@ class FlagdOptionsTest {
         assertNull(builder.getSocketPath());
         assertEquals(DEFAULT_CACHE, builder.getCacheType());
         assertEquals(DEFAULT_MAX_CACHE_SIZE, builder.getMaxCacheSize());
+        assertEquals(DEFAULT_CONTEXT_CACHE_SIZE, builder.getContextCacheSize());
+        assertEquals(DEFAULT_CONTEXT_CACHE_TTL_MS, builder.getContextCacheTtlMs());
+        assertEquals(DEFAULT_PREFETCH_CACHE_SIZE, builder.getPrefetchCacheSize());
+        assertEquals(DEFAULT_PREFETCH_CACHE_TTL_MS, builder.getPrefetchCacheTtlMs());
+        assertFalse(builder.isCoalesceRequests());
+        assertTrue(builder.isOfflineFileWatch());
+        assertNull(builder.getSnapshotPath());
         assertNull(builder.getSelector());
         assertNull(builder.getProviderId());
         assertNull(builder.getOpenTelemetry());
@@ -70,6 +81,12 @@ class FlagdOptionsTest {
                 .certPath("etc/cert/ca.crt")
                 .cacheType("lru")
                 .maxCacheSize(100)
+                .contextCacheSize(200)
+                .contextCacheTtlMs(300)
+                .prefetchCacheSize(400)
+                .coalesceRequests(true)
+                .offlineFileWatch(false)
+                .snapshotPath("/var/cache/flagd/flags.snapshot")
                 .selector("app=weatherApp")
                 .providerId("test/provider/id_1")
                 .openTelemetry(openTelemetry)
@@ -88,6 +105,12 @@ class FlagdOptionsTest {
         assertEquals("etc/cert/ca.crt", flagdOptions.getCertPath());
         assertEquals("lru", flagdOptions.getCacheType());
         assertEquals(100, flagdOptions.getMaxCacheSize());
+        assertEquals(200, flagdOptions.getContextCacheSize());
+        assertEquals(300, flagdOptions.getContextCacheTtlMs());
+        assertEquals(400, flagdOptions.getPrefetchCacheSize());
+        assertTrue(flagdOptions.isCoalesceRequests());
+        assertFalse(flagdOptions.isOfflineFileWatch());
+        assertEquals("/var/cache/flagd/flags.snapshot", flagdOptions.getSnapshotPath());
         assertEquals("app=weatherApp", flagdOptions.getSelector());
         assertEquals("test/provider/id_1", flagdOptions.getProviderId());
         assertEquals(openTelemetry, flagdOptions.getOpenTelemetry());
@@ -671,6 +671,44 @@ class FlagdProviderTest {
         }
     }
 
+    @Test
+    void resolveAllUsesEnrichedContext() throws Exception {
+        // given
+        String key = "key1";
+        String val = "val1";
+        MutableStructure metadata = new MutableStructure();
+        metadata.add(key, val);
+
+        // mock a resolver
+        try (MockedConstruction<InProcessResolver> mockResolver =
+                mockConstruction(InProcessResolver.class, (mock, context) -> {
+                    TriConsumer<ProviderEvent, ProviderEventDetails, Structure> onConnectionEvent =
+                            (TriConsumer<ProviderEvent, ProviderEventDetails, Structure>)
+                                    context.arguments().get(1);
+
+                    doAnswer(invocation -> {
+                                onConnectionEvent.accept(ProviderEvent.PROVIDER_READY, null, metadata);
+                                return null;
+                            })
+                            .when(mock)
+                            .init();
+                })) {
+
+            FlagdProvider provider = new FlagdProvider(FlagdOptions.builder()
+                    .resolverType(Config.Resolver.IN_PROCESS)
+                    .build());
+            provider.initialize(new ImmutableContext());
+
+            // when
+            provider.resolveAll(new ImmutableContext("user"));
+
+            // then the resolver is given the invocation context merged with the sync metadata
+            verify(mockResolver.constructed().get(0))
+                    .resolveAll(argThat((EvaluationContext ctx) -> "user".equals(ctx.getTargetingKey())
+                            && val.equals(ctx.getValue(key).asString())));
+        }
+    }
+
     @Test
     void initAfterFatalPropagatesErrorEvent() {
         // given
@@ -0,0 +1,97 @@
+package dev.openfeature.contrib.providers.flagd.resolver.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.google.protobuf.ListValue;
+import com.google.protobuf.NullValue;
+import com.google.protobuf.Struct;
+import dev.openfeature.sdk.ImmutableContext;
+import dev.openfeature.sdk.MutableContext;
+import dev.openfeature.sdk.MutableStructure;
+import dev.openfeature.sdk.Value;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class ConvertTest {
+
+    @Test
+    void convertsNestedContext() {
+        final MutableContext ctx = new MutableContext("user-1");
+        ctx.add("bool", true);
+        ctx.add("string", "value");
+        ctx.add("number", 7);
+        ctx.add("list", Arrays.asList(new Value("a"), new Value(1.5)));
+        ctx.add("struct", new MutableStructure().add("nested", "inner"));
+
+        final Struct expected = Struct.newBuilder()
+                .putFields("targetingKey", stringValue("user-1"))
+                .putFields(
+                        "bool",
+                        com.google.protobuf.Value.newBuilder()
+                                .setBoolValue(true)
+                                .build())
+                .putFields("string", stringValue("value"))
+                .putFields(
+                        "number",
+                        com.google.protobuf.Value.newBuilder().setNumberValue(7).build())
+                .putFields(
+                        "list",
+                        com.google.protobuf.Value.newBuilder()
+                                .setListValue(ListValue.newBuilder()
+                                        .addValues(stringValue("a"))
+                                        .addValues(com.google.protobuf.Value.newBuilder()
+                                                .setNumberValue(1.5)
+                                                .build()))
+                                .build())
+                .putFields(
+                        "struct",
+                        com.google.protobuf.Value.newBuilder()
+                                .setStructValue(Struct.newBuilder().putFields("nested", stringValue("inner")))
+                                .build())
+                .build();
+
+        assertEquals(expected, Convert.convertContext(ctx));
+    }
+
+    @Test
+    void convertsMissingTargetingKeyToNull() {
+        final Struct struct = Convert.convertContext(new MutableContext());
+
+        assertEquals(
+                NullValue.NULL_VALUE, struct.getFieldsOrThrow("targetingKey").getNullValue());
+    }
+
+    @Test
+    void reusesStructOfSameImmutableContext() {
+        final Map<String, Value> attributes = new HashMap<>();
+        attributes.put("email", new Value("user@example.com"));
+        final ImmutableContext ctx = new ImmutableContext("user-1", attributes);
+
+        final Struct struct = Convert.convertContext(ctx);
+
+        assertSame(struct, Convert.convertContext(ctx));
+        assertEquals(stringValue("user@example.com"), struct.getFieldsOrThrow("email"));
+        // equal contexts are not looked up, only the same instance
+        assertNotSame(struct, Convert.convertContext(new ImmutableContext("user-1", attributes)));
+        assertEquals(struct, Convert.convertContext(new ImmutableContext("user-1", attributes)));
+    }
+
+    @Test
+    void encodesMutableContextOnEveryConversion() {
+        final MutableContext ctx = new MutableContext("user-1");
+        Convert.convertContext(ctx);
+
+        ctx.add("email", "user@example.com");
+
+        assertEquals(
+                stringValue("user@example.com"), Convert.convertContext(ctx).getFieldsOrThrow("email"));
+    }
+
+    private static com.google.protobuf.Value stringValue(String value) {
+        return com.google.protobuf.Value.newBuilder().setStringValue(value).build();
+    }
+}
@@ -183,6 +183,28 @@ class InProcessResolverTest {
         assertEquals(Reason.STATIC.toString(), providerEvaluation.getReason());
     }
 
+    @Test
+    public void resolveAllWithKeys() throws Exception {
+        // given
+        final Map<String, FeatureFlag> flagMap = new HashMap<>();
+        flagMap.put("booleanFlag", BOOLEAN_FLAG);
+        flagMap.put("doubleFlag", DOUBLE_FLAG);
+
+        InProcessResolver inProcessResolver =
+                getInProcessResolverWith(new MockStorage(flagMap), (event, details, metadata) -> {});
+
+        // when
+        Map<String, ProviderEvaluation<Value>> evaluations = inProcessResolver.resolveAll(
+                List.of("booleanFlag", "doubleFlag", "missingFlag"), new ImmutableContext());
+
+        // then
+        assertEquals(3, evaluations.size());
+        assertEquals(true, evaluations.get("booleanFlag").getValue().asBoolean());
+        assertEquals(3.141d, evaluations.get("doubleFlag").getValue().asDouble());
+        assertEquals("one", evaluations.get("doubleFlag").getVariant());
+        assertEquals(ErrorCode.FLAG_NOT_FOUND, evaluations.get("missingFlag").getErrorCode());
+    }
+
     @Test
     public void simpleDoubleResolving() throws Exception {
         // given
@@ -579,6 +601,18 @@ class InProcessResolverTest {
         assertThat(resolver.getEvaluator()).isEqualTo(evaluator);
     }
 
+    @Test
+    void resolveAllWithEvaluatorNotSupportingItThrowsGeneralError() {
+        var evaluator = Mockito.mock(Evaluator.class);
+        var ctx = new ImmutableContext("key");
+        when(evaluator.resolveAll(ctx)).thenThrow(new UnsupportedOperationException("not supported"));
+        var resolver = new InProcessResolver(
+                FlagdOptions.builder().evaluator(evaluator).build(), (event, details, metadata) -> {});
+
+        GeneralError error = assertThrows(GeneralError.class, () -> resolver.resolveAll(ctx));
+        assertInstanceOf(UnsupportedOperationException.class, error.getCause());
+    }
+
     @Test
     void usesFlagdCoreEvaluatorWhenNotSupplied() {
         var resolver = new InProcessResolver(FlagdOptions.builder().build(), (event, details, metadata) -> {});
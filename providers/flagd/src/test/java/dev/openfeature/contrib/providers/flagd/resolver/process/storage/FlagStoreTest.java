@@ -1,17 +1,39 @@
 package dev.openfeature.contrib.providers.flagd.resolver.process.storage;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.QueuePayload;
 import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.QueuePayloadType;
 import dev.openfeature.contrib.tools.flagd.core.FlagdCore;
+import dev.openfeature.sdk.ErrorCode;
+import dev.openfeature.sdk.ImmutableContext;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class FlagStoreTest {
 
@@ -21,6 +43,9 @@ class FlagStoreTest {
     private static final String VALID_FLAGS_2 =
             "{\"flags\":{\"flag1\":{\"state\":\"ENABLED\",\"variants\":{\"on\":true,\"off\":false},\"defaultVariant\":\"on\"},\"flag2\":{\"state\":\"ENABLED\",\"variants\":{\"a\":\"x\"},\"defaultVariant\":\"a\"}}}";
     private static final String INVALID_FLAGS = "not valid json";
+    private static final String FLAG2_DELETED = "{\"deletes\":[\"flag2\"]}";
+    private static final String FLAG2_UPSERTED =
+            "{\"upserts\":{\"flag2\":{\"state\":\"ENABLED\",\"variants\":{\"a\":\"x\"},\"defaultVariant\":\"a\"}}}";
 
     @Test
     void connectorHandling() throws Exception {
@@ -100,4 +125,203 @@ class FlagStoreTest {
                 new HashSet<>(Arrays.asList("flag2")),
                 new HashSet<>(storageStateDTOS.take().getChangedFlagsKeys()));
     }
+
+    @Test
+    void bytePayloadsAreParsed() throws Exception {
+        final BlockingQueue<QueuePayload> payload = new LinkedBlockingQueue<>();
+        FlagStore store = new FlagStore(new MockConnector(payload), new FlagdCore(true));
+        store.init();
+        final BlockingQueue<StorageStateChange> states = store.getStateQueue();
+
+        payload.offer(QueuePayload.fromBytes(ByteBuffer.wrap(VALID_FLAGS_2.getBytes(StandardCharsets.UTF_8))));
+
+        final StorageStateChange change = states.poll(1, TimeUnit.SECONDS);
+        assertEquals(StorageState.OK, change.getStorageState());
+        assertEquals(new HashSet<>(Arrays.asList("flag1", "flag2")), new HashSet<>(change.getChangedFlagsKeys()));
+    }
+
+    @Test
+    void truncatedMappedFilesKeepTheLastConfiguration() throws Exception {
+        final BlockingQueue<QueuePayload> payload = new LinkedBlockingQueue<>();
+        final FlagdCore evaluator = spy(new FlagdCore(true));
+        // what reading a memory mapped file truncated in the meantime throws
+        doThrow(new InternalError("a fault occurred in an unsafe memory access operation"))
+                .when(evaluator)
+                .setFlagsAndGetChangedKeys(any(InputStream.class));
+        FlagStore store = new FlagStore(new MockConnector(payload), evaluator);
+        store.init();
+        final BlockingQueue<StorageStateChange> states = store.getStateQueue();
+
+        payload.offer(new QueuePayload(QueuePayloadType.DATA, VALID_FLAGS_1));
+        assertEquals(StorageState.OK, states.poll(5, TimeUnit.SECONDS).getStorageState());
+        payload.offer(QueuePayload.fromBytes(ByteBuffer.wrap(VALID_FLAGS_2.getBytes(StandardCharsets.UTF_8))));
+        verify(evaluator, timeout(1000)).setFlagsAndGetChangedKeys(any(InputStream.class));
+        payload.offer(new QueuePayload(QueuePayloadType.DATA, VALID_FLAGS_2));
+
+        // the flags are not reported stale, and the file offered again is applied
+        final StorageStateChange change = states.poll(1, TimeUnit.SECONDS);
+        assertEquals(StorageState.OK, change.getStorageState());
+        assertEquals(Arrays.asList("flag2"), change.getChangedFlagsKeys());
+    }
+
+    @Test
+    void onlyTheLatestQueuedConfigurationIsParsed() throws Exception {
+        final BlockingQueue<QueuePayload> payload = new LinkedBlockingQueue<>();
+        final FlagdCore evaluator = spy(new FlagdCore(true));
+        FlagStore store = new FlagStore(new MockConnector(payload), evaluator);
+
+        // a burst of configurations is queued before the store consumes them
+        payload.offer(new QueuePayload(QueuePayloadType.DATA, VALID_FLAGS_1));
+        payload.offer(new QueuePayload(QueuePayloadType.DATA, INVALID_FLAGS));
+        payload.offer(new QueuePayload(QueuePayloadType.DATA, VALID_FLAGS_2));
+        store.init();
+
+        final StorageStateChange change = store.getStateQueue().poll(1, TimeUnit.SECONDS);
+        assertEquals(StorageState.OK, change.getStorageState());
+        // flags changed by skipped configurations are reported as well
+        assertEquals(new HashSet<>(Arrays.asList("flag1", "flag2")), new HashSet<>(change.getChangedFlagsKeys()));
+        verify(evaluator, times(1)).setFlagsAndGetChangedKeys(anyString());
+        verify(evaluator).setFlagsAndGetChangedKeys(VALID_FLAGS_2);
+    }
+
+    @Test
+    void flagChangesAreAppliedToTheCurrentFlags() throws Exception {
+        final BlockingQueue<QueuePayload> payload = new LinkedBlockingQueue<>();
+        final FlagdCore evaluator = spy(new FlagdCore(true));
+        FlagStore store = new FlagStore(new MockConnector(payload), evaluator);
+
+        // flag changes are not superseded by the configuration queued before them
+        payload.offer(new QueuePayload(QueuePayloadType.DATA, VALID_FLAGS_2));
+        payload.offer(new QueuePayload(
+                QueuePayloadType.DELTA,
+                "{\"upserts\":{\"flag3\":{\"state\":\"ENABLED\",\"variants\":{\"a\":1},\"defaultVariant\":\"a\"}},"
+                        + "\"deletes\":[\"flag1\"]}"));
+        store.init();
+
+        // the changes are reported once or twice, depending on whether they were consumed in between
+        final Set<String> changedKeys = new HashSet<>();
+        while (!changedKeys.contains("flag3")) {
+            final StorageStateChange change = store.getStateQueue().poll(1, TimeUnit.SECONDS);
+            assertEquals(StorageState.OK, change.getStorageState());
+            changedKeys.addAll(change.getChangedFlagsKeys());
+        }
+        assertEquals(new HashSet<>(Arrays.asList("flag1", "flag2", "flag3")), changedKeys);
+        verify(evaluator, times(1)).setFlagsAndGetChangedKeys(anyString());
+        verify(evaluator, times(1)).updateFlagsAndGetChangedKeys(anyString());
+        assertEquals(
+                Integer.valueOf(1),
+                evaluator
+                        .resolveIntegerValue("flag3", 0, new ImmutableContext())
+                        .getValue());
+        assertEquals(
+                ErrorCode.FLAG_NOT_FOUND,
+                evaluator
+                        .resolveBooleanValue("flag1", false, new ImmutableContext())
+                        .getErrorCode());
+    }
+
+    @Test
+    void persistedConfigurationIsServedAtStartup(@TempDir Path tempDir) throws Exception {
+        final String snapshotPath = tempDir.resolve("flags.snapshot").toString();
+        final BlockingQueue<QueuePayload> payload = new LinkedBlockingQueue<>();
+        FlagStore store = new FlagStore(new MockConnector(payload), new FlagdCore(true), snapshotPath);
+        store.init();
+        payload.offer(new QueuePayload(QueuePayloadType.DATA, VALID_FLAGS_2));
+        payload.offer(new QueuePayload(QueuePayloadType.DELTA, "{\"deletes\":[\"flag2\"]}"));
+        awaitSnapshot(Paths.get(snapshotPath), snapshot -> snapshot.getChanges().size() == 1);
+        store.shutdown();
+
+        // a new store serves the persisted flags before its connector provides any
+        final FlagdCore evaluator = new FlagdCore(true);
+        store = new FlagStore(new MockConnector(new LinkedBlockingQueue<>()), evaluator, snapshotPath);
+        store.init();
+
+        final StorageStateChange change = store.getStateQueue().poll();
+        assertEquals(StorageState.OK, change.getStorageState());
+        // flags changed by the persisted changes are reported too
+        assertEquals(new HashSet<>(Arrays.asList("flag1", "flag2")), new HashSet<>(change.getChangedFlagsKeys()));
+        assertEquals(
+                ErrorCode.FLAG_NOT_FOUND,
+                evaluator
+                        .resolveStringValue("flag2", "", new ImmutableContext())
+                        .getErrorCode());
+        store.shutdown();
+    }
+
+    @Test
+    void persistedChangesAreCompacted(@TempDir Path tempDir) throws Exception {
+        final Path snapshotPath = tempDir.resolve("flags.snapshot");
+        final BlockingQueue<QueuePayload> payload = new LinkedBlockingQueue<>();
+        FlagStore store = new FlagStore(new MockConnector(payload), new FlagdCore(true), snapshotPath.toString());
+        store.init();
+        payload.offer(QueuePayload.fromBytes(ByteBuffer.wrap(VALID_FLAGS_2.getBytes(StandardCharsets.UTF_8))));
+        for (int i = 0; i < 100; i++) {
+            payload.offer(new QueuePayload(QueuePayloadType.DELTA, i % 2 == 0 ? FLAG2_DELETED : FLAG2_UPSERTED));
+        }
+        payload.offer(new QueuePayload(QueuePayloadType.DELTA, FLAG2_DELETED));
+        // the snapshot is bounded by the merged configuration, whatever the number of changes applied
+        awaitSnapshot(
+                snapshotPath,
+                snapshot -> snapshot.getChanges().size() <= PersistedConfiguration.MAX_CHANGES
+                        && (snapshot.getChanges().isEmpty()
+                                // the last change may have been compacted into the configuration
+                                ? snapshot.getConfiguration().contains("flag1")
+                                        && !snapshot.getConfiguration().contains("flag2")
+                                : FLAG2_DELETED.equals(snapshot.getChanges()
+                                        .get(snapshot.getChanges().size() - 1))));
+        store.shutdown();
+
+        final FlagdCore evaluator = new FlagdCore(true);
+        store = new FlagStore(new MockConnector(new LinkedBlockingQueue<>()), evaluator, snapshotPath.toString());
+        store.init();
+
+        assertEquals(StorageState.OK, store.getStateQueue().poll().getStorageState());
+        assertEquals(
+                true,
+                evaluator
+                        .resolveBooleanValue("flag1", false, new ImmutableContext())
+                        .getValue());
+        assertEquals(
+                ErrorCode.FLAG_NOT_FOUND,
+                evaluator
+                        .resolveStringValue("flag2", "", new ImmutableContext())
+                        .getErrorCode());
+        store.shutdown();
+    }
+
+    @Test
+    void invalidSnapshotIsIgnored(@TempDir Path tempDir) throws Exception {
+        final Path snapshotPath = tempDir.resolve("flags.snapshot");
+        Files.write(snapshotPath, "{\"version\":1,\"configuration\":\"{}\"}".getBytes(StandardCharsets.UTF_8));
+        final BlockingQueue<QueuePayload> payload = new LinkedBlockingQueue<>();
+        FlagStore store = new FlagStore(new MockConnector(payload), new FlagdCore(true), snapshotPath.toString());
+
+        store.init();
+        assertNull(store.getStateQueue().poll());
+
+        // the invalid snapshot is replaced by the first configuration applied
+        payload.offer(new QueuePayload(QueuePayloadType.DATA, VALID_FLAGS_1));
+        assertEquals(
+                StorageState.OK, store.getStateQueue().poll(1, TimeUnit.SECONDS).getStorageState());
+        awaitSnapshot(snapshotPath, snapshot -> VALID_FLAGS_1.equals(snapshot.getConfiguration()));
+        store.shutdown();
+    }
+
+    private static void awaitSnapshot(Path path, Predicate<PersistedConfiguration> condition) {
+        // the snapshot is written after the change is reported
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+            while (!condition.test(readSnapshot(path))) {
+                Thread.sleep(10);
+            }
+        });
+    }
+
+    private static PersistedConfiguration readSnapshot(Path path) {
+        try {
+            final PersistedConfiguration snapshot = PersistedConfiguration.read(path);
+            return snapshot != null ? snapshot : new PersistedConfiguration("", new ArrayList<>(), null);
+        } catch (IOException e) {
+            return new PersistedConfiguration("", new ArrayList<>(), null);
+        }
+    }
 }
@@ -0,0 +1,143 @@
+package dev.openfeature.contrib.providers.flagd.resolver.process.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.protobuf.Struct;
+import com.google.protobuf.Value;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PersistedConfigurationTest {
+
+    @Test
+    void writtenConfigurationIsRead(@TempDir Path tempDir) throws IOException {
+        final Path path = tempDir.resolve("snapshot").resolve("flags.snapshot");
+        final Struct syncContext = Struct.newBuilder()
+                .putFields("key", Value.newBuilder().setStringValue("value").build())
+                .build();
+
+        new PersistedConfiguration("{\"flags\":{}}", Collections.emptyList(), syncContext)
+                .withChanges("{\"deletes\":[\"a\"]}", null)
+                .write(path);
+        final PersistedConfiguration read = PersistedConfiguration.read(path);
+
+        assertEquals("{\"flags\":{}}", read.getConfiguration());
+        assertEquals(Arrays.asList("{\"deletes\":[\"a\"]}"), read.getChanges());
+        assertEquals(syncContext, read.getSyncContext());
+        // the temporary file was moved
+        try (var files = Files.list(path.getParent())) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void missingFileIsNotRead(@TempDir Path tempDir) throws IOException {
+        assertNull(PersistedConfiguration.read(tempDir.resolve("flags.snapshot")));
+    }
+
+    @Test
+    void alteredFileIsRejected(@TempDir Path tempDir) throws IOException {
+        final Path path = tempDir.resolve("flags.snapshot");
+        new PersistedConfiguration("{\"flags\":{\"a\":1}}", Collections.emptyList(), null).write(path);
+
+        final String content = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+        Files.write(path, content.replace("\"a\":1", "\"a\":2").getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IOException.class, () -> PersistedConfiguration.read(path));
+    }
+
+    @Test
+    void bytesAreWrittenAsTheyAre(@TempDir Path tempDir) throws IOException {
+        final Path path = tempDir.resolve("flags.snapshot");
+        final byte[] configuration = "{\"flags\":{\"\u00e9\":{}}}".getBytes(StandardCharsets.UTF_8);
+
+        new PersistedConfiguration(ByteBuffer.wrap(configuration).asReadOnlyBuffer(), Collections.emptyList(), null)
+                .write(path);
+
+        final byte[] content = Files.readAllBytes(path);
+        assertTrue(new String(content, StandardCharsets.UTF_8).endsWith("\n{\"flags\":{\"\u00e9\":{}}}"));
+        assertEquals(
+                "{\"flags\":{\"\u00e9\":{}}}", PersistedConfiguration.read(path).getConfiguration());
+    }
+
+    @Test
+    void changesAreFoldedIntoTheConfiguration() throws IOException {
+        final PersistedConfiguration compacted = new PersistedConfiguration(
+                        "{\"flags\":{\"a\":{\"state\":\"ENABLED\"},\"b\":{}},\"metadata\":{\"id\":1}}",
+                        Collections.emptyList(),
+                        null)
+                .withChanges("{\"deletes\":[\"a\"]}", null)
+                .withChanges("{\"upserts\":{\"b\":{\"state\":\"DISABLED\"},\"c\":{}}}", null)
+                .compact();
+
+        assertEquals(
+                "{\"flags\":{\"b\":{\"state\":\"DISABLED\"},\"c\":{}},\"metadata\":{\"id\":1}}",
+                compacted.getConfiguration());
+        assertTrue(compacted.getChanges().isEmpty());
+    }
+
+    @Test
+    void changesRedefiningEvaluatorsAreKept() throws IOException {
+        final String redefining = "{\"upserts\":{\"c\":{\"targeting\":{\"$ref\":\"e\"}}},"
+                + "\"$evaluators\":{\"e\":{\"in\":[\"y\",\"xy\"]}}}";
+        final PersistedConfiguration compacted = new PersistedConfiguration(
+                        "{\"flags\":{},\"$evaluators\":{\"e\":{\"in\":[\"x\",\"xy\"]}}}", Collections.emptyList(), null)
+                .withChanges("{\"upserts\":{\"a\":{}}}", null)
+                .withChanges(redefining, null)
+                .withChanges("{\"deletes\":[\"a\"]}", null)
+                .compact();
+
+        assertEquals(
+                "{\"flags\":{\"a\":{}},\"$evaluators\":{\"e\":{\"in\":[\"x\",\"xy\"]}}}", compacted.getConfiguration());
+        assertEquals(Arrays.asList(redefining, "{\"deletes\":[\"a\"]}"), compacted.getChanges());
+    }
+
+    @Test
+    void compactionIsNeededOnceChangesAddUp() {
+        PersistedConfiguration persisted =
+                new PersistedConfiguration("{\"flags\":{\"a\":{}}}", Collections.emptyList(), null);
+        assertFalse(persisted.needsCompaction());
+
+        // changes larger than the configuration
+        assertTrue(persisted.withChanges("{\"upserts\":{\"bb\":{}}}", null).needsCompaction());
+
+        persisted = new PersistedConfiguration(
+                "{\"flags\":{\"" + String.join("", Collections.nCopies(1000, "a")) + "\":{}}}",
+                Collections.emptyList(),
+                null);
+        for (int i = 0; i < PersistedConfiguration.MAX_CHANGES; i++) {
+            persisted = persisted.withChanges("{\"deletes\":[\"b\"]}", null);
+        }
+        assertFalse(persisted.needsCompaction());
+        assertTrue(persisted.withChanges("{\"deletes\":[\"b\"]}", null).needsCompaction());
+    }
+
+    @Test
+    void rebaseKeepsChangesAppliedWhileCompacting() throws IOException {
+        final PersistedConfiguration base = new PersistedConfiguration("{\"flags\":{}}", new ArrayList<>(), null)
+                .withChanges("{\"upserts\":{\"a\":{}}}", null);
+        final PersistedConfiguration compacted = base.compact();
+        final PersistedConfiguration current = base.withChanges("{\"deletes\":[\"a\"]}", null);
+
+        final PersistedConfiguration rebased = current.rebase(base, compacted);
+
+        assertEquals("{\"flags\":{\"a\":{}}}", rebased.getConfiguration());
+        assertEquals(Arrays.asList("{\"deletes\":[\"a\"]}"), rebased.getChanges());
+        // a configuration replacing the compacted one is kept as it is
+        final PersistedConfiguration replaced = new PersistedConfiguration("{\"flags\":{}}", new ArrayList<>(), null);
+        assertSame(replaced, replaced.rebase(base, compacted));
+    }
+}
@@ -0,0 +1,84 @@
+package dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.openfeature.contrib.providers.flagd.resolver.process.storage.StorageState;
+import dev.openfeature.contrib.providers.flagd.resolver.process.storage.StorageStateChange;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class CoalescingQueueTest {
+
+    @Test
+    void newerConfigurationsReplaceQueuedOnes() {
+        final CoalescingQueue<QueuePayload> queue = new CoalescingQueue<>(2, QueuePayload::supersede);
+        final QueuePayload latest = new QueuePayload(QueuePayloadType.DATA, "3");
+
+        assertTrue(queue.offer(new QueuePayload(QueuePayloadType.DATA, "1")));
+        assertTrue(queue.offer(new QueuePayload(QueuePayloadType.DATA, "2")));
+        assertTrue(queue.offer(latest));
+
+        assertEquals(1, queue.size());
+        assertSame(latest, queue.poll());
+    }
+
+    @Test
+    void otherPayloadsAreQueuedInOrder() {
+        final CoalescingQueue<QueuePayload> queue = new CoalescingQueue<>(2, QueuePayload::supersede);
+
+        assertTrue(queue.offer(new QueuePayload(QueuePayloadType.DATA, "1")));
+        assertTrue(queue.offer(QueuePayload.ERROR));
+        // the queue is full and the last payload can not be replaced
+        assertFalse(queue.offer(new QueuePayload(QueuePayloadType.DELTA, "2")));
+
+        assertEquals("1", queue.poll().getFlagData());
+        assertSame(QueuePayload.ERROR, queue.poll());
+    }
+
+    @Test
+    void configurationsReplaceQueuedErrors() {
+        // the capacity of the file connector queue
+        final CoalescingQueue<QueuePayload> queue = new CoalescingQueue<>(1, QueuePayload::supersede);
+        final QueuePayload latest = new QueuePayload(QueuePayloadType.DATA, "1");
+
+        assertTrue(queue.offer(QueuePayload.ERROR));
+        assertTrue(queue.offer(latest));
+        // an error does not replace a configuration
+        assertFalse(queue.offer(QueuePayload.ERROR));
+
+        assertEquals(1, queue.size());
+        assertSame(latest, queue.poll());
+    }
+
+    @Test
+    void flagChangesAreKeptUntilAConfigurationSupersedesThem() {
+        final CoalescingQueue<QueuePayload> queue = new CoalescingQueue<>(3, QueuePayload::supersede);
+        final QueuePayload latest = new QueuePayload(QueuePayloadType.DATA, "3");
+
+        assertTrue(queue.offer(new QueuePayload(QueuePayloadType.DATA, "1")));
+        assertTrue(queue.offer(new QueuePayload(QueuePayloadType.DELTA, "2")));
+        assertEquals(2, queue.size());
+
+        assertTrue(queue.offer(latest));
+
+        assertEquals("1", queue.poll().getFlagData());
+        assertSame(latest, queue.poll());
+    }
+
+    @Test
+    void consecutiveFlagChangesAreMerged() throws Exception {
+        final CoalescingQueue<StorageStateChange> queue = new CoalescingQueue<>(4, StorageStateChange::merge);
+
+        queue.put(new StorageStateChange(StorageState.OK, Arrays.asList("a", "b")));
+        queue.put(new StorageStateChange(StorageState.OK, Arrays.asList("b", "c")));
+        queue.put(new StorageStateChange(StorageState.STALE));
+        queue.put(new StorageStateChange(StorageState.OK, Arrays.asList("d")));
+
+        assertEquals(Arrays.asList("a", "b", "c"), queue.take().getChangedFlagsKeys());
+        assertEquals(StorageState.STALE, queue.take().getStorageState());
+        assertEquals(Arrays.asList("d"), queue.take().getChangedFlagsKeys());
+    }
+}
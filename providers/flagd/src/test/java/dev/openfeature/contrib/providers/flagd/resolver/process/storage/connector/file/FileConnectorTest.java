@@ -2,16 +2,22 @@ package dev.openfeature.contrib.providers.flagd.resolver.process.storage.connect
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.QueuePayload;
 import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.QueuePayloadType;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.time.Duration;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -99,4 +105,146 @@ class FileConnectorTest {
 
         assertEquals(updated, payload[0].getFlagData());
     }
+
+    @Test
+    void watchForFilesReplacedByRename(@TempDir Path tempDir) throws Exception {
+        final Path testFile = tempDir.resolve("flags.json");
+        Files.write(testFile, "initial content".getBytes());
+
+        // polling is effectively disabled, changes can only be picked up by watching the directory
+        final FileQueueSource connector = new FileQueueSource(testFile.toString(), 60_000, true);
+        connector.init();
+
+        try {
+            final BlockingQueue<QueuePayload> stream = connector.getStreamQueue();
+            assertEquals("initial content", stream.poll(5, TimeUnit.SECONDS).getFlagData());
+
+            // replace the file the way config map updates do, with an atomic rename
+            final Path replacement = tempDir.resolve("flags.json.tmp");
+            Files.write(replacement, "updated content".getBytes());
+            Files.move(replacement, testFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            final QueuePayload payload = stream.poll(10, TimeUnit.SECONDS);
+            assertNotNull(payload);
+            assertEquals(QueuePayloadType.DATA, payload.getType());
+            assertEquals("updated content", payload.getFlagData());
+        } finally {
+            connector.shutdown();
+        }
+    }
+
+    @Test
+    void watchForSymbolicLinksSwappedInTheDirectory(@TempDir Path tempDir) throws Exception {
+        // the layout of a Kubernetes ConfigMap volume
+        Files.createDirectory(tempDir.resolve("..v1"));
+        Files.write(tempDir.resolve("..v1").resolve("flags.json"), "initial content".getBytes());
+        Files.createSymbolicLink(tempDir.resolve("..data"), Paths.get("..v1"));
+        final Path testFile = tempDir.resolve("flags.json");
+        Files.createSymbolicLink(testFile, Paths.get("..data", "flags.json"));
+
+        final FileQueueSource connector = new FileQueueSource(testFile.toString(), 60_000, true);
+        connector.init();
+
+        try {
+            final BlockingQueue<QueuePayload> stream = connector.getStreamQueue();
+            assertEquals("initial content", stream.poll(5, TimeUnit.SECONDS).getFlagData());
+
+            // an unrelated file in the directory does not concern the flags
+            Files.write(tempDir.resolve("other.json"), "other content".getBytes());
+            assertNull(stream.poll(1, TimeUnit.SECONDS));
+
+            // swap the ..data link to a new version, as the kubelet does
+            Files.createDirectory(tempDir.resolve("..v2"));
+            Files.write(tempDir.resolve("..v2").resolve("flags.json"), "updated content".getBytes());
+            // with the same size and modification time, only the link event tells the file changed
+            Files.setLastModifiedTime(
+                    tempDir.resolve("..v2").resolve("flags.json"),
+                    Files.getLastModifiedTime(tempDir.resolve("..v1").resolve("flags.json")));
+            Files.createSymbolicLink(tempDir.resolve("..data_tmp"), Paths.get("..v2"));
+            Files.move(
+                    tempDir.resolve("..data_tmp"),
+                    tempDir.resolve("..data"),
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+
+            final QueuePayload payload = stream.poll(10, TimeUnit.SECONDS);
+            assertNotNull(payload);
+            assertEquals("updated content", payload.getFlagData());
+        } finally {
+            connector.shutdown();
+        }
+    }
+
+    @Test
+    void unchangedContentIsNotOfferedAgain(@TempDir Path tempDir) throws Exception {
+        final Path testFile = tempDir.resolve("flags.json");
+        Files.write(testFile, "content".getBytes());
+
+        final FileQueueSource connector = new FileQueueSource(testFile.toString(), 60_000, true);
+        connector.init();
+
+        try {
+            final BlockingQueue<QueuePayload> stream = connector.getStreamQueue();
+            assertEquals("content", stream.poll(5, TimeUnit.SECONDS).getFlagData());
+
+            // rewriting the same content produces file events, but no new payload
+            Files.write(testFile, "content".getBytes(), StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            assertNull(stream.poll(1, TimeUnit.SECONDS));
+
+            Files.write(testFile, "changed".getBytes(), StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            assertEquals("changed", stream.poll(10, TimeUnit.SECONDS).getFlagData());
+        } finally {
+            connector.shutdown();
+        }
+    }
+
+    @Test
+    void pollForChangesIfWatchingIsDisabled(@TempDir Path tempDir) throws Exception {
+        final Path testFile = tempDir.resolve("flags.json");
+        Files.write(testFile, "initial".getBytes());
+
+        final FileQueueSource connector = new FileQueueSource(testFile.toString(), 50, false);
+        connector.init();
+
+        try {
+            final BlockingQueue<QueuePayload> stream = connector.getStreamQueue();
+            assertEquals("initial", stream.poll(5, TimeUnit.SECONDS).getFlagData());
+
+            // the size changes, so the change is detected within the same modification time second
+            Files.write(
+                    testFile,
+                    "updated content".getBytes(),
+                    StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            assertEquals("updated content", stream.poll(10, TimeUnit.SECONDS).getFlagData());
+        } finally {
+            connector.shutdown();
+        }
+    }
+
+    @Test
+    void largeFilesAreMemoryMapped(@TempDir Path tempDir) throws Exception {
+        final StringBuilder content = new StringBuilder("{\"flags\":{");
+        for (int i = 0; content.length() < 2 * 1024 * 1024; i++) {
+            content.append(i == 0 ? "" : ",")
+                    .append("\"flag-")
+                    .append(i)
+                    .append("\":{\"state\":\"ENABLED\",\"variants\":{\"on\":true},\"defaultVariant\":\"on\"}");
+        }
+        content.append("}}");
+        final Path testFile = tempDir.resolve("flags.json");
+        Files.write(testFile, content.toString().getBytes(StandardCharsets.UTF_8));
+
+        final FileQueueSource connector = new FileQueueSource(testFile.toString(), 60_000, true);
+        connector.init();
+
+        try {
+            final QueuePayload payload = connector.getStreamQueue().poll(5, TimeUnit.SECONDS);
+            assertNotNull(payload);
+            assertTrue(payload.getFlagBytes().isDirect());
+            assertEquals(content.toString(), payload.getFlagData());
+        } finally {
+            connector.shutdown();
+        }
+    }
 }
@@ -0,0 +1,135 @@
+package dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.sync;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.openfeature.contrib.providers.flagd.FlagdOptions;
+import dev.openfeature.contrib.providers.flagd.resolver.process.storage.FlagStore;
+import dev.openfeature.contrib.providers.flagd.resolver.process.storage.StorageState;
+import dev.openfeature.contrib.providers.flagd.resolver.process.storage.StorageStateChange;
+import dev.openfeature.contrib.tools.flagd.core.FlagdCore;
+import dev.openfeature.flagd.grpc.sync.FlagSyncServiceGrpc.FlagSyncServiceImplBase;
+import dev.openfeature.flagd.grpc.sync.Sync.SyncFlagsRequest;
+import dev.openfeature.flagd.grpc.sync.Sync.SyncFlagsResponse;
+import dev.openfeature.sdk.ErrorCode;
+import dev.openfeature.sdk.ImmutableContext;
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.stub.StreamObserver;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Syncs flags from a local gRPC server, comparing the bytes sent for a change as a full configuration and as
+ * incremental flag changes.
+ */
+class SyncStreamDeltaTest {
+    private static final int FLAG_COUNT = 5000;
+
+    private final CompletableFuture<StreamObserver<SyncFlagsResponse>> stream = new CompletableFuture<>();
+    private Server server;
+    private FlagdCore evaluator;
+    private FlagStore store;
+
+    @BeforeEach
+    void setup() throws Exception {
+        server = NettyServerBuilder.forPort(0)
+                .addService(new FlagSyncServiceImplBase() {
+                    @Override
+                    public void syncFlags(SyncFlagsRequest request, StreamObserver<SyncFlagsResponse> observer) {
+                        stream.complete(observer);
+                    }
+                })
+                .build()
+                .start();
+
+        // a deadline leaving time to connect, a missed one delays the stream by the retry backoff
+        final FlagdOptions options = FlagdOptions.builder()
+                .host("localhost")
+                .port(server.getPort())
+                .deadline(5000)
+                .build();
+        evaluator = new FlagdCore();
+        store = new FlagStore(new SyncStreamQueueSource(options), evaluator);
+        store.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.shutdown();
+        server.shutdownNow();
+    }
+
+    @Test
+    void flagChangesAreAppliedWithoutResendingTheConfiguration() throws Exception {
+        final StreamObserver<SyncFlagsResponse> observer = stream.get(5, TimeUnit.SECONDS);
+
+        final StringBuilder configuration = new StringBuilder("{\"flags\":{");
+        for (int i = 0; i < FLAG_COUNT; i++) {
+            configuration
+                    .append(i == 0 ? "" : ",")
+                    .append("\"flag-")
+                    .append(i)
+                    .append("\":")
+                    .append(flag("on"));
+        }
+        final int fullBytes = send(observer, configuration.append("}}").toString());
+        assertEquals(FLAG_COUNT, awaitChange().getChangedFlagsKeys().size());
+
+        // the same change, once as a full configuration and once as flag changes
+        final int changedFullBytes = send(
+                observer, configuration.toString().replace("\"flag-42\":" + flag("on"), "\"flag-42\":" + flag("off")));
+        assertEquals(Collections.singletonList("flag-42"), awaitChange().getChangedFlagsKeys());
+        assertFalse(evaluator
+                .resolveBooleanValue("flag-42", true, new ImmutableContext())
+                .getValue());
+
+        final int deltaBytes =
+                send(observer, "{\"upserts\":{\"flag-42\":" + flag("on") + "},\"deletes\":[\"flag-7\"]}");
+        assertEquals(Arrays.asList("flag-7", "flag-42"), awaitChange().getChangedFlagsKeys());
+        assertTrue(evaluator
+                .resolveBooleanValue("flag-42", false, new ImmutableContext())
+                .getValue());
+        assertEquals(
+                ErrorCode.FLAG_NOT_FOUND,
+                evaluator
+                        .resolveBooleanValue("flag-7", false, new ImmutableContext())
+                        .getErrorCode());
+        assertTrue(evaluator
+                .resolveBooleanValue("flag-4999", false, new ImmutableContext())
+                .getValue());
+
+        // a full configuration grows with the flag count, flag changes only with the changed flags
+        assertEquals(fullBytes, changedFullBytes, 1);
+        assertTrue(
+                deltaBytes * 1000 < fullBytes,
+                String.format("%d bytes of flag changes, %d bytes per configuration", deltaBytes, fullBytes));
+    }
+
+    private static String flag(String defaultVariant) {
+        return "{\"state\":\"ENABLED\",\"variants\":{\"on\":true,\"off\":false},\"defaultVariant\":\"" + defaultVariant
+                + "\"}";
+    }
+
+    private static int send(StreamObserver<SyncFlagsResponse> observer, String flagConfiguration) {
+        final SyncFlagsResponse response = SyncFlagsResponse.newBuilder()
+                .setFlagConfiguration(flagConfiguration)
+                .build();
+        observer.onNext(response);
+        return response.getSerializedSize();
+    }
+
+    private StorageStateChange awaitChange() throws InterruptedException {
+        final StorageStateChange change = store.getStateQueue().poll(10, TimeUnit.SECONDS);
+        assertNotNull(change);
+        assertEquals(StorageState.OK, change.getStorageState());
+        return change;
+    }
+}
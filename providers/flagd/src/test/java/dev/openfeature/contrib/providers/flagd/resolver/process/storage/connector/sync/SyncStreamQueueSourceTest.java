@@ -1,6 +1,7 @@
 package dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.sync;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -293,6 +294,118 @@ class SyncStreamQueueSourceTest {
         verify(stub, times(1)).syncFlags(any(), any());
     }
 
+    @Test
+    void onNextEnqueuesDeltaPayloadForFlagChanges() throws Exception {
+        queueSource = new SyncStreamQueueSource(FlagdOptions.builder().build(), mockConnector, stub, blockingStub);
+        latch = new CountDownLatch(1);
+        queueSource.init();
+        latch.await();
+
+        // fire onNext (data) event with a configuration, then with flag changes
+        final String changes = "{\"deletes\":[\"flag\"]}";
+        observer.onNext(SyncFlagsResponse.newBuilder()
+                .setFlagConfiguration("{\"flags\":{}}")
+                .build());
+        observer.onNext(
+                SyncFlagsResponse.newBuilder().setFlagConfiguration(changes).build());
+
+        // should enqueue delta payload
+        assertEquals(
+                QueuePayloadType.DATA,
+                queueSource.getStreamQueue().poll(1000, TimeUnit.MILLISECONDS).getType());
+        QueuePayload payload = queueSource.getStreamQueue().poll(1000, TimeUnit.MILLISECONDS);
+        assertNotNull(payload);
+        assertEquals(QueuePayloadType.DELTA, payload.getType());
+        assertEquals(changes, payload.getFlagData());
+
+        // only the top level fields tell flag changes apart from configurations
+        assertTrue(SyncStreamQueueSource.isFlagChanges(
+                "{\"$evaluators\":{\"e\":{\"flags\":1}},\"upserts\":{},\"deletes\":[]}"));
+        assertFalse(SyncStreamQueueSource.isFlagChanges(
+                "{\"$schema\":\"https://flagd.dev/schema/v0/flags.json\",\"flags\":{}}"));
+        assertFalse(SyncStreamQueueSource.isFlagChanges("not valid json"));
+    }
+
+    @Test
+    void flagChangesBeforeAConfigurationAreIgnored() throws Exception {
+        queueSource = new SyncStreamQueueSource(FlagdOptions.builder().build(), mockConnector, stub, blockingStub);
+        latch = new CountDownLatch(1);
+        queueSource.init();
+        latch.await();
+        final BlockingQueue<QueuePayload> streamQueue = queueSource.getStreamQueue();
+        final SyncFlagsResponse changes = SyncFlagsResponse.newBuilder()
+                .setFlagConfiguration("{\"deletes\":[\"flag\"]}")
+                .build();
+        final SyncFlagsResponse configuration = SyncFlagsResponse.newBuilder()
+                .setFlagConfiguration("{\"flags\":{}}")
+                .build();
+
+        // flag changes before the first configuration have nothing to apply to
+        observer.onNext(changes);
+        observer.onNext(configuration);
+        observer.onNext(changes);
+        assertEquals(
+                QueuePayloadType.DATA,
+                streamQueue.poll(1000, TimeUnit.MILLISECONDS).getType());
+        assertEquals(
+                QueuePayloadType.DELTA,
+                streamQueue.poll(1000, TimeUnit.MILLISECONDS).getType());
+
+        // the same applies to the stream restarted after it ended
+        latch = new CountDownLatch(1);
+        observer.onCompleted();
+        latch.await();
+        observer.onNext(changes);
+        observer.onNext(configuration);
+        assertEquals(
+                QueuePayloadType.DATA,
+                streamQueue.poll(1000, TimeUnit.MILLISECONDS).getType());
+        assertTrue(streamQueue.isEmpty());
+    }
+
+    @Test
+    void streamIsRestartedWhenFlagChangesCanNotBeQueued() throws Exception {
+        queueSource = new SyncStreamQueueSource(
+                FlagdOptions.builder().retryBackoffMaxMs(10).build(), mockConnector, stub, blockingStub);
+        latch = new CountDownLatch(1);
+        queueSource.init();
+        latch.await();
+        final StreamObserver<SyncFlagsResponse> firstObserver = observer;
+        final BlockingQueue<QueuePayload> streamQueue = queueSource.getStreamQueue();
+        final SyncFlagsResponse changes = SyncFlagsResponse.newBuilder()
+                .setFlagConfiguration("{\"deletes\":[\"flag\"]}")
+                .build();
+
+        // the store does not consume the queue, the flag changes fill it up until one is lost
+        latch = new CountDownLatch(1);
+        firstObserver.onNext(SyncFlagsResponse.newBuilder()
+                .setFlagConfiguration("{\"flags\":{}}")
+                .build());
+        for (int i = 0; i < 5; i++) {
+            firstObserver.onNext(changes);
+        }
+
+        // the stream is restarted, and the abandoned one does not queue anything anymore
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        verify(stub, times(2)).syncFlags(any(), any());
+        firstObserver.onNext(changes);
+        assertEquals(QueuePayloadType.DATA, streamQueue.poll().getType());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(QueuePayloadType.DELTA, streamQueue.poll().getType());
+        }
+        assertTrue(streamQueue.isEmpty());
+
+        // the new stream starts over with a full configuration
+        observer.onNext(changes);
+        observer.onNext(SyncFlagsResponse.newBuilder()
+                .setFlagConfiguration("{\"flags\":{}}")
+                .build());
+        assertEquals(
+                QueuePayloadType.DATA,
+                streamQueue.poll(1000, TimeUnit.MILLISECONDS).getType());
+        assertTrue(streamQueue.isEmpty());
+    }
+
     @Test
     void onErrorEnqueuesDataPayload() throws Exception {
         queueSource = new SyncStreamQueueSource(FlagdOptions.builder().build(), mockConnector, stub, blockingStub);
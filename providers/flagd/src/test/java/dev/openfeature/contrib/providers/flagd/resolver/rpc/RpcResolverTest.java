@@ -1,27 +1,54 @@
 package dev.openfeature.contrib.providers.flagd.resolver.rpc;
 
 import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.protobuf.Struct;
+import com.google.protobuf.Value;
+import dev.openfeature.contrib.providers.flagd.Config;
 import dev.openfeature.contrib.providers.flagd.FlagdOptions;
 import dev.openfeature.contrib.providers.flagd.resolver.common.ChannelConnector;
 import dev.openfeature.contrib.providers.flagd.resolver.common.QueueingStreamObserver;
+import dev.openfeature.contrib.providers.flagd.resolver.rpc.cache.Cache;
+import dev.openfeature.contrib.providers.flagd.resolver.rpc.cache.CacheType;
+import dev.openfeature.contrib.providers.flagd.resolver.rpc.cache.ContextCache;
+import dev.openfeature.flagd.grpc.evaluation.v2.Evaluation.AnyFlag;
 import dev.openfeature.flagd.grpc.evaluation.v2.Evaluation.EventStreamResponse;
+import dev.openfeature.flagd.grpc.evaluation.v2.Evaluation.ResolveAllResponse;
+import dev.openfeature.flagd.grpc.evaluation.v2.Evaluation.ResolveStringResponse;
 import dev.openfeature.flagd.grpc.evaluation.v2.ServiceGrpc.ServiceBlockingStub;
 import dev.openfeature.flagd.grpc.evaluation.v2.ServiceGrpc.ServiceStub;
+import dev.openfeature.sdk.ErrorCode;
+import dev.openfeature.sdk.ImmutableContext;
+import dev.openfeature.sdk.ProviderEvaluation;
 import dev.openfeature.sdk.ProviderEvent;
 import dev.openfeature.sdk.ProviderEventDetails;
 import dev.openfeature.sdk.Structure;
+import dev.openfeature.sdk.exceptions.FlagNotFoundError;
 import dev.openfeature.sdk.internal.TriConsumer;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.invocation.InvocationOnMock;
@@ -211,4 +238,279 @@ class RpcResolverTest {
         // it's very important that the retry count is low, to confirm no busy-loop
         verify(stub, times(2)).eventStream(any(), any());
     }
+
+    @Test
+    void cachesTargetingMatchesPerContextUntilFlagChanges() throws Exception {
+        when(blockingStub.withDeadlineAfter(anyLong(), any(TimeUnit.class))).thenReturn(blockingStub);
+        when(blockingStub.resolveString(any()))
+                .thenReturn(ResolveStringResponse.newBuilder()
+                        .setValue("on")
+                        .setVariant("on")
+                        .setReason(Config.TARGETING_MATCH_REASON)
+                        .build());
+        final ContextCache contextCache = new ContextCache(10, 60_000);
+        RpcResolver resolver = new RpcResolver(
+                FlagdOptions.builder().build(),
+                new Cache(CacheType.DISABLED.getValue(), 0),
+                contextCache,
+                consumer,
+                stub,
+                blockingStub,
+                mockConnector);
+        resolver.init();
+        latch.await();
+
+        // same context is served from the cache, other contexts are resolved remotely
+        ProviderEvaluation<String> first = resolver.stringEvaluation("flag", "off", new ImmutableContext("user-a"));
+        assertEquals(Config.TARGETING_MATCH_REASON, first.getReason());
+        ProviderEvaluation<String> second = resolver.stringEvaluation("flag", "off", new ImmutableContext("user-a"));
+        assertEquals(Config.CACHED_REASON, second.getReason());
+        assertEquals("on", second.getValue());
+        // serving from the cache leaves the evaluation returned earlier untouched
+        assertEquals(Config.TARGETING_MATCH_REASON, first.getReason());
+        // callers modifying a cache hit do not change later hits
+        second.setValue("modified");
+        assertEquals(
+                "on",
+                resolver.stringEvaluation("flag", "off", new ImmutableContext("user-a"))
+                        .getValue());
+        resolver.stringEvaluation("flag", "off", new ImmutableContext("user-b"));
+        verify(blockingStub, times(2)).resolveString(any());
+        assertEquals(2, contextCache.getStats().getHits());
+
+        // a change of the flag drops the cached results of all contexts
+        observer.onNext(EventStreamResponse.newBuilder()
+                .setType(Constants.CONFIGURATION_CHANGE)
+                .setData(Struct.newBuilder()
+                        .putFields(
+                                Constants.FLAGS_KEY,
+                                Value.newBuilder()
+                                        .setStructValue(
+                                                Struct.newBuilder().putFields("flag", Value.getDefaultInstance()))
+                                        .build()))
+                .build());
+        await().untilAsserted(
+                        () -> verify(consumer).accept(eq(ProviderEvent.PROVIDER_CONFIGURATION_CHANGED), any(), any()));
+
+        resolver.stringEvaluation("flag", "off", new ImmutableContext("user-a"));
+        verify(blockingStub, times(3)).resolveString(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void doesNotCacheTargetingMatchResolvedWhileFlagChanges() throws Exception {
+        final List<StreamObserver<ResolveStringResponse>> calls = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+                    calls.add(invocation.getArgument(1));
+                    return null;
+                })
+                .when(stub)
+                .resolveString(any(), any());
+        RpcResolver resolver = new RpcResolver(
+                FlagdOptions.builder().build(),
+                new Cache(CacheType.DISABLED.getValue(), 0),
+                new ContextCache(10, 60_000),
+                consumer,
+                stub,
+                blockingStub,
+                mockConnector);
+        resolver.init();
+        latch.await();
+
+        // the flag changes while its evaluation is in flight
+        CompletableFuture<ProviderEvaluation<String>> inFlight =
+                resolver.stringEvaluationAsync("flag", "off", new ImmutableContext("user"));
+        observer.onNext(EventStreamResponse.newBuilder()
+                .setType(Constants.CONFIGURATION_CHANGE)
+                .setData(Struct.newBuilder()
+                        .putFields(
+                                Constants.FLAGS_KEY,
+                                Value.newBuilder()
+                                        .setStructValue(
+                                                Struct.newBuilder().putFields("flag", Value.getDefaultInstance()))
+                                        .build()))
+                .build());
+        await().untilAsserted(
+                        () -> verify(consumer).accept(eq(ProviderEvent.PROVIDER_CONFIGURATION_CHANGED), any(), any()));
+        calls.get(0)
+                .onNext(ResolveStringResponse.newBuilder()
+                        .setValue("on")
+                        .setVariant("on")
+                        .setReason(Config.TARGETING_MATCH_REASON)
+                        .build());
+        calls.get(0).onCompleted();
+        assertEquals(Config.TARGETING_MATCH_REASON, inFlight.get().getReason());
+
+        // the stale result was not cached, the flag is resolved again
+        CompletableFuture<ProviderEvaluation<String>> next =
+                resolver.stringEvaluationAsync("flag", "off", new ImmutableContext("user"));
+        assertEquals(2, calls.size());
+        assertFalse(next.isDone());
+    }
+
+    @Test
+    void servesEvaluationsFromPrefetchedFlagsUntilConfigurationChanges() throws Exception {
+        when(blockingStub.withDeadlineAfter(anyLong(), any(TimeUnit.class))).thenReturn(blockingStub);
+        when(blockingStub.resolveAll(any())).thenReturn(prefetchedFlags());
+        when(blockingStub.resolveString(any()))
+                .thenReturn(ResolveStringResponse.newBuilder()
+                        .setValue("remote")
+                        .setVariant("remote")
+                        .setReason(Config.STATIC_REASON)
+                        .build());
+        RpcResolver resolver = new RpcResolver(
+                FlagdOptions.builder().prefetchCacheSize(10).build(),
+                new Cache(CacheType.DISABLED.getValue(), 0),
+                consumer,
+                stub,
+                blockingStub,
+                mockConnector);
+        resolver.init();
+        latch.await();
+
+        // all flags of a context are fetched once
+        ProviderEvaluation<Boolean> bool = resolver.booleanEvaluation("bool", false, new ImmutableContext("user"));
+        assertEquals(true, bool.getValue());
+        assertEquals("on", bool.getVariant());
+        assertEquals(Config.TARGETING_MATCH_REASON, bool.getReason());
+        assertEquals("flag", bool.getFlagMetadata().getString("scope"));
+        assertEquals("set", bool.getFlagMetadata().getString("flagSetId"));
+        ProviderEvaluation<Integer> integer = resolver.integerEvaluation("int", 0, new ImmutableContext("user"));
+        assertEquals(3, integer.getValue());
+        verify(blockingStub, times(1)).resolveAll(any());
+        verify(blockingStub, never()).resolveBoolean(any());
+        verify(blockingStub, never()).resolveInt(any());
+
+        // flags missing from the prefetched set are resolved on their own
+        assertEquals(
+                "remote",
+                resolver.stringEvaluation("missing", "default", new ImmutableContext("user"))
+                        .getValue());
+        verify(blockingStub, times(1)).resolveString(any());
+
+        // a configuration change drops the prefetched flags
+        observer.onNext(EventStreamResponse.newBuilder()
+                .setType(Constants.CONFIGURATION_CHANGE)
+                .build());
+        await().untilAsserted(
+                        () -> verify(consumer).accept(eq(ProviderEvent.PROVIDER_CONFIGURATION_CHANGED), any(), any()));
+        resolver.booleanEvaluation("bool", false, new ImmutableContext("user"));
+        verify(blockingStub, times(2)).resolveAll(any());
+    }
+
+    @Test
+    void resolveAllUsesBulkEvaluation() {
+        when(blockingStub.withDeadlineAfter(anyLong(), any(TimeUnit.class))).thenReturn(blockingStub);
+        when(blockingStub.resolveAll(any())).thenReturn(prefetchedFlags());
+        RpcResolver resolver = new RpcResolver(
+                FlagdOptions.builder().build(),
+                new Cache(CacheType.DISABLED.getValue(), 0),
+                consumer,
+                stub,
+                blockingStub,
+                mockConnector);
+
+        Map<String, ProviderEvaluation<dev.openfeature.sdk.Value>> all =
+                resolver.resolveAll(new ImmutableContext("user"));
+        assertEquals(2, all.size());
+        assertEquals(true, all.get("bool").getValue().asBoolean());
+        assertEquals(3, all.get("int").getValue().asInteger());
+
+        Map<String, ProviderEvaluation<dev.openfeature.sdk.Value>> some =
+                resolver.resolveAll(List.of("bool", "missing"), new ImmutableContext("user"));
+        assertEquals(2, some.size());
+        assertEquals("on", some.get("bool").getVariant());
+        assertNull(some.get("missing").getValue());
+        assertEquals(ErrorCode.FLAG_NOT_FOUND, some.get("missing").getErrorCode());
+    }
+
+    private static ResolveAllResponse prefetchedFlags() {
+        return ResolveAllResponse.newBuilder()
+                .putFlags(
+                        "bool",
+                        AnyFlag.newBuilder()
+                                .setBoolValue(true)
+                                .setVariant("on")
+                                .setReason(Config.TARGETING_MATCH_REASON)
+                                .setMetadata(Struct.newBuilder()
+                                        .putFields(
+                                                "scope",
+                                                Value.newBuilder()
+                                                        .setStringValue("flag")
+                                                        .build()))
+                                .build())
+                .putFlags(
+                        "int",
+                        AnyFlag.newBuilder()
+                                .setDoubleValue(3)
+                                .setVariant("three")
+                                .setReason(Config.STATIC_REASON)
+                                .build())
+                .setMetadata(Struct.newBuilder()
+                        .putFields(
+                                "flagSetId",
+                                Value.newBuilder().setStringValue("set").build())
+                        .putFields(
+                                "scope",
+                                Value.newBuilder().setStringValue("set").build()))
+                .build();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void asyncEvaluationUsesAsyncStub() throws Exception {
+        doAnswer(invocation -> {
+                    StreamObserver<ResolveStringResponse> obs = invocation.getArgument(1);
+                    obs.onNext(ResolveStringResponse.newBuilder()
+                            .setValue("on")
+                            .setVariant("on")
+                            .setReason(Config.TARGETING_MATCH_REASON)
+                            .build());
+                    obs.onCompleted();
+                    return null;
+                })
+                .when(stub)
+                .resolveString(any(), any());
+        RpcResolver resolver = new RpcResolver(
+                FlagdOptions.builder().deadline(100).build(),
+                new Cache(CacheType.DISABLED.getValue(), 0),
+                consumer,
+                stub,
+                blockingStub,
+                mockConnector);
+
+        ProviderEvaluation<String> evaluation = resolver.stringEvaluationAsync(
+                        "flag", "off", new ImmutableContext("user"))
+                .get();
+
+        assertEquals("on", evaluation.getValue());
+        assertEquals(Config.TARGETING_MATCH_REASON, evaluation.getReason());
+        verify(stub).withDeadlineAfter(100, TimeUnit.MILLISECONDS);
+        verify(blockingStub, never()).resolveString(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void asyncEvaluationMapsErrors() {
+        doAnswer(invocation -> {
+                    StreamObserver<ResolveStringResponse> obs = invocation.getArgument(1);
+                    obs.onError(Status.NOT_FOUND.asRuntimeException());
+                    return null;
+                })
+                .when(stub)
+                .resolveString(any(), any());
+        RpcResolver resolver = new RpcResolver(
+                FlagdOptions.builder().build(),
+                new Cache(CacheType.DISABLED.getValue(), 0),
+                consumer,
+                stub,
+                blockingStub,
+                mockConnector);
+
+        CompletableFuture<ProviderEvaluation<String>> evaluation =
+                resolver.stringEvaluationAsync("flag", "off", new ImmutableContext("user"));
+
+        ExecutionException e = assertThrows(ExecutionException.class, evaluation::get);
+        assertInstanceOf(FlagNotFoundError.class, e.getCause());
+    }
 }
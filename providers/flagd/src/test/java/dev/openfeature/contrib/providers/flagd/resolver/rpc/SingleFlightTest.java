@@ -0,0 +1,158 @@
+package dev.openfeature.contrib.providers.flagd.resolver.rpc;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.openfeature.sdk.exceptions.FlagNotFoundError;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    @Test
+    void concurrentIdenticalCallsShareOneCall() throws Exception {
+        final SingleFlight singleFlight = new SingleFlight(true);
+        final AtomicInteger calls = new AtomicInteger();
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(5);
+
+        try {
+            final List<Future<String>> results = new ArrayList<>();
+            results.add(executor.submit(() -> singleFlight.execute("request", () -> {
+                calls.incrementAndGet();
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "response";
+            })));
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("request", () -> {
+                    calls.incrementAndGet();
+                    return "other";
+                })));
+            }
+            await().until(() -> singleFlight.getCoalesced() == 4);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("response", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, calls.get());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // the call is not cached once completed
+        assertEquals("next", singleFlight.execute("request", () -> "next"));
+    }
+
+    @Test
+    void errorsAreSharedWithWaitingCallers() throws Exception {
+        final SingleFlight singleFlight = new SingleFlight(true);
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            executor.submit(() -> singleFlight.execute("request", () -> {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new FlagNotFoundError("not found");
+            }));
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+            final CompletableFuture<Void> follower = CompletableFuture.runAsync(
+                    () -> assertThrows(FlagNotFoundError.class, () -> singleFlight.execute("request", () -> "other")));
+            await().until(() -> singleFlight.getCoalesced() == 1);
+            release.countDown();
+            follower.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void errorsAreSharedWithWaitingCallersWhenTheCallFailsWithAnError() throws Exception {
+        final SingleFlight singleFlight = new SingleFlight(true);
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            executor.submit(() -> singleFlight.execute("request", () -> {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new AssertionError("failed");
+            }));
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+            final CompletableFuture<Void> follower = CompletableFuture.runAsync(
+                    () -> assertThrows(AssertionError.class, () -> singleFlight.execute("request", () -> "other")));
+            await().until(() -> singleFlight.getCoalesced() == 1);
+            release.countDown();
+            follower.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void asyncCallsInFlightAreShared() throws Exception {
+        final SingleFlight singleFlight = new SingleFlight(true);
+        final CompletableFuture<String> call = new CompletableFuture<>();
+
+        final CompletableFuture<String> first = singleFlight.executeAsync("request", () -> call);
+        final CompletableFuture<String> second =
+                singleFlight.executeAsync("request", () -> CompletableFuture.completedFuture("other"));
+        assertNotSame(first, second);
+        assertEquals(1, singleFlight.getCoalesced());
+
+        // a caller cancelling its future does not affect the others
+        assertTrue(first.cancel(true));
+        call.complete("response");
+        assertEquals("response", second.get());
+
+        final CompletableFuture<String> third =
+                singleFlight.executeAsync("request", () -> CompletableFuture.completedFuture("next"));
+        assertNotSame(first, third);
+        assertEquals("next", third.get());
+    }
+
+    @Test
+    void disabledRunsEveryCall() {
+        final SingleFlight singleFlight = new SingleFlight(false);
+        final CompletableFuture<String> call = new CompletableFuture<>();
+
+        final CompletableFuture<String> first = singleFlight.executeAsync("request", () -> call);
+        final CompletableFuture<String> second =
+                singleFlight.executeAsync("request", () -> CompletableFuture.completedFuture("other"));
+
+        assertNotSame(first, second);
+        assertEquals(0, singleFlight.getCoalesced());
+    }
+}
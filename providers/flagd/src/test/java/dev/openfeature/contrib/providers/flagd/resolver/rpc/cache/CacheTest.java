@@ -2,6 +2,7 @@ package dev.openfeature.contrib.providers.flagd.resolver.rpc.cache;
 
 import static dev.openfeature.contrib.providers.flagd.resolver.rpc.cache.CacheType.DISABLED;
 import static dev.openfeature.contrib.providers.flagd.resolver.rpc.cache.CacheType.LRU;
+import static dev.openfeature.contrib.providers.flagd.resolver.rpc.cache.CacheType.STRIPED;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -17,10 +18,12 @@ class CacheTest {
         // given
         final Cache disabled = new Cache(DISABLED.getValue(), 0);
         final Cache lru = new Cache(LRU.getValue(), 10);
+        final Cache striped = new Cache(STRIPED.getValue(), 10);
         final Cache undefined = new Cache("invalid", 10);
 
         // then
         assertTrue(lru.isEnabled());
+        assertTrue(striped.isEnabled());
         assertFalse(disabled.isEnabled());
         assertFalse(undefined.isEnabled());
     }
@@ -44,4 +47,24 @@ class CacheTest {
         // then
         assertNull(lru.get("key"));
     }
+
+    @Test
+    void stripedOperationValidation() {
+        // given
+        final Cache striped = new Cache(STRIPED.getValue(), 10);
+
+        // when
+        final ProviderEvaluation<Object> evaluation =
+                ProviderEvaluation.builder().value("value").variant("one").build();
+        striped.put("key", evaluation);
+
+        // then
+        assertEquals(evaluation, striped.get("key"));
+
+        // when
+        striped.remove("key");
+
+        // then
+        assertNull(striped.get("key"));
+    }
 }
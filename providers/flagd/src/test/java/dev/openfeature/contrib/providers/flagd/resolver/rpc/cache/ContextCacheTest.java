@@ -0,0 +1,126 @@
+package dev.openfeature.contrib.providers.flagd.resolver.rpc.cache;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.openfeature.sdk.ProviderEvaluation;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ContextCacheTest {
+
+    private static final ProviderEvaluation<Object> EVALUATION =
+            ProviderEvaluation.builder().value("value").variant("one").build();
+
+    @Test
+    void disabledWithoutSizeOrTtl() {
+        // given
+        final ContextCache noSize = new ContextCache(0, 1000);
+        final ContextCache noTtl = new ContextCache(10, 0);
+
+        // when
+        noSize.put("key", "ctx", EVALUATION, noSize.generation());
+
+        // then
+        assertFalse(noSize.isEnabled());
+        assertFalse(noTtl.isEnabled());
+        assertNull(noSize.get("key", "ctx"));
+        assertEquals(new CacheStats(0, 0, 0, 0), noSize.getStats());
+    }
+
+    @Test
+    void entriesAreKeyedByFlagAndContext() {
+        // given
+        final ContextCache cache = new ContextCache(10, 60_000);
+
+        // when
+        cache.put("key", "ctx-a", EVALUATION, cache.generation());
+
+        // then
+        assertTrue(cache.isEnabled());
+        assertEquals(EVALUATION, cache.get("key", "ctx-a"));
+        assertNull(cache.get("key", "ctx-b"));
+        assertNull(cache.get("other", "ctx-a"));
+        assertEquals(new CacheStats(1, 2, 0, 1), cache.getStats());
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvicted() {
+        // given
+        final ContextCache cache = new ContextCache(2, 60_000);
+        cache.put("key", "ctx-a", EVALUATION, cache.generation());
+        cache.put("key", "ctx-b", EVALUATION, cache.generation());
+        cache.get("key", "ctx-a");
+
+        // when
+        cache.put("key", "ctx-c", EVALUATION, cache.generation());
+
+        // then
+        assertNull(cache.get("key", "ctx-b"));
+        assertEquals(EVALUATION, cache.get("key", "ctx-a"));
+        assertEquals(EVALUATION, cache.get("key", "ctx-c"));
+        assertEquals(1, cache.getStats().getEvictions());
+        assertEquals(2, cache.getStats().getSize());
+    }
+
+    @Test
+    void entriesExpire() {
+        // given
+        final ContextCache cache = new ContextCache(10, 10);
+
+        // when
+        cache.put("key", "ctx", EVALUATION, cache.generation());
+
+        // then
+        await().untilAsserted(() -> assertNull(cache.get("key", "ctx")));
+        assertEquals(1, cache.getStats().getEvictions());
+        assertEquals(0, cache.getStats().getSize());
+    }
+
+    @Test
+    void removeDropsAllContextsOfFlag() {
+        // given
+        final ContextCache cache = new ContextCache(10, 60_000);
+        cache.put("key", "ctx-a", EVALUATION, cache.generation());
+        cache.put("key", "ctx-b", EVALUATION, cache.generation());
+        cache.put("other", "ctx-a", EVALUATION, cache.generation());
+
+        // when
+        cache.remove(List.of("key"));
+
+        // then
+        assertNull(cache.get("key", "ctx-a"));
+        assertNull(cache.get("key", "ctx-b"));
+        assertEquals(EVALUATION, cache.get("other", "ctx-a"));
+        assertEquals(0, cache.getStats().getEvictions());
+
+        // when
+        cache.clear();
+
+        // then
+        assertNull(cache.get("other", "ctx-a"));
+    }
+
+    @Test
+    void entriesResolvedWhileInvalidatingAreNotAdded() {
+        // given
+        final ContextCache cache = new ContextCache(10, 60_000);
+        final long beforeRemove = cache.generation();
+        cache.remove(List.of("key"));
+        final long beforeClear = cache.generation();
+        cache.clear();
+
+        // when
+        cache.put("key", "ctx-a", EVALUATION, beforeRemove);
+        cache.put("key", "ctx-b", EVALUATION, beforeClear);
+
+        // then
+        assertNull(cache.get("key", "ctx-a"));
+        assertNull(cache.get("key", "ctx-b"));
+        cache.put("key", "ctx-a", EVALUATION, cache.generation());
+        assertEquals(EVALUATION, cache.get("key", "ctx-a"));
+    }
+}
@@ -0,0 +1,57 @@
+package dev.openfeature.contrib.providers.flagd.resolver.rpc.cache;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import dev.openfeature.flagd.grpc.evaluation.v2.Evaluation.ResolveAllResponse;
+import org.junit.jupiter.api.Test;
+
+class PrefetchCacheTest {
+
+    private static final ResolveAllResponse RESPONSE = ResolveAllResponse.getDefaultInstance();
+
+    @Test
+    void disabledWithoutSizeOrTtl() {
+        // given
+        final PrefetchCache noSize = new PrefetchCache(0, 1000);
+        final PrefetchCache noTtl = new PrefetchCache(10, 0);
+
+        // when
+        noSize.put("ctx", RESPONSE, noSize.generation());
+
+        // then
+        assertFalse(noSize.isEnabled());
+        assertFalse(noTtl.isEnabled());
+        assertNull(noSize.get("ctx"));
+    }
+
+    @Test
+    void flagsAreKeyedByContext() {
+        // given
+        final PrefetchCache cache = new PrefetchCache(10, 60_000);
+
+        // when
+        cache.put("ctx-a", RESPONSE, cache.generation());
+
+        // then
+        assertSame(RESPONSE, cache.get("ctx-a"));
+        assertNull(cache.get("ctx-b"));
+    }
+
+    @Test
+    void flagsFetchedWhileClearingAreNotAdded() {
+        // given
+        final PrefetchCache cache = new PrefetchCache(10, 60_000);
+        final long generation = cache.generation();
+
+        // when
+        cache.clear();
+        cache.put("ctx", RESPONSE, generation);
+
+        // then
+        assertNull(cache.get("ctx"));
+        cache.put("ctx", RESPONSE, cache.generation());
+        assertSame(RESPONSE, cache.get("ctx"));
+    }
+}
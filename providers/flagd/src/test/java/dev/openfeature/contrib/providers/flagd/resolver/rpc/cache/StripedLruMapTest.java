@@ -0,0 +1,72 @@
+package dev.openfeature.contrib.providers.flagd.resolver.rpc.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class StripedLruMapTest {
+
+    @Test
+    void segmentCountIsPowerOfTwoLimitedBySize() {
+        assertEquals(8, new StripedLruMap<>(1000, 6).segmentCount());
+        assertEquals(1, new StripedLruMap<>(1000, 1).segmentCount());
+        assertEquals(2, new StripedLruMap<>(3, 16).segmentCount());
+        assertEquals(64, new StripedLruMap<>(1000, 512).segmentCount());
+        assertThrows(IllegalArgumentException.class, () -> new StripedLruMap<>(0, 4));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntry() {
+        final StripedLruMap<String, String> map = new StripedLruMap<>(2, 1);
+        map.put("a", "1");
+        map.put("b", "2");
+
+        // reading a makes b the least recently used entry
+        assertEquals("1", map.get("a"));
+        map.put("c", "3");
+
+        assertNull(map.get("b"));
+        assertEquals("1", map.get("a"));
+        assertEquals("3", map.get("c"));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void boundedUnderConcurrentAccess() throws Exception {
+        final StripedLruMap<Integer, Integer> map = new StripedLruMap<>(100, 8);
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<?>> tasks = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                final int offset = t * 1000;
+                tasks.add(executor.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        map.put(offset + i, i);
+                        map.get(offset + i / 2);
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // every segment is bounded by its share of the capacity
+        assertTrue(map.size() <= 100 + map.segmentCount() - 1);
+        assertEquals(map.size(), map.entrySet().size());
+
+        map.clear();
+        assertEquals(0, map.size());
+    }
+}
@@ -1,18 +1,23 @@
 package dev.openfeature.contrib.providers.flagd.resolver.rpc.strategy;
 
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.protobuf.Message;
 import dev.openfeature.flagd.grpc.evaluation.Evaluation.ResolveBooleanRequest;
+import io.grpc.stub.StreamObserver;
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanBuilder;
 import io.opentelemetry.api.trace.Tracer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.Test;
 
 class TracedResolvingTest {
@@ -46,4 +51,38 @@ class TracedResolvingTest {
         verify(span, times(1)).setAttribute("feature_flag.provider_name", "flagd");
         verify(span, times(1)).end();
     }
+
+    @Test
+    public void asyncSpanEndsWithCall() throws Exception {
+        // given
+        final String key = "flagA";
+        final OpenTelemetry openTelemetry = mock(OpenTelemetry.class);
+        final Tracer tracer = mock(Tracer.class);
+        final SpanBuilder spanBuilder = mock(SpanBuilder.class);
+        final Span span = mock(Span.class);
+        final Message message = mock(Message.class);
+        final AtomicReference<StreamObserver<Message>> observer = new AtomicReference<>();
+
+        when(openTelemetry.getTracer(anyString())).thenReturn(tracer);
+        when(tracer.spanBuilder(anyString())).thenReturn(spanBuilder);
+        when(spanBuilder.setSpanKind(any())).thenReturn(spanBuilder);
+        when(spanBuilder.startSpan()).thenReturn(span);
+
+        // when
+        final TracedResolving tracedResolving = new TracedResolving(openTelemetry);
+        final CompletableFuture<Message> response = tracedResolving.resolveAsync(
+                (ResolveBooleanRequest req, StreamObserver<Message> obs) -> observer.set(obs),
+                ResolveBooleanRequest.newBuilder().build(),
+                key);
+
+        // then the span is open until the response is received
+        verify(span, times(1)).setAttribute("feature_flag.key", key);
+        verify(span, never()).end();
+
+        observer.get().onNext(message);
+        observer.get().onCompleted();
+
+        assertSame(message, response.get());
+        verify(span, times(1)).end();
+    }
 }
@@ -13,8 +13,10 @@ import dev.openfeature.contrib.providers.gofeatureflag.hook.DataCollectorHookOpt
 import dev.openfeature.contrib.providers.gofeatureflag.hook.EnrichEvaluationContextHook;
 import dev.openfeature.contrib.providers.gofeatureflag.service.EvaluationService;
 import dev.openfeature.contrib.providers.gofeatureflag.service.EventsPublisher;
+import dev.openfeature.contrib.providers.gofeatureflag.service.EventsPublisherMetrics;
 import dev.openfeature.contrib.providers.gofeatureflag.util.Const;
 import dev.openfeature.contrib.providers.gofeatureflag.util.EvaluationContextUtil;
+import dev.openfeature.contrib.providers.gofeatureflag.wasm.WasmEvaluatorPoolMetrics;
 import dev.openfeature.sdk.EvaluationContext;
 import dev.openfeature.sdk.EventProvider;
 import dev.openfeature.sdk.Hook;
@@ -40,6 +42,8 @@ import lombok.val;
 public final class GoFeatureFlagProvider extends EventProvider implements Tracking {
     /** Options to configure the provider. */
     private final GoFeatureFlagProviderOptions options;
+    /** Evaluator selected by the evaluation type. */
+    private final IEvaluator evaluator;
     /** Service to evaluate the flags. */
     private final EvaluationService evalService;
     /** List of the hooks used by the provider. */
@@ -66,7 +70,8 @@ public final class GoFeatureFlagProvider extends EventProvider implements Tracki
         options.validate();
         this.options = options;
         this.api = GoFeatureFlagApi.builder().options(options).build();
-        this.evalService = new EvaluationService(getEvaluator(this.api));
+        this.evaluator = getEvaluator(this.api);
+        this.evalService = new EvaluationService(this.evaluator);
 
         long flushIntervalMs =
                 (options.getFlushIntervalMs() == null) ? Const.DEFAULT_FLUSH_INTERVAL_MS : options.getFlushIntervalMs();
@@ -126,6 +131,31 @@ public final class GoFeatureFlagProvider extends EventProvider implements Tracki
         return this.evalService.getEvaluation(key, defaultValue, evaluationContext, Value.class);
     }
 
+    /**
+     * Returns a snapshot of the usage of the WASM evaluation pool, to size the pool with
+     * {@link GoFeatureFlagProviderOptions#getWasmEvaluatorPoolSize()} and
+     * {@link GoFeatureFlagProviderOptions#getWasmEvaluatorPoolMaxSize()}.
+     *
+     * @return the pool metrics, null if the provider does not evaluate flags in process
+     */
+    public WasmEvaluatorPoolMetrics getWasmEvaluatorPoolMetrics() {
+        if (this.evaluator instanceof InProcessEvaluator) {
+            return ((InProcessEvaluator) this.evaluator).getWasmEvaluatorPoolMetrics();
+        }
+        return null;
+    }
+
+    /**
+     * Returns a snapshot of the usage of the events publisher, to size it with
+     * {@link GoFeatureFlagProviderOptions#getMaxPendingEvents()} and
+     * {@link GoFeatureFlagProviderOptions#getFlushIntervalMs()}.
+     *
+     * @return the events publisher metrics
+     */
+    public EventsPublisherMetrics getEventsPublisherMetrics() {
+        return this.eventsPublisher.getMetrics();
+    }
+
     @Override
     public void initialize(EvaluationContext evaluationContext) throws Exception {
         super.initialize(evaluationContext);
@@ -138,6 +168,9 @@ public final class GoFeatureFlagProvider extends EventProvider implements Tracki
                     .eventsPublisher(this.eventsPublisher)
                     .collectUnCachedEvaluation(true)
                     .evalService(this.evalService)
+                    .evaluationSummary(this.options.isDataCollectorSummary())
+                    .summaryBucketMs(this.options.getDataCollectorSummaryBucketMs())
+                    .rawEventSampleRate(this.options.getDataCollectorRawEventSampleRate())
                     .build());
 
             this.hooks.add(this.dataCollectorHook);
@@ -60,7 +60,9 @@ public class GoFeatureFlagProviderOptions {
     private Long flushIntervalMs;
     /**
      * (optional) max pending events aggregated before publishing for collection data to the proxy.
-     * When an event is added while an events collection is full, the event is omitted. default: 10000
+     * Pending events are published in the background as soon as this number is reached, up to twice this number
+     * of events are kept while publishing. When an event is added while the events collection is full, the event
+     * is omitted. default: 10000
      */
     private Integer maxPendingEvents;
     /**
@@ -69,6 +71,24 @@ public class GoFeatureFlagProviderOptions {
      */
     private boolean disableDataCollection;
 
+    /**
+     * (optional) dataCollectorSummary set to true to send to the proxy the number of evaluations per flag, variation,
+     * context kind and time bucket at every flush interval, instead of an event per evaluation. default: false
+     */
+    private boolean dataCollectorSummary;
+
+    /**
+     * (optional) duration in milliseconds of the time buckets in which evaluations are counted when
+     * dataCollectorSummary is enabled. Must be at least 1000. default: 60000
+     */
+    private Long dataCollectorSummaryBucketMs;
+
+    /**
+     * (optional) ratio of the evaluations sent to the proxy as individual events, between 0 and 1.
+     * default: 0 when dataCollectorSummary is enabled, 1 otherwise
+     */
+    private Double dataCollectorRawEventSampleRate;
+
     /**
      * (optional) exporterMetadata is the metadata we send to the GO Feature Flag relay proxy when we report the
      * evaluation data usage.
@@ -99,6 +119,30 @@ public class GoFeatureFlagProviderOptions {
      */
     private Integer wasmEvaluatorPoolSize;
 
+    /**
+     * (optional) Maximum number of WASM instances the evaluation pool grows to for in-process evaluation.
+     * When all instances are busy, a new instance is created until the pool reaches this size.
+     * Must be &gt;= wasmEvaluatorPoolSize when both are set explicitly.
+     * Default: wasmEvaluatorPoolSize, the pool does not grow.
+     */
+    private Integer wasmEvaluatorPoolMaxSize;
+
+    /**
+     * (optional) Maximum time in milliseconds an in-process evaluation waits for an available WASM instance.
+     * When it is reached, the flag is evaluated remotely by the relay proxy instead.
+     * Default: null, the evaluation waits until an instance is available.
+     */
+    private Long wasmEvaluatorPoolTimeoutMs;
+
+    /**
+     * (optional) If you are using in process evaluation, load the flag configuration into the memory of every WASM
+     * instance of the evaluation pool when it changes, instead of serializing the flag for every evaluation.
+     * An evaluation then only serializes the evaluation context, at the cost of keeping a copy of the configuration
+     * in every WASM instance.
+     * Default: false
+     */
+    private boolean wasmFlagPreloading;
+
     /**
      * Validate the options provided to the provider.
      *
@@ -119,6 +163,29 @@ public class GoFeatureFlagProviderOptions {
             throw new InvalidOptions("wasmEvaluatorPoolSize must be at least 1");
         }
 
+        if (getWasmEvaluatorPoolMaxSize() != null && getWasmEvaluatorPoolMaxSize() < 1) {
+            throw new InvalidOptions("wasmEvaluatorPoolMaxSize must be at least 1");
+        }
+
+        if (getWasmEvaluatorPoolMaxSize() != null
+                && getWasmEvaluatorPoolSize() != null
+                && getWasmEvaluatorPoolMaxSize() < getWasmEvaluatorPoolSize()) {
+            throw new InvalidOptions("wasmEvaluatorPoolMaxSize must be at least wasmEvaluatorPoolSize");
+        }
+
+        if (getWasmEvaluatorPoolTimeoutMs() != null && getWasmEvaluatorPoolTimeoutMs() < 0) {
+            throw new InvalidOptions("wasmEvaluatorPoolTimeoutMs must be positive");
+        }
+
+        if (getDataCollectorSummaryBucketMs() != null && getDataCollectorSummaryBucketMs() < 1000) {
+            throw new InvalidOptions("dataCollectorSummaryBucketMs must be at least 1000");
+        }
+
+        if (getDataCollectorRawEventSampleRate() != null
+                && (getDataCollectorRawEventSampleRate() < 0 || getDataCollectorRawEventSampleRate() > 1)) {
+            throw new InvalidOptions("dataCollectorRawEventSampleRate must be between 0 and 1");
+        }
+
         if (getExporterMetadata() != null) {
             val acceptableExporterMetadataTypes = List.of("String", "Boolean", "Integer", "Double");
             for (Map.Entry<String, Object> entry : getExporterMetadata().entrySet()) {
@@ -81,7 +81,6 @@ public final class GoFeatureFlagApi {
 
         // Register JavaTimeModule to be able to deserialized java.time.Instant Object
         Const.SERIALIZE_OBJECT_MAPPER.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        Const.SERIALIZE_OBJECT_MAPPER.enable(SerializationFeature.INDENT_OUTPUT);
         Const.SERIALIZE_OBJECT_MAPPER.registerModule(new JavaTimeModule());
 
         timeout = options.getTimeout() == 0 ? 10000 : options.getTimeout();
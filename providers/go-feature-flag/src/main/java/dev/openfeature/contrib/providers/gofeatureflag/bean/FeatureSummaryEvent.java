@@ -0,0 +1,43 @@
+package dev.openfeature.contrib.providers.gofeatureflag.bean;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * FeatureSummaryEvent is the number of evaluations of a flag which returned the same variation for the same kind of
+ * context during a time bucket, it is sent instead of a feature event per evaluation when the evaluation summary is
+ * enabled.
+ */
+@Builder
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FeatureSummaryEvent implements IEvent {
+    /** Kind for a summary event is summary. */
+    private String kind;
+
+    /** ContextKind is the kind of context of the evaluations, "anonymousUser" or "user". */
+    private String contextKind;
+
+    /** CreationDate is the start of the time bucket at Unix epoch time in seconds. */
+    private Long creationDate;
+
+    /** Duration of the time bucket, in seconds. */
+    private Long bucketDuration;
+
+    @JsonProperty("default")
+    private Object defaultValue;
+
+    /** Key of the flag. */
+    private String key;
+
+    /** Variation returned by the evaluations. */
+    private String variation;
+
+    /** Value returned by the first evaluation of the bucket. */
+    private Object value;
+
+    /** Number of evaluations. */
+    private Long count;
+}
@@ -1,12 +1,16 @@
 package dev.openfeature.contrib.providers.gofeatureflag.evaluator;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import dev.openfeature.contrib.providers.gofeatureflag.GoFeatureFlagProviderOptions;
 import dev.openfeature.contrib.providers.gofeatureflag.api.GoFeatureFlagApi;
 import dev.openfeature.contrib.providers.gofeatureflag.bean.Flag;
 import dev.openfeature.contrib.providers.gofeatureflag.bean.FlagConfigResponse;
 import dev.openfeature.contrib.providers.gofeatureflag.bean.GoFeatureFlagResponse;
+import dev.openfeature.contrib.providers.gofeatureflag.exception.WasmEvaluatorPoolTimeout;
 import dev.openfeature.contrib.providers.gofeatureflag.util.Const;
 import dev.openfeature.contrib.providers.gofeatureflag.wasm.WasmEvaluatorPool;
+import dev.openfeature.contrib.providers.gofeatureflag.wasm.WasmEvaluatorPoolMetrics;
+import dev.openfeature.contrib.providers.gofeatureflag.wasm.WasmFlagSet;
 import dev.openfeature.contrib.providers.gofeatureflag.wasm.bean.FlagContext;
 import dev.openfeature.contrib.providers.gofeatureflag.wasm.bean.WasmInput;
 import dev.openfeature.sdk.ErrorCode;
@@ -36,6 +40,8 @@ public class InProcessEvaluator implements IEvaluator {
     private final GoFeatureFlagApi api;
     /** Pool of WASM evaluation engine instances for thread-safe concurrent evaluation. */
     private final WasmEvaluatorPool evaluationPool;
+    /** Evaluator used when no WASM instance is available in time. */
+    private final RemoteEvaluator fallbackEvaluator;
     /** Options to configure the provider. */
     private final GoFeatureFlagProviderOptions options;
     /** Method to call when we have a configuration change. */
@@ -50,16 +56,20 @@ public class InProcessEvaluator implements IEvaluator {
         final Map<String, Object> evaluationContextEnrichment;
         final String etag;
         final Date lastUpdate;
+        /** Serialized flags loaded into the WASM instances, null if flags are serialized per evaluation. */
+        final WasmFlagSet wasmFlagSet;
 
         EvaluatorState(
                 Map<String, Flag> flags,
                 Map<String, Object> evaluationContextEnrichment,
                 String etag,
-                Date lastUpdate) {
+                Date lastUpdate,
+                WasmFlagSet wasmFlagSet) {
             this.flags = flags;
             this.evaluationContextEnrichment = evaluationContextEnrichment;
             this.etag = etag;
             this.lastUpdate = lastUpdate;
+            this.wasmFlagSet = wasmFlagSet;
         }
     }
 
@@ -77,11 +87,15 @@ public class InProcessEvaluator implements IEvaluator {
         this.api = api;
         this.options = options;
         this.emitProviderConfigurationChanged = emitProviderConfigurationChanged;
-        this.state = new EvaluatorState(Collections.emptyMap(), null, "", new Date(0));
+        this.state = new EvaluatorState(Collections.emptyMap(), null, "", new Date(0), null);
         int poolSize = options.getWasmEvaluatorPoolSize() != null
                 ? options.getWasmEvaluatorPoolSize()
                 : Const.DEFAULT_WASM_EVALUATOR_POOL_SIZE;
-        this.evaluationPool = new WasmEvaluatorPool(poolSize);
+        int poolMaxSize =
+                options.getWasmEvaluatorPoolMaxSize() != null ? options.getWasmEvaluatorPoolMaxSize() : poolSize;
+        this.evaluationPool = new WasmEvaluatorPool(
+                Math.min(poolSize, poolMaxSize), poolMaxSize, options.getWasmEvaluatorPoolTimeoutMs());
+        this.fallbackEvaluator = new RemoteEvaluator(api);
     }
 
     @Override
@@ -95,16 +109,34 @@ public class InProcessEvaluator implements IEvaluator {
             err.setValue(defaultValue);
             return err;
         }
-        val wasmInput = WasmInput.builder()
-                .flagContext(FlagContext.builder()
-                        .defaultSdkValue(defaultValue)
-                        .evaluationContextEnrichment(current.evaluationContextEnrichment)
-                        .build())
-                .evalContext(evaluationContext.asObjectMap())
-                .flag(current.flags.get(key))
-                .flagKey(key)
-                .build();
-        return this.evaluationPool.evaluate(wasmInput);
+        try {
+            if (current.wasmFlagSet != null) {
+                return this.evaluationPool.evaluate(
+                        current.wasmFlagSet, key, defaultValue, evaluationContext.asObjectMap());
+            }
+            val wasmInput = WasmInput.builder()
+                    .flagContext(FlagContext.builder()
+                            .defaultSdkValue(defaultValue)
+                            .evaluationContextEnrichment(current.evaluationContextEnrichment)
+                            .build())
+                    .evalContext(evaluationContext.asObjectMap())
+                    .flag(current.flags.get(key))
+                    .flagKey(key)
+                    .build();
+            return this.evaluationPool.evaluate(wasmInput);
+        } catch (WasmEvaluatorPoolTimeout e) {
+            log.debug("no WASM instance available, evaluating flag {} remotely", key);
+            return this.fallbackEvaluator.evaluate(key, defaultValue, evaluationContext);
+        }
+    }
+
+    /**
+     * Returns a snapshot of the usage of the WASM evaluation pool.
+     *
+     * @return the pool metrics
+     */
+    public WasmEvaluatorPoolMetrics getWasmEvaluatorPoolMetrics() {
+        return this.evaluationPool.getMetrics();
     }
 
     @Override
@@ -116,11 +148,7 @@ public class InProcessEvaluator implements IEvaluator {
     @Override
     public void init() {
         val configFlags = api.retrieveFlagConfiguration(this.state.etag, options.getEvaluationFlagList());
-        this.state = new EvaluatorState(
-                configFlags.getFlags(),
-                configFlags.getEvaluationContextEnrichment(),
-                configFlags.getEtag(),
-                configFlags.getLastUpdated());
+        updateState(configFlags, this.state);
 
         // start the polling of the flag configuration
         this.configurationDisposable = startCheckFlagConfigurationChangesDaemon();
@@ -169,11 +197,7 @@ public class InProcessEvaluator implements IEvaluator {
 
                     log.info("flag configuration has changed");
                     val flagChanges = findFlagConfigurationChanges(current.flags, response.getFlags());
-                    this.state = new EvaluatorState(
-                            response.getFlags(),
-                            response.getEvaluationContextEnrichment(),
-                            response.getEtag(),
-                            response.getLastUpdated());
+                    updateState(response, current);
                     val changeDetails = ProviderEventDetails.builder()
                             .flagsChanged(flagChanges)
                             .message("flag configuration has changed")
@@ -184,6 +208,35 @@ public class InProcessEvaluator implements IEvaluator {
                         log.error("error while calling flag configuration API, error: {}", throwable.getMessage()));
     }
 
+    /**
+     * updateState replaces the state of the evaluator with a flag configuration.
+     * If the WASM flag preloading is enabled, the flags are loaded into the idle WASM instances of the pool.
+     *
+     * @param response - the flag configuration
+     * @param previous - the state of the previous flag configuration
+     */
+    private void updateState(FlagConfigResponse response, EvaluatorState previous) {
+        WasmFlagSet wasmFlagSet = null;
+        if (options.isWasmFlagPreloading()) {
+            try {
+                wasmFlagSet = WasmFlagSet.create(
+                        response.getFlags(), response.getEvaluationContextEnrichment(), previous.wasmFlagSet);
+            } catch (JsonProcessingException e) {
+                log.error(
+                        "impossible to load the flag configuration into WASM, flags are serialized per evaluation", e);
+            }
+        }
+        this.state = new EvaluatorState(
+                response.getFlags(),
+                response.getEvaluationContextEnrichment(),
+                response.getEtag(),
+                response.getLastUpdated(),
+                wasmFlagSet);
+        if (wasmFlagSet != null) {
+            this.evaluationPool.load(wasmFlagSet);
+        }
+    }
+
     /**
      * findFlagConfigurationChanges is a function that will find the flags that have changed.
      *
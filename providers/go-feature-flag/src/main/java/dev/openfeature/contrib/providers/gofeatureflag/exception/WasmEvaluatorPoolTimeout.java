@@ -0,0 +1,7 @@
+package dev.openfeature.contrib.providers.gofeatureflag.exception;
+
+import lombok.experimental.StandardException;
+
+/** Thrown when no WASM instance of the evaluation pool became available in time. */
+@StandardException
+public class WasmEvaluatorPoolTimeout extends GoFeatureFlagRuntimeException {}
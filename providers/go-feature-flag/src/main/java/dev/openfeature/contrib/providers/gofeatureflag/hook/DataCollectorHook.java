@@ -5,12 +5,14 @@ import dev.openfeature.contrib.providers.gofeatureflag.bean.IEvent;
 import dev.openfeature.contrib.providers.gofeatureflag.exception.InvalidOptions;
 import dev.openfeature.contrib.providers.gofeatureflag.service.EvaluationService;
 import dev.openfeature.contrib.providers.gofeatureflag.service.EventsPublisher;
+import dev.openfeature.contrib.providers.gofeatureflag.util.Const;
 import dev.openfeature.contrib.providers.gofeatureflag.util.EvaluationContextUtil;
 import dev.openfeature.sdk.FlagEvaluationDetails;
 import dev.openfeature.sdk.Hook;
 import dev.openfeature.sdk.HookContext;
 import dev.openfeature.sdk.Reason;
 import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -25,6 +27,10 @@ public final class DataCollectorHook implements Hook<HookContext<String>> {
     private final EventsPublisher<IEvent> eventsPublisher;
     /** evalService is the service to evaluate the flags. */
     private final EvaluationService evalService;
+    /** aggregator counts the evaluations when the evaluation summary is enabled, null otherwise. */
+    private final FeatureEventAggregator aggregator;
+    /** rawEventSampleRate is the ratio of the evaluations sent as feature events. */
+    private final double rawEventSampleRate;
 
     /**
      * Constructor of the hook.
@@ -40,6 +46,21 @@ public final class DataCollectorHook implements Hook<HookContext<String>> {
         eventsPublisher = options.getEventsPublisher();
         evalService = options.getEvalService();
         this.options = options;
+
+        if (options.isEvaluationSummary()) {
+            long bucketMs = options.getSummaryBucketMs() == null
+                    ? Const.DEFAULT_SUMMARY_BUCKET_MS
+                    : options.getSummaryBucketMs();
+            aggregator = new FeatureEventAggregator(bucketMs, System::currentTimeMillis);
+            eventsPublisher.addEventSource(aggregator::drain);
+        } else {
+            aggregator = null;
+        }
+        if (options.getRawEventSampleRate() != null) {
+            rawEventSampleRate = options.getRawEventSampleRate();
+        } else {
+            rawEventSampleRate = options.isEvaluationSummary() ? 0 : 1;
+        }
     }
 
     @Override
@@ -50,10 +71,18 @@ public final class DataCollectorHook implements Hook<HookContext<String>> {
             return;
         }
 
+        String contextKind = EvaluationContextUtil.isAnonymousUser(ctx.getCtx()) ? "anonymousUser" : "user";
+        if (aggregator != null) {
+            aggregator.record(ctx.getFlagKey(), details.getVariant(), contextKind, details.getValue(), false);
+        }
+        if (!sampleRawEvent()) {
+            return;
+        }
+
         IEvent event = FeatureEvent.builder()
                 .key(ctx.getFlagKey())
                 .kind("feature")
-                .contextKind(EvaluationContextUtil.isAnonymousUser(ctx.getCtx()) ? "anonymousUser" : "user")
+                .contextKind(contextKind)
                 .defaultValue(false)
                 .variation(details.getVariant())
                 .value(details.getValue())
@@ -65,10 +94,18 @@ public final class DataCollectorHook implements Hook<HookContext<String>> {
 
     @Override
     public void error(HookContext ctx, Exception error, Map hints) {
+        String contextKind = EvaluationContextUtil.isAnonymousUser(ctx.getCtx()) ? "anonymousUser" : "user";
+        if (aggregator != null) {
+            aggregator.record(ctx.getFlagKey(), "SdkDefault", contextKind, ctx.getDefaultValue(), true);
+        }
+        if (!sampleRawEvent()) {
+            return;
+        }
+
         IEvent event = FeatureEvent.builder()
                 .key(ctx.getFlagKey())
                 .kind("feature")
-                .contextKind(EvaluationContextUtil.isAnonymousUser(ctx.getCtx()) ? "anonymousUser" : "user")
+                .contextKind(contextKind)
                 .creationDate(System.currentTimeMillis() / 1000L)
                 .defaultValue(true)
                 .variation("SdkDefault")
@@ -78,6 +115,13 @@ public final class DataCollectorHook implements Hook<HookContext<String>> {
         eventsPublisher.add(event);
     }
 
+    private boolean sampleRawEvent() {
+        if (rawEventSampleRate >= 1) {
+            return true;
+        }
+        return rawEventSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < rawEventSampleRate;
+    }
+
     /** shutdown should be called when we stop the hook, it will publish the remaining event. */
     public void shutdown() {
         // eventsPublisher is required so no need to check if it is null
@@ -29,6 +29,24 @@ public class DataCollectorHookOptions {
      */
     private EvaluationService evalService;
 
+    /**
+     * evaluationSummary (optional) set to true to send the number of evaluations per flag, variation, context kind
+     * and time bucket instead of a feature event per evaluation.
+     */
+    private boolean evaluationSummary;
+
+    /**
+     * summaryBucketMs (optional) duration of the time buckets of the evaluation summary in milliseconds.
+     * Default: 60000
+     */
+    private Long summaryBucketMs;
+
+    /**
+     * rawEventSampleRate (optional) ratio of the evaluations sent as feature events, between 0 and 1.
+     * Default: 0 with the evaluation summary, 1 otherwise.
+     */
+    private Double rawEventSampleRate;
+
     /**
      * Validate the options provided to the data collector hook.
      *
@@ -38,5 +56,11 @@ public class DataCollectorHookOptions {
         if (getEventsPublisher() == null) {
             throw new InvalidOptions("No events publisher provided");
         }
+        if (getSummaryBucketMs() != null && getSummaryBucketMs() < 1000) {
+            throw new InvalidOptions("summaryBucketMs must be at least 1000");
+        }
+        if (getRawEventSampleRate() != null && (getRawEventSampleRate() < 0 || getRawEventSampleRate() > 1)) {
+            throw new InvalidOptions("rawEventSampleRate must be between 0 and 1");
+        }
     }
 }
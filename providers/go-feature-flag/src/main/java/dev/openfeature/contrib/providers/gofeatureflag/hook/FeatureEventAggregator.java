@@ -0,0 +1,103 @@
+package dev.openfeature.contrib.providers.gofeatureflag.hook;
+
+import dev.openfeature.contrib.providers.gofeatureflag.bean.FeatureSummaryEvent;
+import dev.openfeature.contrib.providers.gofeatureflag.bean.IEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import lombok.Value;
+
+/**
+ * FeatureEventAggregator counts the evaluations per flag, variation, context kind and time bucket, the counts are
+ * drained as {@link FeatureSummaryEvent} when the events are published.
+ */
+final class FeatureEventAggregator {
+    private final long bucketMs;
+    private final LongSupplier clock;
+    private final Map<SummaryKey, Counter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor of the aggregator.
+     *
+     * @param bucketMs - duration of a time bucket in milliseconds
+     * @param clock    - current time in milliseconds
+     */
+    FeatureEventAggregator(long bucketMs, LongSupplier clock) {
+        this.bucketMs = bucketMs;
+        this.clock = clock;
+    }
+
+    /**
+     * Counts an evaluation in the current time bucket.
+     *
+     * @param flagKey      - key of the flag
+     * @param variation    - variation returned by the evaluation
+     * @param contextKind  - kind of the evaluation context
+     * @param value        - value returned by the evaluation
+     * @param defaultValue - true if the evaluation returned the default value of the SDK
+     */
+    void record(String flagKey, String variation, String contextKind, Object value, boolean defaultValue) {
+        SummaryKey key = new SummaryKey(flagKey, variation, contextKind, defaultValue, bucketStart(clock.getAsLong()));
+        Counter counter = counters.get(key);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(key, k -> new Counter(value));
+        }
+        counter.count.increment();
+    }
+
+    /**
+     * Returns the counts since the last call, one summary event per flag, variation, context kind and time bucket.
+     *
+     * @return the summary events
+     */
+    List<IEvent> drain() {
+        long currentBucket = bucketStart(clock.getAsLong());
+        List<IEvent> summaries = new ArrayList<>();
+        for (Map.Entry<SummaryKey, Counter> entry : counters.entrySet()) {
+            SummaryKey key = entry.getKey();
+            long count = entry.getValue().count.sumThenReset();
+            if (count > 0) {
+                summaries.add(FeatureSummaryEvent.builder()
+                        .kind("summary")
+                        .key(key.getFlagKey())
+                        .variation(key.getVariation())
+                        .contextKind(key.getContextKind())
+                        .defaultValue(key.isDefaultValue())
+                        .value(entry.getValue().value)
+                        .creationDate(key.getBucketStart() / 1000L)
+                        .bucketDuration(bucketMs / 1000L)
+                        .count(count)
+                        .build());
+            } else if (key.getBucketStart() < currentBucket) {
+                // nothing was counted since the previous drain, the bucket is over
+                counters.remove(key, entry.getValue());
+            }
+        }
+        return summaries;
+    }
+
+    private long bucketStart(long timeMs) {
+        return timeMs - Math.floorMod(timeMs, bucketMs);
+    }
+
+    @Value
+    private static class SummaryKey {
+        String flagKey;
+        String variation;
+        String contextKind;
+        boolean defaultValue;
+        long bucketStart;
+    }
+
+    private static final class Counter {
+        final LongAdder count = new LongAdder();
+        final Object value;
+
+        Counter(Object value) {
+            this.value = value;
+        }
+    }
+}
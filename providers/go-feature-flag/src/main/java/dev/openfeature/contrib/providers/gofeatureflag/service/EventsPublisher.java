@@ -7,44 +7,76 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Events publisher.
  *
+ * <p>Events are added without locking to a bounded buffer holding twice {@code maxPendingEvents} events, and
+ * published by the scheduler thread in batches of at most {@code maxPendingEvents} events, every flush interval
+ * and as soon as {@code maxPendingEvents} events are pending. Adding an event never publishes on the calling
+ * thread: when the buffer is full, the new event is dropped and counted in {@link EventsPublisherMetrics}.</p>
+ *
+ * <p>Events drained from the event sources, such as evaluation summaries, do not go through the buffer: they are
+ * published in their own batches before the buffered events, so that a burst of events added one by one does not
+ * drop them. At most the buffer capacity of them are kept pending while publishing fails.</p>
+ *
  * @param <T> event type
  * @author Liran Mendelovich
  */
 @Slf4j
 public final class EventsPublisher<T> {
+    /** Upper bound of the buffer capacity. */
+    private static final int MAX_CAPACITY = 1 << 30;
+
     public final AtomicBoolean isShutdown = new AtomicBoolean(false);
     private final int maxPendingEvents;
     private final Consumer<List<T>> publisher;
 
-    private final ReadWriteLock readWriteLock = new ReentrantReadWriteLock();
-    private final Lock readLock = readWriteLock.readLock();
-    private final Lock writeLock = readWriteLock.writeLock();
-
     private final ScheduledExecutorService scheduledExecutorService = Executors.newScheduledThreadPool(1);
-    private final List<T> eventsList;
+    private final RingBuffer<T> events;
+    /** Held while events are drained and published, a single thread consumes the buffer at a time. */
+    private final ReentrantLock publishLock = new ReentrantLock();
+    /**
+     * Set while an early flush is scheduled, so that a burst of events schedules a single flush.
+     * Also set after a failed publication, the failed batch is only retried at the next flush interval.
+     */
+    private final AtomicBoolean flushRequested = new AtomicBoolean(false);
+    /** Sources of events drained every time events are published. */
+    private final List<Supplier<List<T>>> eventSources = new CopyOnWriteArrayList<>();
+    /** Batch which failed to be published, retried before the next events; only accessed with publishLock. */
+    private List<T> failedBatch;
+    /** Events drained from the event sources and not published yet; only accessed with publishLock. */
+    private final List<T> sourcedEvents = new ArrayList<>();
+
+    private final LongAdder added = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder publishFailures = new LongAdder();
+    private final LongAdder earlyFlushes = new LongAdder();
 
     /**
      * Constructor.
      *
-     * @param publisher       events publisher
-     * @param flushIntervalMs data flush interval
+     * @param publisher        events publisher
+     * @param flushIntervalMs  data flush interval
+     * @param maxPendingEvents number of pending events triggering a flush, and maximum size of a batch
      */
     public EventsPublisher(Consumer<List<T>> publisher, long flushIntervalMs, int maxPendingEvents)
             throws InvalidOptions {
         Validator.publisherOptions(flushIntervalMs, maxPendingEvents);
-        eventsList = new CopyOnWriteArrayList<>();
+        events = new RingBuffer<>((int) Math.min(2L * maxPendingEvents, MAX_CAPACITY));
         this.publisher = publisher;
         this.maxPendingEvents = maxPendingEvents;
         log.debug("Scheduling events publishing at fixed rate of {} milliseconds", flushIntervalMs);
@@ -54,6 +86,7 @@ public final class EventsPublisher<T> {
 
     /**
      * Add event for aggregation before publishing.
+     * The event is dropped if the buffer is full.
      *
      * @param event event for adding
      */
@@ -64,59 +97,213 @@ public final class EventsPublisher<T> {
             return;
         }
 
-        var shouldPublish = false;
-        try {
-            readLock.lock();
-            shouldPublish = (eventsList != null) && (eventsList.size() >= maxPendingEvents);
-        } finally {
-            readLock.unlock();
+        long pending = events.offer(event);
+        if (pending < 0) {
+            dropped.increment();
+            log.debug("events collection is full. Omitting event.");
+            requestFlush();
+            return;
         }
-
-        if (shouldPublish) {
-            log.warn("events collection is full. Publishing before adding new events.");
-            publish();
+        added.increment();
+        if (pending >= maxPendingEvents) {
+            requestFlush();
         }
+    }
 
-        try {
-            writeLock.lock();
-            if (eventsList != null) {
-                eventsList.add(event);
-            }
-        } finally {
-            writeLock.unlock();
-        }
+    /**
+     * Add a source of events, drained on the publishing thread every time events are published, to publish events
+     * aggregated elsewhere along with the events added one by one.
+     *
+     * @param eventSource supplier returning the events to publish since its previous call
+     */
+    public void addEventSource(Supplier<List<T>> eventSource) {
+        eventSources.add(eventSource);
     }
 
     /**
-     * publish events.
+     * publish events, in batches of at most maxPendingEvents events.
      *
      * @return count of publish events
      */
     public int publish() {
-        int publishedEvents = 0;
-        writeLock.lock();
+        publishLock.lock();
         try {
-            if (eventsList.isEmpty()) {
+            flushRequested.set(false);
+            drainEventSources();
+            int publishedEvents = 0;
+            List<T> batch = failedBatch;
+            failedBatch = null;
+            if (batch == null) {
+                batch = nextBatch();
+            }
+            while (!batch.isEmpty()) {
+                log.info("publishing {} events", batch.size());
+                try {
+                    publisher.accept(batch);
+                } catch (Exception e) {
+                    log.error("Error publishing events", e);
+                    publishFailures.increment();
+                    failedBatch = batch;
+                    flushRequested.set(true);
+                    return publishedEvents;
+                }
+                publishedEvents += batch.size();
+                published.add(batch.size());
+                batch = nextBatch();
+            }
+            if (publishedEvents == 0) {
                 log.debug("Not publishing, no events");
-                return publishedEvents;
             }
-            log.info("publishing {} events", eventsList.size());
-            publisher.accept(new ArrayList<>(eventsList));
-            publishedEvents = eventsList.size();
-            eventsList.clear();
             return publishedEvents;
-        } catch (Exception e) {
-            log.error("Error publishing events", e);
-            return 0;
         } finally {
-            writeLock.unlock();
+            publishLock.unlock();
         }
     }
 
+    /**
+     * Returns a snapshot of the usage of the publisher.
+     *
+     * @return the publisher metrics
+     */
+    public EventsPublisherMetrics getMetrics() {
+        return EventsPublisherMetrics.builder()
+                .capacity(events.capacity())
+                .pending(events.size())
+                .added(added.sum())
+                .dropped(dropped.sum())
+                .published(published.sum())
+                .publishFailures(publishFailures.sum())
+                .earlyFlushes(earlyFlushes.sum())
+                .build();
+    }
+
     /** Shutdown. */
     public void shutdown() {
         log.info("shutdown, draining remaining events");
         publish();
         ConcurrentUtil.shutdownAndAwaitTermination(scheduledExecutorService, 10);
     }
+
+    private void drainEventSources() {
+        for (Supplier<List<T>> eventSource : eventSources) {
+            try {
+                List<T> drained = eventSource.get();
+                int kept = Math.max(0, Math.min(drained.size(), events.capacity() - sourcedEvents.size()));
+                sourcedEvents.addAll(drained.subList(0, kept));
+                added.add(kept);
+                dropped.add(drained.size() - kept);
+            } catch (RuntimeException e) {
+                log.error("Error collecting events", e);
+            }
+        }
+    }
+
+    /** Takes the next batch, the events drained from the event sources first. */
+    private List<T> nextBatch() {
+        if (sourcedEvents.isEmpty()) {
+            return drainBatch();
+        }
+        List<T> taken = sourcedEvents.subList(0, Math.min(sourcedEvents.size(), maxPendingEvents));
+        List<T> batch = new ArrayList<>(taken);
+        taken.clear();
+        return batch;
+    }
+
+    private List<T> drainBatch() {
+        int size = (int) Math.min(events.size(), maxPendingEvents);
+        List<T> batch = new ArrayList<>(size);
+        T event;
+        while (batch.size() < maxPendingEvents && (event = events.poll()) != null) {
+            batch.add(event);
+        }
+        return batch;
+    }
+
+    /** Schedules a flush on the scheduler thread, unless one is already scheduled. */
+    private void requestFlush() {
+        if (!flushRequested.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            scheduledExecutorService.execute(this::publish);
+            earlyFlushes.increment();
+        } catch (RejectedExecutionException e) {
+            // shut down, the remaining events were drained by shutdown()
+            flushRequested.set(false);
+        }
+    }
+
+    /**
+     * Bounded multi-producer single-consumer ring buffer.
+     * Producers claim a position with a compare-and-set on the tail, a sequence per cell tells the consumer when
+     * the event of the position is written and the producers when the cell is free again.
+     */
+    private static final class RingBuffer<E> {
+        private final int capacity;
+        private final AtomicReferenceArray<E> cells;
+        private final AtomicLongArray sequences;
+        private final AtomicLong tail = new AtomicLong();
+        /** Next position to consume, only written by the consumer. */
+        private volatile long head;
+
+        RingBuffer(int capacity) {
+            this.capacity = capacity;
+            this.cells = new AtomicReferenceArray<>(capacity);
+            this.sequences = new AtomicLongArray(capacity);
+            for (int i = 0; i < capacity; i++) {
+                sequences.set(i, i);
+            }
+        }
+
+        /**
+         * Adds an event.
+         *
+         * @return the number of events in the buffer after the event was added, -1 if the buffer is full
+         */
+        long offer(E event) {
+            long pos = tail.get();
+            while (true) {
+                int index = (int) (pos % capacity);
+                long diff = sequences.get(index) - pos;
+                if (diff == 0) {
+                    if (tail.compareAndSet(pos, pos + 1)) {
+                        cells.set(index, event);
+                        sequences.set(index, pos + 1);
+                        return pos + 1 - head;
+                    }
+                    pos = tail.get();
+                } else if (diff < 0) {
+                    // the cell still holds the event of the previous lap
+                    return -1;
+                } else {
+                    pos = tail.get();
+                }
+            }
+        }
+
+        /**
+         * Removes the oldest event, must only be called by one thread at a time.
+         *
+         * @return the event, or null if no event is written at the head position yet
+         */
+        E poll() {
+            long pos = head;
+            int index = (int) (pos % capacity);
+            if (sequences.get(index) != pos + 1) {
+                return null;
+            }
+            E event = cells.getAndSet(index, null);
+            sequences.set(index, pos + capacity);
+            head = pos + 1;
+            return event;
+        }
+
+        long size() {
+            return Math.max(0, tail.get() - head);
+        }
+
+        int capacity() {
+            return capacity;
+        }
+    }
 }
@@ -0,0 +1,29 @@
+package dev.openfeature.contrib.providers.gofeatureflag.service;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * EventsPublisherMetrics is a snapshot of the usage of an {@link EventsPublisher}.
+ * Counters are cumulative since the creation of the publisher, compare two snapshots to get a rate.
+ */
+@Getter
+@Builder
+@ToString
+public class EventsPublisherMetrics {
+    /** Maximum number of events waiting to be published, new events are dropped beyond it. */
+    private final int capacity;
+    /** Number of events waiting to be published when the snapshot was taken. */
+    private final long pending;
+    /** Number of events added to the buffer. */
+    private final long added;
+    /** Number of events dropped because the buffer was full. */
+    private final long dropped;
+    /** Number of events published. */
+    private final long published;
+    /** Number of batches which failed to be published, a failed batch is retried at the next flush interval. */
+    private final long publishFailures;
+    /** Number of flushes scheduled before the flush interval because maxPendingEvents events were pending. */
+    private final long earlyFlushes;
+}
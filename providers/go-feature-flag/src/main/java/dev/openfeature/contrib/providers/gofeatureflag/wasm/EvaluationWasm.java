@@ -6,11 +6,14 @@ import com.dylibso.chicory.runtime.HostFunction;
 import com.dylibso.chicory.runtime.ImportFunction;
 import com.dylibso.chicory.runtime.ImportValues;
 import com.dylibso.chicory.runtime.Instance;
+import com.dylibso.chicory.runtime.Machine;
 import com.dylibso.chicory.runtime.Memory;
 import com.dylibso.chicory.wasi.WasiExitException;
 import com.dylibso.chicory.wasi.WasiOptions;
 import com.dylibso.chicory.wasi.WasiPreview1;
+import com.dylibso.chicory.wasm.WasmModule;
 import com.dylibso.chicory.wasm.types.ValueType;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import dev.openfeature.contrib.providers.gofeatureflag.bean.GoFeatureFlagResponse;
 import dev.openfeature.contrib.providers.gofeatureflag.exception.WasmFileNotFound;
 import dev.openfeature.contrib.providers.gofeatureflag.util.Const;
@@ -20,7 +23,11 @@ import dev.openfeature.sdk.Reason;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.val;
 
@@ -29,27 +36,45 @@ import lombok.val;
  * it calls an external WASM module to evaluate the feature flag.
  */
 public final class EvaluationWasm {
+    /** Bytes reserved after a loaded flag for the evaluation context, grown when a larger context is evaluated. */
+    private static final int INITIAL_CONTEXT_CAPACITY = 1024;
+
     private final Instance instance;
     private final ExportFunction evaluate;
     private final ExportFunction malloc;
     private final ExportFunction free;
+    /** Flags written in the WASM memory, by flag key. */
+    private final Map<String, LoadedFlag> loadedFlags = new HashMap<>();
+    /** Flag set written in the WASM memory, null if none or if its loading failed; read by the pool as a hint. */
+    private volatile WasmFlagSet loadedFlagSet;
 
     /**
      * Constructor of the EvaluationWasm.
-     * It initializes the WASM module and the host functions.
+     * It initializes the WASM module, compiled to Java bytecode at build time, and the host functions.
      *
      * @throws WasmFileNotFound - if the WASM file is not found
      */
     public EvaluationWasm() throws WasmFileNotFound {
+        this(CompiledModule.MODULE, Module::create);
+    }
+
+    /**
+     * Constructor of the EvaluationWasm running the evaluation module with another engine than the one compiled at
+     * build time, for example the Chicory {@code InterpreterMachine} to compare both engines.
+     *
+     * @param module         - the parsed evaluation module, it must contain the code of its functions
+     * @param machineFactory - the engine executing the functions of the module
+     */
+    public EvaluationWasm(WasmModule module, Function<Instance, Machine> machineFactory) {
         // We will create two output streams to capture stdout and stderr
         val wasi = WasiPreview1.builder()
                 .withOptions(WasiOptions.builder().inheritSystem().build())
                 .build();
         List<ImportFunction> hostFunctions =
                 Arrays.stream(wasi.toHostFunctions()).map(this::replaceProcExit).collect(Collectors.toList());
-        this.instance = Instance.builder(Module.load())
+        this.instance = Instance.builder(module)
                 .withMemoryFactory(ByteArrayMemory::new)
-                .withMachineFactory(Module::create)
+                .withMachineFactory(machineFactory)
                 .withImportValues(
                         ImportValues.builder().withFunctions(hostFunctions).build())
                 .build();
@@ -116,26 +141,141 @@ public final class EvaluationWasm {
             memory.write(ptr, message);
 
             // Call the wasm evaluate function
-            val resultPointer = this.evaluate.apply(ptr, len);
-
-            // Read the output
-            int valuePosition = (int) ((resultPointer[0] >>> 32) & 0xFFFFFFFFL);
-            int valueSize = (int) (resultPointer[0] & 0xFFFFFFFFL);
-            val output = memory.readString(valuePosition, valueSize);
-
-            // Convert the output to a WasmOutput object
-            return Const.DESERIALIZE_OBJECT_MAPPER.readValue(output, GoFeatureFlagResponse.class);
-
+            return callEvaluate(ptr, len);
         } catch (Exception e) {
-            val response = new GoFeatureFlagResponse();
-            response.setErrorCode(ErrorCode.GENERAL.name());
-            response.setReason(Reason.ERROR.name());
-            response.setErrorDetails(e.getMessage());
-            return response;
+            return errorResponse(e.getMessage());
         } finally {
             if (len > 0) {
                 this.free.apply(ptr, len);
             }
         }
     }
+
+    /**
+     * Evaluate a feature flag of a flag set using the WASM module.
+     * The flag set is written in the WASM memory if it is not already loaded, only the default value and the
+     * evaluation context are written for the evaluation.
+     *
+     * @param flagSet      - the flag set containing the flag
+     * @param flagKey      - the key of the flag to evaluate
+     * @param defaultValue - the default value of the SDK
+     * @param evalContext  - the evaluation context
+     * @return the result of the evaluation
+     */
+    public GoFeatureFlagResponse evaluate(
+            WasmFlagSet flagSet, String flagKey, Object defaultValue, Map<String, Object> evalContext) {
+        try {
+            if (this.loadedFlagSet != flagSet) {
+                load(flagSet);
+            }
+            LoadedFlag flag = this.loadedFlags.get(flagKey);
+            if (flag == null) {
+                return errorResponse("Flag " + flagKey + " is not loaded in the WASM module");
+            }
+
+            val suffix = WasmFlagSet.inputSuffix(defaultValue, evalContext);
+            int len = flag.prefix.length + suffix.length;
+            if (len > flag.capacity) {
+                // the context does not fit behind the flag, move the flag to a larger region
+                this.loadedFlags.remove(flagKey);
+                release(flag);
+                flag = allocate(
+                        flagKey, flag.prefix, Math.max(suffix.length, 2 * (flag.capacity - flag.prefix.length)));
+                this.loadedFlags.put(flagKey, flag);
+            }
+            this.instance.memory().write(flag.ptr + flag.prefix.length, suffix);
+            return callEvaluate(flag.ptr, len);
+        } catch (Exception e) {
+            return errorResponse(e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the flags of a flag set in the WASM memory.
+     * Flags which are already loaded and did not change are kept, the flags which are not part of the flag set
+     * anymore are freed.
+     *
+     * @param flagSet - the flag set to load
+     */
+    public void load(WasmFlagSet flagSet) {
+        this.loadedFlagSet = null;
+        val prefixes = flagSet.getInputPrefixes();
+        Iterator<Map.Entry<String, LoadedFlag>> loaded =
+                this.loadedFlags.entrySet().iterator();
+        while (loaded.hasNext()) {
+            LoadedFlag flag = loaded.next().getValue();
+            if (prefixes.get(flag.key) != flag.prefix) {
+                loaded.remove();
+                release(flag);
+            }
+        }
+        for (Map.Entry<String, byte[]> prefix : prefixes.entrySet()) {
+            if (!this.loadedFlags.containsKey(prefix.getKey())) {
+                this.loadedFlags.put(
+                        prefix.getKey(), allocate(prefix.getKey(), prefix.getValue(), INITIAL_CONTEXT_CAPACITY));
+            }
+        }
+        this.loadedFlagSet = flagSet;
+    }
+
+    /**
+     * isLoaded checks if a flag set is the one written in the WASM memory.
+     *
+     * @param flagSet - the flag set
+     * @return true if the flag set is loaded
+     */
+    public boolean isLoaded(WasmFlagSet flagSet) {
+        return this.loadedFlagSet == flagSet;
+    }
+
+    private LoadedFlag allocate(String key, byte[] prefix, int contextCapacity) {
+        int capacity = prefix.length + contextCapacity;
+        int ptr = (int) malloc.apply(capacity)[0];
+        this.instance.memory().write(ptr, prefix);
+        return new LoadedFlag(key, prefix, ptr, capacity);
+    }
+
+    private void release(LoadedFlag flag) {
+        this.free.apply(flag.ptr, flag.capacity);
+    }
+
+    private GoFeatureFlagResponse callEvaluate(int ptr, int len) throws JsonProcessingException {
+        val resultPointer = this.evaluate.apply(ptr, len);
+
+        // Read the output
+        int valuePosition = (int) ((resultPointer[0] >>> 32) & 0xFFFFFFFFL);
+        int valueSize = (int) (resultPointer[0] & 0xFFFFFFFFL);
+        val output = this.instance.memory().readString(valuePosition, valueSize);
+
+        // Convert the output to a WasmOutput object
+        return Const.DESERIALIZE_OBJECT_MAPPER.readValue(output, GoFeatureFlagResponse.class);
+    }
+
+    private static GoFeatureFlagResponse errorResponse(String errorDetails) {
+        val response = new GoFeatureFlagResponse();
+        response.setErrorCode(ErrorCode.GENERAL.name());
+        response.setReason(Reason.ERROR.name());
+        response.setErrorDetails(errorDetails);
+        return response;
+    }
+
+    /** Module definition of the compiled evaluation module, parsed once and shared by all the instances. */
+    private static final class CompiledModule {
+        static final WasmModule MODULE = Module.load();
+    }
+
+    /** A flag input written in the WASM memory, followed by free space for the evaluation context. */
+    private static final class LoadedFlag {
+        final String key;
+        final byte[] prefix;
+        final int ptr;
+        final int capacity;
+
+        LoadedFlag(String key, byte[] prefix, int ptr, int capacity) {
+            this.key = key;
+            this.prefix = prefix;
+            this.ptr = ptr;
+            this.capacity = capacity;
+        }
+    }
 }
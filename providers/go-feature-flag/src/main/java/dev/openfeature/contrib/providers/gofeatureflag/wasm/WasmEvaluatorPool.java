@@ -1,22 +1,56 @@
 package dev.openfeature.contrib.providers.gofeatureflag.wasm;
 
 import dev.openfeature.contrib.providers.gofeatureflag.bean.GoFeatureFlagResponse;
+import dev.openfeature.contrib.providers.gofeatureflag.exception.WasmEvaluatorPoolTimeout;
 import dev.openfeature.contrib.providers.gofeatureflag.exception.WasmFileNotFound;
 import dev.openfeature.contrib.providers.gofeatureflag.wasm.bean.WasmInput;
 import dev.openfeature.sdk.ErrorCode;
 import dev.openfeature.sdk.Reason;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * WasmEvaluatorPool manages a fixed pool of EvaluationWasm instances.
+ * WasmEvaluatorPool manages a pool of EvaluationWasm instances.
  * Each instance owns independent WASM linear memory, allowing concurrent
  * evaluate() calls without interleaving memory operations.
+ *
+ * <p>Instances are claimed without locking, a thread first tries the instance it used last so that its memory
+ * is still in the CPU caches. When all instances are busy, the pool creates a new instance until it reaches its
+ * maximum size, then waits for an instance to be released, up to an optional timeout.</p>
  */
 @Slf4j
 public final class WasmEvaluatorPool {
-    private final BlockingQueue<EvaluationWasm> pool;
+    /** Instances of the pool, the first {@link #size} slots are set. */
+    private final AtomicReferenceArray<Slot> slots;
+
+    private final AtomicInteger size = new AtomicInteger();
+    /** One permit per idle instance. */
+    private final Semaphore idle = new Semaphore(0);
+    /** Held while an instance is created, only one instance is created at a time. */
+    private final ReentrantLock growLock = new ReentrantLock();
+    /** Index of the slot each thread used last. */
+    private final ThreadLocal<Integer> lastSlot = new ThreadLocal<>();
+    /** Maximum time to wait for an instance, null to wait until one is available. */
+    private final Long timeoutMs;
+
+    private final LongAdder instancesCreated = new LongAdder();
+    private final LongAdder instanceCreationNanos = new LongAdder();
+    private final LongAdder borrows = new LongAdder();
+    private final LongAdder affinityHits = new LongAdder();
+    private final LongAdder waits = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder busyNanos = new LongAdder();
 
     /**
      * Creates a pool of {@code size} independent EvaluationWasm instances.
@@ -27,11 +61,24 @@ public final class WasmEvaluatorPool {
      * @throws WasmFileNotFound if the embedded WASM module cannot be loaded
      */
     public WasmEvaluatorPool(int size) throws WasmFileNotFound {
-        this.pool = new ArrayBlockingQueue<>(size);
-        for (int i = 0; i < size; i++) {
-            EvaluationWasm instance = new EvaluationWasm();
-            instance.preWarmWasm();
-            pool.add(instance);
+        this(size, size, null);
+    }
+
+    /**
+     * Creates a pool of {@code initialSize} EvaluationWasm instances, growing up to {@code maxSize} instances
+     * when all instances are busy.
+     *
+     * @param initialSize number of WASM instances allocated eagerly; must be >= 1
+     * @param maxSize     maximum number of WASM instances; must be >= initialSize
+     * @param timeoutMs   maximum time to wait for an available instance, null to wait until one is available
+     * @throws WasmFileNotFound if the embedded WASM module cannot be loaded
+     */
+    public WasmEvaluatorPool(int initialSize, int maxSize, Long timeoutMs) throws WasmFileNotFound {
+        this.slots = new AtomicReferenceArray<>(maxSize);
+        this.timeoutMs = timeoutMs;
+        for (int i = 0; i < initialSize; i++) {
+            addSlot(false);
+            idle.release();
         }
     }
 
@@ -42,11 +89,87 @@ public final class WasmEvaluatorPool {
      *
      * @param wasmInput evaluation input
      * @return evaluation result
+     * @throws WasmEvaluatorPoolTimeout if no instance became available before the timeout
      */
     public GoFeatureFlagResponse evaluate(WasmInput wasmInput) {
-        EvaluationWasm instance;
+        return withInstance(instance -> instance.evaluate(wasmInput));
+    }
+
+    /**
+     * Evaluates a feature flag of a flag set by borrowing one WASM instance from the pool.
+     * The instance loads the flag set first if it was not refreshed with it yet.
+     *
+     * @param flagSet      flag set containing the flag
+     * @param flagKey      key of the flag to evaluate
+     * @param defaultValue default value of the SDK
+     * @param evalContext  evaluation context
+     * @return evaluation result
+     * @throws WasmEvaluatorPoolTimeout if no instance became available before the timeout
+     */
+    public GoFeatureFlagResponse evaluate(
+            WasmFlagSet flagSet, String flagKey, Object defaultValue, Map<String, Object> evalContext) {
+        return withInstance(instance -> instance.evaluate(flagSet, flagKey, defaultValue, evalContext));
+    }
+
+    /**
+     * Loads a flag set in the idle instances of the pool, so that evaluations do not have to load it.
+     * Instances busy with an evaluation load the flag set on their next evaluation.
+     *
+     * @param flagSet flag set to load
+     */
+    public void load(WasmFlagSet flagSet) {
+        for (int attempt = 0, n = size.get(); attempt < n && idle.tryAcquire(); attempt++) {
+            Slot slot = null;
+            for (int i = 0; i < n && slot == null; i++) {
+                Slot candidate = slots.get(i);
+                if (!candidate.instance.isLoaded(flagSet) && candidate.tryClaim()) {
+                    slot = candidate;
+                }
+            }
+            if (slot == null) {
+                idle.release();
+                return;
+            }
+            try {
+                if (!slot.instance.isLoaded(flagSet)) {
+                    slot.instance.load(flagSet);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to load the flag configuration in a WASM instance, it will be retried", e);
+            } finally {
+                slot.release();
+                idle.release();
+            }
+        }
+    }
+
+    /**
+     * Returns a snapshot of the usage of the pool.
+     *
+     * @return the pool metrics
+     */
+    public WasmEvaluatorPoolMetrics getMetrics() {
+        int currentSize = size.get();
+        return WasmEvaluatorPoolMetrics.builder()
+                .size(currentSize)
+                .maxSize(slots.length())
+                .busy(Math.max(0, currentSize - idle.availablePermits()))
+                .instancesCreated(instancesCreated.sum())
+                .instanceCreationNanos(instanceCreationNanos.sum())
+                .borrows(borrows.sum())
+                .affinityHits(affinityHits.sum())
+                .waits(waits.sum())
+                .waitNanos(waitNanos.sum())
+                .maxWaitNanos(maxWaitNanos.get())
+                .timeouts(timeouts.sum())
+                .busyNanos(busyNanos.sum())
+                .build();
+    }
+
+    private GoFeatureFlagResponse withInstance(Function<EvaluationWasm, GoFeatureFlagResponse> evaluation) {
+        Slot slot;
         try {
-            instance = pool.take();
+            slot = borrow();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             GoFeatureFlagResponse err = new GoFeatureFlagResponse();
@@ -55,12 +178,124 @@ public final class WasmEvaluatorPool {
             err.setErrorDetails("WASM evaluator pool interrupted while waiting for an available instance");
             return err;
         }
+        long start = System.nanoTime();
         try {
-            return instance.evaluate(wasmInput);
+            return evaluation.apply(slot.instance);
         } finally {
-            if (!pool.offer(instance)) {
-                log.error("Failed to return WASM instance to pool — instance leaked, pool capacity may be compromised");
+            busyNanos.add(System.nanoTime() - start);
+            slot.release();
+            idle.release();
+        }
+    }
+
+    private Slot borrow() throws InterruptedException {
+        borrows.increment();
+        if (idle.tryAcquire()) {
+            return claimIdle();
+        }
+        Slot created = grow();
+        if (created != null) {
+            return created;
+        }
+
+        long start = System.nanoTime();
+        boolean acquired;
+        if (timeoutMs == null) {
+            idle.acquire();
+            acquired = true;
+        } else {
+            acquired = idle.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS);
+        }
+        long waited = System.nanoTime() - start;
+        waits.increment();
+        waitNanos.add(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+        if (!acquired) {
+            timeouts.increment();
+            throw new WasmEvaluatorPoolTimeout("No WASM instance available after " + timeoutMs + " ms");
+        }
+        return claimIdle();
+    }
+
+    /**
+     * Claims an idle instance, the caller must hold a permit of {@link #idle}.
+     *
+     * @return the claimed slot
+     */
+    private Slot claimIdle() {
+        Integer last = lastSlot.get();
+        if (last != null && slots.get(last).tryClaim()) {
+            affinityHits.increment();
+            return slots.get(last);
+        }
+        while (true) {
+            // the permit guarantees that an instance is idle, it is only missed if released during the scan
+            for (int i = 0, n = size.get(); i < n; i++) {
+                Slot slot = slots.get(i);
+                if (slot.tryClaim()) {
+                    lastSlot.set(i);
+                    return slot;
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Creates a new busy instance if the pool did not reach its maximum size.
+     *
+     * @return the new slot, or null if no instance was created
+     */
+    private Slot grow() {
+        if (size.get() >= slots.length() || !growLock.tryLock()) {
+            return null;
+        }
+        try {
+            if (size.get() >= slots.length()) {
+                return null;
             }
+            Slot slot = addSlot(true);
+            lastSlot.set(slot.index);
+            return slot;
+        } catch (RuntimeException e) {
+            log.error("Failed to create a WASM instance, waiting for an available instance", e);
+            return null;
+        } finally {
+            growLock.unlock();
+        }
+    }
+
+    private Slot addSlot(boolean busy) {
+        long start = System.nanoTime();
+        EvaluationWasm instance = new EvaluationWasm();
+        instance.preWarmWasm();
+        instanceCreationNanos.add(System.nanoTime() - start);
+        instancesCreated.increment();
+
+        Slot slot = new Slot(size.get(), instance, busy);
+        slots.set(slot.index, slot);
+        size.incrementAndGet();
+        return slot;
+    }
+
+    /** An instance of the pool, claimed by the thread evaluating a flag with it. */
+    private static final class Slot {
+        final int index;
+        final EvaluationWasm instance;
+        final AtomicBoolean busy;
+
+        Slot(int index, EvaluationWasm instance, boolean busy) {
+            this.index = index;
+            this.instance = instance;
+            this.busy = new AtomicBoolean(busy);
+        }
+
+        boolean tryClaim() {
+            return !busy.get() && busy.compareAndSet(false, true);
+        }
+
+        void release() {
+            busy.set(false);
         }
     }
 }
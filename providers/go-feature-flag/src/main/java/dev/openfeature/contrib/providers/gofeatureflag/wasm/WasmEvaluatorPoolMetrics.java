@@ -0,0 +1,48 @@
+package dev.openfeature.contrib.providers.gofeatureflag.wasm;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * WasmEvaluatorPoolMetrics is a snapshot of the usage of a {@link WasmEvaluatorPool}.
+ * Counters are cumulative since the creation of the pool, compare two snapshots to get a rate.
+ */
+@Getter
+@Builder
+@ToString
+public class WasmEvaluatorPoolMetrics {
+    /** Number of WASM instances in the pool. */
+    private final int size;
+    /** Maximum number of WASM instances the pool can grow to. */
+    private final int maxSize;
+    /** Number of WASM instances evaluating a flag when the snapshot was taken. */
+    private final int busy;
+    /** Number of WASM instances created, including the initial ones. */
+    private final long instancesCreated;
+    /** Time spent creating WASM instances, in nanoseconds. */
+    private final long instanceCreationNanos;
+    /** Number of times an instance was borrowed from the pool. */
+    private final long borrows;
+    /** Number of borrows served by the instance the thread used last. */
+    private final long affinityHits;
+    /** Number of borrows which had to wait for an instance to be available. */
+    private final long waits;
+    /** Time spent waiting for an instance to be available, in nanoseconds. */
+    private final long waitNanos;
+    /** Longest wait for an instance to be available, in nanoseconds. */
+    private final long maxWaitNanos;
+    /** Number of borrows which timed out, the flag was evaluated remotely. */
+    private final long timeouts;
+    /** Time instances spent borrowed, in nanoseconds. */
+    private final long busyNanos;
+
+    /**
+     * Ratio of busy instances when the snapshot was taken, between 0 and 1.
+     *
+     * @return the utilization of the pool
+     */
+    public double getUtilization() {
+        return size == 0 ? 0 : (double) busy / size;
+    }
+}
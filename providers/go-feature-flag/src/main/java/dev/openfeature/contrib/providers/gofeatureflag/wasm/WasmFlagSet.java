@@ -0,0 +1,112 @@
+package dev.openfeature.contrib.providers.gofeatureflag.wasm;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import dev.openfeature.contrib.providers.gofeatureflag.bean.Flag;
+import dev.openfeature.contrib.providers.gofeatureflag.util.Const;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * WasmFlagSet holds the flags of a configuration serialized once for the WASM module.
+ *
+ * <p>The input of an evaluation is split in two parts: the flag key, the flag and the evaluation context
+ * enrichment, which only change with the configuration, and the SDK default value and the evaluation context,
+ * which change with every evaluation. {@link EvaluationWasm} instances keep the first part of every flag in their
+ * memory, so an evaluation only serializes and writes the second part.</p>
+ */
+public final class WasmFlagSet {
+    private static final byte[] INPUT_SUFFIX_SEPARATOR = "},\"evalContext\":".getBytes(StandardCharsets.UTF_8);
+
+    private final Map<String, Flag> flags;
+    private final Map<String, Object> evaluationContextEnrichment;
+    private final Map<String, byte[]> inputPrefixes;
+
+    private WasmFlagSet(
+            Map<String, Flag> flags,
+            Map<String, Object> evaluationContextEnrichment,
+            Map<String, byte[]> inputPrefixes) {
+        this.flags = flags;
+        this.evaluationContextEnrichment = evaluationContextEnrichment;
+        this.inputPrefixes = Collections.unmodifiableMap(inputPrefixes);
+    }
+
+    /**
+     * Serializes the flags of a configuration.
+     * The serialized flags of the previous configuration are reused for the flags which did not change.
+     *
+     * @param flags                       - flags of the configuration
+     * @param evaluationContextEnrichment - evaluation context enrichment of the configuration
+     * @param previous                    - flag set of the previous configuration, null if there is none
+     * @return the flag set of the configuration
+     * @throws JsonProcessingException - if a flag can not be serialized
+     */
+    public static WasmFlagSet create(
+            Map<String, Flag> flags, Map<String, Object> evaluationContextEnrichment, WasmFlagSet previous)
+            throws JsonProcessingException {
+        boolean sameEnrichment =
+                previous != null && Objects.equals(previous.evaluationContextEnrichment, evaluationContextEnrichment);
+        byte[] enrichment = evaluationContextEnrichment == null
+                ? null
+                : Const.SERIALIZE_WASM_MAPPER.writeValueAsBytes(evaluationContextEnrichment);
+
+        Map<String, byte[]> inputPrefixes = new HashMap<>();
+        for (Map.Entry<String, Flag> entry : flags.entrySet()) {
+            if (entry.getValue() == null) {
+                continue;
+            }
+            if (sameEnrichment && entry.getValue().equals(previous.flags.get(entry.getKey()))) {
+                inputPrefixes.put(entry.getKey(), previous.inputPrefixes.get(entry.getKey()));
+            } else {
+                inputPrefixes.put(entry.getKey(), inputPrefix(entry.getKey(), entry.getValue(), enrichment));
+            }
+        }
+        return new WasmFlagSet(flags, evaluationContextEnrichment, inputPrefixes);
+    }
+
+    /**
+     * Serialized flag inputs by flag key, the same array is returned for a flag as long as it does not change.
+     *
+     * @return the serialized flag inputs
+     */
+    Map<String, byte[]> getInputPrefixes() {
+        return inputPrefixes;
+    }
+
+    /**
+     * inputSuffix serializes the part of the evaluation input following the serialized flag.
+     *
+     * @param defaultValue - default value of the SDK
+     * @param evalContext  - evaluation context
+     * @return the end of the evaluation input
+     * @throws JsonProcessingException - if the evaluation context can not be serialized
+     */
+    static byte[] inputSuffix(Object defaultValue, Map<String, Object> evalContext) throws JsonProcessingException {
+        ByteArrayOutputStream suffix = new ByteArrayOutputStream();
+        suffix.writeBytes(Const.SERIALIZE_WASM_MAPPER.writeValueAsBytes(defaultValue));
+        suffix.writeBytes(INPUT_SUFFIX_SEPARATOR);
+        suffix.writeBytes(Const.SERIALIZE_WASM_MAPPER.writeValueAsBytes(evalContext));
+        suffix.write('}');
+        return suffix.toByteArray();
+    }
+
+    private static byte[] inputPrefix(String flagKey, Flag flag, byte[] enrichment) throws JsonProcessingException {
+        // same fields as a serialized WasmInput, the flag context is left open for the SDK default value
+        ByteArrayOutputStream prefix = new ByteArrayOutputStream();
+        prefix.writeBytes("{\"flagKey\":".getBytes(StandardCharsets.UTF_8));
+        prefix.writeBytes(Const.SERIALIZE_WASM_MAPPER.writeValueAsBytes(flagKey));
+        prefix.writeBytes(",\"flag\":".getBytes(StandardCharsets.UTF_8));
+        prefix.writeBytes(Const.SERIALIZE_WASM_MAPPER.writeValueAsBytes(flag));
+        prefix.writeBytes(",\"flagContext\":{".getBytes(StandardCharsets.UTF_8));
+        if (enrichment != null) {
+            prefix.writeBytes("\"evaluationContextEnrichment\":".getBytes(StandardCharsets.UTF_8));
+            prefix.writeBytes(enrichment);
+            prefix.write(',');
+        }
+        prefix.writeBytes("\"defaultSdkValue\":".getBytes(StandardCharsets.UTF_8));
+        return prefix.toByteArray();
+    }
+}
@@ -170,6 +170,60 @@ class GoFeatureFlagProviderTest {
                             .evaluationType(EvaluationType.IN_PROCESS)
                             .build()));
         }
+
+        @DisplayName("Should error if the WASM pool max size is lower than its size")
+        @SneakyThrows
+        @Test
+        void shouldErrorIfWasmPoolMaxSizeIsLowerThanItsSize() {
+            assertThrows(
+                    InvalidOptions.class,
+                    () -> new GoFeatureFlagProvider(GoFeatureFlagProviderOptions.builder()
+                            .wasmEvaluatorPoolSize(4)
+                            .wasmEvaluatorPoolMaxSize(2)
+                            .endpoint(baseUrl.toString())
+                            .evaluationType(EvaluationType.IN_PROCESS)
+                            .build()));
+        }
+
+        @DisplayName("Should error if the WASM pool timeout is negative")
+        @SneakyThrows
+        @Test
+        void shouldErrorIfWasmPoolTimeoutIsNegative() {
+            assertThrows(
+                    InvalidOptions.class,
+                    () -> new GoFeatureFlagProvider(GoFeatureFlagProviderOptions.builder()
+                            .wasmEvaluatorPoolTimeoutMs(-1L)
+                            .endpoint(baseUrl.toString())
+                            .evaluationType(EvaluationType.IN_PROCESS)
+                            .build()));
+        }
+
+        @DisplayName("Should error if the data collector summary bucket is shorter than a second")
+        @SneakyThrows
+        @Test
+        void shouldErrorIfDataCollectorSummaryBucketIsTooShort() {
+            assertThrows(
+                    InvalidOptions.class,
+                    () -> new GoFeatureFlagProvider(GoFeatureFlagProviderOptions.builder()
+                            .dataCollectorSummary(true)
+                            .dataCollectorSummaryBucketMs(500L)
+                            .endpoint(baseUrl.toString())
+                            .evaluationType(EvaluationType.IN_PROCESS)
+                            .build()));
+        }
+
+        @DisplayName("Should error if the raw event sample rate is not between 0 and 1")
+        @SneakyThrows
+        @Test
+        void shouldErrorIfRawEventSampleRateIsInvalid() {
+            assertThrows(
+                    InvalidOptions.class,
+                    () -> new GoFeatureFlagProvider(GoFeatureFlagProviderOptions.builder()
+                            .dataCollectorRawEventSampleRate(1.5)
+                            .endpoint(baseUrl.toString())
+                            .evaluationType(EvaluationType.IN_PROCESS)
+                            .build()));
+        }
     }
 
     @Nested
@@ -502,6 +556,158 @@ class GoFeatureFlagProviderTest {
             assertNotEquals(got1, got2);
         }
 
+        @DisplayName("Should resolve flags loaded into the WASM instances")
+        @SneakyThrows
+        @Test
+        void shouldResolveFlagsLoadedIntoTheWasmInstances() {
+            GoFeatureFlagProvider provider = new GoFeatureFlagProvider(GoFeatureFlagProviderOptions.builder()
+                    .endpoint(baseUrl.toString())
+                    .evaluationType(EvaluationType.IN_PROCESS)
+                    .wasmEvaluatorPoolSize(2)
+                    .wasmFlagPreloading(true)
+                    .build());
+            OpenFeatureAPI.getInstance().setProviderAndWait(testName, provider);
+            val client = OpenFeatureAPI.getInstance().getClient(testName);
+            val got = client.getBooleanDetails("bool_targeting_match", false, TestUtils.defaultEvaluationContext);
+            val want = FlagEvaluationDetails.<Boolean>builder()
+                    .value(true)
+                    .variant("enabled")
+                    .flagKey("bool_targeting_match")
+                    .reason(Reason.TARGETING_MATCH.name())
+                    .flagMetadata(ImmutableMetadata.builder()
+                            .addString("description", "this is a test flag")
+                            .addBoolean("defaultValue", false)
+                            .build())
+                    .build();
+            assertEquals(want, got);
+
+            // a context larger than the space reserved after the loaded flag
+            val largeContext = new MutableContext(
+                    TestUtils.defaultEvaluationContext.getTargetingKey(), TestUtils.defaultEvaluationContext.asMap());
+            largeContext.add("description", "x".repeat(5000));
+            val gotLarge = client.getBooleanDetails("bool_targeting_match", false, largeContext);
+            assertEquals(want, gotLarge);
+
+            val gotString = client.getStringDetails("string_key", "", TestUtils.defaultEvaluationContext);
+            assertEquals("CC0002", gotString.getValue());
+        }
+
+        @DisplayName("Should grow the WASM pool when all instances are busy")
+        @SneakyThrows
+        @Test
+        void shouldGrowTheWasmPoolWhenAllInstancesAreBusy() {
+            GoFeatureFlagProvider provider = new GoFeatureFlagProvider(GoFeatureFlagProviderOptions.builder()
+                    .endpoint(baseUrl.toString())
+                    .evaluationType(EvaluationType.IN_PROCESS)
+                    .wasmEvaluatorPoolSize(1)
+                    .wasmEvaluatorPoolMaxSize(3)
+                    .build());
+            OpenFeatureAPI.getInstance().setProviderAndWait(testName, provider);
+            val client = OpenFeatureAPI.getInstance().getClient(testName);
+
+            int threads = 8;
+            int evaluationsPerThread = 20;
+            AtomicInteger matches = new AtomicInteger();
+            CountDownLatch done = new CountDownLatch(threads);
+            for (int i = 0; i < threads; i++) {
+                new Thread(() -> {
+                            for (int j = 0; j < evaluationsPerThread; j++) {
+                                if (client.getBooleanValue(
+                                        "bool_targeting_match", false, TestUtils.defaultEvaluationContext)) {
+                                    matches.incrementAndGet();
+                                }
+                            }
+                            done.countDown();
+                        })
+                        .start();
+            }
+            assertTrue(done.await(30, TimeUnit.SECONDS));
+            assertEquals(threads * evaluationsPerThread, matches.get());
+
+            val metrics = provider.getWasmEvaluatorPoolMetrics();
+            assertTrue(metrics.getSize() >= 1 && metrics.getSize() <= 3, metrics.toString());
+            assertEquals(3, metrics.getMaxSize());
+            assertEquals(metrics.getSize(), metrics.getInstancesCreated());
+            assertEquals(threads * evaluationsPerThread, metrics.getBorrows());
+            assertEquals(0, metrics.getBusy());
+            assertEquals(0, metrics.getTimeouts());
+        }
+
+        @DisplayName("Should evaluate remotely when no WASM instance is available in time")
+        @SneakyThrows
+        @Test
+        void shouldEvaluateRemotelyWhenNoWasmInstanceIsAvailableInTime() {
+            GoFeatureFlagProvider provider = new GoFeatureFlagProvider(GoFeatureFlagProviderOptions.builder()
+                    .endpoint(baseUrl.toString())
+                    .evaluationType(EvaluationType.IN_PROCESS)
+                    .wasmEvaluatorPoolSize(1)
+                    .wasmEvaluatorPoolTimeoutMs(0L)
+                    .build());
+            OpenFeatureAPI.getInstance().setProviderAndWait(testName, provider);
+            val client = OpenFeatureAPI.getInstance().getClient(testName);
+
+            int threads = 8;
+            int evaluationsPerThread = 20;
+            // the relay proxy mock does not know the flag, remote evaluations return FLAG_NOT_FOUND
+            AtomicInteger remoteEvaluations = new AtomicInteger();
+            AtomicInteger inProcessEvaluations = new AtomicInteger();
+            CountDownLatch done = new CountDownLatch(threads);
+            for (int i = 0; i < threads; i++) {
+                new Thread(() -> {
+                            for (int j = 0; j < evaluationsPerThread; j++) {
+                                val got = client.getBooleanDetails(
+                                        "bool_targeting_match", false, TestUtils.defaultEvaluationContext);
+                                if (got.getErrorCode() == ErrorCode.FLAG_NOT_FOUND) {
+                                    remoteEvaluations.incrementAndGet();
+                                } else if (got.getValue()) {
+                                    inProcessEvaluations.incrementAndGet();
+                                }
+                            }
+                            done.countDown();
+                        })
+                        .start();
+            }
+            assertTrue(done.await(30, TimeUnit.SECONDS));
+            assertEquals(threads * evaluationsPerThread, remoteEvaluations.get() + inProcessEvaluations.get());
+
+            val metrics = provider.getWasmEvaluatorPoolMetrics();
+            assertEquals(1, metrics.getSize());
+            assertEquals(remoteEvaluations.get(), metrics.getTimeouts());
+        }
+
+        @DisplayName("Should change evaluation details of flags loaded into the WASM instances if config has changed")
+        @SneakyThrows
+        @Test
+        void shouldChangeEvaluationValueOfLoadedFlagsIfConfigHasChanged() {
+            val s = new MockWebServer();
+            val goffAPIMock = new GoffApiMock(GoffApiMock.MockMode.CHANGE_CONFIG_AFTER_1ST_EVAL);
+            s.setDispatcher(goffAPIMock.dispatcher);
+            GoFeatureFlagProvider provider = new GoFeatureFlagProvider(GoFeatureFlagProviderOptions.builder()
+                    .flagChangePollingIntervalMs(100L)
+                    .endpoint(s.url("").toString())
+                    .evaluationType(EvaluationType.IN_PROCESS)
+                    .wasmFlagPreloading(true)
+                    .build());
+            OpenFeatureAPI.getInstance().setProviderAndWait(testName, provider);
+            val client = OpenFeatureAPI.getInstance().getClient(testName);
+            AtomicBoolean configurationChangedCalled = new AtomicBoolean(false);
+            client.onProviderConfigurationChanged(event -> {
+                configurationChangedCalled.set(true);
+            });
+
+            val got1 = client.getBooleanDetails("bool_targeting_match", false, TestUtils.defaultEvaluationContext);
+            // waiting to get a flag change
+            int maxWait = 10;
+            while (!configurationChangedCalled.get() && maxWait > 0) {
+                maxWait--;
+                Thread.sleep(10L);
+            }
+            val got2 = client.getBooleanDetails("bool_targeting_match", false, TestUtils.defaultEvaluationContext);
+            assertNotEquals(got1, got2);
+            val removed = client.getBooleanDetails("disabled_bool", false, TestUtils.defaultEvaluationContext);
+            assertEquals(ErrorCode.FLAG_NOT_FOUND, removed.getErrorCode());
+        }
+
         @DisplayName("Should error if flag configuration endpoint return a 404")
         @SneakyThrows
         @Test
@@ -664,6 +870,34 @@ class GoFeatureFlagProviderTest {
             assertEquals(2, goffAPIMock.getCollectorRequestsHistory().size());
         }
 
+        @DisplayName("Should send a compact summary of the evaluations if the data collector summary is enabled")
+        @SneakyThrows
+        @Test
+        void shouldSendASummaryOfTheEvaluationsIfDataCollectorSummaryIsEnabled() {
+            GoFeatureFlagProvider provider = new GoFeatureFlagProvider(GoFeatureFlagProviderOptions.builder()
+                    .flushIntervalMs(100L)
+                    .dataCollectorSummary(true)
+                    .endpoint(baseUrl.toString())
+                    .evaluationType(EvaluationType.IN_PROCESS)
+                    .build());
+            OpenFeatureAPI.getInstance().setProviderAndWait(testName, provider);
+            val client = OpenFeatureAPI.getInstance().getClient(testName);
+            client.getIntegerDetails("integer_key", 1000, TestUtils.defaultEvaluationContext);
+            client.getIntegerDetails("integer_key", 1000, TestUtils.defaultEvaluationContext);
+            client.getIntegerDetails("integer_key", 1000, TestUtils.defaultEvaluationContext);
+            Thread.sleep(180L);
+            assertEquals(1, goffAPIMock.getCollectorRequestsHistory().size());
+
+            val body = goffAPIMock.getLastRequestBody();
+            assertFalse(body.contains("\n"));
+            val events = (List<Map<String, Object>>)
+                    Const.DESERIALIZE_OBJECT_MAPPER.readValue(body, Map.class).get("events");
+            assertEquals(1, events.size());
+            assertEquals("summary", events.get(0).get("kind"));
+            assertEquals("integer_key", events.get(0).get("key"));
+            assertEquals(3, events.get(0).get("count"));
+        }
+
         @DisplayName("Should not send evaluation event if flag has tracking disabled")
         @SneakyThrows
         @Test
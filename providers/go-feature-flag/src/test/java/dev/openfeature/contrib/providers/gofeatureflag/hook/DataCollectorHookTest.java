@@ -1,9 +1,27 @@
 package dev.openfeature.contrib.providers.gofeatureflag.hook;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
+import dev.openfeature.contrib.providers.gofeatureflag.bean.FeatureEvent;
+import dev.openfeature.contrib.providers.gofeatureflag.bean.FeatureSummaryEvent;
+import dev.openfeature.contrib.providers.gofeatureflag.bean.IEvent;
 import dev.openfeature.contrib.providers.gofeatureflag.exception.InvalidOptions;
+import dev.openfeature.contrib.providers.gofeatureflag.service.EvaluationService;
+import dev.openfeature.contrib.providers.gofeatureflag.service.EventsPublisher;
+import dev.openfeature.sdk.FlagEvaluationDetails;
+import dev.openfeature.sdk.FlagValueType;
+import dev.openfeature.sdk.HookContext;
+import dev.openfeature.sdk.ImmutableContext;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import lombok.SneakyThrows;
+import lombok.val;
 import org.junit.jupiter.api.Test;
 
 public class DataCollectorHookTest {
@@ -20,4 +38,130 @@ public class DataCollectorHookTest {
                 InvalidOptions.class,
                 () -> new DataCollectorHook(DataCollectorHookOptions.builder().build()));
     }
+
+    @SneakyThrows
+    @Test
+    void shouldErrorIfSummaryBucketIsTooShort() {
+        val publisher = new EventsPublisher<IEvent>(events -> {}, 60_000L, 10);
+        assertThrows(
+                InvalidOptions.class,
+                () -> new DataCollectorHook(DataCollectorHookOptions.builder()
+                        .eventsPublisher(publisher)
+                        .evaluationSummary(true)
+                        .summaryBucketMs(999L)
+                        .build()));
+        publisher.shutdown();
+    }
+
+    @SneakyThrows
+    @Test
+    void shouldErrorIfRawEventSampleRateIsInvalid() {
+        val publisher = new EventsPublisher<IEvent>(events -> {}, 60_000L, 10);
+        assertThrows(
+                InvalidOptions.class,
+                () -> new DataCollectorHook(DataCollectorHookOptions.builder()
+                        .eventsPublisher(publisher)
+                        .rawEventSampleRate(1.5)
+                        .build()));
+        publisher.shutdown();
+    }
+
+    @SneakyThrows
+    @Test
+    void shouldPublishFeatureEventsByDefault() {
+        List<IEvent> published = new CopyOnWriteArrayList<>();
+        val publisher = new EventsPublisher<IEvent>(published::addAll, 60_000L, 10);
+        val hook = new DataCollectorHook(DataCollectorHookOptions.builder()
+                .eventsPublisher(publisher)
+                .evalService(trackingEvaluationService())
+                .collectUnCachedEvaluation(true)
+                .build());
+
+        hook.after(hookContext(), details(), Collections.emptyMap());
+        hook.after(hookContext(), details(), Collections.emptyMap());
+        publisher.publish();
+
+        assertEquals(2, published.size());
+        published.forEach(event -> assertTrue(event instanceof FeatureEvent));
+        hook.shutdown();
+    }
+
+    @SneakyThrows
+    @Test
+    void shouldPublishASummaryInsteadOfFeatureEventsIfEvaluationSummaryIsEnabled() {
+        List<IEvent> published = new CopyOnWriteArrayList<>();
+        val publisher = new EventsPublisher<IEvent>(published::addAll, 60_000L, 10);
+        val hook = new DataCollectorHook(DataCollectorHookOptions.builder()
+                .eventsPublisher(publisher)
+                .evalService(trackingEvaluationService())
+                .collectUnCachedEvaluation(true)
+                .evaluationSummary(true)
+                .build());
+
+        hook.after(hookContext(), details(), Collections.emptyMap());
+        hook.after(hookContext(), details(), Collections.emptyMap());
+        hook.error(hookContext(), new IllegalStateException("evaluation failed"), Collections.emptyMap());
+        publisher.publish();
+
+        assertEquals(2, published.size());
+        long evaluations = 0;
+        for (IEvent event : published) {
+            val summary = (FeatureSummaryEvent) event;
+            assertEquals("summary", summary.getKind());
+            assertEquals("my-flag", summary.getKey());
+            assertEquals("user", summary.getContextKind());
+            evaluations += summary.getCount();
+        }
+        assertEquals(3, evaluations);
+        hook.shutdown();
+    }
+
+    @SneakyThrows
+    @Test
+    void shouldSampleFeatureEventsWithTheSummary() {
+        List<IEvent> published = new CopyOnWriteArrayList<>();
+        val publisher = new EventsPublisher<IEvent>(published::addAll, 60_000L, 10);
+        val hook = new DataCollectorHook(DataCollectorHookOptions.builder()
+                .eventsPublisher(publisher)
+                .evalService(trackingEvaluationService())
+                .collectUnCachedEvaluation(true)
+                .evaluationSummary(true)
+                .rawEventSampleRate(1.0)
+                .build());
+
+        hook.after(hookContext(), details(), Collections.emptyMap());
+        publisher.publish();
+
+        assertEquals(2, published.size());
+        assertEquals(
+                1, published.stream().filter(e -> e instanceof FeatureEvent).count());
+        assertEquals(
+                1,
+                published.stream().filter(e -> e instanceof FeatureSummaryEvent).count());
+        hook.shutdown();
+    }
+
+    private static EvaluationService trackingEvaluationService() {
+        val evalService = mock(EvaluationService.class);
+        when(evalService.isFlagTrackable(anyString())).thenReturn(true);
+        return evalService;
+    }
+
+    private static HookContext<Boolean> hookContext() {
+        return HookContext.<Boolean>builder()
+                .flagKey("my-flag")
+                .type(FlagValueType.BOOLEAN)
+                .defaultValue(false)
+                .ctx(new ImmutableContext("d45e303a-38c2-11ed-a261-0242ac120002"))
+                .build();
+    }
+
+    private static FlagEvaluationDetails<Boolean> details() {
+        return FlagEvaluationDetails.<Boolean>builder()
+                .flagKey("my-flag")
+                .value(true)
+                .variant("enabled")
+                .reason("TARGETING_MATCH")
+                .build();
+    }
 }
@@ -0,0 +1,122 @@
+package dev.openfeature.contrib.providers.gofeatureflag.hook;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.openfeature.contrib.providers.gofeatureflag.bean.FeatureSummaryEvent;
+import dev.openfeature.contrib.providers.gofeatureflag.bean.IEvent;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import lombok.val;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("FeatureEventAggregator tests")
+class FeatureEventAggregatorTest {
+    private static final long BUCKET_MS = 60_000L;
+
+    @DisplayName("Should count the evaluations per flag, variation and context kind")
+    @Test
+    void shouldCountTheEvaluationsPerFlagVariationAndContextKind() {
+        val clock = new AtomicLong(120_500L);
+        val aggregator = new FeatureEventAggregator(BUCKET_MS, clock::get);
+
+        aggregator.record("flag-a", "on", "user", true, false);
+        aggregator.record("flag-a", "on", "user", true, false);
+        aggregator.record("flag-a", "on", "anonymousUser", true, false);
+        aggregator.record("flag-a", "off", "user", false, false);
+        aggregator.record("flag-b", "SdkDefault", "user", "default", true);
+
+        val summaries = sorted(aggregator.drain());
+        assertEquals(4, summaries.size());
+        assertEquals(
+                FeatureSummaryEvent.builder()
+                        .kind("summary")
+                        .key("flag-a")
+                        .variation("on")
+                        .contextKind("user")
+                        .defaultValue(false)
+                        .value(true)
+                        .creationDate(120L)
+                        .bucketDuration(60L)
+                        .count(2L)
+                        .build(),
+                summaries.get(2));
+        assertEquals("off", summaries.get(0).getVariation());
+        assertEquals(1L, summaries.get(0).getCount());
+        assertEquals("anonymousUser", summaries.get(1).getContextKind());
+        assertEquals(1L, summaries.get(1).getCount());
+        assertEquals("SdkDefault", summaries.get(3).getVariation());
+        assertEquals(true, summaries.get(3).getDefaultValue());
+    }
+
+    @DisplayName("Should count the evaluations of each time bucket separately")
+    @Test
+    void shouldCountEachTimeBucketSeparately() {
+        val clock = new AtomicLong(BUCKET_MS - 1);
+        val aggregator = new FeatureEventAggregator(BUCKET_MS, clock::get);
+
+        aggregator.record("flag-a", "on", "user", true, false);
+        clock.set(BUCKET_MS);
+        aggregator.record("flag-a", "on", "user", true, false);
+        aggregator.record("flag-a", "on", "user", true, false);
+
+        val summaries = sorted(aggregator.drain());
+        assertEquals(2, summaries.size());
+        assertEquals(0L, summaries.get(0).getCreationDate());
+        assertEquals(1L, summaries.get(0).getCount());
+        assertEquals(60L, summaries.get(1).getCreationDate());
+        assertEquals(2L, summaries.get(1).getCount());
+    }
+
+    @DisplayName("Should only return the evaluations counted since the previous drain")
+    @Test
+    void shouldResetTheCountsWhenDrained() {
+        val clock = new AtomicLong(0L);
+        val aggregator = new FeatureEventAggregator(BUCKET_MS, clock::get);
+
+        aggregator.record("flag-a", "on", "user", true, false);
+        assertEquals(1, aggregator.drain().size());
+        assertTrue(aggregator.drain().isEmpty());
+
+        aggregator.record("flag-a", "on", "user", true, false);
+        val summaries = sorted(aggregator.drain());
+        assertEquals(1, summaries.size());
+        assertEquals(1L, summaries.get(0).getCount());
+    }
+
+    @DisplayName("Should count concurrent evaluations")
+    @Test
+    void shouldCountConcurrentEvaluations() throws InterruptedException {
+        val clock = new AtomicLong(0L);
+        val aggregator = new FeatureEventAggregator(BUCKET_MS, clock::get);
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    aggregator.record("flag-a", "on", "user", true, false);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        val summaries = sorted(aggregator.drain());
+        assertEquals(1, summaries.size());
+        assertEquals(40_000L, summaries.get(0).getCount());
+    }
+
+    private static List<FeatureSummaryEvent> sorted(List<IEvent> events) {
+        return events.stream()
+                .map(event -> (FeatureSummaryEvent) event)
+                .sorted(Comparator.comparing(FeatureSummaryEvent::getCreationDate)
+                        .thenComparing(FeatureSummaryEvent::getKey)
+                        .thenComparing(FeatureSummaryEvent::getVariation)
+                        .thenComparing(FeatureSummaryEvent::getContextKind))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,158 @@
+package dev.openfeature.contrib.providers.gofeatureflag.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("EventsPublisher tests")
+class EventsPublisherTest {
+    private static final long NO_PERIODIC_FLUSH_MS = 60_000L;
+
+    @DisplayName("Should publish batches of maxPendingEvents events on the scheduler thread")
+    @SneakyThrows
+    @Test
+    void shouldPublishBatchesInTheBackgroundWhenMaxPendingEventsIsReached() {
+        List<Integer> events = new CopyOnWriteArrayList<>();
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        val published = new CountDownLatch(6);
+        val publisher = new EventsPublisher<Integer>(
+                batch -> {
+                    assertTrue(batch.size() <= 3);
+                    events.addAll(batch);
+                    threads.add(Thread.currentThread());
+                    batch.forEach(event -> published.countDown());
+                },
+                NO_PERIODIC_FLUSH_MS,
+                3);
+
+        for (int i = 0; i < 6; i++) {
+            publisher.add(i);
+        }
+
+        assertTrue(published.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), events);
+        threads.forEach(thread -> assertNotEquals(Thread.currentThread(), thread));
+        publisher.shutdown();
+        assertEquals(6, publisher.getMetrics().getPublished());
+        assertEquals(0, publisher.getMetrics().getPending());
+    }
+
+    @DisplayName("Should drop new events when the buffer is full")
+    @SneakyThrows
+    @Test
+    void shouldDropNewEventsWhenTheBufferIsFull() {
+        val publishing = new CountDownLatch(1);
+        val release = new CountDownLatch(1);
+        List<Integer> events = new CopyOnWriteArrayList<>();
+        val publisher = new EventsPublisher<Integer>(
+                batch -> {
+                    publishing.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    events.addAll(batch);
+                },
+                NO_PERIODIC_FLUSH_MS,
+                2);
+
+        // the first batch blocks the scheduler thread
+        publisher.add(0);
+        publisher.add(1);
+        assertTrue(publishing.await(5, TimeUnit.SECONDS));
+        // the buffer holds twice maxPendingEvents events, the others are dropped
+        for (int i = 2; i < 10; i++) {
+            publisher.add(i);
+        }
+        val metrics = publisher.getMetrics();
+        assertEquals(4, metrics.getCapacity());
+        assertEquals(4, metrics.getPending());
+        assertEquals(10, metrics.getAdded() + metrics.getDropped());
+        assertTrue(metrics.getDropped() >= 4);
+
+        release.countDown();
+        publisher.shutdown();
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < metrics.getAdded(); i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, events);
+    }
+
+    @DisplayName("Should publish the events of the event sources in their own batches")
+    @SneakyThrows
+    @Test
+    void shouldPublishSourcedEventsInTheirOwnBatches() {
+        val draining = new CountDownLatch(1);
+        val release = new CountDownLatch(1);
+        val drained = new AtomicBoolean(false);
+        List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+        val publisher = new EventsPublisher<Integer>(batches::add, NO_PERIODIC_FLUSH_MS, 2);
+        publisher.addEventSource(() -> {
+            if (drained.getAndSet(true)) {
+                return List.of();
+            }
+            draining.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return List.of(100, 101, 102);
+        });
+
+        // the first flush drains the event source while the buffer is filled up
+        publisher.add(0);
+        publisher.add(1);
+        assertTrue(draining.await(5, TimeUnit.SECONDS));
+        for (int i = 2; i < 6; i++) {
+            publisher.add(i);
+        }
+        assertEquals(2, publisher.getMetrics().getDropped());
+        release.countDown();
+        publisher.shutdown();
+
+        assertEquals(List.of(List.of(100, 101), List.of(102), List.of(0, 1), List.of(2, 3)), batches);
+        assertEquals(7, publisher.getMetrics().getPublished());
+    }
+
+    @DisplayName("Should retry a batch which failed to be published")
+    @SneakyThrows
+    @Test
+    void shouldRetryAFailedBatch() {
+        val fail = new AtomicBoolean(true);
+        List<Integer> events = new CopyOnWriteArrayList<>();
+        val publisher = new EventsPublisher<Integer>(
+                batch -> {
+                    if (fail.get()) {
+                        throw new IllegalStateException("relay-proxy unavailable");
+                    }
+                    events.addAll(batch);
+                },
+                NO_PERIODIC_FLUSH_MS,
+                10);
+
+        publisher.add(0);
+        publisher.add(1);
+        assertEquals(0, publisher.publish());
+        assertEquals(1, publisher.getMetrics().getPublishFailures());
+
+        fail.set(false);
+        publisher.add(2);
+        assertEquals(3, publisher.publish());
+        assertEquals(List.of(0, 1, 2), events);
+        publisher.shutdown();
+    }
+}
@@ -0,0 +1,60 @@
+package dev.openfeature.contrib.providers.gofeatureflag.wasm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.dylibso.chicory.runtime.InterpreterMachine;
+import com.dylibso.chicory.wasm.Parser;
+import dev.openfeature.contrib.providers.gofeatureflag.TestUtils;
+import dev.openfeature.contrib.providers.gofeatureflag.api.bean.FlagConfigApiResponse;
+import dev.openfeature.contrib.providers.gofeatureflag.util.Const;
+import dev.openfeature.contrib.providers.gofeatureflag.wasm.bean.FlagContext;
+import dev.openfeature.contrib.providers.gofeatureflag.wasm.bean.WasmInput;
+import dev.openfeature.sdk.ErrorCode;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+class EvaluationWasmTest {
+    @SneakyThrows
+    @Test
+    void compiledModuleShouldEvaluateLikeTheInterpreter() {
+        // the full module is set by the Maven build, and only available with the wasm-releases submodule
+        val wasmFilePath = System.getProperty("gofeatureflag.wasmFile");
+        assumeTrue(wasmFilePath != null, "gofeatureflag.wasmFile is not set");
+        val wasmFile = Paths.get(wasmFilePath);
+        assumeTrue(Files.isRegularFile(wasmFile), wasmFile + " is not available");
+
+        val config = Const.DESERIALIZE_OBJECT_MAPPER.readValue(
+                TestUtils.readMockResponse("flag_config_responses/", "valid-all-types.json"),
+                FlagConfigApiResponse.class);
+        val compiled = new EvaluationWasm();
+        val interpreted = new EvaluationWasm(Parser.parse(wasmFile), InterpreterMachine::new);
+
+        List<Map<String, Object>> evalContexts = List.of(
+                TestUtils.defaultEvaluationContext.asObjectMap(),
+                Map.of("targetingKey", "3b1ea4a6-1f7e-4ca5-8d43-7d8e1c0b7e55", "email", "jane.doe@gofeatureflag.org"));
+        for (val evalContext : evalContexts) {
+            for (val flag : config.getFlags().entrySet()) {
+                val input = WasmInput.builder()
+                        .flagContext(FlagContext.builder()
+                                .defaultSdkValue(false)
+                                .evaluationContextEnrichment(config.getEvaluationContextEnrichment())
+                                .build())
+                        .evalContext(evalContext)
+                        .flag(flag.getValue())
+                        .flagKey(flag.getKey())
+                        .build();
+
+                val want = interpreted.evaluate(input);
+                assertNotEquals(ErrorCode.GENERAL.name(), want.getErrorCode(), flag.getKey());
+                assertEquals(want, compiled.evaluate(input), flag.getKey());
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package dev.openfeature.contrib.providers.gofeatureflag.wasm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import dev.openfeature.contrib.providers.gofeatureflag.TestUtils;
+import dev.openfeature.contrib.providers.gofeatureflag.api.bean.FlagConfigApiResponse;
+import dev.openfeature.contrib.providers.gofeatureflag.util.Const;
+import dev.openfeature.contrib.providers.gofeatureflag.wasm.bean.FlagContext;
+import dev.openfeature.contrib.providers.gofeatureflag.wasm.bean.WasmInput;
+import java.io.ByteArrayOutputStream;
+import java.util.Map;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+class WasmFlagSetTest {
+    @SneakyThrows
+    @Test
+    void flagInputsShouldMatchSerializedWasmInputs() {
+        val config = loadConfiguration("valid-all-types.json");
+        Map<String, Object> enrichment = Map.of("env", "production");
+        val flagSet = WasmFlagSet.create(config.getFlags(), enrichment, null);
+        val evalContext = TestUtils.defaultEvaluationContext.asObjectMap();
+
+        assertEquals(config.getFlags().keySet(), flagSet.getInputPrefixes().keySet());
+        for (val flag : config.getFlags().entrySet()) {
+            val want = WasmInput.builder()
+                    .flagContext(FlagContext.builder()
+                            .defaultSdkValue(false)
+                            .evaluationContextEnrichment(enrichment)
+                            .build())
+                    .evalContext(evalContext)
+                    .flag(flag.getValue())
+                    .flagKey(flag.getKey())
+                    .build();
+
+            val got = new ByteArrayOutputStream();
+            got.writeBytes(flagSet.getInputPrefixes().get(flag.getKey()));
+            got.writeBytes(WasmFlagSet.inputSuffix(false, evalContext));
+
+            assertEquals(
+                    Const.DESERIALIZE_OBJECT_MAPPER.readTree(Const.SERIALIZE_WASM_MAPPER.writeValueAsBytes(want)),
+                    Const.DESERIALIZE_OBJECT_MAPPER.readTree(got.toByteArray()));
+        }
+    }
+
+    @SneakyThrows
+    @Test
+    void unchangedFlagsShouldNotBeSerializedAgain() {
+        val config = loadConfiguration("valid-all-types.json");
+        val changedConfig = loadConfiguration("valid-all-types-config-change.json");
+        val flagSet = WasmFlagSet.create(config.getFlags(), null, null);
+
+        val changedFlagSet = WasmFlagSet.create(changedConfig.getFlags(), null, flagSet);
+        assertSame(
+                flagSet.getInputPrefixes().get("string_key"),
+                changedFlagSet.getInputPrefixes().get("string_key"));
+        assertNotSame(
+                flagSet.getInputPrefixes().get("bool_targeting_match"),
+                changedFlagSet.getInputPrefixes().get("bool_targeting_match"));
+
+        val enrichedFlagSet = WasmFlagSet.create(config.getFlags(), Map.of("env", "production"), flagSet);
+        assertNotSame(
+                flagSet.getInputPrefixes().get("string_key"),
+                enrichedFlagSet.getInputPrefixes().get("string_key"));
+    }
+
+    @SneakyThrows
+    private static FlagConfigApiResponse loadConfiguration(String fileName) {
+        val content = TestUtils.readMockResponse("flag_config_responses/", fileName);
+        return Const.DESERIALIZE_OBJECT_MAPPER.readValue(content, FlagConfigApiResponse.class);
+    }
+}
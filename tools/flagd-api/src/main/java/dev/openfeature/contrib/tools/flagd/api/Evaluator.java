@@ -2,7 +2,14 @@ package dev.openfeature.contrib.tools.flagd.api;
 
 import dev.openfeature.sdk.EvaluationContext;
 import dev.openfeature.sdk.ProviderEvaluation;
+import dev.openfeature.sdk.Reason;
 import dev.openfeature.sdk.Value;
+import dev.openfeature.sdk.exceptions.OpenFeatureError;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -30,6 +37,44 @@ public interface Evaluator {
      */
     List<String> setFlagsAndGetChangedKeys(String flagConfigurationJson) throws FlagStoreException;
 
+    /**
+     * Set flag configurations read from a stream and return the list of changed flag keys.
+     * Large configurations, e.g. read from a memory mapped file, can be parsed while reading them this way,
+     * instead of copying them into a string first. The stream is not closed.
+     *
+     * <p>The default implementation reads the stream into a string, and passes it to
+     * {@link #setFlagsAndGetChangedKeys(String)}.
+     *
+     * @param flagConfigurationJson the flag configuration JSON, encoded in UTF-8
+     * @return the list of flag keys that were changed (added, modified, or removed)
+     * @throws FlagStoreException if reading, parsing or setting fails
+     */
+    default List<String> setFlagsAndGetChangedKeys(InputStream flagConfigurationJson) throws FlagStoreException {
+        final String configuration;
+        try {
+            configuration = new String(flagConfigurationJson.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new FlagStoreException("Failed to read flag configuration", e);
+        }
+        return setFlagsAndGetChangedKeys(configuration);
+    }
+
+    /**
+     * Apply incremental flag changes to the current flag configurations and return the list of changed flag keys.
+     * Only the given flags are parsed, the other flags and the flag set metadata are kept as they are.
+     *
+     * <p>The changes are a JSON object with the flags to add or replace by key in {@code upserts}, the keys of the
+     * flags to remove in {@code deletes}, and optionally {@code $evaluators} referenced by the upserted flags.
+     * A flag both deleted and upserted is replaced.
+     *
+     * @param flagChangesJson the flag changes JSON string
+     * @return the list of flag keys that were changed (added, modified, or removed)
+     * @throws FlagStoreException if parsing or applying fails, or incremental changes are not supported
+     */
+    default List<String> updateFlagsAndGetChangedKeys(String flagChangesJson) throws FlagStoreException {
+        throw new FlagStoreException("Incremental flag changes are not supported by this evaluator");
+    }
+
     /**
      * Get the current flag set metadata.
      * Flag set metadata is defined at the top level of the flag configuration.
@@ -82,4 +127,46 @@ public interface Evaluator {
      * @return the resolution result
      */
     ProviderEvaluation<Value> resolveObjectValue(String flagKey, Value defaultValue, EvaluationContext ctx);
+
+    /**
+     * Resolve all flags against the same evaluation context.
+     *
+     * @param ctx the evaluation context
+     * @return the resolution results by flag key, see {@link #resolveAll(Collection, EvaluationContext)}
+     * @throws UnsupportedOperationException if the evaluator can not enumerate its flags
+     */
+    default Map<String, ProviderEvaluation<Value>> resolveAll(EvaluationContext ctx) {
+        throw new UnsupportedOperationException("resolving all flags is not supported by this evaluator");
+    }
+
+    /**
+     * Resolve the given flags against the same evaluation context.
+     * Values of all types are returned as {@link Value}, flags that can not be resolved are reported by the error
+     * code of their result instead of an exception. Disabled flags resolve to a null value.
+     *
+     * <p>The default implementation resolves the flags one by one with
+     * {@link #resolveObjectValue(String, Value, EvaluationContext)}, implementations should read the flag
+     * configuration and convert the context only once.
+     *
+     * @param flagKeys the keys of the flags to resolve
+     * @param ctx      the evaluation context
+     * @return the resolution results by flag key
+     */
+    default Map<String, ProviderEvaluation<Value>> resolveAll(Collection<String> flagKeys, EvaluationContext ctx) {
+        final Map<String, ProviderEvaluation<Value>> results = new HashMap<>();
+        for (String flagKey : flagKeys) {
+            ProviderEvaluation<Value> result;
+            try {
+                result = resolveObjectValue(flagKey, null, ctx);
+            } catch (OpenFeatureError e) {
+                result = ProviderEvaluation.<Value>builder()
+                        .reason(Reason.ERROR.toString())
+                        .errorCode(e.getErrorCode())
+                        .errorMessage(e.getMessage())
+                        .build();
+            }
+            results.put(flagKey, result);
+        }
+        return results;
+    }
 }
@@ -0,0 +1,50 @@
+#!/usr/bin/env bash
+# Run the same benchmarks on two commits and print the scores side by side.
+#
+# usage: tools/flagd-benchmarks/compare.sh <base-ref> <head-ref> [jmh arguments]
+# example: tools/flagd-benchmarks/compare.sh main HEAD OperatorBenchmark -prof gc
+#
+# Each ref is checked out into a temporary git worktree, built, and benchmarked with the same JMH arguments.
+# Both refs must contain the tools/flagd-benchmarks module.
+set -euo pipefail
+
+if [ $# -lt 2 ]; then
+    echo "usage: $0 <base-ref> <head-ref> [jmh arguments]" >&2
+    exit 1
+fi
+
+base_ref=$1
+head_ref=$2
+shift 2
+
+repo=$(git rev-parse --show-toplevel)
+work=$(mktemp -d)
+trap 'for tree in "$work"/tree-*; do git -C "$repo" worktree remove --force "$tree" 2>/dev/null || true; done; rm -rf "$work"' EXIT
+
+run() {
+    local name=$1 ref=$2
+    local tree="$work/tree-$name"
+    git -C "$repo" worktree add --detach --quiet "$tree" "$ref"
+    (cd "$tree" && ./mvnw -q -B -pl tools/flagd-benchmarks -am -DskipTests -Dmaven.javadoc.skip install)
+    java -jar "$tree/tools/flagd-benchmarks/target/benchmarks.jar" "$@" -rf csv -rff "$work/$name.csv"
+}
+
+run base "$base_ref" "$@"
+run head "$head_ref" "$@"
+
+# join both result files on benchmark, mode and parameters, then print the scores and the relative change
+awk -F',' '
+    function key(   k, i) { k = $1 FS $2; for (i = 8; i <= NF; i++) k = k FS $i; return k }
+    { gsub(/"/, "") }
+    FNR == 1 { next }
+    NR == FNR { base[key()] = $5; next }
+    {
+        k = key()
+        if (!(k in base)) next
+        change = base[k] == 0 ? 0 : ($5 - base[k]) * 100 / base[k]
+        name = k
+        sub(/^.*\.benchmarks\./, "", name)
+        gsub(FS, " ", name)
+        printf "%-70s %14.3f %14.3f %+8.1f%% %s\n", name, base[k], $5, change, $7
+    }
+' "$work/base.csv" "$work/head.csv" | { printf "%-70s %14s %14s %9s %s\n" "benchmark" "$base_ref" "$head_ref" "change" "unit"; cat; }
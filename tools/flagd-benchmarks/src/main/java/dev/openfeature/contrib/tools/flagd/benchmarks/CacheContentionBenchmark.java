@@ -0,0 +1,76 @@
+package dev.openfeature.contrib.tools.flagd.benchmarks;
+
+import dev.openfeature.contrib.providers.flagd.resolver.rpc.cache.Cache;
+import dev.openfeature.sdk.ProviderEvaluation;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of the RPC resolver's flag cache when read by many threads, as with evaluations served from the cache
+ * by a busy server. Every lookup of the {@code lru} cache takes the same lock, the {@code striped} cache only locks
+ * the segment holding the key.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class CacheContentionBenchmark {
+    private static final int FLAG_COUNT = 500;
+
+    @Param({"lru", "striped"})
+    String cacheType;
+
+    private Cache cache;
+    private String[] keys;
+
+    /**
+     * Create the cache and fill it with an evaluation per flag.
+     */
+    @Setup
+    public void setup() {
+        cache = new Cache(cacheType, 1000);
+        keys = new String[FLAG_COUNT];
+        for (int i = 0; i < FLAG_COUNT; i++) {
+            keys[i] = "flag-" + i;
+            cache.put(
+                    keys[i],
+                    ProviderEvaluation.builder()
+                            .value(i % 2 == 0)
+                            .variant("on")
+                            .reason("CACHED")
+                            .build());
+        }
+    }
+
+    @Benchmark
+    public ProviderEvaluation<?> get() {
+        return cache.get(keys[ThreadLocalRandom.current().nextInt(FLAG_COUNT)]);
+    }
+
+    /** Mostly lookups, with one in ten lookups replaced by an update as after configuration changes. */
+    @Benchmark
+    public ProviderEvaluation<?> getAndPut() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final String key = keys[random.nextInt(FLAG_COUNT)];
+        if (random.nextInt(10) == 0) {
+            cache.put(key, ProviderEvaluation.builder().value(true).build());
+            return null;
+        }
+        return cache.get(key);
+    }
+}
@@ -0,0 +1,53 @@
+package dev.openfeature.contrib.tools.flagd.benchmarks;
+
+import com.google.protobuf.Struct;
+import dev.openfeature.contrib.providers.flagd.resolver.common.Convert;
+import dev.openfeature.sdk.EvaluationContext;
+import dev.openfeature.sdk.ImmutableContext;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of {@link Convert#convertContext}, which encodes the evaluation context into the protobuf struct sent with
+ * every RPC evaluation. Immutable contexts are encoded once and reused while the same instance is evaluated.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConvertBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int contextSize;
+
+    private EvaluationContext ctx;
+    private EvaluationContext immutableCtx;
+
+    @Setup
+    public void setup() {
+        ctx = Fixtures.context(contextSize);
+        immutableCtx = new ImmutableContext(ctx.getTargetingKey(), ctx.asMap());
+    }
+
+    @Benchmark
+    public Struct convertContext() {
+        return Convert.convertContext(ctx);
+    }
+
+    @Benchmark
+    public Struct convertImmutableContext() {
+        return Convert.convertContext(immutableCtx);
+    }
+}
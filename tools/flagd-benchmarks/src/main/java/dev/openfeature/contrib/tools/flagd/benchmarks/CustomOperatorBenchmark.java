@@ -0,0 +1,99 @@
+package dev.openfeature.contrib.tools.flagd.benchmarks;
+
+import dev.openfeature.contrib.tools.flagd.core.targeting.Operator;
+import dev.openfeature.contrib.tools.flagd.core.targeting.TargetingRule;
+import dev.openfeature.contrib.tools.flagd.core.targeting.TargetingRuleException;
+import dev.openfeature.sdk.EvaluationContext;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of the flagd specific JsonLogic operations: {@code fractional}, {@code sem_ver}, {@code starts_with} and
+ * {@code ends_with}. Each rule consists of a single operation, so the result is dominated by the operation itself
+ * and the context lookups it does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CustomOperatorBenchmark {
+
+    private static final String FRACTIONAL_RULE = "{\"fractional\":[[\"a\",25],[\"b\",25],[\"c\",25],[\"d\",25]]}";
+    private static final String FRACTIONAL_BUCKET_BY_RULE =
+            "{\"fractional\":[{\"cat\":[{\"var\":\"$flagd.flagKey\"},{\"var\":\"email\"}]},[\"a\",50],[\"b\",50]]}";
+    private static final String SEM_VER_RULE = "{\"sem_ver\":[{\"var\":\"version\"},\">=\",\"2.0.0\"]}";
+    private static final String SEM_VER_CARET_RULE = "{\"sem_ver\":[{\"var\":\"version\"},\"^\",\"2.1.0\"]}";
+    private static final String STARTS_WITH_RULE = "{\"starts_with\":[{\"var\":\"email\"},\"jane.\"]}";
+    private static final String ENDS_WITH_RULE = "{\"ends_with\":[{\"var\":\"email\"},\"@example.com\"]}";
+
+    @Param({"10", "1000"})
+    int contextSize;
+
+    private Operator operator;
+    private TargetingRule fractional;
+    private TargetingRule fractionalBucketBy;
+    private TargetingRule semVer;
+    private TargetingRule semVerCaret;
+    private TargetingRule startsWith;
+    private TargetingRule endsWith;
+    private EvaluationContext ctx;
+
+    /**
+     * Parse the targeting rules and build the evaluation context.
+     *
+     * @throws TargetingRuleException if a rule is invalid
+     */
+    @Setup
+    public void setup() throws TargetingRuleException {
+        operator = new Operator();
+        fractional = TargetingRule.parse(FRACTIONAL_RULE);
+        fractionalBucketBy = TargetingRule.parse(FRACTIONAL_BUCKET_BY_RULE);
+        semVer = TargetingRule.parse(SEM_VER_RULE);
+        semVerCaret = TargetingRule.parse(SEM_VER_CARET_RULE);
+        startsWith = TargetingRule.parse(STARTS_WITH_RULE);
+        endsWith = TargetingRule.parse(ENDS_WITH_RULE);
+        ctx = Fixtures.context(contextSize);
+    }
+
+    @Benchmark
+    public Object fractional() throws TargetingRuleException {
+        return operator.apply(Fixtures.FRACTIONAL_FLAG, fractional, ctx);
+    }
+
+    @Benchmark
+    public Object fractionalBucketBy() throws TargetingRuleException {
+        return operator.apply(Fixtures.FRACTIONAL_FLAG, fractionalBucketBy, ctx);
+    }
+
+    @Benchmark
+    public Object semVer() throws TargetingRuleException {
+        return operator.apply(Fixtures.NESTED_FLAG, semVer, ctx);
+    }
+
+    @Benchmark
+    public Object semVerCaret() throws TargetingRuleException {
+        return operator.apply(Fixtures.NESTED_FLAG, semVerCaret, ctx);
+    }
+
+    @Benchmark
+    public Object startsWith() throws TargetingRuleException {
+        return operator.apply(Fixtures.ENDS_WITH_FLAG, startsWith, ctx);
+    }
+
+    @Benchmark
+    public Object endsWith() throws TargetingRuleException {
+        return operator.apply(Fixtures.ENDS_WITH_FLAG, endsWith, ctx);
+    }
+}
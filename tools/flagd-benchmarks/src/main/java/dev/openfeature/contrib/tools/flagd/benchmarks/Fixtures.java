@@ -0,0 +1,199 @@
+package dev.openfeature.contrib.tools.flagd.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import dev.openfeature.sdk.EvaluationContext;
+import dev.openfeature.sdk.MutableContext;
+import dev.openfeature.sdk.MutableStructure;
+import dev.openfeature.sdk.Value;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic flag configurations and evaluation contexts shared by the benchmarks.
+ *
+ * <p>Flags cycle through four shapes so that every configuration size has the same mix:
+ * <ul>
+ *   <li>{@code static-N}: boolean flag without targeting</li>
+ *   <li>{@code ends-with-N}: string flag targeting on the email domain</li>
+ *   <li>{@code fractional-N}: string flag with a four way percentage rollout</li>
+ *   <li>{@code nested-N}: boolean flag with nested {@code and}/{@code in}/{@code sem_ver} rules</li>
+ * </ul>
+ */
+public final class Fixtures {
+
+    public static final String STATIC_FLAG = "static-0";
+    public static final String ENDS_WITH_FLAG = "ends-with-1";
+    public static final String FRACTIONAL_FLAG = "fractional-2";
+    public static final String NESTED_FLAG = "nested-3";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private Fixtures() {}
+
+    /**
+     * Generate a flag configuration.
+     *
+     * @param flagCount the number of flags in the configuration
+     * @return the flag configuration JSON string
+     */
+    public static String flagConfiguration(int flagCount) {
+        return flagConfiguration(flagCount, 0);
+    }
+
+    /**
+     * Generate a flag configuration, changing the default variant of the first {@code changed} flags.
+     * Used to simulate configuration updates of various sizes.
+     *
+     * @param flagCount the number of flags in the configuration
+     * @param changed   the number of flags to change
+     * @return the flag configuration JSON string
+     */
+    public static String flagConfiguration(int flagCount, int changed) {
+        ObjectNode root = MAPPER.createObjectNode();
+        root.put("$schema", "https://flagd.dev/schema/v0/flags.json");
+        ObjectNode flags = root.putObject("flags");
+        for (int i = 0; i < flagCount; i++) {
+            putFlag(flags, i, i < changed);
+        }
+        root.putObject("metadata").put("flagSetId", "benchmark").put("version", "1.0.0");
+        return root.toString();
+    }
+
+    /**
+     * Generate incremental flag changes upserting the first {@code changed} flags of a configuration generated by
+     * {@link #flagConfiguration(int, int)}, with their default variant changed or as originally generated.
+     *
+     * @param changed the number of flags to upsert
+     * @param flip    whether to change the default variant of the upserted flags
+     * @return the flag changes JSON string
+     */
+    public static String flagChanges(int changed, boolean flip) {
+        ObjectNode root = MAPPER.createObjectNode();
+        ObjectNode upserts = root.putObject("upserts");
+        for (int i = 0; i < changed; i++) {
+            putFlag(upserts, i, flip);
+        }
+        return root.toString();
+    }
+
+    private static void putFlag(ObjectNode flags, int i, boolean flip) {
+        switch (i % 4) {
+            case 0:
+                flags.set("static-" + i, staticFlag(flip));
+                break;
+            case 1:
+                flags.set("ends-with-" + i, endsWithFlag(flip));
+                break;
+            case 2:
+                flags.set("fractional-" + i, fractionalFlag(flip));
+                break;
+            default:
+                flags.set("nested-" + i, nestedFlag(flip));
+                break;
+        }
+    }
+
+    /**
+     * Every flag key of a configuration generated by {@link #flagConfiguration(int)}.
+     *
+     * @param flagCount the number of flags in the configuration
+     * @return the flag keys
+     */
+    public static List<String> flagKeys(int flagCount) {
+        List<String> keys = new ArrayList<>(flagCount);
+        String[] prefixes = {"static-", "ends-with-", "fractional-", "nested-"};
+        for (int i = 0; i < flagCount; i++) {
+            keys.add(prefixes[i % 4] + i);
+        }
+        return keys;
+    }
+
+    /**
+     * Build an evaluation context with the attributes read by the generated targeting rules plus
+     * {@code extraAttributes} filler attributes, every fifth one of them being a nested structure.
+     *
+     * @param extraAttributes the number of additional attributes
+     * @return the evaluation context
+     */
+    public static EvaluationContext context(int extraAttributes) {
+        MutableContext ctx = new MutableContext("user-4711");
+        ctx.add("email", "jane.doe@example.com");
+        ctx.add("country", "CH");
+        ctx.add("version", "2.4.1");
+        for (int i = 0; i < extraAttributes; i++) {
+            if (i % 5 == 0) {
+                MutableStructure nested = new MutableStructure();
+                nested.add("id", i);
+                nested.add("name", "attribute-" + i);
+                nested.add("enabled", i % 2 == 0);
+                ctx.add("nested-" + i, nested);
+            } else if (i % 5 == 1) {
+                List<Value> list = new ArrayList<>();
+                list.add(new Value("a-" + i));
+                list.add(new Value(i));
+                ctx.add("list-" + i, list);
+            } else {
+                ctx.add("attribute-" + i, "value-" + i);
+            }
+        }
+        return ctx;
+    }
+
+    private static ObjectNode staticFlag(boolean flip) {
+        ObjectNode flag = baseFlag();
+        flag.putObject("variants").put("on", true).put("off", false);
+        flag.put("defaultVariant", flip ? "off" : "on");
+        flag.putObject("metadata").put("owner", "benchmarks");
+        return flag;
+    }
+
+    private static ObjectNode endsWithFlag(boolean flip) {
+        ObjectNode flag = baseFlag();
+        flag.putObject("variants").put("internal", "internal").put("external", "external");
+        flag.put("defaultVariant", flip ? "internal" : "external");
+        ArrayNode ifArgs = flag.putObject("targeting").putArray("if");
+        ArrayNode endsWith = ifArgs.addObject().putArray("ends_with");
+        endsWith.addObject().put("var", "email");
+        endsWith.add("@example.com");
+        ifArgs.add("internal");
+        ifArgs.addNull();
+        return flag;
+    }
+
+    private static ObjectNode fractionalFlag(boolean flip) {
+        ObjectNode flag = baseFlag();
+        flag.putObject("variants").put("a", "a").put("b", "b").put("c", "c").put("d", "d");
+        flag.put("defaultVariant", flip ? "b" : "a");
+        ArrayNode fractional = flag.putObject("targeting").putArray("fractional");
+        for (String variant : new String[] {"a", "b", "c", "d"}) {
+            fractional.addArray().add(variant).add(25);
+        }
+        return flag;
+    }
+
+    private static ObjectNode nestedFlag(boolean flip) {
+        ObjectNode flag = baseFlag();
+        flag.putObject("variants").put("on", true).put("off", false);
+        flag.put("defaultVariant", flip ? "on" : "off");
+        ArrayNode ifArgs = flag.putObject("targeting").putArray("if");
+        ArrayNode and = ifArgs.addObject().putArray("and");
+        ArrayNode in = and.addObject().putArray("in");
+        in.addObject().put("var", "country");
+        in.addArray().add("CH").add("DE").add("AT");
+        ArrayNode semVer = and.addObject().putArray("sem_ver");
+        semVer.addObject().put("var", "version");
+        semVer.add(">=");
+        semVer.add("2.0.0");
+        ifArgs.add("on");
+        ifArgs.add("off");
+        return flag;
+    }
+
+    private static ObjectNode baseFlag() {
+        ObjectNode flag = MAPPER.createObjectNode();
+        flag.put("state", "ENABLED");
+        return flag;
+    }
+}
@@ -0,0 +1,62 @@
+package dev.openfeature.contrib.tools.flagd.benchmarks;
+
+import dev.openfeature.contrib.tools.flagd.core.model.FlagParser;
+import dev.openfeature.contrib.tools.flagd.core.model.FlagParsingResult;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of {@link FlagParser#parseString} for a full parse of a configuration, with and without schema validation,
+ * and for an incremental parse against the previous result of the same configuration.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FlagParserBenchmark {
+
+    @Param({"1000", "10000"})
+    int flagCount;
+
+    private String configuration;
+    private FlagParsingResult previous;
+
+    /**
+     * Generate the configuration and parse it once for the incremental parse.
+     *
+     * @throws IOException if the configuration can not be parsed
+     */
+    @Setup
+    public void setup() throws IOException {
+        configuration = Fixtures.flagConfiguration(flagCount);
+        previous = FlagParser.parseString(configuration, false);
+    }
+
+    @Benchmark
+    public FlagParsingResult parse() throws IOException {
+        return FlagParser.parseString(configuration, false, null, true);
+    }
+
+    @Benchmark
+    public FlagParsingResult parseWithoutSchemaValidation() throws IOException {
+        return FlagParser.parseString(configuration, false, null, false);
+    }
+
+    @Benchmark
+    public FlagParsingResult parseUnchanged() throws IOException {
+        return FlagParser.parseString(configuration, false, previous, false);
+    }
+}
@@ -0,0 +1,90 @@
+package dev.openfeature.contrib.tools.flagd.benchmarks;
+
+import dev.openfeature.contrib.tools.flagd.api.FlagStoreException;
+import dev.openfeature.contrib.tools.flagd.core.FlagdCore;
+import dev.openfeature.sdk.EvaluationContext;
+import dev.openfeature.sdk.ProviderEvaluation;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of {@link FlagdCore} flag resolution, single threaded, with all available cores reading,
+ * and with readers racing a thread that keeps applying configuration updates.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FlagdCoreResolveBenchmark {
+
+    @Param({"1000", "10000"})
+    int flagCount;
+
+    private FlagdCore core;
+    private EvaluationContext ctx;
+    private String configuration;
+
+    /**
+     * Load the generated configuration.
+     *
+     * @throws FlagStoreException if the configuration can not be applied
+     */
+    @Setup
+    public void setup() throws FlagStoreException {
+        configuration = Fixtures.flagConfiguration(flagCount);
+        core = new FlagdCore();
+        core.setFlags(configuration);
+        ctx = Fixtures.context(10);
+    }
+
+    @Benchmark
+    public ProviderEvaluation<Boolean> staticFlag() {
+        return core.resolveBooleanValue(Fixtures.STATIC_FLAG, false, ctx);
+    }
+
+    @Benchmark
+    public ProviderEvaluation<String> targetingFlag() {
+        return core.resolveStringValue(Fixtures.ENDS_WITH_FLAG, "default", ctx);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public ProviderEvaluation<Boolean> staticFlagAllCores() {
+        return core.resolveBooleanValue(Fixtures.STATIC_FLAG, false, ctx);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public ProviderEvaluation<String> targetingFlagAllCores() {
+        return core.resolveStringValue(Fixtures.ENDS_WITH_FLAG, "default", ctx);
+    }
+
+    @Benchmark
+    @Group("resolveWhileUpdating")
+    @GroupThreads(7)
+    public ProviderEvaluation<Boolean> resolveWhileUpdatingReader() {
+        return core.resolveBooleanValue(Fixtures.STATIC_FLAG, false, ctx);
+    }
+
+    @Benchmark
+    @Group("resolveWhileUpdating")
+    @GroupThreads(1)
+    public void resolveWhileUpdatingWriter() throws FlagStoreException {
+        core.setFlags(configuration);
+    }
+}
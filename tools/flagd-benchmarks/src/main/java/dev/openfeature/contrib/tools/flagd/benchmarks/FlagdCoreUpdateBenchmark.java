@@ -0,0 +1,89 @@
+package dev.openfeature.contrib.tools.flagd.benchmarks;
+
+import dev.openfeature.contrib.tools.flagd.api.FlagStoreException;
+import dev.openfeature.contrib.tools.flagd.core.FlagdCore;
+import dev.openfeature.contrib.tools.flagd.core.SchemaValidation;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of applying a configuration update to {@link FlagdCore}, alternating between two configurations that
+ * differ in {@code changedFlags} flags, with and without validating every configuration against the schema. The same
+ * updates are also applied as incremental flag changes, which only carry the changed flags.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FlagdCoreUpdateBenchmark {
+
+    @Param({"1000", "10000"})
+    int flagCount;
+
+    @Param({"1", "100"})
+    int changedFlags;
+
+    @Param({"ALWAYS", "FIRST_SYNC"})
+    SchemaValidation schemaValidation;
+
+    private FlagdCore core;
+    private String[] configurations;
+    private String[] flagChanges;
+    private int next;
+
+    /**
+     * Generate the configurations and apply the first one.
+     *
+     * @throws FlagStoreException if the configuration can not be applied
+     */
+    @Setup
+    public void setup() throws FlagStoreException {
+        configurations =
+                new String[] {Fixtures.flagConfiguration(flagCount), Fixtures.flagConfiguration(flagCount, changedFlags)
+                };
+        flagChanges =
+                new String[] {Fixtures.flagChanges(changedFlags, true), Fixtures.flagChanges(changedFlags, false)};
+        core = new FlagdCore(false, false, schemaValidation);
+        core.setFlags(configurations[0]);
+        next = 1;
+    }
+
+    /**
+     * Apply the other configuration.
+     *
+     * @return the keys of the changed flags
+     * @throws FlagStoreException if the configuration can not be applied
+     */
+    @Benchmark
+    public List<String> setFlagsAndGetChangedKeys() throws FlagStoreException {
+        final List<String> changedKeys = core.setFlagsAndGetChangedKeys(configurations[next]);
+        next ^= 1;
+        return changedKeys;
+    }
+
+    /**
+     * Apply the changes to the flags of the other configuration.
+     *
+     * @return the keys of the changed flags
+     * @throws FlagStoreException if the changes can not be applied
+     */
+    @Benchmark
+    public List<String> updateFlagsAndGetChangedKeys() throws FlagStoreException {
+        final List<String> changedKeys = core.updateFlagsAndGetChangedKeys(flagChanges[next ^ 1]);
+        next ^= 1;
+        return changedKeys;
+    }
+}
@@ -0,0 +1,75 @@
+package dev.openfeature.contrib.tools.flagd.benchmarks;
+
+import dev.openfeature.contrib.tools.flagd.core.targeting.Operator;
+import dev.openfeature.contrib.tools.flagd.core.targeting.TargetingRule;
+import dev.openfeature.contrib.tools.flagd.core.targeting.TargetingRuleException;
+import dev.openfeature.sdk.EvaluationContext;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of {@link Operator#apply} for typical targeting rules and evaluation contexts of various sizes.
+ * Run with {@code -prof gc} to see the allocation per evaluation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OperatorBenchmark {
+
+    private static final String ENDS_WITH_RULE =
+            "{\"if\":[{\"ends_with\":[{\"var\":\"email\"},\"@example.com\"]},\"internal\",null]}";
+    private static final String FRACTIONAL_RULE = "{\"fractional\":[[\"a\",25],[\"b\",25],[\"c\",25],[\"d\",25]]}";
+    private static final String NESTED_RULE = "{\"if\":[{\"and\":[{\"in\":[{\"var\":\"country\"},[\"CH\",\"DE\"]]},"
+            + "{\"sem_ver\":[{\"var\":\"version\"},\">=\",\"2.0.0\"]}]},\"on\",\"off\"]}";
+
+    @Param({"10", "50"})
+    int contextSize;
+
+    private Operator operator;
+    private TargetingRule endsWith;
+    private TargetingRule fractional;
+    private TargetingRule nested;
+    private EvaluationContext ctx;
+
+    /**
+     * Parse the targeting rules and build the evaluation context.
+     *
+     * @throws TargetingRuleException if a rule is invalid
+     */
+    @Setup
+    public void setup() throws TargetingRuleException {
+        operator = new Operator();
+        endsWith = TargetingRule.parse(ENDS_WITH_RULE);
+        fractional = TargetingRule.parse(FRACTIONAL_RULE);
+        nested = TargetingRule.parse(NESTED_RULE);
+        ctx = Fixtures.context(contextSize);
+    }
+
+    @Benchmark
+    public Object endsWith() throws TargetingRuleException {
+        return operator.apply(Fixtures.ENDS_WITH_FLAG, endsWith, ctx);
+    }
+
+    @Benchmark
+    public Object fractional() throws TargetingRuleException {
+        return operator.apply(Fixtures.FRACTIONAL_FLAG, fractional, ctx);
+    }
+
+    @Benchmark
+    public Object nested() throws TargetingRuleException {
+        return operator.apply(Fixtures.NESTED_FLAG, nested, ctx);
+    }
+}
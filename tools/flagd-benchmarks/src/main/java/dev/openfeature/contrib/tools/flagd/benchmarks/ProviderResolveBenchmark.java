@@ -0,0 +1,145 @@
+package dev.openfeature.contrib.tools.flagd.benchmarks;
+
+import dev.openfeature.contrib.providers.flagd.Config;
+import dev.openfeature.contrib.providers.flagd.FlagdOptions;
+import dev.openfeature.contrib.providers.flagd.FlagdProvider;
+import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.QueuePayload;
+import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.QueuePayloadType;
+import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.QueueSource;
+import dev.openfeature.sdk.EvaluationContext;
+import dev.openfeature.sdk.ProviderEvaluation;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of flag evaluations through the {@link FlagdProvider}, for the in-process resolver fed by a sync
+ * connector and for the file resolver reading the configuration from disk.
+ *
+ * <p>The in-process resolver is given the configuration through a custom connector, so no flagd instance is
+ * needed: evaluations take the same path as with the gRPC sync stream.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProviderResolveBenchmark {
+
+    @Param({"IN_PROCESS", "FILE"})
+    Config.Resolver resolver;
+
+    @Param({"1000", "10000"})
+    int flagCount;
+
+    private FlagdProvider provider;
+    private EvaluationContext ctx;
+    private Path configurationFile;
+
+    /**
+     * Create the provider and wait for it to load the generated configuration.
+     *
+     * @throws Exception if the provider can not be initialized
+     */
+    @Setup
+    public void setup() throws Exception {
+        final String configuration = Fixtures.flagConfiguration(flagCount);
+        final FlagdOptions.FlagdOptionsBuilder options =
+                FlagdOptions.builder().resolverType(resolver).deadline(10_000);
+        if (resolver == Config.Resolver.FILE) {
+            configurationFile = Files.createTempFile("flagd-benchmarks", ".json");
+            Files.write(configurationFile, configuration.getBytes(StandardCharsets.UTF_8));
+            options.offlineFlagSourcePath(configurationFile.toString());
+        } else {
+            options.customConnector(new StaticQueueSource(configuration));
+        }
+
+        provider = new FlagdProvider(options.build());
+        provider.initialize(null);
+        ctx = Fixtures.context(10);
+    }
+
+    /**
+     * Shut the provider down and delete the configuration file.
+     *
+     * @throws IOException if the configuration file can not be deleted
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        provider.shutdown();
+        if (configurationFile != null) {
+            Files.deleteIfExists(configurationFile);
+        }
+    }
+
+    @Benchmark
+    public ProviderEvaluation<Boolean> staticFlag() {
+        return provider.getBooleanEvaluation(Fixtures.STATIC_FLAG, false, ctx);
+    }
+
+    @Benchmark
+    public ProviderEvaluation<String> targetingFlag() {
+        return provider.getStringEvaluation(Fixtures.ENDS_WITH_FLAG, "default", ctx);
+    }
+
+    @Benchmark
+    public ProviderEvaluation<String> fractionalFlag() {
+        return provider.getStringEvaluation(Fixtures.FRACTIONAL_FLAG, "default", ctx);
+    }
+
+    @Benchmark
+    public ProviderEvaluation<Boolean> nestedFlag() {
+        return provider.getBooleanEvaluation(Fixtures.NESTED_FLAG, false, ctx);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public ProviderEvaluation<String> targetingFlagAllCores() {
+        return provider.getStringEvaluation(Fixtures.ENDS_WITH_FLAG, "default", ctx);
+    }
+
+    /**
+     * Connector emitting a single configuration, as a sync stream does when it connects.
+     */
+    private static final class StaticQueueSource implements QueueSource {
+        private final BlockingQueue<QueuePayload> queue = new LinkedBlockingQueue<>();
+        private final String configuration;
+
+        StaticQueueSource(String configuration) {
+            this.configuration = configuration;
+        }
+
+        @Override
+        public void init() {
+            queue.add(new QueuePayload(QueuePayloadType.DATA, configuration));
+        }
+
+        @Override
+        public BlockingQueue<QueuePayload> getStreamQueue() {
+            return queue;
+        }
+
+        @Override
+        public void shutdown() {
+            // nothing to release, the store stops reading the queue on shutdown
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package dev.openfeature.contrib.tools.flagd.benchmarks;
+
+import dev.openfeature.contrib.tools.flagd.core.targeting.Operator;
+import dev.openfeature.contrib.tools.flagd.core.targeting.TargetingRule;
+import dev.openfeature.contrib.tools.flagd.core.targeting.TargetingRuleException;
+import dev.openfeature.sdk.EvaluationContext;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of evaluating a targeting rule given as its JSON string, as flags passed it before rules were parsed during
+ * sync, compared to evaluating the {@link TargetingRule} parsed once during sync, with and without compiled
+ * targeting.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TargetingBenchmark {
+
+    private static final String RULE = "{\"if\":[{\"and\":[{\"in\":[{\"var\":\"country\"},[\"CH\",\"DE\",\"AT\"]]},"
+            + "{\"sem_ver\":[{\"var\":\"version\"},\">=\",\"2.0.0\"]}]},\"on\",\"off\"]}";
+
+    @Param({"false", "true"})
+    public boolean compileTargeting;
+
+    private Operator operator;
+    private TargetingRule targetingRule;
+    private EvaluationContext ctx;
+
+    /**
+     * Parse the targeting rule.
+     *
+     * @throws TargetingRuleException if the rule is invalid
+     */
+    @Setup
+    public void setup() throws TargetingRuleException {
+        operator = new Operator(compileTargeting);
+        targetingRule = TargetingRule.parse(RULE);
+        ctx = Fixtures.context(10);
+    }
+
+    @Benchmark
+    public Object ruleString() throws TargetingRuleException {
+        // the same instance on every evaluation, as FeatureFlag.getTargeting() returns it
+        return operator.apply(Fixtures.NESTED_FLAG, RULE, ctx);
+    }
+
+    @Benchmark
+    public Object parsedRule() throws TargetingRuleException {
+        return operator.apply(Fixtures.NESTED_FLAG, targetingRule, ctx);
+    }
+}
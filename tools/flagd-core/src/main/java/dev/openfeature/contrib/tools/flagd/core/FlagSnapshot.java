@@ -0,0 +1,55 @@
+package dev.openfeature.contrib.tools.flagd.core;
+
+import dev.openfeature.contrib.tools.flagd.core.model.FeatureFlag;
+import dev.openfeature.contrib.tools.flagd.core.model.FlagParsingResult;
+import dev.openfeature.contrib.tools.flagd.core.model.MetadataConverter;
+import dev.openfeature.sdk.ImmutableMetadata;
+import java.util.Collections;
+import java.util.Map;
+import lombok.Getter;
+
+/**
+ * Immutable view of the flag configuration served by {@link FlagdCore}.
+ *
+ * <p>A new snapshot is published on every configuration update, so evaluations read the flags and the
+ * flag set metadata of one configuration without locking or copying.
+ */
+@Getter
+final class FlagSnapshot {
+
+    static final FlagSnapshot EMPTY = new FlagSnapshot(Collections.emptyMap(), Collections.emptyMap());
+
+    private final Map<String, FeatureFlag> flags;
+    private final Map<String, Object> flagSetMetadata;
+    // null if the flag set metadata contains unsupported entries
+    private final ImmutableMetadata flagSetImmutableMetadata;
+
+    /**
+     * Construct a snapshot. The given maps are wrapped, not copied, and must not be modified afterwards.
+     *
+     * @param flags           the flags of the configuration
+     * @param flagSetMetadata the flag set metadata of the configuration
+     */
+    FlagSnapshot(Map<String, FeatureFlag> flags, Map<String, Object> flagSetMetadata) {
+        this.flags = Collections.unmodifiableMap(flags);
+        this.flagSetMetadata = Collections.unmodifiableMap(flagSetMetadata);
+        this.flagSetImmutableMetadata = toImmutableMetadata(flagSetMetadata);
+    }
+
+    /**
+     * The flags and flag set metadata of this snapshot, as the previous result of an incremental parse.
+     *
+     * @return the parsing result
+     */
+    FlagParsingResult toParsingResult() {
+        return new FlagParsingResult(flags, flagSetMetadata, Collections.emptyList());
+    }
+
+    private static ImmutableMetadata toImmutableMetadata(Map<String, Object> flagSetMetadata) {
+        try {
+            return MetadataConverter.toImmutableMetadata(flagSetMetadata, null);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -7,7 +7,10 @@ import dev.openfeature.contrib.tools.flagd.api.FlagStoreException;
 import dev.openfeature.contrib.tools.flagd.core.model.FeatureFlag;
 import dev.openfeature.contrib.tools.flagd.core.model.FlagParser;
 import dev.openfeature.contrib.tools.flagd.core.model.FlagParsingResult;
+import dev.openfeature.contrib.tools.flagd.core.model.MetadataConverter;
 import dev.openfeature.contrib.tools.flagd.core.targeting.Operator;
+import dev.openfeature.contrib.tools.flagd.core.targeting.TargetingContext;
+import dev.openfeature.contrib.tools.flagd.core.targeting.TargetingRule;
 import dev.openfeature.contrib.tools.flagd.core.targeting.TargetingRuleException;
 import dev.openfeature.sdk.ErrorCode;
 import dev.openfeature.sdk.EvaluationContext;
@@ -16,16 +19,17 @@ import dev.openfeature.sdk.ProviderEvaluation;
 import dev.openfeature.sdk.Reason;
 import dev.openfeature.sdk.Value;
 import dev.openfeature.sdk.exceptions.GeneralError;
+import dev.openfeature.sdk.exceptions.OpenFeatureError;
 import dev.openfeature.sdk.exceptions.ParseError;
 import dev.openfeature.sdk.exceptions.TypeMismatchError;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock.ReadLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock.WriteLock;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
@@ -49,15 +53,19 @@ import org.apache.commons.lang3.StringUtils;
 @Slf4j
 public class FlagdCore implements Evaluator {
 
-    private final ReentrantReadWriteLock sync = new ReentrantReadWriteLock();
-    private final ReadLock readLock = sync.readLock();
-    private final WriteLock writeLock = sync.writeLock();
+    // evaluations read the current snapshot without locking; updates are serialized and publish a new one
+    private final Object updateLock = new Object();
+    private volatile FlagSnapshot snapshot = FlagSnapshot.EMPTY;
 
-    private final Map<String, FeatureFlag> flags = new HashMap<>();
-    private final Map<String, Object> flagSetMetadata = new HashMap<>();
+    /**
+     * Number of syncs between two validated configurations with {@link SchemaValidation#SAMPLED}.
+     */
+    public static final int SCHEMA_VALIDATION_SAMPLE_INTERVAL = 10;
 
     private final Operator operator;
     private final boolean throwIfInvalid;
+    private final SchemaValidation schemaValidation;
+    private final AtomicLong syncCount = new AtomicLong();
 
     /**
      * Construct a FlagdCore instance.
@@ -82,8 +90,20 @@ public class FlagdCore implements Evaluator {
      * @param compileTargeting whether to compile targeting rules for better performance
      */
     public FlagdCore(boolean throwIfInvalid, boolean compileTargeting) {
+        this(throwIfInvalid, compileTargeting, SchemaValidation.ALWAYS);
+    }
+
+    /**
+     * Construct a FlagdCore instance.
+     *
+     * @param throwIfInvalid   whether to throw an exception if flag configuration is invalid
+     * @param compileTargeting whether to compile targeting rules for better performance
+     * @param schemaValidation when to validate flag configurations against the flagd schema
+     */
+    public FlagdCore(boolean throwIfInvalid, boolean compileTargeting, SchemaValidation schemaValidation) {
         this.operator = new Operator(compileTargeting);
         this.throwIfInvalid = throwIfInvalid;
+        this.schemaValidation = schemaValidation;
     }
 
     /**
@@ -95,15 +115,10 @@ public class FlagdCore implements Evaluator {
     @Override
     public void setFlags(String flagConfigurationJson) throws FlagStoreException {
         try {
-            FlagParsingResult parsingResult = FlagParser.parseString(flagConfigurationJson, throwIfInvalid);
-            writeLock.lock();
-            try {
-                flags.clear();
-                flags.putAll(parsingResult.getFlags());
-                flagSetMetadata.clear();
-                flagSetMetadata.putAll(parsingResult.getFlagSetMetadata());
-            } finally {
-                writeLock.unlock();
+            FlagParsingResult parsingResult = FlagParser.parseString(
+                    flagConfigurationJson, throwIfInvalid, snapshot.toParsingResult(), shouldValidateSchema());
+            synchronized (updateLock) {
+                snapshot = new FlagSnapshot(parsingResult.getFlags(), parsingResult.getFlagSetMetadata());
             }
         } catch (IOException e) {
             throw new FlagStoreException("Failed to parse flag configuration", e);
@@ -120,24 +135,84 @@ public class FlagdCore implements Evaluator {
     @Override
     public List<String> setFlagsAndGetChangedKeys(String flagConfigurationJson) throws FlagStoreException {
         try {
-            FlagParsingResult parsingResult = FlagParser.parseString(flagConfigurationJson, throwIfInvalid);
-            List<String> changedKeys;
-            writeLock.lock();
-            try {
-                changedKeys = getChangedFlagsKeys(parsingResult.getFlags());
-                flags.clear();
-                flags.putAll(parsingResult.getFlags());
-                flagSetMetadata.clear();
-                flagSetMetadata.putAll(parsingResult.getFlagSetMetadata());
-            } finally {
-                writeLock.unlock();
-            }
-            return changedKeys;
+            // unchanged flags are reused and the changed keys are collected while parsing
+            final FlagSnapshot previous = snapshot;
+            return publish(
+                    previous,
+                    FlagParser.parseString(
+                            flagConfigurationJson, throwIfInvalid, previous.toParsingResult(), shouldValidateSchema()));
         } catch (IOException e) {
             throw new FlagStoreException("Failed to parse flag configuration", e);
         }
     }
 
+    /**
+     * Set flag configurations read from a stream and return the list of changed flag keys. The configuration is
+     * parsed while it is read, without copying it into a string.
+     *
+     * @param flagConfigurationJson the flag configuration JSON
+     * @return the list of changed flag keys
+     * @throws FlagStoreException if reading or parsing fails
+     */
+    @Override
+    public List<String> setFlagsAndGetChangedKeys(InputStream flagConfigurationJson) throws FlagStoreException {
+        try {
+            final FlagSnapshot previous = snapshot;
+            return publish(
+                    previous,
+                    FlagParser.parseStream(
+                            flagConfigurationJson, throwIfInvalid, previous.toParsingResult(), shouldValidateSchema()));
+        } catch (IOException e) {
+            throw new FlagStoreException("Failed to parse flag configuration", e);
+        }
+    }
+
+    /**
+     * Apply incremental flag changes and return the list of changed flag keys. Only the upserted flags are parsed,
+     * the other flags are taken over from the current snapshot.
+     *
+     * @param flagChangesJson the flag changes JSON
+     * @return the list of changed flag keys
+     * @throws FlagStoreException if parsing fails
+     */
+    @Override
+    public List<String> updateFlagsAndGetChangedKeys(String flagChangesJson) throws FlagStoreException {
+        try {
+            // changes apply to the current snapshot, so concurrent updates are applied one after the other
+            synchronized (updateLock) {
+                final FlagParsingResult parsingResult = FlagParser.parseChanges(
+                        flagChangesJson, throwIfInvalid, snapshot.toParsingResult(), shouldValidateSchema());
+                snapshot = new FlagSnapshot(parsingResult.getFlags(), parsingResult.getFlagSetMetadata());
+                return parsingResult.getChangedFlagKeys();
+            }
+        } catch (IOException e) {
+            throw new FlagStoreException("Failed to parse flag changes", e);
+        }
+    }
+
+    private List<String> publish(FlagSnapshot previous, FlagParsingResult parsingResult) {
+        synchronized (updateLock) {
+            // a concurrent update was published while parsing, diff against it instead
+            final List<String> changedKeys = snapshot == previous
+                    ? parsingResult.getChangedFlagKeys()
+                    : getChangedFlagsKeys(snapshot.getFlags(), parsingResult.getFlags());
+            snapshot = new FlagSnapshot(parsingResult.getFlags(), parsingResult.getFlagSetMetadata());
+            return changedKeys;
+        }
+    }
+
+    private boolean shouldValidateSchema() {
+        final long sync = syncCount.getAndIncrement();
+        switch (schemaValidation) {
+            case FIRST_SYNC:
+                return sync == 0;
+            case SAMPLED:
+                return sync % SCHEMA_VALIDATION_SAMPLE_INTERVAL == 0;
+            default:
+                return true;
+        }
+    }
+
     /**
      * Get the current flag set metadata.
      *
@@ -145,12 +220,7 @@ public class FlagdCore implements Evaluator {
      */
     @Override
     public Map<String, Object> getFlagSetMetadata() {
-        readLock.lock();
-        try {
-            return Collections.unmodifiableMap(new HashMap<>(flagSetMetadata));
-        } finally {
-            readLock.unlock();
-        }
+        return snapshot.getFlagSetMetadata();
     }
 
     @Override
@@ -177,7 +247,69 @@ public class FlagdCore implements Evaluator {
 
     @Override
     public ProviderEvaluation<Value> resolveObjectValue(String flagKey, Value defaultValue, EvaluationContext ctx) {
-        final ProviderEvaluation<Object> evaluation = resolve(Object.class, flagKey, defaultValue, ctx);
+        return resolveValue(snapshot, flagKey, defaultValue, ctx, null);
+    }
+
+    /**
+     * Resolve all flags against the same evaluation context. All flags are resolved from the same flag
+     * configuration, and the context is converted once for all targeting rules.
+     *
+     * @param ctx the evaluation context
+     * @return the resolution results by flag key
+     */
+    @Override
+    public Map<String, ProviderEvaluation<Value>> resolveAll(EvaluationContext ctx) {
+        final FlagSnapshot currentSnapshot = snapshot;
+        return resolveAll(currentSnapshot, currentSnapshot.getFlags().keySet(), ctx);
+    }
+
+    /**
+     * Resolve the given flags against the same evaluation context. All flags are resolved from the same flag
+     * configuration, and the context is converted once for all targeting rules.
+     *
+     * @param flagKeys the keys of the flags to resolve
+     * @param ctx      the evaluation context
+     * @return the resolution results by flag key
+     */
+    @Override
+    public Map<String, ProviderEvaluation<Value>> resolveAll(Collection<String> flagKeys, EvaluationContext ctx) {
+        return resolveAll(snapshot, flagKeys, ctx);
+    }
+
+    private Map<String, ProviderEvaluation<Value>> resolveAll(
+            FlagSnapshot currentSnapshot, Collection<String> flagKeys, EvaluationContext ctx) {
+        final TargetingContext targetingCtx = new TargetingContext(ctx);
+        final Map<String, ProviderEvaluation<Value>> results = new HashMap<>((int) (flagKeys.size() / 0.75f) + 1);
+        for (String flagKey : flagKeys) {
+            ProviderEvaluation<Value> result;
+            try {
+                result = resolveValue(currentSnapshot, flagKey, null, ctx, targetingCtx);
+            } catch (OpenFeatureError e) {
+                result = ProviderEvaluation.<Value>builder()
+                        .reason(Reason.ERROR.toString())
+                        .errorCode(e.getErrorCode())
+                        .errorMessage(e.getMessage())
+                        .build();
+            }
+            results.put(flagKey, result);
+        }
+        return Collections.unmodifiableMap(results);
+    }
+
+    private ProviderEvaluation<Value> resolveValue(
+            FlagSnapshot currentSnapshot,
+            String flagKey,
+            Value defaultValue,
+            EvaluationContext ctx,
+            TargetingContext targetingCtx) {
+        final FeatureFlag flag = currentSnapshot.getFlags().get(flagKey);
+        final ProviderEvaluation<Value> staticEvaluation = flag != null ? flag.getStaticEvaluation(Value.class) : null;
+        if (staticEvaluation != null) {
+            return staticEvaluation;
+        }
+
+        final ProviderEvaluation<Object> evaluation =
+                resolve(currentSnapshot, Object.class, flagKey, defaultValue, ctx, targetingCtx);
 
         return ProviderEvaluation.<Value>builder()
                 .value(evaluation.getValue() != null ? Value.objectToValue(evaluation.getValue()) : null)
@@ -190,23 +322,24 @@ public class FlagdCore implements Evaluator {
     }
 
     private <T> ProviderEvaluation<T> resolve(Class<T> type, String key, T defaultValue, EvaluationContext ctx) {
-        final FeatureFlag flag;
-        final Map<String, Object> currentFlagSetMetadata;
+        return resolve(snapshot, type, key, defaultValue, ctx, null);
+    }
 
-        readLock.lock();
-        try {
-            flag = flags.get(key);
-            currentFlagSetMetadata = new HashMap<>(flagSetMetadata);
-        } finally {
-            readLock.unlock();
-        }
+    private <T> ProviderEvaluation<T> resolve(
+            FlagSnapshot currentSnapshot,
+            Class<T> type,
+            String key,
+            T defaultValue,
+            EvaluationContext ctx,
+            TargetingContext targetingCtx) {
+        final FeatureFlag flag = currentSnapshot.getFlags().get(key);
 
         // missing flag
         if (flag == null) {
             return ProviderEvaluation.<T>builder()
                     .errorMessage("flag: " + key + " not found")
                     .errorCode(ErrorCode.FLAG_NOT_FOUND)
-                    .flagMetadata(getFlagMetadata(currentFlagSetMetadata, null))
+                    .flagMetadata(getFlagMetadata(currentSnapshot, null))
                     .build();
         }
 
@@ -215,10 +348,16 @@ public class FlagdCore implements Evaluator {
             return ProviderEvaluation.<T>builder()
                     .value(defaultValue)
                     .reason(Reason.DISABLED.toString())
-                    .flagMetadata(getFlagMetadata(currentFlagSetMetadata, flag))
+                    .flagMetadata(getFlagMetadata(currentSnapshot, flag))
                     .build();
         }
 
+        // enabled flags without targeting resolve to a precomputed result
+        final ProviderEvaluation<T> staticEvaluation = flag.getStaticEvaluation(type);
+        if (staticEvaluation != null) {
+            return staticEvaluation;
+        }
+
         final String resolvedVariant;
         final String reason;
 
@@ -227,7 +366,8 @@ public class FlagdCore implements Evaluator {
             reason = Reason.STATIC.toString();
         } else {
             try {
-                final Object jsonResolved = operator.apply(key, flag.getTargeting(), ctx);
+                // rules that could not be parsed during sync report their error here
+                final Object jsonResolved = applyTargeting(key, flag, ctx, targetingCtx);
                 if (jsonResolved == null) {
                     resolvedVariant = flag.getDefaultVariant();
                     reason = Reason.DEFAULT.toString();
@@ -249,7 +389,7 @@ public class FlagdCore implements Evaluator {
                 return ProviderEvaluation.<T>builder()
                         .value(defaultValue)
                         .reason(Reason.DEFAULT.toString())
-                        .flagMetadata(getFlagMetadata(currentFlagSetMetadata, flag))
+                        .flagMetadata(getFlagMetadata(currentSnapshot, flag))
                         .build();
             }
 
@@ -274,56 +414,36 @@ public class FlagdCore implements Evaluator {
                 .value((T) value)
                 .variant(resolvedVariant)
                 .reason(reason)
-                .flagMetadata(getFlagMetadata(currentFlagSetMetadata, flag))
+                .flagMetadata(getFlagMetadata(currentSnapshot, flag))
                 .build();
     }
 
-    private static ImmutableMetadata getFlagMetadata(Map<String, Object> currentFlagSetMetadata, FeatureFlag flag) {
-        ImmutableMetadata.ImmutableMetadataBuilder metadataBuilder = ImmutableMetadata.builder();
-
-        if (currentFlagSetMetadata != null) {
-            for (Map.Entry<String, Object> entry : currentFlagSetMetadata.entrySet()) {
-                addEntryToMetadataBuilder(metadataBuilder, entry.getKey(), entry.getValue());
-            }
-        }
-
-        if (flag != null && flag.getMetadata() != null) {
-            for (Map.Entry<String, Object> entry : flag.getMetadata().entrySet()) {
-                addEntryToMetadataBuilder(metadataBuilder, entry.getKey(), entry.getValue());
-            }
+    private Object applyTargeting(String key, FeatureFlag flag, EvaluationContext ctx, TargetingContext targetingCtx)
+            throws TargetingRuleException {
+        final TargetingRule targetingRule = flag.getTargetingRule();
+        if (targetingCtx == null) {
+            return targetingRule != null
+                    ? operator.apply(key, targetingRule, ctx)
+                    : operator.apply(key, flag.getTargeting(), ctx);
         }
-
-        return metadataBuilder.build();
+        return targetingRule != null
+                ? operator.apply(key, targetingRule, targetingCtx)
+                : operator.apply(key, flag.getTargeting(), targetingCtx);
     }
 
-    private static void addEntryToMetadataBuilder(
-            ImmutableMetadata.ImmutableMetadataBuilder metadataBuilder, String key, Object value) {
-        if (value instanceof Number) {
-            if (value instanceof Long) {
-                metadataBuilder.addLong(key, (Long) value);
-                return;
-            } else if (value instanceof Double) {
-                metadataBuilder.addDouble(key, (Double) value);
-                return;
-            } else if (value instanceof Integer) {
-                metadataBuilder.addInteger(key, (Integer) value);
-                return;
-            } else if (value instanceof Float) {
-                metadataBuilder.addFloat(key, (Float) value);
-                return;
-            }
-        } else if (value instanceof Boolean) {
-            metadataBuilder.addBoolean(key, (Boolean) value);
-            return;
-        } else if (value instanceof String) {
-            metadataBuilder.addString(key, (String) value);
-            return;
+    private static ImmutableMetadata getFlagMetadata(FlagSnapshot currentSnapshot, FeatureFlag flag) {
+        final ImmutableMetadata precomputed =
+                flag == null ? currentSnapshot.getFlagSetImmutableMetadata() : flag.getMergedMetadata();
+        if (precomputed != null) {
+            return precomputed;
         }
-        throw new IllegalArgumentException(
-                "The type of the Metadata entry with key " + key + " and value " + value + " is not supported");
+
+        // not precomputed, building it again reports unsupported metadata entries
+        return MetadataConverter.toImmutableMetadata(
+                currentSnapshot.getFlagSetMetadata(), flag == null ? null : flag.getMetadata());
     }
 
-    private List<String> getChangedFlagsKeys(Map<String, FeatureFlag> newFlags) {
+    private static List<String> getChangedFlagsKeys(Map<String, FeatureFlag> flags, Map<String, FeatureFlag> newFlags) {
         // keys for flags that are new or have changed
         Stream<String> addedOrUpdated = newFlags.entrySet().stream()
                 .filter(entry -> {
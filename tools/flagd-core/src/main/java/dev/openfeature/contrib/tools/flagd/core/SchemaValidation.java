@@ -0,0 +1,23 @@
+package dev.openfeature.contrib.tools.flagd.core;
+
+/**
+ * When {@link FlagdCore} validates flag configurations against the flagd schema.
+ *
+ * <p>Validating a large configuration takes most of the time of a sync. Configurations that are not validated
+ * are still parsed, and flags that can not be parsed are reported as before, but schema violations such as
+ * unknown properties or invalid targeting operators are not detected.
+ */
+public enum SchemaValidation {
+    /**
+     * Validate every configuration.
+     */
+    ALWAYS,
+    /**
+     * Validate the first configuration and then every {@link FlagdCore#SCHEMA_VALIDATION_SAMPLE_INTERVAL}th one.
+     */
+    SAMPLED,
+    /**
+     * Validate the first configuration only.
+     */
+    FIRST_SYNC
+}
@@ -1,12 +1,22 @@
 package dev.openfeature.contrib.tools.flagd.core.model;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import dev.openfeature.contrib.tools.flagd.core.targeting.TargetingRule;
+import dev.openfeature.sdk.ImmutableMetadata;
+import dev.openfeature.sdk.ProviderEvaluation;
+import dev.openfeature.sdk.Reason;
+import dev.openfeature.sdk.Value;
+import dev.openfeature.sdk.exceptions.TypeMismatchError;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.security.MessageDigest;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
@@ -31,6 +41,46 @@ public class FeatureFlag {
     private final String targeting;
     private final Map<String, Object> metadata;
 
+    // derived from the fields above and the flag set metadata when the configuration is parsed
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private TargetingRule targetingRule;
+
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private ImmutableMetadata mergedMetadata;
+
+    // hash of the flag's JSON configuration, used to reuse this instance when the flag did not change
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private byte[] contentHash;
+
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private ProviderEvaluation<Boolean> staticBooleanEvaluation;
+
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private ProviderEvaluation<String> staticStringEvaluation;
+
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private ProviderEvaluation<Integer> staticIntegerEvaluation;
+
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private ProviderEvaluation<Double> staticDoubleEvaluation;
+
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private ProviderEvaluation<Value> staticValueEvaluation;
+
     /**
      * Construct a flagd feature flag.
      *
@@ -82,4 +132,133 @@ public class FeatureFlag {
     public String getTargeting() {
         return this.targeting == null ? EMPTY_TARGETING_STRING : this.targeting;
     }
+
+    /**
+     * Get the targeting rule parsed when the configuration was synced.
+     *
+     * @return the parsed targeting rule, or null if the flag has no targeting or it could not be parsed
+     */
+    public TargetingRule getTargetingRule() {
+        return targetingRule;
+    }
+
+    void setTargetingRule(TargetingRule targetingRule) {
+        this.targetingRule = targetingRule;
+    }
+
+    void setContentHash(byte[] contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    boolean hasContentHash(byte[] hash) {
+        return contentHash != null && MessageDigest.isEqual(contentHash, hash);
+    }
+
+    /**
+     * Copy the flag configuration, sharing the parsed targeting rule and content hash. The copy is not precomputed.
+     *
+     * @return the copy
+     */
+    FeatureFlag copy() {
+        final FeatureFlag copy = new FeatureFlag(state, defaultVariant, variants, targeting, metadata);
+        copy.targetingRule = targetingRule;
+        copy.contentHash = contentHash;
+        return copy;
+    }
+
+    /**
+     * Get the flag metadata merged with the flag set metadata.
+     * It is computed once when the configuration is parsed.
+     *
+     * @return the merged metadata, or null if it was not computed or contains unsupported entries
+     */
+    public ImmutableMetadata getMergedMetadata() {
+        return mergedMetadata;
+    }
+
+    /**
+     * Get the evaluation result of an enabled flag without targeting. The result is computed once when the
+     * configuration is parsed and shared by all evaluations, it must not be modified.
+     *
+     * @param type the requested value type, one of Boolean, String, Integer, Double or {@link Value}
+     * @param <T>  the value type
+     * @return the shared evaluation, or null if the flag has to be evaluated
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ProviderEvaluation<T> getStaticEvaluation(Class<T> type) {
+        if (type == Boolean.class) {
+            return (ProviderEvaluation<T>) staticBooleanEvaluation;
+        } else if (type == String.class) {
+            return (ProviderEvaluation<T>) staticStringEvaluation;
+        } else if (type == Integer.class) {
+            return (ProviderEvaluation<T>) staticIntegerEvaluation;
+        } else if (type == Double.class) {
+            return (ProviderEvaluation<T>) staticDoubleEvaluation;
+        } else if (type == Value.class) {
+            return (ProviderEvaluation<T>) staticValueEvaluation;
+        }
+        return null;
+    }
+
+    /**
+     * Compute the merged metadata and the static evaluation results of this flag.
+     *
+     * @param flagSetMetadata the metadata of the flag set this flag belongs to
+     */
+    void precompute(final Map<String, Object> flagSetMetadata) {
+        try {
+            mergedMetadata = MetadataConverter.toImmutableMetadata(flagSetMetadata, metadata);
+        } catch (IllegalArgumentException e) {
+            // unsupported entries are reported when the flag is evaluated
+            return;
+        }
+
+        if ("DISABLED".equals(state) || !EMPTY_TARGETING_STRING.equals(getTargeting()) || variants == null) {
+            return;
+        }
+
+        final Object value = variants.get(defaultVariant);
+        if (value == null) {
+            return;
+        }
+
+        staticBooleanEvaluation = staticEvaluation(Boolean.class, value);
+        staticStringEvaluation = staticEvaluation(String.class, value);
+        staticIntegerEvaluation = staticEvaluation(Integer.class, value);
+        staticDoubleEvaluation = staticEvaluation(Double.class, value);
+
+        // structures and lists are mutable, only share immutable values
+        if (!(value instanceof Map) && !(value instanceof List)) {
+            try {
+                staticValueEvaluation = ProviderEvaluation.<Value>builder()
+                        .value(Value.objectToValue(value))
+                        .variant(defaultVariant)
+                        .reason(Reason.STATIC.toString())
+                        .flagMetadata(mergedMetadata)
+                        .build();
+            } catch (TypeMismatchError e) {
+                // unsupported values are reported when the flag is evaluated
+                staticValueEvaluation = null;
+            }
+        }
+    }
+
+    private <T> ProviderEvaluation<T> staticEvaluation(Class<T> type, Object variantValue) {
+        Object value = variantValue;
+        if (value instanceof Integer && type == Double.class) {
+            value = ((Integer) value).doubleValue();
+        } else if (value instanceof Double && type == Integer.class) {
+            value = ((Double) value).intValue();
+        }
+        if (!type.isInstance(value)) {
+            return null;
+        }
+
+        return ProviderEvaluation.<T>builder()
+                .value(type.cast(value))
+                .variant(defaultVariant)
+                .reason(Reason.STATIC.toString())
+                .flagMetadata(mergedMetadata)
+                .build();
+    }
 }
@@ -1,18 +1,32 @@
 package dev.openfeature.contrib.tools.flagd.core.model;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.TreeNode;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.networknt.schema.JsonSchema;
 import com.networknt.schema.JsonSchemaFactory;
 import com.networknt.schema.SpecVersion;
 import com.networknt.schema.ValidationMessage;
+import dev.openfeature.contrib.tools.flagd.core.targeting.TargetingRule;
+import dev.openfeature.contrib.tools.flagd.core.targeting.TargetingRuleException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -27,6 +41,11 @@ public class FlagParser {
     private static final String FLAG_KEY = "flags";
     private static final String METADATA_KEY = "metadata";
     private static final String EVALUATOR_KEY = "$evaluators";
+    private static final String REF_KEY = "$ref";
+    private static final String UPSERTS_KEY = "upserts";
+    private static final String DELETES_KEY = "deletes";
+    // bounds the resolution of evaluators referencing each other
+    private static final int MAX_EVALUATOR_DEPTH = 32;
     private static final ObjectMapper MAPPER = new ObjectMapper();
     private static JsonSchema SCHEMA_VALIDATOR;
 
@@ -61,79 +80,467 @@ public class FlagParser {
      * @throws IOException if parsing fails
      */
     public static FlagParsingResult parseString(final String configuration, boolean throwIfInvalid) throws IOException {
-        if (SCHEMA_VALIDATOR != null) {
-            try (JsonParser parser = MAPPER.createParser(configuration)) {
-                Set<ValidationMessage> validationMessages = SCHEMA_VALIDATOR.validate(parser.readValueAsTree());
-
-                if (!validationMessages.isEmpty()) {
-                    List<String> distinctMessages = validationMessages.stream()
-                            .map(ValidationMessage::toString)
-                            .distinct()
-                            .collect(Collectors.toList());
-                    String message = String.format("Invalid flag configuration: %s", distinctMessages);
-                    log.warn(message);
-                    if (throwIfInvalid) {
-                        throw new IllegalArgumentException(message);
+        return parseString(configuration, throwIfInvalid, null);
+    }
+
+    /**
+     * Parse {@link String} for feature flags, reusing the flags of a previous parsing result whose configuration
+     * did not change. Each flag's JSON is hashed while parsing, flags with the same hash and flag set metadata are
+     * taken over from the previous result, including their parsed targeting rule and precomputed evaluations.
+     * The keys of the flags that were added, changed or removed are collected in the same pass.
+     *
+     * @param configuration  the flag configuration JSON string
+     * @param throwIfInvalid whether to throw an exception if the configuration is
+     *                       invalid
+     * @param previous       the result of the previous parsing, may be null
+     * @return the parsing result containing flags, metadata and changed flag keys
+     * @throws IOException if parsing fails
+     */
+    public static FlagParsingResult parseString(
+            final String configuration, boolean throwIfInvalid, final FlagParsingResult previous) throws IOException {
+        return parseString(configuration, throwIfInvalid, previous, true);
+    }
+
+    /**
+     * Parse {@link String} for feature flags, reusing the flags of a previous parsing result whose configuration
+     * did not change, optionally skipping the schema validation.
+     *
+     * <p>The configuration is parsed once. {@code $evaluators} references are resolved on the parsed tree and
+     * the schema validation, if requested, validates the same tree.
+     *
+     * @param configuration  the flag configuration JSON string
+     * @param throwIfInvalid whether to throw an exception if the configuration is
+     *                       invalid
+     * @param previous       the result of the previous parsing, may be null
+     * @param validateSchema whether to validate the configuration against the flagd schema
+     * @return the parsing result containing flags, metadata and changed flag keys
+     * @throws IOException if parsing fails
+     */
+    public static FlagParsingResult parseString(
+            final String configuration,
+            boolean throwIfInvalid,
+            final FlagParsingResult previous,
+            boolean validateSchema)
+            throws IOException {
+        return parse(MAPPER.readTree(configuration), throwIfInvalid, previous, validateSchema);
+    }
+
+    /**
+     * Parse a flag configuration from a stream, as {@link #parseString(String, boolean, FlagParsingResult, boolean)}
+     * does for a string. The JSON is parsed while it is read, without holding the whole configuration in memory
+     * as a string. The stream is not closed.
+     *
+     * <p>Without schema validation, which needs the whole document, the flags are read one at a time: each flag is
+     * hashed and parsed as soon as it was read, so the memory needed to load a large configuration stays close to
+     * the size of the parsed flags. Only flags referencing {@code $evaluators} declared after them are kept until
+     * the end of the document.
+     *
+     * @param configuration  the flag configuration JSON, encoded in UTF-8, UTF-16 or UTF-32
+     * @param throwIfInvalid whether to throw an exception if the configuration is
+     *                       invalid
+     * @param previous       the result of the previous parsing, may be null
+     * @param validateSchema whether to validate the configuration against the flagd schema
+     * @return the parsing result containing flags, metadata and changed flag keys
+     * @throws IOException if reading or parsing fails
+     */
+    public static FlagParsingResult parseStream(
+            final InputStream configuration,
+            boolean throwIfInvalid,
+            final FlagParsingResult previous,
+            boolean validateSchema)
+            throws IOException {
+        try (JsonParser parser = MAPPER.createParser(configuration)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            if (validateSchema && SCHEMA_VALIDATOR != null) {
+                return parse(parser.readValueAsTree(), throwIfInvalid, previous, true);
+            }
+            return parse(parser, throwIfInvalid, previous);
+        }
+    }
+
+    private static FlagParsingResult parse(
+            final JsonParser parser, boolean throwIfInvalid, final FlagParsingResult previous) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IllegalArgumentException("No flag configurations found in the payload");
+        }
+
+        final Map<String, FeatureFlag> previousFlags = previous == null ? Collections.emptyMap() : previous.getFlags();
+        final MessageDigest digest = newDigest();
+        // flags in document order, flags waiting for evaluators declared after them are null until the end
+        final Map<String, FeatureFlag> flagMap = new LinkedHashMap<>();
+        final Map<String, JsonNode> pendingFlags = new HashMap<>();
+        Map<String, Object> flagSetMetadata = null;
+        JsonNode evaluators = null;
+        boolean hasFlags = false;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.currentName();
+            parser.nextToken();
+            if (FLAG_KEY.equals(field)) {
+                hasFlags = true;
+                flagMap.clear();
+                pendingFlags.clear();
+                if (parser.currentToken() != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    continue;
+                }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final String key = parser.currentName();
+                    parser.nextToken();
+                    final JsonNode flagJson = parser.readValueAsTree();
+                    if (evaluators == null && hasReference(flagJson)) {
+                        pendingFlags.put(key, flagJson);
+                        flagMap.put(key, null);
+                        continue;
                     }
+
+                    // until the flag set metadata was read, flags are reused assuming it did not change
+                    final boolean reusable = previous != null
+                            && (flagSetMetadata == null || flagSetMetadata.equals(previous.getFlagSetMetadata()));
+                    pendingFlags.remove(key);
+                    flagMap.put(
+                            key,
+                            parseFlag(
+                                    key,
+                                    resolveEvaluators(flagJson, evaluators),
+                                    reusable ? previousFlags.get(key) : null,
+                                    digest,
+                                    throwIfInvalid));
                 }
+            } else if (METADATA_KEY.equals(field)) {
+                flagSetMetadata = parseMetadata(parser.readValueAsTree());
+            } else if (EVALUATOR_KEY.equals(field)) {
+                evaluators = parser.readValueAsTree();
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        if (!hasFlags) {
+            throw new IllegalArgumentException("No flag configurations found in the payload");
+        }
+        if (flagSetMetadata == null) {
+            flagSetMetadata = parseMetadata(null);
+        }
+
+        final boolean sameFlagSetMetadata = previous != null && flagSetMetadata.equals(previous.getFlagSetMetadata());
+        final List<String> changedFlagKeys = new ArrayList<>();
+        for (Map.Entry<String, FeatureFlag> entry : flagMap.entrySet()) {
+            final String key = entry.getKey();
+            final FeatureFlag previousFlag = previousFlags.get(key);
+            FeatureFlag flag = entry.getValue();
+            if (flag == null) {
+                flag = parseFlag(
+                        key,
+                        resolveEvaluators(pendingFlags.get(key), evaluators),
+                        sameFlagSetMetadata ? previousFlag : null,
+                        digest,
+                        throwIfInvalid);
+            } else if (flag == previousFlag && !sameFlagSetMetadata) {
+                // taken over before the changed flag set metadata was read
+                flag = flag.copy();
             }
+            if (flag != previousFlag) {
+                flag.precompute(flagSetMetadata);
+            }
+            entry.setValue(flag);
+
+            if (flag != previousFlag && (previousFlag == null || !previousFlag.equals(flag))) {
+                changedFlagKeys.add(key);
+            }
+        }
+
+        for (String previousKey : previousFlags.keySet()) {
+            if (!flagMap.containsKey(previousKey)) {
+                changedFlagKeys.add(previousKey);
+            }
+        }
+
+        return new FlagParsingResult(flagMap, flagSetMetadata, changedFlagKeys);
+    }
+
+    private static FlagParsingResult parse(
+            final JsonNode root, boolean throwIfInvalid, final FlagParsingResult previous, boolean validateSchema)
+            throws IOException {
+        final Map<String, FeatureFlag> previousFlags = previous == null ? Collections.emptyMap() : previous.getFlags();
+
+        if (validateSchema) {
+            validate(root, throwIfInvalid);
+        }
+
+        final JsonNode flagNode = root == null ? null : root.get(FLAG_KEY);
+        if (flagNode == null) {
+            throw new IllegalArgumentException("No flag configurations found in the payload");
         }
 
-        final String transposedConfiguration = transposeEvaluators(configuration);
+        final Map<String, Object> flagSetMetadata = parseMetadata(root.get(METADATA_KEY));
+        final JsonNode evaluators = root.get(EVALUATOR_KEY);
+
+        // precomputed evaluations embed the flag set metadata, flags can only be reused if it did not change
+        final boolean sameFlagSetMetadata = previous != null && flagSetMetadata.equals(previous.getFlagSetMetadata());
+        final MessageDigest digest = newDigest();
 
         final Map<String, FeatureFlag> flagMap = new HashMap<>();
-        final Map<String, Object> flagSetMetadata;
-        try (JsonParser parser = MAPPER.createParser(transposedConfiguration)) {
-            final TreeNode treeNode = parser.readValueAsTree();
-            final TreeNode flagNode = treeNode.get(FLAG_KEY);
-            final TreeNode metadataNode = treeNode.get(METADATA_KEY);
-            flagSetMetadata = parseMetadata(metadataNode);
+        final List<String> changedFlagKeys = new ArrayList<>();
+        final Iterator<Map.Entry<String, JsonNode>> it = flagNode.fields();
+        while (it.hasNext()) {
+            final Map.Entry<String, JsonNode> entry = it.next();
+            final String key = entry.getKey();
+            final FeatureFlag previousFlag = previousFlags.get(key);
+            final FeatureFlag flag = parseFlag(
+                    key,
+                    resolveEvaluators(entry.getValue(), evaluators),
+                    sameFlagSetMetadata ? previousFlag : null,
+                    digest,
+                    throwIfInvalid);
+            if (flag != previousFlag) {
+                flag.precompute(flagSetMetadata);
+            }
+            flagMap.put(key, flag);
+
+            if (flag != previousFlag && (previousFlag == null || !previousFlag.equals(flag))) {
+                changedFlagKeys.add(key);
+            }
+        }
+
+        for (String previousKey : previousFlags.keySet()) {
+            if (!flagMap.containsKey(previousKey)) {
+                changedFlagKeys.add(previousKey);
+            }
+        }
+
+        return new FlagParsingResult(flagMap, flagSetMetadata, changedFlagKeys);
+    }
+
+    /**
+     * Apply incremental flag changes to a previous parsing result. Only the upserted flags are parsed, the other
+     * flags of the previous result are kept as they are, as is its flag set metadata.
+     *
+     * <p>The changes are a JSON object with the flags to add or replace by key in {@code upserts}, the keys of the
+     * flags to remove in {@code deletes}, and optionally the {@code $evaluators} referenced by the upserted flags.
+     * A flag both deleted and upserted is replaced. If requested, the upserted flags are validated against the flagd
+     * schema as the flags of a configuration.
+     *
+     * @param changes        the flag changes JSON string
+     * @param throwIfInvalid whether to throw an exception if the changes are invalid
+     * @param previous       the result of the previous parsing, may be null
+     * @param validateSchema whether to validate the upserted flags against the flagd schema
+     * @return the parsing result containing all flags, the previous metadata and the changed flag keys
+     * @throws IOException if parsing fails
+     */
+    public static FlagParsingResult parseChanges(
+            final String changes, boolean throwIfInvalid, final FlagParsingResult previous, boolean validateSchema)
+            throws IOException {
+        final JsonNode root = MAPPER.readTree(changes);
+        final JsonNode upserts = root == null ? null : root.get(UPSERTS_KEY);
+        final JsonNode deletes = root == null ? null : root.get(DELETES_KEY);
+        if (upserts == null && deletes == null) {
+            throw new IllegalArgumentException("No flag changes found in the payload");
+        }
 
-            if (flagNode == null) {
-                throw new IllegalArgumentException("No flag configurations found in the payload");
+        final JsonNode evaluators = root.get(EVALUATOR_KEY);
+        if (validateSchema && upserts != null) {
+            final ObjectNode configuration = MAPPER.createObjectNode();
+            configuration.set(FLAG_KEY, upserts);
+            if (evaluators != null) {
+                configuration.set(EVALUATOR_KEY, evaluators);
             }
+            validate(configuration, throwIfInvalid);
+        }
+
+        final Map<String, FeatureFlag> flagMap =
+                previous == null ? new HashMap<>() : new HashMap<>(previous.getFlags());
+        final Map<String, Object> flagSetMetadata = previous == null ? new HashMap<>() : previous.getFlagSetMetadata();
+        final List<String> changedFlagKeys = new ArrayList<>();
 
-            final Iterator<String> it = flagNode.fieldNames();
+        if (deletes != null) {
+            for (JsonNode keyNode : deletes) {
+                final String key = keyNode.asText();
+                // a flag both deleted and upserted is replaced, and only reported if it changed
+                if ((upserts == null || !upserts.has(key)) && flagMap.remove(key) != null) {
+                    changedFlagKeys.add(key);
+                }
+            }
+        }
+
+        if (upserts != null) {
+            final MessageDigest digest = newDigest();
+            final Iterator<Map.Entry<String, JsonNode>> it = upserts.fields();
             while (it.hasNext()) {
-                final String key = it.next();
-                flagMap.put(key, MAPPER.treeToValue(flagNode.get(key), FeatureFlag.class));
+                final Map.Entry<String, JsonNode> entry = it.next();
+                final String key = entry.getKey();
+                final FeatureFlag previousFlag = flagMap.get(key);
+                final FeatureFlag flag = parseFlag(
+                        key, resolveEvaluators(entry.getValue(), evaluators), previousFlag, digest, throwIfInvalid);
+                if (flag != previousFlag) {
+                    flag.precompute(flagSetMetadata);
+                }
+                flagMap.put(key, flag);
+
+                if (flag != previousFlag && (previousFlag == null || !previousFlag.equals(flag))) {
+                    changedFlagKeys.add(key);
+                }
             }
         }
 
-        return new FlagParsingResult(flagMap, flagSetMetadata);
+        return new FlagParsingResult(flagMap, flagSetMetadata, changedFlagKeys);
     }
 
-    private static Map<String, Object> parseMetadata(TreeNode metadataNode) throws JsonProcessingException {
-        if (metadataNode == null) {
-            return new HashMap<>();
+    private static void validate(final JsonNode root, boolean throwIfInvalid) {
+        if (SCHEMA_VALIDATOR == null) {
+            return;
         }
 
-        TypeReference<Map<String, Object>> typeRef = new TypeReference<Map<String, Object>>() {};
-        return MAPPER.treeToValue(metadataNode, typeRef);
+        Set<ValidationMessage> validationMessages = SCHEMA_VALIDATOR.validate(root);
+        if (!validationMessages.isEmpty()) {
+            List<String> distinctMessages = validationMessages.stream()
+                    .map(ValidationMessage::toString)
+                    .distinct()
+                    .collect(Collectors.toList());
+            String message = String.format("Invalid flag configuration: %s", distinctMessages);
+            log.warn(message);
+            if (throwIfInvalid) {
+                throw new IllegalArgumentException(message);
+            }
+        }
     }
 
-    private static String transposeEvaluators(final String configuration) throws IOException {
-        try (JsonParser parser = MAPPER.createParser(configuration)) {
-            final TreeNode treeNode = parser.readValueAsTree();
-            final TreeNode evaluators = treeNode.get(EVALUATOR_KEY);
+    /**
+     * Parse a flag, or take over the previous flag if its configuration did not change. Parsed flags are not
+     * precomputed yet.
+     *
+     * @param previousFlag the flag to take over if it has the same content hash, null to always parse the flag
+     */
+    private static FeatureFlag parseFlag(
+            final String key,
+            final JsonNode flagJson,
+            final FeatureFlag previousFlag,
+            final MessageDigest digest,
+            boolean throwIfInvalid)
+            throws IOException {
+        final byte[] contentHash = contentHash(digest, flagJson);
+        if (previousFlag != null && previousFlag.hasContentHash(contentHash)) {
+            return previousFlag;
+        }
+
+        final FeatureFlag flag = MAPPER.treeToValue(flagJson, FeatureFlag.class);
+        flag.setContentHash(contentHash);
+        parseTargetingRule(key, flag, throwIfInvalid);
+        return flag;
+    }
+
+    private static JsonNode resolveEvaluators(final JsonNode flagJson, final JsonNode evaluators) {
+        return evaluators != null && evaluators.size() > 0 ? resolveEvaluators(flagJson, evaluators, 0) : flagJson;
+    }
+
+    /**
+     * Replace {@code {"$ref": "name"}} objects with the evaluator of that name. Evaluators may reference other
+     * evaluators. Containers are copied only along the paths that contain references.
+     */
+    private static JsonNode resolveEvaluators(final JsonNode node, final JsonNode evaluators, final int depth) {
+        if (node.isObject()) {
+            final JsonNode ref = node.size() == 1 ? node.get(REF_KEY) : null;
+            if (ref != null && ref.isTextual()) {
+                final JsonNode evaluator = evaluators.get(ref.textValue());
+                // unknown and circular references are left as they are
+                if (evaluator == null || depth >= MAX_EVALUATOR_DEPTH) {
+                    return node;
+                }
+                return resolveEvaluators(evaluator, evaluators, depth + 1);
+            }
 
-            if (evaluators == null || evaluators.size() == 0) {
-                return configuration;
+            ObjectNode resolvedNode = null;
+            final Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                final Map.Entry<String, JsonNode> field = fields.next();
+                final JsonNode resolved = resolveEvaluators(field.getValue(), evaluators, depth);
+                if (resolved != field.getValue()) {
+                    if (resolvedNode == null) {
+                        resolvedNode = MAPPER.createObjectNode().setAll((ObjectNode) node);
+                    }
+                    resolvedNode.set(field.getKey(), resolved);
+                }
+            }
+            return resolvedNode == null ? node : resolvedNode;
+        }
+
+        if (node.isArray()) {
+            ArrayNode resolvedNode = null;
+            for (int i = 0; i < node.size(); i++) {
+                final JsonNode element = node.get(i);
+                final JsonNode resolved = resolveEvaluators(element, evaluators, depth);
+                if (resolved != element) {
+                    if (resolvedNode == null) {
+                        resolvedNode = MAPPER.createArrayNode().addAll((ArrayNode) node);
+                    }
+                    resolvedNode.set(i, resolved);
+                }
+            }
+            return resolvedNode == null ? node : resolvedNode;
+        }
+
+        return node;
+    }
+
+    /**
+     * Whether the node contains a {@code {"$ref": "name"}} object, as replaced by {@link #resolveEvaluators}.
+     */
+    private static boolean hasReference(final JsonNode node) {
+        if (node.isObject()) {
+            final JsonNode ref = node.size() == 1 ? node.get(REF_KEY) : null;
+            if (ref != null && ref.isTextual()) {
+                return true;
+            }
+        }
+        if (node.isContainerNode()) {
+            for (JsonNode child : node) {
+                if (hasReference(child)) {
+                    return true;
+                }
             }
+        }
+        return false;
+    }
 
-            // round-trip to normalize whitespace so we can use plain string matching
-            String replacedConfigurations = MAPPER.writeValueAsString(MAPPER.readTree(configuration));
-            final Iterator<String> evalFields = evaluators.fieldNames();
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
 
-            while (evalFields.hasNext()) {
-                final String evalName = evalFields.next();
-                final String evaluator = evaluators.get(evalName).toString();
-                final String refPattern = "{\"$ref\":\"" + evalName + "\"}";
+    private static byte[] contentHash(final MessageDigest digest, final JsonNode node) throws IOException {
+        // serialize straight into the digest, without building the JSON string
+        try (JsonGenerator generator =
+                MAPPER.createGenerator(new DigestOutputStream(OutputStream.nullOutputStream(), digest))) {
+            generator.writeTree(node);
+        }
+        return digest.digest();
+    }
+
+    private static void parseTargetingRule(final String key, final FeatureFlag flag, boolean throwIfInvalid) {
+        if (FeatureFlag.EMPTY_TARGETING_STRING.equals(flag.getTargeting())) {
+            return;
+        }
 
-                replacedConfigurations = replacedConfigurations.replace(refPattern, evaluator);
+        try {
+            flag.setTargetingRule(TargetingRule.parse(flag.getTargeting()));
+        } catch (TargetingRuleException e) {
+            String message = String.format("Invalid targeting rule for flag %s", key);
+            log.warn(message, e);
+            if (throwIfInvalid) {
+                throw new IllegalArgumentException(message, e);
             }
+        }
+    }
 
-            return replacedConfigurations;
+    private static Map<String, Object> parseMetadata(JsonNode metadataNode) throws JsonProcessingException {
+        if (metadataNode == null) {
+            return new HashMap<>();
         }
+
+        TypeReference<Map<String, Object>> typeRef = new TypeReference<Map<String, Object>>() {};
+        return MAPPER.treeToValue(metadataNode, typeRef);
     }
 }
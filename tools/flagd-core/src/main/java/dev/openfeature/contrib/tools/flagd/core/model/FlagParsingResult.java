@@ -1,6 +1,8 @@
 package dev.openfeature.contrib.tools.flagd.core.model;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import lombok.Getter;
 
@@ -14,6 +16,8 @@ import lombok.Getter;
 public class FlagParsingResult {
     private final Map<String, FeatureFlag> flags;
     private final Map<String, Object> flagSetMetadata;
+    // keys of the flags added, changed or removed compared to the previous parsing result
+    private final List<String> changedFlagKeys;
 
     /**
      * Construct a parsing result.
@@ -22,7 +26,20 @@ public class FlagParsingResult {
      * @param flagSetMetadata the flag set metadata
      */
     public FlagParsingResult(Map<String, FeatureFlag> flags, Map<String, Object> flagSetMetadata) {
+        this(flags, flagSetMetadata, new ArrayList<>(flags.keySet()));
+    }
+
+    /**
+     * Construct a parsing result.
+     *
+     * @param flags           the parsed flags
+     * @param flagSetMetadata the flag set metadata
+     * @param changedFlagKeys the keys of the flags changed compared to the previous parsing result
+     */
+    public FlagParsingResult(
+            Map<String, FeatureFlag> flags, Map<String, Object> flagSetMetadata, List<String> changedFlagKeys) {
         this.flags = flags;
         this.flagSetMetadata = flagSetMetadata;
+        this.changedFlagKeys = changedFlagKeys;
     }
 }
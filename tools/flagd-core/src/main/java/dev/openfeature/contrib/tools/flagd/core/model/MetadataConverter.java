@@ -0,0 +1,67 @@
+package dev.openfeature.contrib.tools.flagd.core.model;
+
+import dev.openfeature.sdk.ImmutableMetadata;
+import java.util.Map;
+
+/**
+ * Converts parsed flag set and flag metadata into {@link ImmutableMetadata}.
+ */
+public final class MetadataConverter {
+
+    private MetadataConverter() {}
+
+    /**
+     * Merge flag set metadata and flag metadata into {@link ImmutableMetadata}. Flag metadata entries take
+     * precedence over flag set metadata entries with the same key.
+     *
+     * @param flagSetMetadata the flag set metadata, may be null
+     * @param flagMetadata    the flag metadata, may be null
+     * @return the merged metadata
+     * @throws IllegalArgumentException if an entry is not a string, number or boolean
+     */
+    public static ImmutableMetadata toImmutableMetadata(
+            Map<String, Object> flagSetMetadata, Map<String, Object> flagMetadata) {
+        ImmutableMetadata.ImmutableMetadataBuilder metadataBuilder = ImmutableMetadata.builder();
+
+        if (flagSetMetadata != null) {
+            for (Map.Entry<String, Object> entry : flagSetMetadata.entrySet()) {
+                addEntryToMetadataBuilder(metadataBuilder, entry.getKey(), entry.getValue());
+            }
+        }
+
+        if (flagMetadata != null) {
+            for (Map.Entry<String, Object> entry : flagMetadata.entrySet()) {
+                addEntryToMetadataBuilder(metadataBuilder, entry.getKey(), entry.getValue());
+            }
+        }
+
+        return metadataBuilder.build();
+    }
+
+    private static void addEntryToMetadataBuilder(
+            ImmutableMetadata.ImmutableMetadataBuilder metadataBuilder, String key, Object value) {
+        if (value instanceof Number) {
+            if (value instanceof Long) {
+                metadataBuilder.addLong(key, (Long) value);
+                return;
+            } else if (value instanceof Double) {
+                metadataBuilder.addDouble(key, (Double) value);
+                return;
+            } else if (value instanceof Integer) {
+                metadataBuilder.addInteger(key, (Integer) value);
+                return;
+            } else if (value instanceof Float) {
+                metadataBuilder.addFloat(key, (Float) value);
+                return;
+            }
+        } else if (value instanceof Boolean) {
+            metadataBuilder.addBoolean(key, (Boolean) value);
+            return;
+        } else if (value instanceof String) {
+            metadataBuilder.addString(key, (String) value);
+            return;
+        }
+        throw new IllegalArgumentException(
+                "The type of the Metadata entry with key " + key + " and value " + value + " is not supported");
+    }
+}
@@ -0,0 +1,208 @@
+package dev.openfeature.contrib.tools.flagd.core.targeting;
+
+import static dev.openfeature.contrib.tools.flagd.core.targeting.Operator.FLAGD_PROPS_KEY;
+import static dev.openfeature.contrib.tools.flagd.core.targeting.Operator.FLAG_KEY;
+import static dev.openfeature.contrib.tools.flagd.core.targeting.Operator.TARGET_KEY;
+import static dev.openfeature.contrib.tools.flagd.core.targeting.Operator.TIME_STAMP;
+
+import dev.openfeature.sdk.EvaluationContext;
+import dev.openfeature.sdk.Value;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.Getter;
+
+/**
+ * Read-only {@link Map} view of an {@link EvaluationContext}, used as JsonLogic data.
+ *
+ * <p>Context values are converted when a rule reads them, instead of copying the whole context into new maps
+ * for every evaluation. Structures and lists are exposed as views as well. The {@code targetingKey} and the
+ * {@code $flagd} properties are overlaid on top of the context attributes. Iterating the view materializes the
+ * entries, which only happens for operations enumerating the data such as {@code missing}.
+ */
+final class EvaluationContextView extends AbstractMap<String, Object> {
+
+    private final TargetingContext ctx;
+    private final FlagdProperties flagdProperties;
+    // the parsed rule being evaluated, null if it was given as a string
+    @Getter
+    private final TargetingRule targetingRule;
+
+    EvaluationContextView(final String flagKey, final long timestamp, final EvaluationContext ctx) {
+        this(flagKey, new TargetingContext(ctx, timestamp, false), null);
+    }
+
+    EvaluationContextView(final String flagKey, final TargetingContext ctx, final TargetingRule targetingRule) {
+        this.ctx = ctx;
+        this.flagdProperties = new FlagdProperties(flagKey, ctx.getTimestamp());
+        this.targetingRule = targetingRule;
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (TARGET_KEY.equals(key)) {
+            return ctx.getTargetingKey();
+        }
+        if (FLAGD_PROPS_KEY.equals(key)) {
+            return flagdProperties;
+        }
+        return ctx.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return TARGET_KEY.equals(key)
+                || FLAGD_PROPS_KEY.equals(key)
+                || ctx.attributes().containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        final Map<String, Value> contextAttributes = ctx.attributes();
+        int size = contextAttributes.size();
+        if (!contextAttributes.containsKey(TARGET_KEY)) {
+            size++;
+        }
+        if (!contextAttributes.containsKey(FLAGD_PROPS_KEY)) {
+            size++;
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return false;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        final Set<Entry<String, Object>> entries = new HashSet<>();
+        for (String key : ctx.attributes().keySet()) {
+            if (!TARGET_KEY.equals(key) && !FLAGD_PROPS_KEY.equals(key)) {
+                entries.add(new SimpleImmutableEntry<>(key, get(key)));
+            }
+        }
+        entries.add(new SimpleImmutableEntry<>(TARGET_KEY, ctx.getTargetingKey()));
+        entries.add(new SimpleImmutableEntry<>(FLAGD_PROPS_KEY, flagdProperties));
+        return Collections.unmodifiableSet(entries);
+    }
+
+    /**
+     * Convert a context value the same way {@link dev.openfeature.sdk.Structure#asObjectMap()} does, exposing
+     * structures and lists as views instead of copies.
+     */
+    static Object convert(final Value value) {
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        if (value.isStructure()) {
+            return new StructureView(value.asStructure().asUnmodifiableMap());
+        }
+        if (value.isList()) {
+            return new ListView(value.asList());
+        }
+        return value.asObject();
+    }
+
+    /**
+     * Read-only view of the attributes of a structure value.
+     */
+    static final class StructureView extends AbstractMap<String, Object> {
+        private final Map<String, Value> attributes;
+
+        StructureView(final Map<String, Value> attributes) {
+            this.attributes = attributes;
+        }
+
+        @Override
+        public Object get(Object key) {
+            return convert(attributes.get(key));
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return attributes.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return attributes.size();
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            final Set<Entry<String, Object>> entries = new HashSet<>();
+            for (Entry<String, Value> entry : attributes.entrySet()) {
+                entries.add(new SimpleImmutableEntry<>(entry.getKey(), convert(entry.getValue())));
+            }
+            return Collections.unmodifiableSet(entries);
+        }
+    }
+
+    /**
+     * Read-only view of the elements of a list value.
+     */
+    static final class ListView extends AbstractList<Object> {
+        private final List<Value> values;
+
+        ListView(final List<Value> values) {
+            this.values = values;
+        }
+
+        @Override
+        public Object get(int index) {
+            return convert(values.get(index));
+        }
+
+        @Override
+        public int size() {
+            return values.size();
+        }
+    }
+
+    /**
+     * The {@code $flagd} properties of an evaluation, the timestamp is boxed only if a rule reads it.
+     */
+    static final class FlagdProperties extends AbstractMap<String, Object> {
+        private final String flagKey;
+        private final long timestamp;
+
+        FlagdProperties(final String flagKey, final long timestamp) {
+            this.flagKey = flagKey;
+            this.timestamp = timestamp;
+        }
+
+        @Override
+        public Object get(Object key) {
+            if (FLAG_KEY.equals(key)) {
+                return flagKey;
+            }
+            if (TIME_STAMP.equals(key)) {
+                return timestamp;
+            }
+            return null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return FLAG_KEY.equals(key) || TIME_STAMP.equals(key);
+        }
+
+        @Override
+        public int size() {
+            return 2;
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            final Set<Entry<String, Object>> entries = new HashSet<>();
+            entries.add(new SimpleImmutableEntry<>(FLAG_KEY, flagKey));
+            entries.add(new SimpleImmutableEntry<>(TIME_STAMP, timestamp));
+            return Collections.unmodifiableSet(entries);
+        }
+    }
+}
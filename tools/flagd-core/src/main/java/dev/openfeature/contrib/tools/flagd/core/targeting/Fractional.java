@@ -1,14 +1,18 @@
 package dev.openfeature.contrib.tools.flagd.core.targeting;
 
 import io.github.jamsesso.jsonlogic.JsonLogicException;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicArray;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicNode;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicNodeType;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicNumber;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicPrimitive;
 import io.github.jamsesso.jsonlogic.evaluator.JsonLogicEvaluationException;
 import io.github.jamsesso.jsonlogic.evaluator.expressions.PreEvaluatedArgumentsExpression;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.codec.digest.MurmurHash3;
 
 /**
  * Fractional targeting operation for bucket-based flag distribution.
@@ -32,7 +36,9 @@ class Fractional implements PreEvaluatedArgumentsExpression {
 
         final Operator.FlagProperties properties = new Operator.FlagProperties(data);
 
+        // the bucketing value is bucketBy + bucketBySuffix, hashed without concatenating
         final String bucketBy;
+        final String bucketBySuffix;
         final List<Object> distributions;
 
         // json-logic pre-evaluation flattens a single-entry fractional
@@ -42,11 +48,13 @@ class Fractional implements PreEvaluatedArgumentsExpression {
                 log.debug("Missing fallback targeting key");
                 return null;
             }
-            bucketBy = properties.getFlagKey() + properties.getTargetingKey();
+            bucketBy = String.valueOf(properties.getFlagKey());
+            bucketBySuffix = properties.getTargetingKey();
             distributions = List.of(arguments);
         } else if (arguments.get(0) instanceof String) {
             // first arg is a String, use for bucketing
             bucketBy = (String) arguments.get(0);
+            bucketBySuffix = "";
             distributions = arguments.subList(1, arguments.size());
         } else {
             // fallback to targeting key if present
@@ -54,10 +62,17 @@ class Fractional implements PreEvaluatedArgumentsExpression {
                 log.debug("Missing fallback targeting key");
                 return null;
             }
-            bucketBy = properties.getFlagKey() + properties.getTargetingKey();
+            bucketBy = String.valueOf(properties.getFlagKey());
+            bucketBySuffix = properties.getTargetingKey();
             distributions = arguments;
         }
 
+        // static distributions of the rule are parsed once, when the flag configuration is synced
+        final Distribution distribution = findDistribution(data, distributions);
+        if (distribution != null) {
+            return distribution.select(Utf8MurmurHash3.hash32x86(bucketBy, bucketBySuffix));
+        }
+
         final List<FractionProperty> propertyList = new ArrayList<>();
         long totalWeight = 0;
 
@@ -83,18 +98,25 @@ class Fractional implements PreEvaluatedArgumentsExpression {
         }
 
         // find distribution
-        return distributeValue(bucketBy, propertyList, (int) totalWeight, jsonPath);
+        final int mmrHash = Utf8MurmurHash3.hash32x86(bucketBy, bucketBySuffix);
+        return distributeValueFromHash(mmrHash, propertyList, (int) totalWeight, jsonPath);
     }
 
-    private static Object distributeValue(
-            final String hashKey,
-            final List<FractionProperty> propertyList,
-            final int totalWeight,
-            final String jsonPath)
-            throws JsonLogicEvaluationException {
-        byte[] bytes = hashKey.getBytes(StandardCharsets.UTF_8);
-        int mmrHash = MurmurHash3.hash32x86(bytes, 0, bytes.length, 0);
-        return distributeValueFromHash(mmrHash, propertyList, totalWeight, jsonPath);
+    private static Distribution findDistribution(final Object data, final List<?> distributions) {
+        if (!(data instanceof EvaluationContextView)) {
+            return null;
+        }
+        final TargetingRule targetingRule = ((EvaluationContextView) data).getTargetingRule();
+        if (targetingRule == null) {
+            return null;
+        }
+        final List<Distribution> candidates = targetingRule.getFractionalDistributions();
+        for (int i = 0; i < candidates.size(); i++) {
+            if (candidates.get(i).matches(distributions)) {
+                return candidates.get(i);
+            }
+        }
+        return null;
     }
 
     /**
@@ -184,4 +206,140 @@ class Fractional implements PreEvaluatedArgumentsExpression {
             }
         }
     }
+
+    /**
+     * A fractional distribution with literal variants and weights, parsed once per targeting rule.
+     * The bucket of a hash is found by binary search over the cumulative weights.
+     */
+    static final class Distribution {
+        private final Object[] variants;
+        // raw weights as written in the rule, null if the weight was omitted
+        private final Double[] rawWeights;
+        private final int[] cumulativeWeights;
+        private final int totalWeight;
+
+        private Distribution(Object[] variants, Double[] rawWeights, int[] cumulativeWeights) {
+            this.variants = variants;
+            this.rawWeights = rawWeights;
+            this.cumulativeWeights = cumulativeWeights;
+            this.totalWeight = cumulativeWeights[cumulativeWeights.length - 1];
+        }
+
+        /**
+         * Parse the arguments of a fractional operation.
+         *
+         * @param arguments the fractional operation arguments
+         * @return the distribution, or null if it depends on the evaluation or is invalid
+         */
+        static Distribution parse(final JsonLogicArray arguments) {
+            final List<JsonLogicNode> distributionNodes;
+            if (arguments.isEmpty()) {
+                return null;
+            } else if (!containsArray(arguments)) {
+                distributionNodes = List.of(arguments);
+            } else if (arguments.get(0).getType() != JsonLogicNodeType.ARRAY) {
+                distributionNodes = arguments.subList(1, arguments.size());
+            } else {
+                distributionNodes = arguments;
+            }
+
+            final int size = distributionNodes.size();
+            final Object[] variants = new Object[size];
+            final Double[] rawWeights = new Double[size];
+            final int[] cumulativeWeights = new int[size];
+            long totalWeight = 0;
+            for (int i = 0; i < size; i++) {
+                final JsonLogicNode node = distributionNodes.get(i);
+                if (node.getType() != JsonLogicNodeType.ARRAY || ((JsonLogicArray) node).isEmpty()) {
+                    return null;
+                }
+                final JsonLogicArray entry = (JsonLogicArray) node;
+                if (entry.get(0).getType() != JsonLogicNodeType.PRIMITIVE) {
+                    return null;
+                }
+                variants[i] = ((JsonLogicPrimitive<?>) entry.get(0)).getValue();
+
+                int weight = 1;
+                if (entry.size() >= 2) {
+                    if (!(entry.get(1) instanceof JsonLogicNumber)) {
+                        return null;
+                    }
+                    final double rawWeight = ((JsonLogicNumber) entry.get(1)).getValue();
+                    if (Double.isInfinite(rawWeight) || Double.isNaN(rawWeight) || rawWeight != Math.floor(rawWeight)) {
+                        return null;
+                    }
+                    rawWeights[i] = rawWeight;
+                    weight = Math.max(0, (int) rawWeight);
+                }
+                totalWeight += weight;
+                if (totalWeight > MAX_WEIGHT) {
+                    return null;
+                }
+                cumulativeWeights[i] = (int) totalWeight;
+            }
+
+            if (totalWeight == 0) {
+                return null;
+            }
+            return new Distribution(variants, rawWeights, cumulativeWeights);
+        }
+
+        private static boolean containsArray(final JsonLogicArray arguments) {
+            for (JsonLogicNode argument : arguments) {
+                if (argument.getType() == JsonLogicNodeType.ARRAY) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Whether the pre-evaluated distributions of an evaluation are the ones this distribution was parsed from.
+         */
+        boolean matches(final List<?> distributions) {
+            if (distributions.size() != variants.length) {
+                return false;
+            }
+            for (int i = 0; i < variants.length; i++) {
+                if (!(distributions.get(i) instanceof List)) {
+                    return false;
+                }
+                final List<?> entry = (List<?>) distributions.get(i);
+                if (entry.isEmpty() || !Objects.equals(entry.get(0), variants[i])) {
+                    return false;
+                }
+                if (rawWeights[i] == null) {
+                    if (entry.size() != 1) {
+                        return false;
+                    }
+                } else if (entry.size() < 2
+                        || !(entry.get(1) instanceof Number)
+                        || ((Number) entry.get(1)).doubleValue() != rawWeights[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Select the variant of a bucketing hash, same as {@link #distributeValueFromHash}.
+         */
+        Object select(final int hash) {
+            final long longHash = Integer.toUnsignedLong(hash);
+            final int bucket = (int) ((longHash * totalWeight) >>> 32);
+
+            // first entry whose cumulative weight exceeds the bucket
+            int low = 0;
+            int high = cumulativeWeights.length - 1;
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (bucket < cumulativeWeights[mid]) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return variants[low];
+        }
+    }
 }
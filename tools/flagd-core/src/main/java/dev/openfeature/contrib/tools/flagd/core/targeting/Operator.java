@@ -3,8 +3,31 @@ package dev.openfeature.contrib.tools.flagd.core.targeting;
 import dev.openfeature.sdk.EvaluationContext;
 import io.github.jamsesso.jsonlogic.JsonLogic;
 import io.github.jamsesso.jsonlogic.JsonLogicException;
-import java.time.Instant;
-import java.util.HashMap;
+import io.github.jamsesso.jsonlogic.evaluator.JsonLogicEvaluator;
+import io.github.jamsesso.jsonlogic.evaluator.JsonLogicExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.AllExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.ArrayHasExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.ConcatenateExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.EqualityExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.FilterExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.IfExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.InExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.InequalityExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.LogExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.LogicExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.MapExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.MathExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.MergeExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.MissingExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.NotExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.NumericComparisonExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.ReduceExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.StrictEqualityExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.StrictInequalityExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.SubstringExpression;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import lombok.Getter;
 
@@ -19,7 +42,47 @@ public class Operator {
     static final String TARGET_KEY = "targetingKey";
     static final String TIME_STAMP = "timestamp";
 
+    // the operations JsonLogic registers itself, which the evaluator of parsed rules needs as well. JsonLogic does not
+    // expose them, OperatorTest checks that this list matches the ones it registers.
+    static final List<JsonLogicExpression> STANDARD_OPERATIONS = Arrays.asList(
+            MathExpression.ADD,
+            MathExpression.SUBTRACT,
+            MathExpression.MULTIPLY,
+            MathExpression.DIVIDE,
+            MathExpression.MODULO,
+            MathExpression.MIN,
+            MathExpression.MAX,
+            NumericComparisonExpression.GT,
+            NumericComparisonExpression.GTE,
+            NumericComparisonExpression.LT,
+            NumericComparisonExpression.LTE,
+            IfExpression.IF,
+            IfExpression.TERNARY,
+            EqualityExpression.INSTANCE,
+            InequalityExpression.INSTANCE,
+            StrictEqualityExpression.INSTANCE,
+            StrictInequalityExpression.INSTANCE,
+            NotExpression.SINGLE,
+            NotExpression.DOUBLE,
+            LogicExpression.AND,
+            LogicExpression.OR,
+            LogExpression.STDOUT,
+            MapExpression.INSTANCE,
+            FilterExpression.INSTANCE,
+            ReduceExpression.INSTANCE,
+            AllExpression.INSTANCE,
+            ArrayHasExpression.SOME,
+            ArrayHasExpression.NONE,
+            MergeExpression.INSTANCE,
+            InExpression.INSTANCE,
+            ConcatenateExpression.INSTANCE,
+            SubstringExpression.INSTANCE,
+            MissingExpression.ALL,
+            MissingExpression.SOME);
+
     private final JsonLogic jsonLogicHandler;
+    // evaluates parsed rules without looking them up by their source, null if rules are compiled
+    private final JsonLogicEvaluator parsedRuleEvaluator;
 
     /**
      * Construct a targeting operator with compilation disabled.
@@ -34,11 +97,23 @@ public class Operator {
      * @param compileExpressions whether to compile JsonLogic expressions for better performance
      */
     public Operator(boolean compileExpressions) {
+        final List<JsonLogicExpression> customOperations = Arrays.asList(
+                new Fractional(),
+                new SemVer(),
+                new StringComp(StringComp.Type.STARTS_WITH),
+                new StringComp(StringComp.Type.ENDS_WITH));
+
         jsonLogicHandler = new JsonLogic(compileExpressions);
-        jsonLogicHandler.addOperation(new Fractional());
-        jsonLogicHandler.addOperation(new SemVer());
-        jsonLogicHandler.addOperation(new StringComp(StringComp.Type.STARTS_WITH));
-        jsonLogicHandler.addOperation(new StringComp(StringComp.Type.ENDS_WITH));
+        customOperations.forEach(jsonLogicHandler::addOperation);
+
+        if (compileExpressions) {
+            // compiled expressions are only reachable through JsonLogic, which looks them up by the rule source
+            parsedRuleEvaluator = null;
+        } else {
+            final List<JsonLogicExpression> operations = new ArrayList<>(STANDARD_OPERATIONS);
+            operations.addAll(customOperations);
+            parsedRuleEvaluator = new JsonLogicEvaluator(operations);
+        }
     }
 
     /**
@@ -52,21 +127,72 @@ public class Operator {
      */
     public Object apply(final String flagKey, final String targetingRule, final EvaluationContext ctx)
             throws TargetingRuleException {
-        final Map<String, Object> flagdProperties = new HashMap<>();
-        flagdProperties.put(FLAG_KEY, flagKey);
+        return evaluate(flagKey, targetingRule, null, singleUse(ctx));
+    }
 
-        long unixTimestamp = Instant.now().getEpochSecond();
-        flagdProperties.put(TIME_STAMP, unixTimestamp);
+    /**
+     * Apply this operator on a targeting rule parsed during the flag configuration sync. Unless expressions are
+     * compiled, the parsed rule is evaluated as it is, without looking it up by its source.
+     *
+     * @param flagKey       the flag key being evaluated
+     * @param targetingRule the parsed targeting rule
+     * @param ctx           the evaluation context
+     * @return the result of applying the targeting rule
+     * @throws TargetingRuleException if rule evaluation fails
+     */
+    public Object apply(final String flagKey, final TargetingRule targetingRule, final EvaluationContext ctx)
+            throws TargetingRuleException {
+        return evaluate(flagKey, targetingRule.getSource(), targetingRule, singleUse(ctx));
+    }
 
-        final Map<String, Object> targetingCtxData = ctx.asObjectMap();
+    /**
+     * Apply this operator on the provided rule, with an evaluation context shared by several flags.
+     *
+     * @param flagKey       the flag key being evaluated
+     * @param targetingRule the targeting rule JSON string
+     * @param ctx           the prepared evaluation context
+     * @return the result of applying the targeting rule
+     * @throws TargetingRuleException if rule evaluation fails
+     */
+    public Object apply(final String flagKey, final String targetingRule, final TargetingContext ctx)
+            throws TargetingRuleException {
+        return evaluate(flagKey, targetingRule, null, ctx);
+    }
 
-        // asObjectMap() does not provide explicitly set targeting key (ex:- new
-        // ImmutableContext("TargetingKey") ).
-        // Hence, we add this explicitly here for targeting rule processing.
-        targetingCtxData.put(TARGET_KEY, ctx.getTargetingKey());
-        targetingCtxData.put(FLAGD_PROPS_KEY, flagdProperties);
+    /**
+     * Apply this operator on a parsed targeting rule, with an evaluation context shared by several flags.
+     *
+     * @param flagKey       the flag key being evaluated
+     * @param targetingRule the parsed targeting rule
+     * @param ctx           the prepared evaluation context
+     * @return the result of applying the targeting rule
+     * @throws TargetingRuleException if rule evaluation fails
+     */
+    public Object apply(final String flagKey, final TargetingRule targetingRule, final TargetingContext ctx)
+            throws TargetingRuleException {
+        return evaluate(flagKey, targetingRule.getSource(), targetingRule, ctx);
+    }
+
+    private static TargetingContext singleUse(final EvaluationContext ctx) {
+        // values are read once per evaluation, converting them again is cheaper than remembering them
+        return new TargetingContext(ctx, System.currentTimeMillis() / 1000, false);
+    }
+
+    private Object evaluate(
+            final String flagKey,
+            final String targetingRule,
+            final TargetingRule parsedRule,
+            final TargetingContext ctx)
+            throws TargetingRuleException {
+        // a lazy view instead of ctx.asObjectMap(), which deep copies the whole context on every evaluation.
+        // The view also overlays the targeting key, which asObjectMap() does not provide if it was set explicitly
+        // (ex:- new ImmutableContext("TargetingKey")).
+        final Map<String, Object> targetingCtxData = new EvaluationContextView(flagKey, ctx, parsedRule);
 
         try {
+            if (parsedRule != null && parsedRuleEvaluator != null) {
+                return parsedRuleEvaluator.evaluate(parsedRule.getRoot(), targetingCtxData, "$");
+            }
             return jsonLogicHandler.apply(targetingRule, targetingCtxData);
         } catch (JsonLogicException e) {
             throw new TargetingRuleException("Error evaluating json logic", e);
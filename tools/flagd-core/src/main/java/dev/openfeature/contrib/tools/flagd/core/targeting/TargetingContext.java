@@ -0,0 +1,68 @@
+package dev.openfeature.contrib.tools.flagd.core.targeting;
+
+import dev.openfeature.sdk.EvaluationContext;
+import dev.openfeature.sdk.Value;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An evaluation context prepared for the targeting of several flags, see
+ * {@link Operator#apply(String, TargetingRule, TargetingContext)}.
+ *
+ * <p>The context attributes are read once, and values converted for one rule are reused by the rules of all other
+ * flags. All flags see the same {@code $flagd.timestamp}, the time this instance was created. Instances are not
+ * thread safe and must not outlive the evaluation of one batch of flags, as changes of the underlying context are
+ * not picked up.
+ */
+public final class TargetingContext {
+
+    private final EvaluationContext ctx;
+    private final long timestamp;
+    // converted attribute values, null if values are converted on every read
+    private final Map<Object, Object> converted;
+
+    private Map<String, Value> attributes;
+
+    /**
+     * Prepare an evaluation context for the targeting of several flags.
+     *
+     * @param ctx the evaluation context
+     */
+    public TargetingContext(final EvaluationContext ctx) {
+        this(ctx, System.currentTimeMillis() / 1000, true);
+    }
+
+    TargetingContext(final EvaluationContext ctx, final long timestamp, final boolean shared) {
+        this.ctx = ctx;
+        this.timestamp = timestamp;
+        this.converted = shared ? new HashMap<>() : null;
+    }
+
+    long getTimestamp() {
+        return timestamp;
+    }
+
+    String getTargetingKey() {
+        return ctx.getTargetingKey();
+    }
+
+    Map<String, Value> attributes() {
+        if (attributes == null) {
+            attributes = ctx.asUnmodifiableMap();
+        }
+        return attributes;
+    }
+
+    Object get(final Object key) {
+        if (converted == null) {
+            return EvaluationContextView.convert(attributes().get(key));
+        }
+
+        Object value = converted.get(key);
+        if (value == null && !converted.containsKey(key)) {
+            value = EvaluationContextView.convert(attributes().get(key));
+            converted.put(key, value);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,87 @@
+package dev.openfeature.contrib.tools.flagd.core.targeting;
+
+import io.github.jamsesso.jsonlogic.ast.JsonLogicArray;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicNode;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicOperation;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicParseException;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicParser;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicVariable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Targeting rule of a flag, parsed and validated once when the flag configuration is synced.
+ *
+ * <p>Instances are evaluated by the {@link Operator}, which walks the parsed JsonLogic tree directly. Fractional
+ * operations with literal variants and weights are parsed into bucket tables as well.
+ */
+@Getter
+@EqualsAndHashCode
+public final class TargetingRule {
+
+    private final String source;
+
+    @Getter(AccessLevel.PACKAGE)
+    @EqualsAndHashCode.Exclude
+    private final JsonLogicNode root;
+
+    @Getter(AccessLevel.PACKAGE)
+    @EqualsAndHashCode.Exclude
+    private final List<Fractional.Distribution> fractionalDistributions;
+
+    private TargetingRule(String source, JsonLogicNode root, List<Fractional.Distribution> fractionalDistributions) {
+        this.source = source;
+        this.root = root;
+        this.fractionalDistributions = fractionalDistributions;
+    }
+
+    /**
+     * Parse a targeting rule.
+     *
+     * @param rule the targeting rule JSON string
+     * @return the parsed targeting rule
+     * @throws TargetingRuleException if the rule is not valid JsonLogic
+     */
+    public static TargetingRule parse(final String rule) throws TargetingRuleException {
+        final JsonLogicNode root;
+        try {
+            root = JsonLogicParser.parse(rule);
+        } catch (JsonLogicParseException e) {
+            throw new TargetingRuleException("Invalid json logic", e);
+        }
+
+        final List<Fractional.Distribution> fractionalDistributions = new ArrayList<>();
+        collectFractionalDistributions(root, fractionalDistributions);
+        return new TargetingRule(
+                rule,
+                root,
+                fractionalDistributions.isEmpty()
+                        ? Collections.emptyList()
+                        : Collections.unmodifiableList(fractionalDistributions));
+    }
+
+    private static void collectFractionalDistributions(
+            final JsonLogicNode node, final List<Fractional.Distribution> distributions) {
+        if (node instanceof JsonLogicOperation) {
+            final JsonLogicOperation operation = (JsonLogicOperation) node;
+            if ("fractional".equals(operation.getOperator())) {
+                final Fractional.Distribution distribution = Fractional.Distribution.parse(operation.getArguments());
+                if (distribution != null) {
+                    distributions.add(distribution);
+                }
+            }
+            collectFractionalDistributions(operation.getArguments(), distributions);
+        } else if (node instanceof JsonLogicArray) {
+            for (JsonLogicNode element : (JsonLogicArray) node) {
+                collectFractionalDistributions(element, distributions);
+            }
+        } else if (node instanceof JsonLogicVariable) {
+            collectFractionalDistributions(((JsonLogicVariable) node).getKey(), distributions);
+            collectFractionalDistributions(((JsonLogicVariable) node).getDefaultValue(), distributions);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package dev.openfeature.contrib.tools.flagd.core.targeting;
+
+/**
+ * 32-bit x86 MurmurHash3 of the UTF-8 encoding of two concatenated strings.
+ *
+ * <p>The result is identical to {@code MurmurHash3.hash32x86((first + second).getBytes(UTF_8), 0, length, 0)}
+ * of commons-codec, including the replacement of unpaired surrogates with {@code '?'}, but the UTF-8 bytes are
+ * produced and mixed on the fly, without building the concatenated string or the byte array.
+ */
+final class Utf8MurmurHash3 {
+
+    private static final int C1 = 0xcc9e2d51;
+    private static final int C2 = 0x1b873593;
+    private static final int R1 = 15;
+    private static final int R2 = 13;
+    private static final int M = 5;
+    private static final int N = 0xe6546b64;
+
+    private Utf8MurmurHash3() {}
+
+    /**
+     * Hash the UTF-8 encoding of {@code first + second} with seed 0.
+     *
+     * @param first  the first string
+     * @param second the second string, appended to the first one
+     * @return the 32-bit hash
+     */
+    static int hash32x86(final String first, final String second) {
+        final int firstLength = first.length();
+        final int length = firstLength + second.length();
+
+        int hash = 0;
+        int block = 0;
+        int blockBytes = 0;
+        int totalBytes = 0;
+
+        for (int i = 0; i < length; i++) {
+            final char c = i < firstLength ? first.charAt(i) : second.charAt(i - firstLength);
+
+            // the UTF-8 bytes of the current code point, packed with the first byte in the lowest bits
+            final int encoded;
+            final int encodedBytes;
+            if (c < 0x80) {
+                encoded = c;
+                encodedBytes = 1;
+            } else if (c < 0x800) {
+                encoded = 0xc0 | (c >> 6) | ((0x80 | (c & 0x3f)) << 8);
+                encodedBytes = 2;
+            } else if (Character.isSurrogate(c)) {
+                final char next = i + 1 < length
+                        ? (i + 1 < firstLength ? first.charAt(i + 1) : second.charAt(i + 1 - firstLength))
+                        : 0;
+                if (Character.isHighSurrogate(c) && Character.isLowSurrogate(next)) {
+                    final int codePoint = Character.toCodePoint(c, next);
+                    encoded = 0xf0
+                            | (codePoint >> 18)
+                            | ((0x80 | ((codePoint >> 12) & 0x3f)) << 8)
+                            | ((0x80 | ((codePoint >> 6) & 0x3f)) << 16)
+                            | ((0x80 | (codePoint & 0x3f)) << 24);
+                    encodedBytes = 4;
+                    i++;
+                } else {
+                    encoded = '?';
+                    encodedBytes = 1;
+                }
+            } else {
+                encoded = 0xe0 | (c >> 12) | ((0x80 | ((c >> 6) & 0x3f)) << 8) | ((0x80 | (c & 0x3f)) << 16);
+                encodedBytes = 3;
+            }
+
+            for (int b = 0; b < encodedBytes; b++) {
+                block |= ((encoded >>> (b << 3)) & 0xff) << (blockBytes << 3);
+                if (++blockBytes == 4) {
+                    hash = mix(hash, block);
+                    block = 0;
+                    blockBytes = 0;
+                }
+            }
+            totalBytes += encodedBytes;
+        }
+
+        if (blockBytes > 0) {
+            hash ^= mixK1(block);
+        }
+
+        hash ^= totalBytes;
+        return fmix32(hash);
+    }
+
+    private static int mix(final int hash, final int block) {
+        final int h = Integer.rotateLeft(hash ^ mixK1(block), R2);
+        return h * M + N;
+    }
+
+    private static int mixK1(final int block) {
+        return Integer.rotateLeft(block * C1, R1) * C2;
+    }
+
+    private static int fmix32(final int hash) {
+        int h = hash;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
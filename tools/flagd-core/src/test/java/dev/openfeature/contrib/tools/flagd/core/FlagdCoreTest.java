@@ -2,15 +2,26 @@ package dev.openfeature.contrib.tools.flagd.core;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import dev.openfeature.contrib.tools.flagd.api.FlagStoreException;
+import dev.openfeature.sdk.ErrorCode;
 import dev.openfeature.sdk.ImmutableContext;
 import dev.openfeature.sdk.ProviderEvaluation;
 import dev.openfeature.sdk.Reason;
 import dev.openfeature.sdk.Value;
+import dev.openfeature.sdk.exceptions.TypeMismatchError;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -116,6 +127,45 @@ class FlagdCoreTest {
         assertThat(changedKeys).contains("boolFlag");
     }
 
+    @Test
+    void setFlagsAndGetChangedKeys_parsesStreams() throws FlagStoreException {
+        String newConfig = flagsConfig.replace("\"on\": true", "\"on\": false");
+        var changedKeys = flagdCore.setFlagsAndGetChangedKeys(
+                new ByteArrayInputStream(newConfig.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(changedKeys).contains("boolFlag");
+        assertThat(flagdCore
+                        .resolveBooleanValue("boolFlag", true, new ImmutableContext())
+                        .getValue())
+                .isFalse();
+    }
+
+    @Test
+    void setFlags_firstSyncValidation_validatesOnlyTheFirstConfiguration() throws FlagStoreException {
+        final String invalidConfig = flagsConfig.replaceFirst("\"ENABLED\"", "\"UNKNOWN\"");
+
+        final FlagdCore validatingFirstSync = new FlagdCore(true, false, SchemaValidation.FIRST_SYNC);
+        assertThatThrownBy(() -> validatingFirstSync.setFlags(invalidConfig))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatNoException().isThrownBy(() -> validatingFirstSync.setFlags(invalidConfig));
+
+        final FlagdCore validatingAlways = new FlagdCore(true, false, SchemaValidation.ALWAYS);
+        validatingAlways.setFlags(flagsConfig);
+        assertThatThrownBy(() -> validatingAlways.setFlags(invalidConfig)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void setFlags_sampledValidation_validatesEveryNthConfiguration() throws FlagStoreException {
+        final String invalidConfig = flagsConfig.replaceFirst("\"ENABLED\"", "\"UNKNOWN\"");
+        final FlagdCore sampled = new FlagdCore(true, false, SchemaValidation.SAMPLED);
+        sampled.setFlags(flagsConfig);
+
+        for (int i = 1; i < FlagdCore.SCHEMA_VALIDATION_SAMPLE_INTERVAL; i++) {
+            sampled.setFlags(invalidConfig);
+        }
+        assertThatThrownBy(() -> sampled.setFlags(invalidConfig)).isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     void setFlagsAndGetChangedKeys_detectsRemovedFlags() throws FlagStoreException {
         // Given: initial config has boolFlag
@@ -142,6 +192,37 @@ class FlagdCoreTest {
         assertThat(changedKeys).contains("boolFlag");
     }
 
+    @Test
+    void updateFlagsAndGetChangedKeys_appliesChangesToCurrentFlags() throws FlagStoreException {
+        String changes = "{"
+                + "\"upserts\": {"
+                + "  \"stringFlag\": {"
+                + "    \"state\": \"ENABLED\","
+                + "    \"defaultVariant\": \"farewell\","
+                + "    \"variants\": { \"farewell\": \"bye\" }"
+                + "  }"
+                + "},"
+                + "\"deletes\": [\"boolFlag\"]"
+                + "}";
+
+        var changedKeys = flagdCore.updateFlagsAndGetChangedKeys(changes);
+
+        assertThat(changedKeys).containsExactly("boolFlag", "stringFlag");
+        assertThat(flagdCore
+                        .resolveStringValue("stringFlag", "default", new ImmutableContext())
+                        .getValue())
+                .isEqualTo("bye");
+        assertThat(flagdCore
+                        .resolveBooleanValue("boolFlag", false, new ImmutableContext())
+                        .getErrorCode())
+                .isEqualTo(ErrorCode.FLAG_NOT_FOUND);
+        assertThat(flagdCore
+                        .resolveIntegerValue("intFlag", 0, new ImmutableContext())
+                        .getValue())
+                .isNotZero();
+        assertThat(flagdCore.getFlagSetMetadata()).isNotEmpty();
+    }
+
     @Test
     void resolveBooleanValue_flagWithNullMetadata_doesNotThrowNPE() {
         String configWithNullMetadata = "{"
@@ -162,4 +243,104 @@ class FlagdCoreTest {
             assertThat(result.getFlagMetadata()).isNotNull();
         });
     }
+
+    @Test
+    void resolveValue_staticFlag_reusesPrecomputedEvaluation() {
+        ProviderEvaluation<Boolean> first = flagdCore.resolveBooleanValue("boolFlag", false, new ImmutableContext());
+        ProviderEvaluation<Boolean> second = flagdCore.resolveBooleanValue("boolFlag", true, new ImmutableContext());
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getFlagMetadata().getString("version")).isEqualTo("1.0.0");
+        ProviderEvaluation<Double> asDouble = flagdCore.resolveDoubleValue("intFlag", -1.0, new ImmutableContext());
+        ProviderEvaluation<Value> asValue = flagdCore.resolveObjectValue("stringFlag", null, new ImmutableContext());
+        assertThat(asDouble.getValue()).isEqualTo(1.0);
+        assertThat(asValue.getValue()).isEqualTo(new Value("hello"));
+    }
+
+    @Test
+    void resolveValue_staticFlagWithWrongType_throwsTypeMismatch() {
+        assertThatThrownBy(() -> flagdCore.resolveStringValue("boolFlag", "default", new ImmutableContext()))
+                .isInstanceOf(TypeMismatchError.class);
+    }
+
+    @Test
+    void resolveAll_resolvesEveryFlagAsValue() {
+        Map<String, ProviderEvaluation<Value>> results = flagdCore.resolveAll(new ImmutableContext());
+
+        assertThat(results).containsOnlyKeys("boolFlag", "stringFlag", "intFlag", "doubleFlag", "disabledFlag");
+        assertThat(results.get("boolFlag").getValue()).isEqualTo(new Value(true));
+        assertThat(results.get("stringFlag").getValue()).isEqualTo(new Value("hello"));
+        assertThat(results.get("intFlag").getValue()).isEqualTo(new Value(1));
+        assertThat(results.get("doubleFlag").getValue()).isEqualTo(new Value(3.14));
+        assertThat(results.get("disabledFlag").getValue()).isNull();
+        assertThat(results.get("disabledFlag").getReason()).isEqualTo(Reason.DISABLED.toString());
+    }
+
+    @Test
+    void resolveAll_withKeys_reportsErrorsPerFlag() throws FlagStoreException {
+        flagdCore.setFlags("{\"flags\": {"
+                + "\"targeted\": {\"state\": \"ENABLED\", \"defaultVariant\": \"off\","
+                + "  \"variants\": {\"on\": true, \"off\": false},"
+                + "  \"targeting\": {\"if\": [{\"==\": [{\"var\": \"tier\"}, \"gold\"]}, \"on\", \"off\"]}},"
+                + "\"tiered\": {\"state\": \"ENABLED\", \"defaultVariant\": \"basic\","
+                + "  \"variants\": {\"basic\": \"basic\", \"premium\": \"premium\"},"
+                + "  \"targeting\": {\"if\": [{\"==\": [{\"var\": \"tier\"}, \"gold\"]}, \"premium\", null]}},"
+                + "\"broken\": {\"state\": \"ENABLED\", \"defaultVariant\": \"off\","
+                + "  \"variants\": {\"on\": true, \"off\": false},"
+                + "  \"targeting\": {\"if\": [true, \"missing\", \"off\"]}}"
+                + "}}");
+        ImmutableContext ctx = new ImmutableContext("user", Map.of("tier", new Value("gold")));
+
+        Map<String, ProviderEvaluation<Value>> results =
+                flagdCore.resolveAll(List.of("targeted", "tiered", "broken", "unknown"), ctx);
+
+        assertThat(results.get("targeted").getValue()).isEqualTo(new Value(true));
+        assertThat(results.get("targeted").getReason()).isEqualTo(Reason.TARGETING_MATCH.toString());
+        assertThat(results.get("tiered").getValue()).isEqualTo(new Value("premium"));
+        assertThat(results.get("broken").getErrorCode()).isEqualTo(ErrorCode.GENERAL);
+        assertThat(results.get("broken").getReason()).isEqualTo(Reason.ERROR.toString());
+        assertThat(results.get("unknown").getErrorCode()).isEqualTo(ErrorCode.FLAG_NOT_FOUND);
+        assertThat(results.get("targeted").getValue())
+                .isEqualTo(flagdCore.resolveObjectValue("targeted", null, ctx).getValue());
+    }
+
+    @Test
+    void resolve_whileUpdating_alwaysObservesACompleteConfiguration() throws Exception {
+        // both configurations agree on flag value and flag set metadata, so a mixed read is detectable
+        String onConfig = flagsConfig.replace("\"version\": \"1.0.0\"", "\"version\": \"on\"");
+        String offConfig = onConfig.replace("\"defaultVariant\": \"on\"", "\"defaultVariant\": \"off\"")
+                .replace("\"version\": \"on\"", "\"version\": \"off\"");
+        flagdCore.setFlags(onConfig);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?> writer = executor.submit(() -> {
+                for (int i = 0; i < 200; i++) {
+                    flagdCore.setFlags(i % 2 == 0 ? offConfig : onConfig);
+                }
+                return null;
+            });
+
+            List<Future<?>> readers = new ArrayList<>();
+            for (int r = 0; r < 3; r++) {
+                readers.add(executor.submit(() -> {
+                    while (!writer.isDone()) {
+                        ProviderEvaluation<Boolean> result =
+                                flagdCore.resolveBooleanValue("boolFlag", false, new ImmutableContext());
+                        String version = result.getFlagMetadata().getString("version");
+                        assertThat(result.getErrorCode()).isNull();
+                        assertThat(version).isEqualTo(result.getVariant());
+                    }
+                    return null;
+                }));
+            }
+
+            writer.get(30, TimeUnit.SECONDS);
+            for (Future<?> reader : readers) {
+                reader.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
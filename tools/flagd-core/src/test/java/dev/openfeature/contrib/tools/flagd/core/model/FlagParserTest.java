@@ -14,10 +14,21 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import dev.openfeature.sdk.ImmutableMetadata;
+import dev.openfeature.sdk.ProviderEvaluation;
+import dev.openfeature.sdk.Reason;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 
 class FlagParserTest {
@@ -133,6 +144,186 @@ class FlagParserTest {
         assertEquals(2.71828, metadata.get("float"));
     }
 
+    @Test
+    void flagMetadataIsMergedWithFlagSetMetadata() throws IOException {
+        FlagParsingResult parsingResult = FlagParser.parseString(getFlagsFromResource(VALID_FLAG_SET_METADATA), true);
+
+        ImmutableMetadata withoutMetadata =
+                parsingResult.getFlags().get("without-metadata").getMergedMetadata();
+        ImmutableMetadata withMetadata =
+                parsingResult.getFlags().get("with-metadata").getMergedMetadata();
+
+        assertEquals("some string", withoutMetadata.getString("string"));
+        assertEquals(1.234, withoutMetadata.getDouble("float"));
+        assertEquals("other string", withMetadata.getString("string"));
+        assertEquals(2.71828, withMetadata.getDouble("float"));
+    }
+
+    @Test
+    void staticEvaluationsArePrecomputedForFlagsWithoutTargeting() throws IOException {
+        Map<String, FeatureFlag> flagMap =
+                FlagParser.parseString(getFlagsFromResource(VALID_LONG), true).getFlags();
+
+        ProviderEvaluation<Boolean> staticEvaluation = flagMap.get("myBoolFlag").getStaticEvaluation(Boolean.class);
+
+        assertNotNull(staticEvaluation);
+        assertEquals(true, staticEvaluation.getValue());
+        assertEquals("on", staticEvaluation.getVariant());
+        assertEquals(Reason.STATIC.toString(), staticEvaluation.getReason());
+        assertNull(flagMap.get("myBoolFlag").getStaticEvaluation(String.class));
+        assertNull(flagMap.get("fibAlgo").getStaticEvaluation(String.class));
+    }
+
+    @Test
+    void targetingRulesAreParsedOnce() throws IOException {
+        Map<String, FeatureFlag> flagMap =
+                FlagParser.parseString(getFlagsFromResource(VALID_LONG), true).getFlags();
+
+        assertNotNull(flagMap.get("fibAlgo").getTargetingRule());
+        assertEquals(
+                flagMap.get("fibAlgo").getTargeting(),
+                flagMap.get("fibAlgo").getTargetingRule().getSource());
+        assertNull(flagMap.get("myBoolFlag").getTargetingRule());
+    }
+
+    @Test
+    void invalidTargetingRuleIsReportedAtEvaluation() throws IOException {
+        String flagString = "{\"flags\":{\"broken\":{\"state\":\"ENABLED\",\"variants\":{\"on\":true},"
+                + "\"defaultVariant\":\"on\",\"targeting\":{\"if\":[true,\"on\"],\"and\":[true]}}}}";
+
+        FeatureFlag flag = FlagParser.parseString(flagString, false).getFlags().get("broken");
+
+        assertNotNull(flag);
+        assertNull(flag.getTargetingRule());
+        assertThatThrownBy(() -> FlagParser.parseString(flagString, true)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void unchangedFlagsAreReusedFromPreviousResult() throws IOException {
+        final String configuration = getFlagsFromResource(VALID_LONG);
+        final FlagParsingResult previous = FlagParser.parseString(configuration, true);
+
+        // only the default variant of myBoolFlag changes
+        final String changedConfiguration =
+                configuration.replaceFirst("\"defaultVariant\": \"on\"", "\"defaultVariant\": \"off\"");
+        final FlagParsingResult result = FlagParser.parseString(changedConfiguration, true, previous);
+
+        assertEquals(List.of("myBoolFlag"), result.getChangedFlagKeys());
+        assertNotSame(previous.getFlags().get("myBoolFlag"), result.getFlags().get("myBoolFlag"));
+        assertEquals("off", result.getFlags().get("myBoolFlag").getDefaultVariant());
+        for (String key : result.getFlags().keySet()) {
+            if (!"myBoolFlag".equals(key)) {
+                assertSame(previous.getFlags().get(key), result.getFlags().get(key), key);
+            }
+        }
+    }
+
+    @Test
+    void removedFlagsAreReportedAsChanged() throws IOException {
+        final FlagParsingResult previous = FlagParser.parseString(getFlagsFromResource(VALID_LONG), true);
+
+        final FlagParsingResult result = FlagParser.parseString(getFlagsFromResource(VALID_SIMPLE), true, previous);
+
+        final Set<String> expected = new HashSet<>(previous.getFlags().keySet());
+        expected.addAll(result.getFlags().keySet());
+        expected.removeIf(key -> previous.getFlags().containsKey(key)
+                && previous.getFlags().get(key).equals(result.getFlags().get(key)));
+        assertEquals(expected, new HashSet<>(result.getChangedFlagKeys()));
+    }
+
+    @Test
+    void flagChangesAreAppliedToPreviousResult() throws IOException {
+        final FlagParsingResult previous = FlagParser.parseString(getFlagsFromResource(VALID_LONG), true);
+        final String changes = "{\"upserts\":{"
+                + "\"myBoolFlag\":{\"state\":\"ENABLED\",\"variants\":{\"on\":true,\"off\":false},"
+                + "\"defaultVariant\":\"off\"},"
+                + "\"newFlag\":{\"state\":\"ENABLED\",\"variants\":{\"on\":true,\"off\":false},"
+                + "\"defaultVariant\":\"on\",\"targeting\":{\"if\":[{\"$ref\":\"rule\"},\"off\"]}}},"
+                + "\"deletes\":[\"myIntFlag\",\"unknownFlag\"],"
+                + "\"$evaluators\":{\"rule\":{\"==\":[1,1]}}}";
+
+        final FlagParsingResult result = FlagParser.parseChanges(changes, true, previous, true);
+
+        assertEquals(List.of("myIntFlag", "myBoolFlag", "newFlag"), result.getChangedFlagKeys());
+        assertEquals("off", result.getFlags().get("myBoolFlag").getDefaultVariant());
+        assertEquals(
+                "{\"if\":[{\"==\":[1,1]},\"off\"]}",
+                result.getFlags().get("newFlag").getTargeting());
+        assertNull(result.getFlags().get("myIntFlag"));
+        for (String key : previous.getFlags().keySet()) {
+            if (!"myBoolFlag".equals(key) && !"myIntFlag".equals(key)) {
+                assertSame(previous.getFlags().get(key), result.getFlags().get(key), key);
+            }
+        }
+        // the previous result is not modified
+        assertNotNull(previous.getFlags().get("myIntFlag"));
+    }
+
+    @Test
+    void unchangedUpsertedFlagsAreNotReported() throws IOException {
+        final FlagParsingResult previous = FlagParser.parseString(getFlagsFromResource(VALID_SIMPLE), true);
+        final String key = previous.getFlags().keySet().iterator().next();
+        final String changes = "{\"upserts\":{\"" + key + "\":{\"state\":\"DISABLED\",\"variants\":{\"a\":1},"
+                + "\"defaultVariant\":\"a\"}},\"deletes\":[\"" + key + "\"]}";
+
+        final FlagParsingResult changed = FlagParser.parseChanges(changes, true, previous, true);
+        final FlagParsingResult unchanged = FlagParser.parseChanges(changes, true, changed, true);
+
+        assertEquals(List.of(key), changed.getChangedFlagKeys());
+        assertTrue(unchanged.getChangedFlagKeys().isEmpty());
+        assertSame(changed.getFlags().get(key), unchanged.getFlags().get(key));
+    }
+
+    @Test
+    void payloadWithoutFlagChangesThrowsError() {
+        assertThatThrownBy(() -> FlagParser.parseChanges("{\"flags\":{}}", false, null, true))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void flagsAreRebuiltWhenFlagSetMetadataChanges() throws IOException {
+        final String configuration = getFlagsFromResource(VALID_FLAG_SET_METADATA);
+        final FlagParsingResult previous = FlagParser.parseString(configuration, true);
+
+        final FlagParsingResult result =
+                FlagParser.parseString(configuration.replace("\"some string\"", "\"changed\""), true, previous);
+
+        assertTrue(result.getChangedFlagKeys().isEmpty());
+        final FeatureFlag flag = result.getFlags().get("without-metadata");
+        assertNotSame(previous.getFlags().get("without-metadata"), flag);
+        assertEquals("changed", flag.getMergedMetadata().getString("string"));
+    }
+
+    @Test
+    void evaluatorReferencesAreResolved() throws IOException {
+        final String configuration = "{\"flags\":{\"flag\":{\"state\":\"ENABLED\",\"variants\":{\"on\":true,"
+                + "\"off\":false},\"defaultVariant\":\"off\",\"targeting\":{\"if\":[{\"$ref\":\"outer\"},\"on\"]}}},"
+                + "\"$evaluators\":{\"outer\":{\"and\":[{\"$ref\":\"inner\"},true]},"
+                + "\"inner\":{\"in\":[\"@faas.com\",{\"var\":[\"email\"]}]}}}";
+
+        final FeatureFlag flag =
+                FlagParser.parseString(configuration, true).getFlags().get("flag");
+
+        assertEquals(
+                "{\"if\":[{\"and\":[{\"in\":[\"@faas.com\",{\"var\":[\"email\"]}]},true]},\"on\"]}",
+                flag.getTargeting());
+        assertNotNull(flag.getTargetingRule());
+    }
+
+    @Test
+    void schemaValidationCanBeSkipped() throws IOException {
+        final String configuration = getFlagsFromResource(VALID_SIMPLE).replaceFirst("\"ENABLED\"", "\"UNKNOWN\"");
+
+        assertThatThrownBy(() -> FlagParser.parseString(configuration, true, null, true))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertEquals(
+                "UNKNOWN",
+                FlagParser.parseString(configuration, true, null, false)
+                        .getFlags()
+                        .get("myBoolFlag")
+                        .getState());
+    }
+
     @Test
     void invalidFlagThrowsError() throws IOException {
         String flagString = getFlagsFromResource(INVALID_FLAG);
@@ -166,4 +357,84 @@ class FlagParserTest {
                 .hasMessageContaining(
                         "$.flags.myBoolFlag.metadata.invalid: object found, [string, number, boolean] expected");
     }
+
+    @Test
+    void streamParsingMatchesStringParsing() throws IOException {
+        final String configuration = getFlagsFromResource(VALID_LONG);
+
+        final FlagParsingResult fromString = FlagParser.parseString(configuration, true);
+        final FlagParsingResult fromStream = FlagParser.parseStream(
+                new ByteArrayInputStream(configuration.getBytes(StandardCharsets.UTF_8)), true, null, true);
+
+        assertEquals(fromString.getFlags(), fromStream.getFlags());
+        assertEquals(fromString.getFlagSetMetadata(), fromStream.getFlagSetMetadata());
+
+        // unchanged flags are reused from the previous result as when parsing strings
+        final FlagParsingResult reparsed = FlagParser.parseStream(
+                new ByteArrayInputStream(configuration.getBytes(StandardCharsets.UTF_8)), true, fromStream, false);
+        assertSame(fromStream.getFlags().get("fibAlgo"), reparsed.getFlags().get("fibAlgo"));
+        assertTrue(reparsed.getChangedFlagKeys().isEmpty());
+    }
+
+    @Test
+    void streamedFlagsResolveEvaluatorsDeclaredAfterThem() throws IOException {
+        final String configuration = "{\"flags\":{\"flag\":{\"state\":\"ENABLED\",\"variants\":{\"on\":true,"
+                + "\"off\":false},\"defaultVariant\":\"off\",\"targeting\":{\"if\":[{\"$ref\":\"rule\"},\"on\"]}},"
+                + "\"static\":{\"state\":\"ENABLED\",\"variants\":{\"on\":true},\"defaultVariant\":\"on\"}},"
+                + "\"$evaluators\":{\"rule\":{\"in\":[\"@faas.com\",{\"var\":[\"email\"]}]}}}";
+
+        final FlagParsingResult fromString = FlagParser.parseString(configuration, true, null, false);
+        final FlagParsingResult fromStream = FlagParser.parseStream(
+                new ByteArrayInputStream(configuration.getBytes(StandardCharsets.UTF_8)), true, null, false);
+
+        assertEquals(fromString.getFlags(), fromStream.getFlags());
+        assertEquals(List.of("flag", "static"), fromStream.getChangedFlagKeys());
+        assertEquals(
+                "{\"if\":[{\"in\":[\"@faas.com\",{\"var\":[\"email\"]}]},\"on\"]}",
+                fromStream.getFlags().get("flag").getTargeting());
+        assertNotNull(fromStream.getFlags().get("flag").getTargetingRule());
+        assertNotNull(fromStream.getFlags().get("static").getStaticEvaluation(Boolean.class));
+    }
+
+    @Test
+    void streamedFlagsAreRebuiltWhenFlagSetMetadataDeclaredAfterThemChanges() throws IOException {
+        final String configuration = "{\"flags\":{\"flag\":{\"state\":\"ENABLED\",\"variants\":{\"on\":true},"
+                + "\"defaultVariant\":\"on\"}},\"metadata\":{\"string\":\"some string\"}}";
+        final FlagParsingResult previous = FlagParser.parseStream(
+                new ByteArrayInputStream(configuration.getBytes(StandardCharsets.UTF_8)), true, null, false);
+
+        final FlagParsingResult unchanged = FlagParser.parseStream(
+                new ByteArrayInputStream(configuration.getBytes(StandardCharsets.UTF_8)), true, previous, false);
+        final FlagParsingResult changed = FlagParser.parseStream(
+                new ByteArrayInputStream(
+                        configuration.replace("some string", "changed").getBytes(StandardCharsets.UTF_8)),
+                true,
+                previous,
+                false);
+
+        assertSame(previous.getFlags().get("flag"), unchanged.getFlags().get("flag"));
+        assertTrue(changed.getChangedFlagKeys().isEmpty());
+        final FeatureFlag flag = changed.getFlags().get("flag");
+        assertNotSame(previous.getFlags().get("flag"), flag);
+        assertEquals(
+                "some string",
+                previous.getFlags().get("flag").getMergedMetadata().getString("string"));
+        assertEquals("changed", flag.getMergedMetadata().getString("string"));
+        assertEquals(
+                "changed",
+                flag.getStaticEvaluation(Boolean.class).getFlagMetadata().getString("string"));
+    }
+
+    @Test
+    void streamWithoutFlagsThrowsError() {
+        assertThatThrownBy(() -> FlagParser.parseStream(
+                        new ByteArrayInputStream("{\"metadata\":{}}".getBytes(StandardCharsets.UTF_8)),
+                        true,
+                        null,
+                        false))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> FlagParser.parseStream(
+                        new ByteArrayInputStream("[]".getBytes(StandardCharsets.UTF_8)), true, null, false))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
 }
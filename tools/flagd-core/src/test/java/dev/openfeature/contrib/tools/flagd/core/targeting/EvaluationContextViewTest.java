@@ -0,0 +1,79 @@
+package dev.openfeature.contrib.tools.flagd.core.targeting;
+
+import static dev.openfeature.contrib.tools.flagd.core.targeting.Operator.FLAGD_PROPS_KEY;
+import static dev.openfeature.contrib.tools.flagd.core.targeting.Operator.FLAG_KEY;
+import static dev.openfeature.contrib.tools.flagd.core.targeting.Operator.TARGET_KEY;
+import static dev.openfeature.contrib.tools.flagd.core.targeting.Operator.TIME_STAMP;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.openfeature.sdk.ImmutableContext;
+import dev.openfeature.sdk.ImmutableStructure;
+import dev.openfeature.sdk.MutableContext;
+import dev.openfeature.sdk.Value;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class EvaluationContextViewTest {
+
+    @Test
+    void viewEqualsCopiedContextData() {
+        // given
+        final MutableContext ctx = new MutableContext("user-1");
+        ctx.add("string", "value");
+        ctx.add("int", 42);
+        ctx.add("double", 4.2);
+        ctx.add("bool", true);
+        ctx.add("instant", Instant.ofEpochSecond(1700000000));
+        ctx.add("list", List.of(new Value("a"), new Value(1)));
+        ctx.add("struct", new ImmutableStructure(Map.of("nested", new Value("deep"))));
+
+        final Map<String, Object> expected = ctx.asObjectMap();
+        expected.put(TARGET_KEY, "user-1");
+        final Map<String, Object> flagdProperties = new HashMap<>();
+        flagdProperties.put(FLAG_KEY, "flag");
+        flagdProperties.put(TIME_STAMP, 1700000000L);
+        expected.put(FLAGD_PROPS_KEY, flagdProperties);
+
+        // when
+        final EvaluationContextView view = new EvaluationContextView("flag", 1700000000L, ctx);
+
+        // then
+        assertEquals(expected, view);
+        assertEquals(expected.size(), view.size());
+        assertEquals(view, expected);
+    }
+
+    @Test
+    void overlaysTargetingKeyAndFlagdProperties() {
+        // given
+        final ImmutableContext ctx = new ImmutableContext(
+                "user-1", Map.of(FLAGD_PROPS_KEY, new Value("shadowed"), "email", new Value("a@b.c")));
+
+        // when
+        final EvaluationContextView view = new EvaluationContextView("flag", 1L, ctx);
+
+        // then
+        assertEquals("user-1", view.get(TARGET_KEY));
+        assertEquals("a@b.c", view.get("email"));
+        assertInstanceOf(Map.class, view.get(FLAGD_PROPS_KEY));
+        assertEquals("flag", ((Map<?, ?>) view.get(FLAGD_PROPS_KEY)).get(FLAG_KEY));
+        assertEquals(1L, ((Map<?, ?>) view.get(FLAGD_PROPS_KEY)).get(TIME_STAMP));
+        assertTrue(view.containsKey(TARGET_KEY));
+        assertNull(view.get("missing"));
+        assertEquals(3, view.size());
+    }
+
+    @Test
+    void viewIsReadOnly() {
+        final EvaluationContextView view = new EvaluationContextView("flag", 1L, new ImmutableContext());
+
+        assertThrows(UnsupportedOperationException.class, () -> view.put("key", "value"));
+    }
+}
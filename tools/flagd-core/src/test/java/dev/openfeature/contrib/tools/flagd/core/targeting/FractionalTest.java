@@ -5,19 +5,23 @@ import static dev.openfeature.contrib.tools.flagd.core.targeting.Operator.FLAG_K
 import static dev.openfeature.contrib.tools.flagd.core.targeting.Operator.TARGET_KEY;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Named.named;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.openfeature.sdk.ImmutableContext;
 import io.github.jamsesso.jsonlogic.evaluator.JsonLogicEvaluationException;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
@@ -51,6 +55,58 @@ class FractionalTest {
         assertEquals(testData.result, evaluate);
     }
 
+    @ParameterizedTest
+    @MethodSource("allFilesInDir")
+    void parsedDistribution_bucketsLikeEvaluatedDistribution(@ConvertWith(FileContentConverter.class) TestData testData)
+            throws Exception {
+        // given
+        final Operator operator = new Operator();
+        final String rule = "{\"fractional\":" + new ObjectMapper().writeValueAsString(testData.rule) + "}";
+        final TargetingRule targetingRule = TargetingRule.parse(rule);
+
+        for (int i = 0; i < 500; i++) {
+            final ImmutableContext ctx = new ImmutableContext("user-" + i + "@\u00e9xample.com");
+
+            // when
+            final Object fromString = operator.apply("flagA", rule, ctx);
+            final Object fromParsed = operator.apply("flagA", targetingRule, ctx);
+
+            // then
+            assertEquals(fromString, fromParsed, "targeting key user-" + i);
+        }
+    }
+
+    @Test
+    void staticDistributionIsParsedOnce() throws TargetingRuleException {
+        final TargetingRule rule = TargetingRule.parse(
+                "{\"if\":[true,{\"fractional\":[[\"a\",10],[\"b\",0],[\"c\"],[\"d\",-5],[\"e\",89]]},null]}");
+        final TargetingRule dynamic = TargetingRule.parse("{\"fractional\":[[\"a\",{\"var\":\"weight\"}],[\"b\",50]]}");
+
+        assertEquals(1, rule.getFractionalDistributions().size());
+        assertEquals(0, dynamic.getFractionalDistributions().size());
+    }
+
+    @Test
+    void parsedDistribution_selectsLikeLinearScan() throws Exception {
+        final List<Object> rule =
+                List.of(List.of("a", 10.0), List.of("b", 0.0), List.of("c"), List.of("d", -5.0), List.of("e", 89.0));
+        final List<Fractional.FractionProperty> properties = new ArrayList<>();
+        for (Object entry : rule) {
+            properties.add(new Fractional.FractionProperty(entry, "path"));
+        }
+        final Fractional.Distribution distribution = TargetingRule.parse(
+                        "{\"fractional\":" + new ObjectMapper().writeValueAsString(rule) + "}")
+                .getFractionalDistributions()
+                .get(0);
+
+        assertTrue(distribution.matches(rule));
+        final Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            final int hash = i < 2 ? (i == 0 ? 0 : -1) : random.nextInt();
+            assertEquals(Fractional.distributeValueFromHash(hash, properties, 100, "path"), distribution.select(hash));
+        }
+    }
+
     public static Stream<?> allFilesInDir() throws IOException {
         return Files.list(Paths.get("src", "test", "resources", "fractional"))
                 .map(path -> arguments(named(path.getFileName().toString(), path)));
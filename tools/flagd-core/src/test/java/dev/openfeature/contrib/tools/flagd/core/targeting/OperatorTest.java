@@ -5,9 +5,14 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import dev.openfeature.sdk.ImmutableContext;
+import dev.openfeature.sdk.ImmutableStructure;
 import dev.openfeature.sdk.Value;
+import io.github.jamsesso.jsonlogic.JsonLogic;
+import io.github.jamsesso.jsonlogic.evaluator.JsonLogicExpression;
+import java.lang.reflect.Field;
 import java.time.Instant;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -20,6 +25,24 @@ class OperatorTest {
         OPERATOR = new Operator();
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void standardOperationsMatchTheOperationsRegisteredByJsonLogic() throws ReflectiveOperationException {
+        // given
+        final Field expressions = JsonLogic.class.getDeclaredField("expressions");
+        expressions.setAccessible(true);
+
+        // when
+        final Map<String, JsonLogicExpression> registered =
+                (Map<String, JsonLogicExpression>) expressions.get(new JsonLogic());
+
+        // then
+        final Map<String, JsonLogicExpression> standard = new HashMap<>();
+        Operator.STANDARD_OPERATIONS.forEach(operation -> standard.put(operation.key(), operation));
+        assertEquals(Operator.STANDARD_OPERATIONS.size(), standard.size());
+        assertEquals(registered, standard);
+    }
+
     @Test
     void flagKeyPresent() throws TargetingRuleException {
         // given
@@ -34,6 +57,79 @@ class OperatorTest {
         assertEquals(true, evalVariant);
     }
 
+    @Test
+    void parsedTargetingRuleMatchesStringRule() throws TargetingRuleException {
+        // given
+        final String targetingRule = "{\"if\":[{\"ends_with\":[{\"var\":\"email\"},\"@faas.com\"]},\"a\",\"b\"]}";
+        final ImmutableContext ctx = new ImmutableContext(Map.of("email", new Value("admin@faas.com")));
+
+        // when
+        Object fromString = OPERATOR.apply("some-key", targetingRule, ctx);
+        Object fromParsed = OPERATOR.apply("some-key", TargetingRule.parse(targetingRule), ctx);
+
+        // then
+        assertEquals("a", fromString);
+        assertEquals(fromString, fromParsed);
+    }
+
+    @Test
+    void parsedTargetingRulesAreEvaluatedWithAllOperations() throws TargetingRuleException {
+        // given
+        final List<String> targetingRules = List.of(
+                "{\"cat\":[{\"substr\":[{\"var\":\"email\"},0,5]},{\"max\":[1,{\"+\":[1,2]}]}]}",
+                "{\"merge\":[{\"missing\":[\"email\",\"absent\"]},{\"missing_some\":[1,[\"absent\"]]}]}",
+                "{\"and\":[{\"!==\":[1,2]},{\"!!\":[{\"var\":\"email\"}]},{\"<=\":[1,2,3]}]}",
+                "{\"some\":[[1,2],{\">\":[{\"var\":\"\"},1]}]}",
+                "{\"fractional\":[{\"var\":\"email\"},[\"a\",50],[\"b\",50]]}",
+                "{\"sem_ver\":[\"1.2.3\",\"^\",\"1.0.0\"]}");
+        final ImmutableContext ctx = new ImmutableContext(Map.of("email", new Value("admin@faas.com")));
+
+        for (String targetingRule : targetingRules) {
+            // when
+            Object fromString = OPERATOR.apply("some-key", targetingRule, ctx);
+            Object fromParsed = OPERATOR.apply("some-key", TargetingRule.parse(targetingRule), ctx);
+            Object fromCompiled = new Operator(true).apply("some-key", TargetingRule.parse(targetingRule), ctx);
+
+            // then
+            assertEquals(fromString, fromParsed, targetingRule);
+            assertEquals(fromString, fromCompiled, targetingRule);
+        }
+    }
+
+    @Test
+    void nestedContextValuesAreResolved() throws TargetingRuleException {
+        // given
+        final String targetingRule = "{\"in\":[{\"var\":\"user.roles.1\"},[\"admin\"]]}";
+        final Map<String, Value> user = new HashMap<>();
+        user.put("roles", new Value(List.of(new Value("user"), new Value("admin"))));
+        final ImmutableContext ctx = new ImmutableContext(Map.of("user", new Value(new ImmutableStructure(user))));
+
+        // when
+        Object evalVariant = OPERATOR.apply("some-key", targetingRule, ctx);
+
+        // then
+        assertEquals(true, evalVariant);
+    }
+
+    @Test
+    void sharedTargetingContextMatchesSingleEvaluations() throws TargetingRuleException {
+        // given
+        final TargetingRule flagKeyRule =
+                TargetingRule.parse("{\"cat\":[{\"var\":\"$flagd.flagKey\"},\"-\",{\"var\":\"targetingKey\"}]}");
+        final TargetingRule nestedRule = TargetingRule.parse("{\"in\":[{\"var\":\"user.roles.1\"},[\"admin\"]]}");
+        final Map<String, Value> user = new HashMap<>();
+        user.put("roles", new Value(List.of(new Value("user"), new Value("admin"))));
+        final ImmutableContext ctx =
+                new ImmutableContext("user-1", Map.of("user", new Value(new ImmutableStructure(user))));
+        final TargetingContext shared = new TargetingContext(ctx);
+
+        // then
+        assertEquals("flag-a-user-1", OPERATOR.apply("flag-a", flagKeyRule, shared));
+        assertEquals("flag-b-user-1", OPERATOR.apply("flag-b", flagKeyRule, shared));
+        assertEquals(OPERATOR.apply("flag-a", nestedRule, ctx), OPERATOR.apply("flag-a", nestedRule, shared));
+        assertEquals(true, OPERATOR.apply("flag-b", nestedRule.getSource(), shared));
+    }
+
     @Test
     void timestampPresent() throws TargetingRuleException {
         // given
@@ -0,0 +1,72 @@
+package dev.openfeature.contrib.tools.flagd.core.targeting;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import org.apache.commons.codec.digest.MurmurHash3;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class Utf8MurmurHash3Test {
+
+    @ParameterizedTest
+    @CsvSource(
+            value = {
+                "'',''",
+                "flagA,''",
+                "'',user@faas.com",
+                "headerColor,foo@foo.com",
+                "fläg,üser",
+                "€,日本語",
+                "emoji😀,👍",
+                "split\ud83d,\ude00pair",
+                "unpaired\ud83d,x",
+                "x,\ude00unpaired"
+            })
+    void hashEqualsHashOfConcatenatedBytes(String first, String second) {
+        assertEquals(expected(first + second), Utf8MurmurHash3.hash32x86(first, second));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 4, 5, 17, 64})
+    void hashEqualsHashOfConcatenatedBytes_randomStrings(int maxLength) {
+        final Random random = new Random(maxLength);
+        for (int i = 0; i < 2_000; i++) {
+            final String first = randomString(random, random.nextInt(maxLength + 1));
+            final String second = randomString(random, random.nextInt(maxLength + 1));
+
+            assertEquals(expected(first + second), Utf8MurmurHash3.hash32x86(first, second), first + second);
+        }
+    }
+
+    private static int expected(String value) {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        return MurmurHash3.hash32x86(bytes, 0, bytes.length, 0);
+    }
+
+    private static String randomString(Random random, int length) {
+        final StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            switch (random.nextInt(5)) {
+                case 0:
+                    builder.append((char) random.nextInt(0x80));
+                    break;
+                case 1:
+                    builder.append((char) (0x80 + random.nextInt(0x780)));
+                    break;
+                case 2:
+                    builder.append((char) (0x800 + random.nextInt(0xf800)));
+                    break;
+                case 3:
+                    builder.appendCodePoint(0x10000 + random.nextInt(0x100000));
+                    break;
+                default:
+                    builder.append((char) (0xd800 + random.nextInt(0x800)));
+                    break;
+            }
+        }
+        return builder.toString();
+    }
+}
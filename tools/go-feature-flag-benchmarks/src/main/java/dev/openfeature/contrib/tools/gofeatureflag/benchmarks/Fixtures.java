@@ -0,0 +1,134 @@
+package dev.openfeature.contrib.tools.gofeatureflag.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import dev.openfeature.contrib.providers.gofeatureflag.api.bean.FlagConfigApiResponse;
+import dev.openfeature.contrib.providers.gofeatureflag.util.Const;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deterministic GO Feature Flag configurations and evaluation contexts shared by the benchmarks.
+ *
+ * <p>Flags cycle through four shapes so that every configuration size has the same mix:
+ * <ul>
+ *   <li>{@code static-N}: boolean flag without targeting</li>
+ *   <li>{@code ends-with-N}: string flag targeting on the email domain, with a percentage default rule</li>
+ *   <li>{@code rollout-N}: number flag with a targeted percentage rollout over three variations</li>
+ *   <li>{@code nested-N}: object flag with {@code and}/{@code in}/{@code gt} rules</li>
+ * </ul>
+ */
+public final class Fixtures {
+
+    private Fixtures() {}
+
+    /**
+     * Generate a flag configuration as returned by the relay-proxy.
+     *
+     * @param flagCount the number of flags in the configuration
+     * @return the flag configuration
+     * @throws JsonProcessingException if the generated configuration cannot be read
+     */
+    public static FlagConfigApiResponse flagConfiguration(int flagCount) throws JsonProcessingException {
+        ObjectNode root = Const.DESERIALIZE_OBJECT_MAPPER.createObjectNode();
+        ObjectNode flags = root.putObject("flags");
+        for (int i = 0; i < flagCount; i++) {
+            switch (i % 4) {
+                case 0:
+                    flags.set("static-" + i, staticFlag());
+                    break;
+                case 1:
+                    flags.set("ends-with-" + i, endsWithFlag());
+                    break;
+                case 2:
+                    flags.set("rollout-" + i, rolloutFlag());
+                    break;
+                default:
+                    flags.set("nested-" + i, nestedFlag());
+                    break;
+            }
+        }
+        root.putObject("evaluationContextEnrichment").put("env", "production");
+        return Const.DESERIALIZE_OBJECT_MAPPER.treeToValue(root, FlagConfigApiResponse.class);
+    }
+
+    /**
+     * Build evaluation contexts of distinct users, with the attributes read by the generated targeting rules.
+     *
+     * @param count the number of evaluation contexts
+     * @return the evaluation contexts, as sent to the evaluation module
+     */
+    public static List<Map<String, Object>> contexts(int count) {
+        String[] countries = {"CH", "DE", "FR", "US"};
+        List<Map<String, Object>> contexts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> ctx = new HashMap<>();
+            ctx.put("targetingKey", "user-" + i);
+            ctx.put("email", "user-" + i + (i % 3 == 0 ? "@example.com" : "@gofeatureflag.org"));
+            ctx.put("country", countries[i % countries.length]);
+            ctx.put("plan", i % 2 == 0 ? "premium" : "free");
+            ctx.put("age", 16 + i % 40);
+            ctx.put("beta", i % 5 == 0);
+            contexts.add(ctx);
+        }
+        return contexts;
+    }
+
+    private static ObjectNode staticFlag() {
+        ObjectNode flag = baseFlag();
+        flag.putObject("variations").put("enabled", true).put("disabled", false);
+        flag.putObject("defaultRule").put("variation", "enabled");
+        return flag;
+    }
+
+    private static ObjectNode endsWithFlag() {
+        ObjectNode flag = baseFlag();
+        flag.putObject("variations").put("internal", "internal").put("external", "external");
+        flag.putArray("targeting")
+                .addObject()
+                .put("query", "email ew \"@gofeatureflag.org\"")
+                .put("variation", "internal");
+        flag.putObject("defaultRule")
+                .putObject("percentage")
+                .put("internal", 10)
+                .put("external", 90);
+        return flag;
+    }
+
+    private static ObjectNode rolloutFlag() {
+        ObjectNode flag = baseFlag();
+        flag.putObject("variations").put("low", 10).put("medium", 50).put("high", 100);
+        ObjectNode rule = flag.putArray("targeting").addObject();
+        rule.put("name", "beta-users");
+        rule.put("query", "beta eq true");
+        rule.putObject("percentage").put("low", 20).put("medium", 30).put("high", 50);
+        flag.putObject("defaultRule").put("variation", "low");
+        return flag;
+    }
+
+    private static ObjectNode nestedFlag() {
+        ObjectNode flag = baseFlag();
+        ObjectNode variations = flag.putObject("variations");
+        variations.putObject("premium").put("theme", "dark").put("maxItems", 100);
+        variations.putObject("adult").put("theme", "light").put("maxItems", 20);
+        variations.putObject("default").put("theme", "light").put("maxItems", 10);
+        ArrayNode targeting = flag.putArray("targeting");
+        targeting
+                .addObject()
+                .put("query", "(country in [\"CH\",\"DE\",\"AT\"]) and (plan eq \"premium\")")
+                .put("variation", "premium");
+        targeting.addObject().put("query", "age gt 18").put("variation", "adult");
+        flag.putObject("defaultRule").put("variation", "default");
+        return flag;
+    }
+
+    private static ObjectNode baseFlag() {
+        ObjectNode flag = Const.DESERIALIZE_OBJECT_MAPPER.createObjectNode();
+        flag.putObject("metadata").put("description", "benchmark flag").put("owner", "benchmarks");
+        flag.put("trackEvents", true);
+        return flag;
+    }
+}
@@ -0,0 +1,111 @@
+package dev.openfeature.contrib.tools.gofeatureflag.benchmarks;
+
+import com.dylibso.chicory.runtime.InterpreterMachine;
+import com.dylibso.chicory.wasm.Parser;
+import dev.openfeature.contrib.providers.gofeatureflag.api.bean.FlagConfigApiResponse;
+import dev.openfeature.contrib.providers.gofeatureflag.bean.Flag;
+import dev.openfeature.contrib.providers.gofeatureflag.bean.GoFeatureFlagResponse;
+import dev.openfeature.contrib.providers.gofeatureflag.wasm.EvaluationWasm;
+import dev.openfeature.contrib.providers.gofeatureflag.wasm.WasmFlagSet;
+import dev.openfeature.contrib.providers.gofeatureflag.wasm.bean.FlagContext;
+import dev.openfeature.contrib.providers.gofeatureflag.wasm.bean.WasmInput;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Evaluation of the GO Feature Flag evaluation module by the machine compiled to Java bytecode at build time,
+ * used by the provider, compared to the Chicory interpreter running the same module.
+ *
+ * <p>Each invocation evaluates the next flag of a generated configuration for the next user, so the flags, rules
+ * and percentage buckets exercised are the same for both engines.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class WasmEngineBenchmark {
+
+    private static final int CONTEXT_COUNT = 97;
+
+    @Param({"compiled", "interpreted"})
+    public String engine;
+
+    @Param({"100"})
+    public int flagCount;
+
+    /** Full evaluation module run by the interpreter, relative to the repository root. */
+    @Param({"providers/go-feature-flag/wasm-releases/evaluation/gofeatureflag-evaluation_0.2.3.wasi"})
+    public String wasmFile;
+
+    private EvaluationWasm wasm;
+    private WasmFlagSet flagSet;
+    private List<WasmInput> inputs;
+    private int next;
+
+    /**
+     * Create the evaluation module with the selected engine and generate the flags and contexts to evaluate.
+     *
+     * @throws IOException if the configuration cannot be generated or the module file cannot be read
+     */
+    @Setup
+    public void setup() throws IOException {
+        wasm = "compiled".equals(engine)
+                ? new EvaluationWasm()
+                : new EvaluationWasm(Parser.parse(Paths.get(wasmFile)), InterpreterMachine::new);
+
+        FlagConfigApiResponse config = Fixtures.flagConfiguration(flagCount);
+        flagSet = WasmFlagSet.create(config.getFlags(), config.getEvaluationContextEnrichment(), null);
+        wasm.load(flagSet);
+
+        List<Map<String, Object>> contexts = Fixtures.contexts(CONTEXT_COUNT);
+        inputs = new ArrayList<>();
+        int i = 0;
+        for (Map.Entry<String, Flag> flag : config.getFlags().entrySet()) {
+            inputs.add(WasmInput.builder()
+                    .flagKey(flag.getKey())
+                    .flag(flag.getValue())
+                    .evalContext(contexts.get(i++ % CONTEXT_COUNT))
+                    .flagContext(FlagContext.builder()
+                            .defaultSdkValue(false)
+                            .evaluationContextEnrichment(config.getEvaluationContextEnrichment())
+                            .build())
+                    .build());
+        }
+    }
+
+    /** Evaluation with the flag serialized for every evaluation, the default of the provider. */
+    @Benchmark
+    public GoFeatureFlagResponse evaluate() {
+        WasmInput input = nextInput();
+        return wasm.evaluate(input);
+    }
+
+    /** Evaluation of a flag loaded in the module memory beforehand, with {@code wasmFlagPreloading}. */
+    @Benchmark
+    public GoFeatureFlagResponse evaluatePreloaded() {
+        WasmInput input = nextInput();
+        return wasm.evaluate(flagSet, input.getFlagKey(), false, input.getEvalContext());
+    }
+
+    private WasmInput nextInput() {
+        next = (next + 1) % inputs.size();
+        return inputs.get(next);
+    }
+}